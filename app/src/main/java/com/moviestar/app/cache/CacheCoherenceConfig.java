@@ -0,0 +1,153 @@
+package com.moviestar.app.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Makes the Spring caches coherent across instances: the {@code cacheManager} is wrapped so that
+ * evictions and clears reach the other instances through the {@link CacheInvalidationBus}, and
+ * evictions from the other instances are applied here. Evictions made inside a transaction take
+ * effect, locally and remotely, once it commits, so no instance can reload the old value in
+ * between. Puts are not sent: every instance fills its own caches from the database.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.cache-bus.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheCoherenceConfig {
+
+    @Bean
+    static BeanPostProcessor coherentCacheManagerPostProcessor(ObjectProvider<CacheInvalidationBus> bus) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && "cacheManager".equals(beanName)) {
+                    CoherentCacheManager coherent = new CoherentCacheManager(cacheManager, bus.getObject());
+                    bus.getObject().addListener(coherent);
+                    return coherent;
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class CoherentCacheManager implements CacheManager, CacheInvalidationBus.Listener {
+
+        private final CacheManager target;
+        private final CacheInvalidationBus bus;
+        private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+        CoherentCacheManager(CacheManager target, CacheInvalidationBus bus) {
+            this.target = target;
+            this.bus = bus;
+        }
+
+        @Override
+        public Cache getCache(String name) {
+            Cache cache = caches.get(name);
+            if (cache == null) {
+                Cache targetCache = target.getCache(name);
+                if (targetCache == null) {
+                    return null;
+                }
+                cache = caches.computeIfAbsent(name, key -> new CoherentCache(targetCache, bus));
+            }
+            return cache;
+        }
+
+        @Override
+        public Collection<String> getCacheNames() {
+            return target.getCacheNames();
+        }
+
+        // Remote invalidations go straight to the target caches, so they are not sent on again
+
+        @Override
+        public void evict(String region, Object key) {
+            Cache cache = target.getCache(region);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        }
+
+        @Override
+        public void clear(String region) {
+            Cache cache = target.getCache(region);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+
+        @Override
+        public void clearAll() {
+            getCacheNames().forEach(this::clear);
+        }
+    }
+
+    /**
+     * Extends {@link TransactionAwareCacheDecorator} rather than wrapping a cache of its own, since
+     * the cache metrics look through that decorator to the Caffeine cache underneath.
+     */
+    static class CoherentCache extends TransactionAwareCacheDecorator {
+
+        private final CacheInvalidationBus bus;
+
+        CoherentCache(Cache target, CacheInvalidationBus bus) {
+            super(target);
+            this.bus = bus;
+        }
+
+        @Override
+        public void evict(Object key) {
+            afterCommit(() -> {
+                getTargetCache().evict(key);
+                bus.publish(getName(), key);
+            });
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = getTargetCache().evictIfPresent(key);
+            bus.publish(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            afterCommit(() -> {
+                getTargetCache().clear();
+                bus.publish(getName(), null);
+            });
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = getTargetCache().invalidate();
+            bus.publish(getName(), null);
+            return invalidated;
+        }
+
+        private static void afterCommit(Runnable action) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+            } else {
+                action.run();
+            }
+        }
+    }
+}
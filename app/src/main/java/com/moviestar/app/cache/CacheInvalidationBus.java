@@ -0,0 +1,356 @@
+package com.moviestar.app.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carries cache invalidations between app instances over PostgreSQL {@code LISTEN/NOTIFY}. A
+ * local eviction is published with {@link #publish(String, Object)} once its transaction has
+ * committed; invalidations are coalesced per region and key for {@code app.cache-bus.window} and
+ * then sent as one notification (several if they exceed the payload limit). Every other instance
+ * hands them to its {@link Listener}s. An instance whose listening connection drops may have
+ * missed messages, so after reconnecting it clears its caches.
+ * <p>
+ * Keys travel as typed strings ({@code L:42}, {@code S:title}); an eviction whose key has any
+ * other type is sent as a clear of the whole region.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache-bus.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationBus implements MeterBinder {
+
+    public static final String ALL = "*";
+
+    // NOTIFY rejects payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    public interface Listener {
+        void evict(String region, Object key);
+
+        void clear(String region);
+
+        void clearAll();
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final Duration window;
+    private final Duration reconnectDelay;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "cache-bus-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    private Map<String, Set<String>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private volatile boolean running = true;
+    private volatile boolean listening;
+    private Thread listenerThread;
+
+    @Autowired
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${app.cache-bus.channel:moviestar_cache_invalidation}") String channel,
+                                @Value("${app.cache-bus.window:PT0.001S}") Duration window,
+                                @Value("${app.cache-bus.reconnect-delay:PT1S}") Duration reconnectDelay,
+                                @Value("${spring.datasource.url}") String url,
+                                @Value("${spring.datasource.username}") String username,
+                                @Value("${spring.datasource.password}") String password) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("app.cache-bus.channel must be a lower-case SQL identifier: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.window = window;
+        this.reconnectDelay = reconnectDelay;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @PostConstruct
+    void startListening() {
+        listenerThread = new Thread(this::listen, "cache-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusher.shutdownNow();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Queues the invalidation of one key of a region, or of the whole region when {@code key} is
+     * {@code null}, for the other instances.
+     */
+    public void publish(String region, Object key) {
+        String encoded = key == null ? ALL : encode(key);
+        synchronized (this) {
+            Set<String> keys = pending.computeIfAbsent(region, name -> new LinkedHashSet<>());
+            if (keys.contains(ALL)) {
+                return;
+            }
+            if (ALL.equals(encoded)) {
+                keys.clear();
+            }
+            keys.add(encoded);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        for (String payload : drain()) {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", result -> null, channel, payload);
+                sent.increment();
+            } catch (RuntimeException e) {
+                // Other instances keep their entries until expiry or the next invalidation of the key
+                sendFailures.increment();
+                log.warn("Could not publish cache invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Takes everything queued so far and packs it into notification payloads.
+     */
+    List<String> drain() {
+        Map<String, Set<String>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        List<String> payloads = new ArrayList<>();
+        Map<String, List<String>> message = new LinkedHashMap<>();
+        int size = 0;
+        for (Map.Entry<String, Set<String>> region : batch.entrySet()) {
+            for (String key : region.getValue()) {
+                int added = jsonLength(region.getKey()) + jsonLength(key) + 4;
+                if (size + added > MAX_PAYLOAD_BYTES - 100 && !message.isEmpty()) {
+                    payloads.add(payload(message));
+                    message = new LinkedHashMap<>();
+                    size = 0;
+                }
+                if (added > MAX_PAYLOAD_BYTES - 100) {
+                    key = ALL;
+                }
+                message.computeIfAbsent(region.getKey(), name -> new ArrayList<>()).add(key);
+                size += added;
+            }
+        }
+        if (!message.isEmpty()) {
+            payloads.add(payload(message));
+        }
+        return payloads;
+    }
+
+    /**
+     * Applies a notification from another instance; this instance's own notifications are skipped.
+     */
+    void receive(String payload) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getOriginalMessage());
+            return;
+        }
+        if (nodeId.equals(message.path("node").asText())) {
+            return;
+        }
+        received.increment();
+        message.path("regions").fields().forEachRemaining(region -> {
+            for (JsonNode key : region.getValue()) {
+                Object decoded = decode(key.asText());
+                for (Listener listener : listeners) {
+                    try {
+                        if (decoded == null) {
+                            listener.clear(region.getKey());
+                        } else {
+                            listener.evict(region.getKey(), decoded);
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Cache invalidation of {} failed: {}", region.getKey(), e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private void listen() {
+        boolean missedMessages = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                if (missedMessages) {
+                    resync();
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] batch = notifications.getNotifications(500);
+                    if (batch != null) {
+                        for (PGNotification notification : batch) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {}: {}", reconnectDelay, e.getMessage());
+                }
+            }
+            listening = false;
+            missedMessages = true;
+            try {
+                Thread.sleep(reconnectDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void resync() {
+        resyncs.increment();
+        log.info("Cache invalidation listener reconnected; clearing local caches");
+        listeners.forEach(Listener::clearAll);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.bus.messages", sent, LongAdder::sum)
+                .description("Cache invalidation notifications exchanged with other instances")
+                .tag("direction", "sent")
+                .register(registry);
+        FunctionCounter.builder("cache.bus.messages", received, LongAdder::sum)
+                .description("Cache invalidation notifications exchanged with other instances")
+                .tag("direction", "received")
+                .register(registry);
+        FunctionCounter.builder("cache.bus.send.failures", sendFailures, LongAdder::sum)
+                .description("Cache invalidation notifications that could not be sent")
+                .register(registry);
+        FunctionCounter.builder("cache.bus.resyncs", resyncs, LongAdder::sum)
+                .description("Local cache clears after the invalidation listener reconnected")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("node", nodeId);
+        stats.put("channel", channel);
+        stats.put("listening", listening);
+        stats.put("sent", sent.sum());
+        stats.put("received", received.sum());
+        stats.put("sendFailures", sendFailures.sum());
+        stats.put("resyncs", resyncs.sum());
+        return stats;
+    }
+
+    private String payload(Map<String, List<String>> regions) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("node", nodeId);
+        message.put("regions", regions);
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int jsonLength(String value) {
+        try {
+            return objectMapper.writeValueAsString(value).getBytes(StandardCharsets.UTF_8).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String encode(Object key) {
+        if (key instanceof Long value) {
+            return "L:" + value;
+        }
+        if (key instanceof Integer value) {
+            return "I:" + value;
+        }
+        if (key instanceof String value) {
+            return "S:" + value;
+        }
+        return ALL;
+    }
+
+    // null for the whole region
+    static Object decode(String key) {
+        try {
+            if (key.startsWith("L:")) {
+                return Long.valueOf(key.substring(2));
+            }
+            if (key.startsWith("I:")) {
+                return Integer.valueOf(key.substring(2));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return key.startsWith("S:") ? key.substring(2) : null;
+    }
+}
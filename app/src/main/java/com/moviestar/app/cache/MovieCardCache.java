@@ -0,0 +1,253 @@
+package com.moviestar.app.cache;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.model.ActorDTO;
+import com.moviestar.app.model.DirectorDTO;
+import com.moviestar.app.model.GenreDTO;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.service.SecondLevelCacheService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the JSON of {@code GET /api/movies/{id}} responses in an {@link OffHeapSlabStore}, so the
+ * movie cards served most often live outside the heap and are written out without building or
+ * serializing a {@code MovieResponse}. {@link MovieCardFilter} fills it from the responses it lets
+ * through and serves from it.
+ * <p>
+ * A card is dropped when anything it shows may have changed: a change to the movie, its links or
+ * its ratings evicts that movie's card, and a change to an actor, director or genre, which can
+ * appear on any number of cards, drops them all. Changes from other instances arrive through the
+ * {@link CacheInvalidationBus}. The Spring caches the cards are built from are evicted just after
+ * these signals, so for {@code app.movie-cards.settle-time} after any invalidation no card is
+ * stored; a card rendered from a value evicted meanwhile would otherwise outlive it. Cards are
+ * rendered from the primary, so a lagging read replica cannot outlast the settle time.
+ */
+@Component
+@ConditionalOnProperty(name = "app.movie-cards.enabled", havingValue = "true")
+public class MovieCardCache implements MeterBinder, CacheInvalidationBus.Listener {
+
+    private static final Set<String> MOVIE_REGIONS = Set.of(
+            "movies",
+            "movieRatingAverage",
+            "movieRatingCount",
+            SecondLevelCacheService.MOVIE_LINKS_REGION,
+            SecondLevelCacheService.ENTITY_REGION_PREFIX + MovieDTO.class.getName());
+    private static final Set<String> SHARED_ENTITIES = Set.of(
+            ActorDTO.class.getName(),
+            DirectorDTO.class.getName(),
+            GenreDTO.class.getName());
+
+    private final OffHeapSlabStore store;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<CacheInvalidationBus> bus;
+    private final long settleNanos;
+    private long invalidations;
+    private long lastInvalidation;
+
+    public MovieCardCache(EntityManagerFactory entityManagerFactory,
+                          ObjectProvider<CacheInvalidationBus> bus,
+                          @Value("${app.movie-cards.capacity:64MB}") DataSize capacity,
+                          @Value("${app.movie-cards.slab-size:1MB}") DataSize slabSize,
+                          @Value("${app.movie-cards.settle-time:PT1S}") Duration settleTime) {
+        this.store = new OffHeapSlabStore(capacity.toBytes(), Math.toIntExact(slabSize.toBytes()));
+        this.entityManagerFactory = entityManagerFactory;
+        this.bus = bus;
+        this.settleNanos = settleTime.toNanos();
+        this.lastInvalidation = System.nanoTime() - settleNanos;
+    }
+
+    @PostConstruct
+    void listenForChanges() {
+        bus.ifAvailable(invalidationBus -> invalidationBus.addListener(this));
+        EntityChangeListener listener = new EntityChangeListener(this);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * The card of the movie, pinned until the entry is closed, or {@code null}.
+     */
+    public OffHeapSlabStore.Entry acquire(long movieId) {
+        return store.acquire(movieId);
+    }
+
+    /**
+     * To be taken before a response is rendered and handed to {@link #put}: a card rendered after
+     * an invalidation, or while one may still be settling, is not stored. Negative when no card
+     * rendered now may be stored.
+     */
+    public synchronized long stamp() {
+        return System.nanoTime() - lastInvalidation < settleNanos ? -1 : invalidations;
+    }
+
+    public synchronized boolean put(long movieId, byte[] card, long stamp) {
+        return stamp >= 0 && stamp == invalidations && store.put(movieId, card);
+    }
+
+    /**
+     * Drops the movie's card, or every card for a {@code null} id.
+     */
+    public synchronized void invalidate(Long movieId) {
+        invalidations++;
+        lastInvalidation = System.nanoTime();
+        if (movieId == null) {
+            store.clear();
+        } else {
+            store.remove(movieId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssociationsChanged(MovieAssociationsChangedEvent event) {
+        invalidate(event.movieId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        invalidate(event.movieId());
+    }
+
+    @Override
+    public void evict(String region, Object key) {
+        if (MOVIE_REGIONS.contains(region)) {
+            invalidate(key instanceof Long movieId ? movieId : null);
+        } else if (isSharedEntityRegion(region)) {
+            invalidate(null);
+        }
+    }
+
+    @Override
+    public void clear(String region) {
+        if (MOVIE_REGIONS.contains(region) || isSharedEntityRegion(region)) {
+            invalidate(null);
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        invalidate(null);
+    }
+
+    private static boolean isSharedEntityRegion(String region) {
+        return region.startsWith(SecondLevelCacheService.ENTITY_REGION_PREFIX)
+                && SHARED_ENTITIES.contains(region.substring(SecondLevelCacheService.ENTITY_REGION_PREFIX.length()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "movie.cards.entries", "Movie cards held off-heap", null, OffHeapSlabStore.Stats::entries);
+        gauge(registry, "movie.cards.memory.used", "Bytes of movie card JSON held", "bytes", OffHeapSlabStore.Stats::usedBytes);
+        gauge(registry, "movie.cards.memory.allocated", "Direct memory taken by slabs", "bytes", OffHeapSlabStore.Stats::allocatedBytes);
+        counter(registry, "movie.cards.requests", "hit", OffHeapSlabStore.Stats::hits);
+        counter(registry, "movie.cards.requests", "miss", OffHeapSlabStore.Stats::misses);
+        FunctionCounter.builder("movie.cards.evictions", store, s -> s.stats().evictions())
+                .description("Movie cards evicted to make room")
+                .register(registry);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, String unit,
+                       ToDoubleFunction<OffHeapSlabStore.Stats> value) {
+        Gauge.builder(name, store, s -> value.applyAsDouble(s.stats()))
+                .description(description)
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String result,
+                         ToDoubleFunction<OffHeapSlabStore.Stats> value) {
+        FunctionCounter.builder(name, store, s -> value.applyAsDouble(s.stats()))
+                .description("Movie card lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        OffHeapSlabStore.Stats stats = store.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", stats.entries());
+        result.put("usedBytes", stats.usedBytes());
+        result.put("allocatedBytes", stats.allocatedBytes());
+        result.put("capacityBytes", stats.capacityBytes());
+        result.put("hits", stats.hits());
+        result.put("misses", stats.misses());
+        long lookups = stats.hits() + stats.misses();
+        result.put("hitRate", lookups > 0 ? (double) stats.hits() / lookups : 0.0);
+        result.put("evictions", stats.evictions());
+        result.put("rejections", stats.rejections());
+        return result;
+    }
+
+    // Runs once the transaction has committed
+    private record EntityChangeListener(MovieCardCache cache)
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getEntityName().equals(MovieDTO.class.getName())
+                    || SHARED_ENTITIES.contains(persister.getEntityName());
+        }
+
+        private void changed(EntityPersister persister, Object id) {
+            cache.invalidate(persister.getEntityName().equals(MovieDTO.class.getName()) && id instanceof Long movieId
+                    ? movieId : null);
+        }
+    }
+}
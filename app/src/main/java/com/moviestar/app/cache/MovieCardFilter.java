@@ -0,0 +1,94 @@
+package com.moviestar.app.cache;
+
+import com.moviestar.app.datasource.PrimaryReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code GET /api/movies/{id}} from the {@link MovieCardCache}: a stored card is written
+ * straight from off-heap memory, without reaching Spring MVC. On a miss the request goes on to the
+ * controller and a successful JSON response is stored on its way out. Runs after the security
+ * filter chain, so CORS and bans still apply. Responses say {@code X-Movie-Card: hit} or
+ * {@code miss}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+@ConditionalOnProperty(name = "app.movie-cards.enabled", havingValue = "true")
+public class MovieCardFilter extends OncePerRequestFilter {
+
+    static final String CARD_HEADER = "X-Movie-Card";
+
+    private static final Pattern MOVIE_PATH = Pattern.compile("/api/movies/(\\d{1,18})");
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final MovieCardCache cards;
+
+    public MovieCardFilter(MovieCardCache cards) {
+        this.cards = cards;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Matcher matcher = MOVIE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long movieId = Long.parseLong(matcher.group(1));
+        try (OffHeapSlabStore.Entry card = cards.acquire(movieId)) {
+            if (card != null) {
+                write(card.value(), response);
+                return;
+            }
+        }
+
+        long stamp = cards.stamp();
+        response.setHeader(CARD_HEADER, "miss");
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        // Rendered from the primary: a card read from a lagging replica would outlive the settle time
+        try (PrimaryReads.Scope primary = PrimaryReads.begin()) {
+            filterChain.doFilter(request, captured);
+            if (captured.getStatus() == HttpServletResponse.SC_OK && captured.getContentType() != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(captured.getContentType()))) {
+                cards.put(movieId, captured.getContentAsByteArray(), stamp);
+            }
+        } finally {
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static void write(ByteBuffer card, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(card.remaining());
+        response.setHeader(CARD_HEADER, "hit");
+        ServletOutputStream out = response.getOutputStream();
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, card.remaining())];
+        while (card.hasRemaining()) {
+            int length = Math.min(chunk.length, card.remaining());
+            card.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+}
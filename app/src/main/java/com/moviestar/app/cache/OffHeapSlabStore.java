@@ -0,0 +1,440 @@
+package com.moviestar.app.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Byte values keyed by {@code long}, held in direct memory so the collector neither copies nor
+ * scans them. Memory comes in slabs of {@code slabSize} bytes, allocated as needed up to
+ * {@code capacityBytes}; each slab is cut into equal chunks of one size class (classes grow by a
+ * quarter from 256 bytes up to the slab size), and a value goes into the smallest chunk that holds
+ * it and a 24-byte header. The index from key to chunk is open-addressed over primitive arrays.
+ * <p>
+ * When a class has no free chunk and no slab is left to allocate, a CLOCK hand sweeps the class's
+ * chunks: a chunk read since the hand last passed is given another turn, any other is evicted. A
+ * class that owns no evictable chunk takes over a slab of another class, whose entries are evicted.
+ * <p>
+ * Readers {@link #acquire} an entry, which pins its chunk until {@link Entry#close()}: a pinned
+ * chunk is never evicted or reused, and an entry replaced or removed while pinned is freed on its
+ * last release, so a view handed out never changes under its reader. All methods are synchronized;
+ * they only touch the index and headers, never copy values out, and are short.
+ */
+public class OffHeapSlabStore {
+
+    private static final int HEADER_SIZE = 24;
+    private static final int KEY = 0;
+    private static final int LENGTH = 8;
+    private static final int PINS = 12;
+    private static final int STATE = 16;
+    private static final int REFERENCED = 17;
+
+    private static final byte FREE = 0;
+    private static final byte LIVE = 1;
+    private static final byte DEAD = 2;
+
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int MAX_CHUNKS_PER_SLAB = 1 << 16;
+    private static final int EMPTY = -1;
+
+    private final int slabSize;
+    private final int[] classSizes;
+    private final ByteBuffer[] slabs;
+    private final int[] slabClasses;
+    private final IntList[] freeChunks;
+    private final IntList[] classSlabs;
+    private final int[] clockHands;
+    private int allocatedSlabs;
+    private int slabHand;
+
+    private long[] keys;
+    private int[] refs;
+    private int size;
+
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    public OffHeapSlabStore(long capacityBytes, int slabSize) {
+        if (slabSize < MIN_CHUNK_SIZE || slabSize / MIN_CHUNK_SIZE > MAX_CHUNKS_PER_SLAB) {
+            throw new IllegalArgumentException("Slab size must be between " + MIN_CHUNK_SIZE + " bytes and "
+                    + MIN_CHUNK_SIZE * MAX_CHUNKS_PER_SLAB + " bytes: " + slabSize);
+        }
+        long slabCount = capacityBytes / slabSize;
+        if (slabCount < 1 || slabCount > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity must hold between 1 and " + Short.MAX_VALUE + " slabs: "
+                    + capacityBytes + " bytes of " + slabSize);
+        }
+        this.slabSize = slabSize;
+        this.classSizes = classSizes(slabSize);
+        this.slabs = new ByteBuffer[(int) slabCount];
+        this.slabClasses = new int[slabs.length];
+        this.freeChunks = new IntList[classSizes.length];
+        this.classSlabs = new IntList[classSizes.length];
+        this.clockHands = new int[classSizes.length];
+        for (int i = 0; i < classSizes.length; i++) {
+            freeChunks[i] = new IntList();
+            classSlabs[i] = new IntList();
+        }
+        this.keys = new long[1024];
+        this.refs = new int[1024];
+        Arrays.fill(refs, EMPTY);
+    }
+
+    /**
+     * A pinned view of one value; close it once the value has been read.
+     */
+    public final class Entry implements AutoCloseable {
+
+        private final int ref;
+        private final ByteBuffer value;
+        private boolean closed;
+
+        private Entry(int ref, ByteBuffer value) {
+            this.ref = ref;
+            this.value = value;
+        }
+
+        public ByteBuffer value() {
+            return value;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(ref);
+            }
+        }
+    }
+
+    /**
+     * Stores the value, replacing any under the same key. Returns false, storing nothing, if the
+     * value is larger than a slab or every chunk that could take it is pinned.
+     */
+    public synchronized boolean put(long key, byte[] value) {
+        int sizeClass = sizeClassOf(value.length + HEADER_SIZE);
+        int ref = sizeClass < 0 ? EMPTY : allocate(sizeClass);
+        if (ref == EMPTY) {
+            rejections++;
+            return false;
+        }
+        ByteBuffer slab = slabs[slabOf(ref)];
+        int offset = offsetOf(ref);
+        slab.putLong(offset + KEY, key)
+                .putInt(offset + LENGTH, value.length)
+                .putInt(offset + PINS, 0)
+                .put(offset + STATE, LIVE)
+                .put(offset + REFERENCED, (byte) 0)
+                .put(offset + HEADER_SIZE, value);
+        usedBytes += value.length;
+        int previous = indexPut(key, ref);
+        if (previous != EMPTY) {
+            retire(previous);
+        }
+        return true;
+    }
+
+    /**
+     * The value stored under the key, pinned, or {@code null}.
+     */
+    public synchronized Entry acquire(long key) {
+        int ref = indexGet(key);
+        if (ref == EMPTY) {
+            misses++;
+            return null;
+        }
+        hits++;
+        ByteBuffer slab = slabs[slabOf(ref)];
+        int offset = offsetOf(ref);
+        slab.putInt(offset + PINS, slab.getInt(offset + PINS) + 1);
+        slab.put(offset + REFERENCED, (byte) 1);
+        return new Entry(ref, slab.slice(offset + HEADER_SIZE, slab.getInt(offset + LENGTH)).asReadOnlyBuffer());
+    }
+
+    public synchronized boolean remove(long key) {
+        int ref = indexRemove(key);
+        if (ref == EMPTY) {
+            return false;
+        }
+        retire(ref);
+        return true;
+    }
+
+    public synchronized void clear() {
+        for (int slot = 0; slot < refs.length; slot++) {
+            if (refs[slot] != EMPTY) {
+                retire(refs[slot]);
+                refs[slot] = EMPTY;
+            }
+        }
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(size, usedBytes, (long) allocatedSlabs * slabSize, (long) slabs.length * slabSize,
+                hits, misses, evictions, rejections);
+    }
+
+    public record Stats(int entries, long usedBytes, long allocatedBytes, long capacityBytes,
+                        long hits, long misses, long evictions, long rejections) {
+    }
+
+    private synchronized void release(int ref) {
+        ByteBuffer slab = slabs[slabOf(ref)];
+        int offset = offsetOf(ref);
+        int pins = slab.getInt(offset + PINS) - 1;
+        slab.putInt(offset + PINS, pins);
+        if (pins == 0 && slab.get(offset + STATE) == DEAD) {
+            free(ref);
+        }
+    }
+
+    // Takes a chunk out of the index's reach; it is reused once no reader holds it
+    private void retire(int ref) {
+        ByteBuffer slab = slabs[slabOf(ref)];
+        int offset = offsetOf(ref);
+        usedBytes -= slab.getInt(offset + LENGTH);
+        if (slab.getInt(offset + PINS) == 0) {
+            free(ref);
+        } else {
+            slab.put(offset + STATE, DEAD);
+        }
+    }
+
+    private void free(int ref) {
+        slabs[slabOf(ref)].put(offsetOf(ref) + STATE, FREE);
+        freeChunks[slabClasses[slabOf(ref)]].add(ref);
+    }
+
+    private int allocate(int sizeClass) {
+        IntList free = freeChunks[sizeClass];
+        if (free.size > 0) {
+            return free.removeLast();
+        }
+        if (allocatedSlabs < slabs.length) {
+            int slab = allocatedSlabs++;
+            slabs[slab] = ByteBuffer.allocateDirect(slabSize);
+            assign(slab, sizeClass);
+            return free.removeLast();
+        }
+        int evicted = evictFrom(sizeClass);
+        if (evicted != EMPTY) {
+            return evicted;
+        }
+        return takeOverSlab(sizeClass) ? free.removeLast() : EMPTY;
+    }
+
+    private void assign(int slab, int sizeClass) {
+        slabClasses[slab] = sizeClass;
+        classSlabs[sizeClass].add(slab);
+        int chunks = slabSize / classSizes[sizeClass];
+        for (int chunk = chunks - 1; chunk >= 0; chunk--) {
+            int ref = slab << 16 | chunk;
+            slabs[slab].put(offsetOf(ref) + STATE, FREE);
+            freeChunks[sizeClass].add(ref);
+        }
+    }
+
+    // CLOCK over the class's chunks; two turns give every recently read chunk its second chance
+    private int evictFrom(int sizeClass) {
+        IntList owned = classSlabs[sizeClass];
+        int chunksPerSlab = slabSize / classSizes[sizeClass];
+        int positions = owned.size * chunksPerSlab;
+        for (int step = 0; step < 2 * positions; step++) {
+            int position = clockHands[sizeClass];
+            clockHands[sizeClass] = (position + 1) % positions;
+            int ref = owned.get(position / chunksPerSlab) << 16 | position % chunksPerSlab;
+            ByteBuffer slab = slabs[slabOf(ref)];
+            int offset = offsetOf(ref);
+            if (slab.get(offset + STATE) != LIVE || slab.getInt(offset + PINS) != 0) {
+                continue;
+            }
+            if (slab.get(offset + REFERENCED) != 0) {
+                slab.put(offset + REFERENCED, (byte) 0);
+                continue;
+            }
+            indexRemove(slab.getLong(offset + KEY));
+            usedBytes -= slab.getInt(offset + LENGTH);
+            evictions++;
+            return ref;
+        }
+        return EMPTY;
+    }
+
+    private boolean takeOverSlab(int sizeClass) {
+        for (int step = 0; step < allocatedSlabs; step++) {
+            int slab = slabHand;
+            slabHand = (slabHand + 1) % allocatedSlabs;
+            int owner = slabClasses[slab];
+            if (owner == sizeClass || isPinned(slab)) {
+                continue;
+            }
+            int chunks = slabSize / classSizes[owner];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int offset = chunk * classSizes[owner];
+                if (slabs[slab].get(offset + STATE) == LIVE) {
+                    indexRemove(slabs[slab].getLong(offset + KEY));
+                    usedBytes -= slabs[slab].getInt(offset + LENGTH);
+                    evictions++;
+                }
+            }
+            classSlabs[owner].removeValue(slab);
+            clockHands[owner] = 0;
+            freeChunks[owner].removeIf(ref -> slabOf(ref) == slab);
+            assign(slab, sizeClass);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isPinned(int slab) {
+        int chunkSize = classSizes[slabClasses[slab]];
+        for (int offset = 0; offset + chunkSize <= slabSize; offset += chunkSize) {
+            // A free chunk's header may still hold bytes of the slab's previous layout
+            if (slabs[slab].get(offset + STATE) != FREE && slabs[slab].getInt(offset + PINS) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int sizeClassOf(int bytes) {
+        for (int i = 0; i < classSizes.length; i++) {
+            if (classSizes[i] >= bytes) {
+                return i;
+            }
+        }
+        return EMPTY;
+    }
+
+    private static int[] classSizes(int slabSize) {
+        IntList sizes = new IntList();
+        for (int size = MIN_CHUNK_SIZE; size < slabSize; size = Math.max(size + 8, (size + size / 4 + 7) & ~7)) {
+            sizes.add(size);
+        }
+        sizes.add(slabSize);
+        return Arrays.copyOf(sizes.values, sizes.size);
+    }
+
+    private static int slabOf(int ref) {
+        return ref >>> 16;
+    }
+
+    private int offsetOf(int ref) {
+        return (ref & 0xFFFF) * classSizes[slabClasses[slabOf(ref)]];
+    }
+
+    // Linear probing over a power-of-two table kept at most half full; removals shift back, leaving no tombstones
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & (keys.length - 1);
+    }
+
+    private int indexGet(long key) {
+        for (int slot = slotOf(key); refs[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == key) {
+                return refs[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    private int indexPut(long key, int ref) {
+        int slot = slotOf(key);
+        for (; refs[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == key) {
+                int previous = refs[slot];
+                refs[slot] = ref;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        refs[slot] = ref;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return EMPTY;
+    }
+
+    private int indexRemove(long key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key);
+        while (refs[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (refs[slot] == EMPTY) {
+            return EMPTY;
+        }
+        int removed = refs[slot];
+        size--;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; refs[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            // Move the entry back if the gap lies between its home slot and where it sits
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                refs[gap] = refs[next];
+                gap = next;
+            }
+        }
+        refs[gap] = EMPTY;
+        return removed;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldRefs = refs;
+        keys = new long[oldKeys.length * 2];
+        refs = new int[oldRefs.length * 2];
+        Arrays.fill(refs, EMPTY);
+        size = 0;
+        for (int slot = 0; slot < oldRefs.length; slot++) {
+            if (oldRefs[slot] != EMPTY) {
+                indexPut(oldKeys[slot], oldRefs[slot]);
+            }
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        void removeValue(int value) {
+            removeIf(candidate -> candidate == value);
+        }
+
+        void removeIf(IntPredicate predicate) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!predicate.test(values[i])) {
+                    values[kept++] = values[i];
+                }
+            }
+            size = kept;
+        }
+    }
+}
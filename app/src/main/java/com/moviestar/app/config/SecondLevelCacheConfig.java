@@ -0,0 +1,85 @@
+package com.moviestar.app.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache: movies, genres, actors and directors, the collections
+ * that link them (both sides), and the query cache. Movies are cached so that a cached actor's or
+ * director's filmography does not turn into one lookup per movie. Every region is a bounded Caffeine cache
+ * created here; a region an entity asks for that is not listed fails startup instead of growing
+ * without limit.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("movie", "genre", "actor", "director");
+    private static final List<String> COLLECTION_REGIONS = List.of(
+            "movie.genres", "movie.actors", "movie.directors", "actor.movies", "director.movies");
+
+    @Value("${app.second-level-cache.entities.max-size:20000}")
+    private long entityMaxSize;
+
+    @Value("${app.second-level-cache.collections.max-size:20000}")
+    private long collectionMaxSize;
+
+    @Value("${app.second-level-cache.queries.max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${app.second-level-cache.time-to-live:PT1H}")
+    private Duration timeToLive;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A manager of its own rather than the provider's default one, which is shared JVM-wide
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, region(entityMaxSize, timeToLive));
+        }
+        for (String region : COLLECTION_REGIONS) {
+            cacheManager.createCache(region, region(collectionMaxSize, timeToLive));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxSize, timeToLive));
+        // Table modification times that query results are checked against; a lost entry could let a
+        // stale result through, so this region never expires (it holds one entry per table)
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(10_000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    // Entries are Hibernate's immutable disassembled state, so they are kept by reference rather than
+    // copied on every read and write
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -1,11 +1,13 @@
 package com.moviestar.app.config;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,8 +15,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -22,6 +30,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.moviestar.app.security.BannedUserFilter;
+import com.moviestar.app.security.JwtAuthenticationCache;
 
 @Configuration
 @EnableWebSecurity
@@ -30,20 +39,36 @@ public class SecurityConfig {
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuerUri;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    // When set, scrapes on the management port need no token; that port is kept off the public network
+    @Value("${management.server.port:-1}")
+    private int managementPort;
     
     private final BannedUserFilter bannedUserFilter;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
-    public SecurityConfig(BannedUserFilter bannedUserFilter) {
+    public SecurityConfig(BannedUserFilter bannedUserFilter, JwtAuthenticationCache jwtAuthenticationCache) {
         this.bannedUserFilter = bannedUserFilter;
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        JwtAuthenticationConverter jwtConverter = jwtAuthenticationConverter();
+
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(
+                                token -> jwtAuthenticationCache.authenticate(token,
+                                        t -> (JwtAuthenticationToken) jwtConverter.convert(t))))
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -60,6 +85,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/*/comments").permitAll() 
                         .requestMatchers("/api/users/*/watchlist").permitAll() 
                         .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated()
                 );
 
@@ -79,23 +108,35 @@ public class SecurityConfig {
         return source;
     }
 
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        // Keys stay in the local cache until an unknown kid forces a refetch, so an unreachable
+        // issuer does not break verification of tokens signed with already-known keys
+        NimbusJwtDecoder nimbusDecoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+                .cache(new ConcurrentMapCache("jwks"))
+                .build();
+        nimbusDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+
+        return token -> jwtAuthenticationCache.decode(token, nimbusDecoder::decode);
+    }
+
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
         
-        jwtConverter.setJwtGrantedAuthoritiesConverter(jwt -> {
-            Map<String, Object> realmAccess = jwt.getClaim("realm_access");
-         
-            
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) realmAccess.get("roles");
-            
-            
-            return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toList());
-        });
+        jwtConverter.setJwtGrantedAuthoritiesConverter(this::extractRealmRoles);
         
         return jwtConverter;
     }
+
+    private Collection<GrantedAuthority> extractRealmRoles(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) realmAccess.get("roles");
+
+        return roles.stream()
+            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+            .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.moviestar.app.controller;
 
 import com.moviestar.app.model.Response.ActorResponse;
 import com.moviestar.app.service.ActorService;
+import com.moviestar.app.model.Response.CollaborationPathResponse;
+import com.moviestar.app.model.Response.CollaboratorResponse;
+import com.moviestar.app.service.graph.CollaborationGraphService;
+import com.moviestar.app.service.graph.PersonType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +23,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ActorController {
     private final ActorService actorService;
+    private final CollaborationGraphService collaborationGraphService;
     private final MovieService movieService; // Add this dependency
 
     @GetMapping
@@ -60,4 +65,32 @@ public class ActorController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(movieResponses);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/collaborators")
+    public ResponseEntity<List<CollaboratorResponse>> getCollaborators(
+            @PathVariable Long id,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        PersonType collaboratorType;
+        try {
+            collaboratorType = PersonType.fromLabel(type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(collaborationGraphService.topCollaborators(PersonType.ACTOR, id, collaboratorType, limit));
+    }
+
+    @GetMapping("/{id}/collaboration-path")
+    public ResponseEntity<CollaborationPathResponse> getCollaborationPath(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long toActor,
+            @RequestParam(required = false) Long toDirector,
+            @RequestParam(defaultValue = "6") int maxDepth) {
+        if ((toActor == null) == (toDirector == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        PersonType targetType = toActor != null ? PersonType.ACTOR : PersonType.DIRECTOR;
+        Long targetId = toActor != null ? toActor : toDirector;
+        return ResponseEntity.ok(collaborationGraphService.shortestPath(PersonType.ACTOR, id, targetType, targetId, maxDepth));
+    }
+}
@@ -7,24 +7,34 @@ import com.moviestar.app.model.Requests.ActorRequest;
 import com.moviestar.app.model.Requests.DirectorAboutRequest;
 import com.moviestar.app.model.Requests.DirectorPictureRequest;
 import com.moviestar.app.model.Requests.DirectorRequest;
+import com.moviestar.app.model.Requests.MovieLinksRequest;
 import com.moviestar.app.model.Requests.MovieRequest;
 import com.moviestar.app.model.Requests.GenreRequest;
 import com.moviestar.app.model.Response.ActorResponse;
+import com.moviestar.app.model.Response.CatalogImportResponse;
 import com.moviestar.app.model.Response.DirectorResponse;
 import com.moviestar.app.model.Response.GenreResponse;
+import com.moviestar.app.model.Response.MovieLinksResponse;
 import com.moviestar.app.model.Response.MovieResponse;
 import com.moviestar.app.service.ActorService;
 import com.moviestar.app.service.DirectorService;
 import com.moviestar.app.service.MovieService;
 import com.moviestar.app.service.GenreService;
+import com.moviestar.app.service.MovieLinkService;
 import com.moviestar.app.service.CommentService;
+import com.moviestar.app.service.catalogimport.CatalogImportService;
+import com.moviestar.app.service.catalogimport.ImportFormat;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -37,6 +47,8 @@ public class AdminController {
     private final DirectorService directorService;
     private final GenreService genreService;
     private final CommentService commentService;
+    private final CatalogImportService catalogImportService;
+    private final MovieLinkService movieLinkService;
 
     @PostMapping("/movies")
     public ResponseEntity<MovieResponse> createMovie(@Valid @RequestBody MovieRequest request) {
@@ -59,6 +71,33 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/movies/import")
+    public ResponseEntity<CatalogImportResponse> importMovies(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) throws IOException {
+        ImportFormat importFormat;
+        try {
+            importFormat = ImportFormat.of(format, contentType);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        CatalogImportResponse job = catalogImportService.submit(importFormat, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/movies/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/movies/import")
+    public ResponseEntity<List<CatalogImportResponse>> getImportJobs() {
+        return ResponseEntity.ok(catalogImportService.getJobs());
+    }
+
+    @GetMapping("/movies/import/{jobId}")
+    public ResponseEntity<CatalogImportResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(catalogImportService.getJob(jobId));
+    }
+
     @PostMapping("/actors")
     public ResponseEntity<ActorResponse> createActor(@Valid @RequestBody ActorRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -223,6 +262,32 @@ public class AdminController {
         return ResponseEntity.ok(movieService.convertToResponse(movie));
     }
 
+    @PostMapping("/movies/links/{association}")
+    public ResponseEntity<MovieLinksResponse> linkMovies(
+            @PathVariable String association,
+            @Valid @RequestBody MovieLinksRequest request) {
+        MovieLinkService.Association target;
+        try {
+            target = MovieLinkService.Association.of(association);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieLinkService.link(target, request.getLinks()));
+    }
+
+    @DeleteMapping("/movies/links/{association}")
+    public ResponseEntity<MovieLinksResponse> unlinkMovies(
+            @PathVariable String association,
+            @Valid @RequestBody MovieLinksRequest request) {
+        MovieLinkService.Association target;
+        try {
+            target = MovieLinkService.Association.of(association);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieLinkService.unlink(target, request.getLinks()));
+    }
+
     @DeleteMapping("/comments/{commentId}")
     public ResponseEntity<Void> deleteComment(@PathVariable Long commentId) {
         commentService.deleteComment(commentId);
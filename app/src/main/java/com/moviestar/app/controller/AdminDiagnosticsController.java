@@ -0,0 +1,198 @@
+package com.moviestar.app.controller;
+
+import com.moviestar.app.cache.CacheInvalidationBus;
+import com.moviestar.app.cache.MovieCardCache;
+import com.moviestar.app.datasource.ReplicaRouter;
+import com.moviestar.app.exception.EntityNotFoundException;
+import com.moviestar.app.observability.SlowRequest;
+import com.moviestar.app.observability.SlowRequestLog;
+import com.moviestar.app.observability.jfr.FlightRecordingService;
+import com.moviestar.app.observability.jfr.RecordingAlreadyRunningException;
+import com.moviestar.app.resilience.DatabaseCircuitBreaker;
+import com.moviestar.app.resilience.LastKnownGoodStore;
+import com.moviestar.app.security.JwtAuthenticationCache;
+import com.moviestar.app.service.SecondLevelCacheService;
+import com.moviestar.app.service.graph.CollaborationGraphService;
+import com.moviestar.app.service.recommendation.ContentSimilarityService;
+import com.moviestar.app.service.recommendation.RecommendationService;
+import com.moviestar.app.snapshot.CatalogSnapshotService;
+import com.moviestar.app.warmup.StartupWarmUp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+@RequiredArgsConstructor
+public class AdminDiagnosticsController {
+
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final RecommendationService recommendationService;
+    private final ContentSimilarityService contentSimilarityService;
+    private final CollaborationGraphService collaborationGraphService;
+    private final FlightRecordingService flightRecordingService;
+    private final SlowRequestLog slowRequestLog;
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+    private final ObjectProvider<StartupWarmUp> startupWarmUp;
+    private final ObjectProvider<CatalogSnapshotService> catalogSnapshotService;
+    private final ObjectProvider<MovieCardCache> movieCardCache;
+    private final ObjectProvider<DatabaseCircuitBreaker> databaseCircuitBreaker;
+    private final ObjectProvider<LastKnownGoodStore> lastKnownGoodStore;
+
+    @GetMapping("/jwt-cache")
+    public ResponseEntity<Map<String, Object>> getJwtCacheStats() {
+        return ResponseEntity.ok(jwtAuthenticationCache.stats());
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<Map<String, Object>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheService.stats());
+    }
+
+    @DeleteMapping("/second-level-cache")
+    public ResponseEntity<Void> clearSecondLevelCache() {
+        secondLevelCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/movie-cards")
+    public ResponseEntity<Map<String, Object>> getMovieCardStats() {
+        MovieCardCache cards = movieCardCache.getIfAvailable();
+        return ResponseEntity.ok(cards != null ? cards.stats() : Map.of("enabled", false));
+    }
+
+    @DeleteMapping("/movie-cards")
+    public ResponseEntity<Void> clearMovieCards() {
+        movieCardCache.ifAvailable(cards -> cards.invalidate(null));
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/database-circuit")
+    public ResponseEntity<Map<String, Object>> getDatabaseCircuitStats() {
+        DatabaseCircuitBreaker breaker = databaseCircuitBreaker.getIfAvailable();
+        if (breaker == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        Map<String, Object> stats = new LinkedHashMap<>(breaker.stats());
+        lastKnownGoodStore.ifAvailable(store -> stats.put("lastKnownGood", store.stats()));
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping("/database-circuit/last-known-good")
+    public ResponseEntity<Void> clearLastKnownGood() {
+        lastKnownGoodStore.ifAvailable(LastKnownGoodStore::clear);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache-bus")
+    public ResponseEntity<Map<String, Object>> getCacheBusStats() {
+        CacheInvalidationBus bus = cacheInvalidationBus.getIfAvailable();
+        return ResponseEntity.ok(bus != null ? bus.stats() : Map.of("enabled", false));
+    }
+
+    @GetMapping("/warm-up")
+    public ResponseEntity<Map<String, Object>> getWarmUpStats() {
+        StartupWarmUp warmUp = startupWarmUp.getIfAvailable();
+        return ResponseEntity.ok(warmUp != null ? warmUp.stats() : Map.of("state", "disabled"));
+    }
+
+    @GetMapping("/catalog-snapshot")
+    public ResponseEntity<Map<String, Object>> getCatalogSnapshotStats() {
+        CatalogSnapshotService snapshots = catalogSnapshotService.getIfAvailable();
+        return ResponseEntity.ok(snapshots != null ? snapshots.stats() : Map.of("enabled", false));
+    }
+
+    @PostMapping("/catalog-snapshot")
+    public ResponseEntity<Map<String, Object>> rebuildCatalogSnapshot() throws IOException {
+        CatalogSnapshotService snapshots = catalogSnapshotService.getIfAvailable();
+        if (snapshots == null) {
+            throw new EntityNotFoundException("Catalog snapshots are disabled");
+        }
+        return ResponseEntity.ok(snapshots.rebuild());
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<Map<String, Object>> getRecommendationStats() {
+        return ResponseEntity.ok(recommendationService.stats());
+    }
+
+    @GetMapping("/content-similarity")
+    public ResponseEntity<Map<String, Object>> getContentSimilarityStats() {
+        return ResponseEntity.ok(contentSimilarityService.stats());
+    }
+
+    @GetMapping("/replicas")
+    public ResponseEntity<Map<String, Object>> getReplicaStats() {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        return ResponseEntity.ok(router != null ? router.stats() : Map.of("replicas", List.of()));
+    }
+
+    @GetMapping("/collaboration-graph")
+    public ResponseEntity<Map<String, Object>> getCollaborationGraphStats() {
+        return ResponseEntity.ok(collaborationGraphService.stats());
+    }
+
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequest>> getSlowRequests(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(slowRequestLog.recent(Math.max(0, limit)));
+    }
+
+    @DeleteMapping("/slow-requests")
+    public ResponseEntity<Void> clearSlowRequests() {
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/flight-recording")
+    public ResponseEntity<Map<String, Object>> startFlightRecording(@RequestParam(required = false) String duration) {
+        try {
+            return ResponseEntity.ok(flightRecordingService.start(duration != null ? Duration.parse(duration) : null));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "duration must be an ISO-8601 duration such as PT5M"));
+        }
+    }
+
+    @GetMapping("/flight-recording")
+    public ResponseEntity<Map<String, Object>> getFlightRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    @GetMapping("/flight-recording/dump")
+    public ResponseEntity<byte[]> dumpFlightRecording() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"moviestar.jfr\"")
+                .body(flightRecordingService.dump());
+    }
+
+    @DeleteMapping("/flight-recording")
+    public ResponseEntity<Map<String, Object>> stopFlightRecording() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    @ExceptionHandler(RecordingAlreadyRunningException.class)
+    public ResponseEntity<Map<String, Object>> handleRecordingConflict(RecordingAlreadyRunningException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.moviestar.app.controller;
+
+import com.moviestar.app.service.catalogexport.CatalogExportService;
+import com.moviestar.app.service.catalogexport.ExportDataset;
+import com.moviestar.app.service.catalogexport.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class AdminExportController {
+
+    private final CatalogExportService catalogExportService;
+    private final Duration timeout;
+
+    public AdminExportController(CatalogExportService catalogExportService,
+                                 @Value("${app.export.timeout:PT1H}") Duration timeout) {
+        this.catalogExportService = catalogExportService;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportDataset exportDataset;
+        ExportFormat exportFormat;
+        try {
+            exportDataset = ExportDataset.of(dataset);
+            exportFormat = ExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = exportDataset.fileName() + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> catalogExportService.export(exportDataset, exportFormat, gzip, out);
+        // Only exports get the long timeout; other async requests keep spring.mvc.async.request-timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -1,16 +1,15 @@
 package com.moviestar.app.controller;
 
+import com.moviestar.app.model.Response.UserPageResponse;
 import com.moviestar.app.model.Response.UserResponse;
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.repository.UserSpecifications;
 import com.moviestar.app.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/admin/users")
 @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -20,12 +19,10 @@ public class AdminUserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(
-            userService.getAllUsers().stream()
-                .map(userService::convertToResponse)
-                .collect(Collectors.toList())
-        );
+    public ResponseEntity<UserPageResponse> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return listUsers(null, cursor, limit);
     }
 
     @PostMapping("/{username}/ban")
@@ -41,20 +38,63 @@ public class AdminUserController {
     }
 
     @GetMapping("/banned")
-    public ResponseEntity<List<UserResponse>> getBannedUsers() {
-        return ResponseEntity.ok(
-            userService.getUsersByStatus(UserDTO.UserStatus.BANNED).stream()
-                .map(userService::convertToResponse)
-                .collect(Collectors.toList())
-        );
+    public ResponseEntity<UserPageResponse> getBannedUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return listUsers(UserDTO.UserStatus.BANNED, cursor, limit);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<UserResponse>> getActiveUsers() {
-        return ResponseEntity.ok(
-            userService.getUsersByStatus(UserDTO.UserStatus.ACTIVE).stream()
-                .map(userService::convertToResponse)
-                .collect(Collectors.toList())
-        );
+    public ResponseEntity<UserPageResponse> getActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return listUsers(UserDTO.UserStatus.ACTIVE, cursor, limit);
+    }
+
+    @GetMapping("/directory")
+    public ResponseEntity<UserPageResponse> getUserDirectory(
+            @RequestParam(required = false) UserDTO.UserStatus status,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false, defaultValue = "prefix") String match,
+            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        UserSpecifications.SortField sortField;
+        switch (sortBy) {
+            case "createdAt":
+                sortField = UserSpecifications.SortField.CREATED_AT;
+                break;
+            case "lastLogin":
+                sortField = UserSpecifications.SortField.LAST_LOGIN;
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+        if (!"prefix".equals(match) && !"contains".equals(match)
+                || !"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return searchUsers(status, query, "prefix".equals(match), sortField, "asc".equalsIgnoreCase(direction),
+                cursor, limit);
+    }
+
+    /**
+     * A page of users with the status, or of all users, newest first.
+     */
+    private ResponseEntity<UserPageResponse> listUsers(UserDTO.UserStatus status, String cursor, int limit) {
+        return searchUsers(status, null, true, UserSpecifications.SortField.CREATED_AT, false, cursor, limit);
+    }
+
+    private ResponseEntity<UserPageResponse> searchUsers(UserDTO.UserStatus status, String query, boolean prefixOnly,
+                                                         UserSpecifications.SortField sortField, boolean ascending,
+                                                         String cursor, int limit) {
+        try {
+            return ResponseEntity.ok(userService.searchUsers(status, query, prefixOnly, sortField, ascending,
+                    cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -1,11 +1,13 @@
 package com.moviestar.app.controller;
 
 import com.moviestar.app.repository.UserRepository;
+import com.moviestar.app.repository.UserSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -16,6 +18,8 @@ import java.util.stream.Collectors;
 @Profile({"dev", "test"})
 public class DebugController {
 
+    private static final int SIMILAR_USERS_LIMIT = 100;
+
     private final UserRepository userRepository;
 
     @GetMapping("/users/search")
@@ -24,26 +28,21 @@ public class DebugController {
         var exactMatch = userRepository.findByUsername(username);
         
         // Then with case-insensitive match
-        var caseInsensitiveMatch = userRepository.findByUsernameIgnoreCase(username);
+        var caseInsensitiveMatch = userRepository.findByUsernamePreferExactCase(username);
         
-        // Find users containing this substring
-        var allUsers = userRepository.findAll();
-        List<String> allUsernames = allUsers.stream()
+        // Find users containing this substring (trigram index on lower(username))
+        List<String> similarUsers = userRepository.findBy(
+                UserSpecifications.usernameMatches(username, false),
+                q -> q.limit(SIMILAR_USERS_LIMIT).all()).stream()
             .map(u -> u.getUsername())
             .collect(Collectors.toList());
-        
-        List<String> similarUsers = allUsernames.stream()
-            .filter(u -> u.toLowerCase().contains(username.toLowerCase()))
-            .collect(Collectors.toList());
             
-        Map<String, Object> response = Map.of(
-            "exactMatch", exactMatch.isPresent() ? exactMatch.get().getUsername() : null,
-            "caseInsensitiveMatch", caseInsensitiveMatch.isPresent() ? 
-                caseInsensitiveMatch.get().getUsername() : null,
-            "similarUsernames", similarUsers,
-            "allUsernames", allUsernames,
-            "searchTerm", username
-        );
+        Map<String, Object> response = new HashMap<>();
+        response.put("exactMatch", exactMatch.isPresent() ? exactMatch.get().getUsername() : null);
+        response.put("caseInsensitiveMatch", caseInsensitiveMatch.isPresent() ?
+                caseInsensitiveMatch.get().getUsername() : null);
+        response.put("similarUsernames", similarUsers);
+        response.put("searchTerm", username);
         
         return ResponseEntity.ok(response);
     }
@@ -3,6 +3,10 @@ package com.moviestar.app.controller;
 import com.moviestar.app.model.Response.DirectorResponse;
 import com.moviestar.app.model.Response.MovieResponse;
 import com.moviestar.app.service.DirectorService;
+import com.moviestar.app.model.Response.CollaborationPathResponse;
+import com.moviestar.app.model.Response.CollaboratorResponse;
+import com.moviestar.app.service.graph.CollaborationGraphService;
+import com.moviestar.app.service.graph.PersonType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +19,7 @@ import java.util.HashMap;
 @RequiredArgsConstructor
 public class DirectorController {
     private final DirectorService directorService;
+    private final CollaborationGraphService collaborationGraphService;
 
     @GetMapping
     public ResponseEntity<List<DirectorResponse>> getAllDirectors() {
@@ -56,4 +61,32 @@ public class DirectorController {
         List<MovieResponse> movieResponses = directorService.getDirectorMovies(id);
         return ResponseEntity.ok(movieResponses);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/collaborators")
+    public ResponseEntity<List<CollaboratorResponse>> getCollaborators(
+            @PathVariable Long id,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        PersonType collaboratorType;
+        try {
+            collaboratorType = PersonType.fromLabel(type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(collaborationGraphService.topCollaborators(PersonType.DIRECTOR, id, collaboratorType, limit));
+    }
+
+    @GetMapping("/{id}/collaboration-path")
+    public ResponseEntity<CollaborationPathResponse> getCollaborationPath(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long toActor,
+            @RequestParam(required = false) Long toDirector,
+            @RequestParam(defaultValue = "6") int maxDepth) {
+        if ((toActor == null) == (toDirector == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        PersonType targetType = toActor != null ? PersonType.ACTOR : PersonType.DIRECTOR;
+        Long targetId = toActor != null ? toActor : toDirector;
+        return ResponseEntity.ok(collaborationGraphService.shortestPath(PersonType.DIRECTOR, id, targetType, targetId, maxDepth));
+    }
+}
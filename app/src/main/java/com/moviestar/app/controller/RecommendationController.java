@@ -0,0 +1,43 @@
+package com.moviestar.app.controller;
+
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import com.moviestar.app.service.recommendation.MoreLikeThisService;
+import com.moviestar.app.service.recommendation.RecommendationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+    private final MoreLikeThisService moreLikeThisService;
+
+    @GetMapping("/movies/{id}/similar")
+    public ResponseEntity<List<ScoredMovieResponse>> getSimilarMovies(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.similarMovies(id, limit));
+    }
+
+    @GetMapping("/movies/{id}/more-like-this")
+    public ResponseEntity<List<ScoredMovieResponse>> getMoreLikeThis(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(moreLikeThisService.moreLikeThis(id, limit));
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<ScoredMovieResponse>> getRecommendations(
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+        String username = jwt.getClaimAsString("preferred_username");
+        return ResponseEntity.ok(recommendationService.recommendFor(username, limit));
+    }
+}
@@ -0,0 +1,44 @@
+package com.moviestar.app.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Work whose read-only transactions run on the primary instead of a replica: reads whose result is
+ * kept for longer than a replica may lag, such as cache fills. A value read from a replica just
+ * after a write would otherwise stay in the cache, old, until its next eviction, and the writer
+ * would not see its own write. Applied as advice, or around a block with {@link #begin()}.
+ */
+public final class PrimaryReads implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    static boolean active() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Sends the current thread's read-only transactions to the primary until the scope is closed.
+     * Scopes nest; the outermost one ends it.
+     */
+    public static Scope begin() {
+        if (active()) {
+            return () -> {
+            };
+        }
+        ACTIVE.set(Boolean.TRUE);
+        return ACTIVE::remove;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try (Scope scope = begin()) {
+            return invocation.proceed();
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
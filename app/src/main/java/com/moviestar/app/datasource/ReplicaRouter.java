@@ -0,0 +1,214 @@
+package com.moviestar.app.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pools for the read replicas listed in {@code app.datasource.replicas.urls}, and the
+ * choice of replica for each read-only transaction. Replicas are used round-robin; one that is
+ * further behind the primary than {@code max-lag}, or cannot be reached, is skipped until a later
+ * check finds it caught up. With no usable replica, reads fall back to the primary.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression(ReplicaRouter.ENABLED)
+public class ReplicaRouter implements MeterBinder {
+
+    public static final String ENABLED = "!'${app.datasource.replicas.urls:}'.trim().isEmpty()";
+
+    // Zero when the replica has replayed everything it received (an idle primary sends nothing, so
+    // the last replay timestamp alone would report ever-growing lag); zero as well for a server
+    // that is not in recovery at all
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)::bigint END";
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    @Autowired
+    public ReplicaRouter(
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+            @Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag) {
+        this.maxLag = maxLag;
+        List<Replica> pools = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (pools.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // Start even when a replica is down; the lag check keeps it out of rotation meanwhile
+            config.setInitializationFailTimeout(-1);
+            pools.add(new Replica(config.getPoolName(), url.trim(), new HikariDataSource(config)));
+        }
+        this.replicas = List.copyOf(pools);
+        checkLag();
+    }
+
+    ReplicaRouter(List<Replica> replicas, Duration maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        checkLag();
+    }
+
+    /**
+     * A connection for a read-only transaction: from the next usable replica, or from the primary
+     * when none is usable.
+     */
+    Connection readOnlyConnection(DataSource primary) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+                log.warn("Read replica {} unavailable, trying the next one: {}", replica.name, e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval:PT2S}",
+            initialDelayString = "${app.datasource.replicas.check-interval:PT2S}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                long lagMillis = resultSet.getLong(1);
+                boolean wasAvailable = replica.available;
+                replica.lagMillis = lagMillis;
+                replica.lastError = null;
+                replica.available = lagMillis <= maxLag.toMillis();
+                if (wasAvailable != replica.available) {
+                    log.info("Read replica {} is {} (lag {} ms)", replica.name, replica.available ? "back in rotation" : "behind, reads go elsewhere", lagMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (replica.available) {
+                    log.warn("Read replica {} failed its lag check: {}", replica.name, e.getMessage());
+                }
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                    .description("Replication lag at the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are sent to the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            FunctionCounter.builder("db.replica.connections", replica.connections, LongAdder::sum)
+                    .description("Connections handed out to read-only transactions")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.setMetricRegistry(registry);
+            }
+        }
+        FunctionCounter.builder("db.replica.fallbacks", fallbacks, LongAdder::sum)
+                .description("Read-only transactions sent to the primary because no replica was usable")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", replica.name);
+            entry.put("url", replica.url);
+            entry.put("available", replica.available);
+            entry.put("lagMillis", replica.lagMillis);
+            entry.put("connections", replica.connections.sum());
+            entry.put("lastError", replica.lastError);
+            entries.add(entry);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxLagMillis", maxLag.toMillis());
+        stats.put("primaryFallbacks", fallbacks.sum());
+        stats.put("replicas", entries);
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    static final class Replica {
+        private final String name;
+        private final String url;
+        private final DataSource dataSource;
+        private final LongAdder connections = new LongAdder();
+        private volatile boolean available;
+        private volatile long lagMillis;
+        private volatile String lastError;
+
+        Replica(String name, String url, DataSource dataSource) {
+            this.name = name;
+            this.url = url;
+            this.dataSource = dataSource;
+        }
+
+        private void markUnavailable(String error) {
+            available = false;
+            lastError = error;
+        }
+    }
+}
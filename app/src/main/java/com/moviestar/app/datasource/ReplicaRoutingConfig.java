@@ -0,0 +1,90 @@
+package com.moviestar.app.datasource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link ReplicaRoutingDataSource} in front of the application's data source when read
+ * replicas are configured. The routing wrapper goes on right after the database circuit breaker,
+ * which has to see the primary's physical connections, and before the statement metrics proxy, so
+ * that sees queries on replicas and primary alike.
+ * <p>
+ * Transaction managers take their connection before the transaction is registered as read-only,
+ * so the router sits behind a {@link LazyConnectionDataSourceProxy}: the physical connection, and
+ * with it the choice of database, is only fetched for the first statement.
+ */
+@Configuration
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public static RoutingPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaRouter> router) {
+        return new RoutingPostProcessor(router);
+    }
+
+    /**
+     * Cache misses read from the primary: the advice sits inside the caching advice, so it only runs
+     * when the method is actually invoked, and outside the transaction advice, so it is in place
+     * before the connection is fetched.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnExpression(ReplicaRouter.ENABLED)
+    public static Advisor cacheFillsReadFromPrimary() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, Cacheable.class, true), new PrimaryReads());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    /**
+     * By default Hibernate keeps the connection of the first transaction for the whole session, which
+     * open-in-view stretches over the request; a later transaction would then reuse a replica
+     * connection for writes, or the primary for reads. Releasing it after every transaction lets each
+     * one be routed on its own.
+     */
+    @Bean
+    @ConditionalOnExpression(ReplicaRouter.ENABLED)
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReplicaRouter> router;
+
+        private RoutingPostProcessor(ObjectProvider<ReplicaRouter> router) {
+            this.router = router;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            ReplicaRouter replicas = router.getIfAvailable();
+            return replicas == null ? bean : new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(dataSource, replicas));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.moviestar.app.event;
+
+/**
+ * Published when the genres, actors or directors linked to a movie may have changed. A
+ * {@code null} movie id means any number of movies may be affected (e.g. a genre was deleted).
+ */
+public record MovieAssociationsChangedEvent(Long movieId) {
+
+    public static MovieAssociationsChangedEvent allMovies() {
+        return new MovieAssociationsChangedEvent(null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.moviestar.app.event;
+
+/**
+ * Published after a user's rating for a movie is created, changed or removed.
+ */
+public record RatingChangedEvent(Long movieId, String username) {
+}
@@ -1,5 +1,11 @@
 package com.moviestar.app.exception;
 
+import com.moviestar.app.resilience.DatabaseCircuitBreaker;
+import com.moviestar.app.resilience.LastKnownGoodStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -7,11 +13,16 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final ObjectProvider<LastKnownGoodStore> lastKnownGoodStore;
+    private final ObjectProvider<DatabaseCircuitBreaker> databaseCircuitBreaker;
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(EntityNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -30,8 +41,26 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
+    public ResponseEntity<?> handleGlobalException(Exception ex, HttpServletRequest request) {
+        LastKnownGoodStore store = lastKnownGoodStore.getIfAvailable();
+        if (store != null && DatabaseCircuitBreaker.isUnavailable(ex)) {
+            return handleDatabaseUnavailable(store, request);
+        }
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("An unexpected error occurred"));
     }
-}
\ No newline at end of file
+
+    // Catalog reads get their last good response, marked as stale; everything else is told to retry
+    private ResponseEntity<?> handleDatabaseUnavailable(LastKnownGoodStore store, HttpServletRequest request) {
+        String key = LastKnownGoodStore.key(request);
+        LastKnownGoodStore.Response stale = key != null ? store.get(key) : null;
+        if (stale != null) {
+            return ResponseEntity.ok().headers(store.serveStale(stale)).body(stale.body());
+        }
+        DatabaseCircuitBreaker breaker = databaseCircuitBreaker.getIfAvailable();
+        Duration retryAfter = breaker != null ? breaker.retryAfter() : Duration.ZERO;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.plusMillis(999).toSeconds())))
+                .body(new ErrorResponse("The service is temporarily unavailable"));
+    }
+}
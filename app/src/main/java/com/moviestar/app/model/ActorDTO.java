@@ -1,22 +1,32 @@
 package com.moviestar.app.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name="Actor")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "actor")
 public class ActorDTO {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "actor_id_seq")
+    @SequenceGenerator(name = "actor_id_seq", sequenceName = "actor_id_seq", allocationSize = 50)
     @Column(name="id")
     private Long id;
 
@@ -36,5 +46,21 @@ public class ActorDTO {
     private String pictureUrl;
 
     @ManyToMany(mappedBy = "actors")
-    private List<MovieDTO> movies = new ArrayList<>();
-}
\ No newline at end of file
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "actor.movies")
+    @ToString.Exclude
+    private Set<MovieDTO> movies = new LinkedHashSet<>();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ActorDTO other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
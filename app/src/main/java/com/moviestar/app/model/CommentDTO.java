@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class CommentDTO {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_id_seq")
+    @SequenceGenerator(name = "comment_id_seq", sequenceName = "comment_id_seq", allocationSize = 50)
     @Column(name="id")
     private Long id;
 
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class CommentLikeDTO {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_like_id_seq")
+    @SequenceGenerator(name = "comment_like_id_seq", sequenceName = "comment_like_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
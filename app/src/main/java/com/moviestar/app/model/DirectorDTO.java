@@ -4,22 +4,32 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "Director")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "director")
 public class DirectorDTO {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "director_id_seq")
+    @SequenceGenerator(name = "director_id_seq", sequenceName = "director_id_seq", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "Name cannot be empty")
@@ -40,5 +50,21 @@ public class DirectorDTO {
     private String pictureUrl;
 
     @ManyToMany(mappedBy = "directors")
-    private List<MovieDTO> movies = new ArrayList<>();
-}
\ No newline at end of file
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "director.movies")
+    @ToString.Exclude
+    private Set<MovieDTO> movies = new LinkedHashSet<>();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof DirectorDTO other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -1,9 +1,11 @@
 // MovieDTO.java
 package com.moviestar.app.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -13,23 +15,39 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+/**
+ * Genres, actors and directors are sets, so adding or removing one link writes a single row of the
+ * join table; replacing a whole collection would rewrite all of its rows. Movies, genres, actors
+ * and directors are equal by id (and only added to these sets once they have one).
+ */
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "Movie")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie")
 public class MovieDTO {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_id_seq")
+        @SequenceGenerator(name = "movie_id_seq", sequenceName = "movie_id_seq", allocationSize = 50)
         @Column(name = "id")
         private Long id;
 
@@ -46,15 +64,24 @@ public class MovieDTO {
 
         @ManyToMany(fetch = FetchType.LAZY)
         @JoinTable(name = "movie_genre", joinColumns = @JoinColumn(name = "movie_id"), inverseJoinColumns = @JoinColumn(name = "genre_id"))
-        private List<GenreDTO> genres = new ArrayList<>();
+        @OrderBy("id")
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.genres")
+        @ToString.Exclude
+        private Set<GenreDTO> genres = new LinkedHashSet<>();
 
         @ManyToMany
         @JoinTable(name = "Movie_Actor", joinColumns = @JoinColumn(name = "movie_id"), inverseJoinColumns = @JoinColumn(name = "actor_id"))
-        private List<ActorDTO> actors = new ArrayList<>();
+        @OrderBy("id")
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.actors")
+        @ToString.Exclude
+        private Set<ActorDTO> actors = new LinkedHashSet<>();
 
         @ManyToMany
         @JoinTable(name = "Movie_Director", joinColumns = @JoinColumn(name = "movie_id"), inverseJoinColumns = @JoinColumn(name = "director_id"))
-        private List<DirectorDTO> directors = new ArrayList<>();
+        @OrderBy("id")
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.directors")
+        @ToString.Exclude
+        private Set<DirectorDTO> directors = new LinkedHashSet<>();
 
         @Column(name = "poster_url")
         private String posterURL;
@@ -62,12 +89,16 @@ public class MovieDTO {
         @Column(name = "backdrop_url")
         private String backdropURL;
 
-        public List<GenreDTO> getGenres() {
-            return genres;
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof MovieDTO other && id != null && id.equals(other.getId());
         }
 
-        public void setGenres(List<GenreDTO> genres) {
-            this.genres = genres;
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(id);
         }
-
 }
\ No newline at end of file
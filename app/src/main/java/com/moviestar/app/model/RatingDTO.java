@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class RatingDTO {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rating_id_seq")
+    @SequenceGenerator(name = "rating_id_seq", sequenceName = "rating_id_seq", allocationSize = 50)
     @Column(name="id")
     private Long id;
 
@@ -0,0 +1,31 @@
+package com.moviestar.app.model.Requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieLinksRequest {
+    @NotEmpty(message = "At least one link must be given")
+    @Size(max = 10000, message = "At most 10000 links per request")
+    private List<@Valid Link> links;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Link {
+        @NotNull(message = "movieId cannot be null")
+        private Long movieId;
+
+        @NotNull(message = "id cannot be null")
+        private Long id;
+    }
+}
@@ -0,0 +1,30 @@
+package com.moviestar.app.model.Response;
+
+import com.moviestar.app.service.catalogimport.ImportError;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class CatalogImportResponse {
+    private String id;
+    private String format;
+    private String status;
+    private String message;
+    private long uploadBytes;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,17 @@
+package com.moviestar.app.model.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class CollaborationPathResponse {
+    private int degrees;
+    private List<CollaborationStepResponse> path;
+}
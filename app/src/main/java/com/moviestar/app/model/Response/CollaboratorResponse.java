@@ -0,0 +1,16 @@
+package com.moviestar.app.model.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class CollaboratorResponse {
+    private String type;
+    private Long id;
+    private int sharedMovies;
+}
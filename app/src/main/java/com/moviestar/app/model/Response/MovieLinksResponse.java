@@ -0,0 +1,19 @@
+package com.moviestar.app.model.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class MovieLinksResponse {
+    private String association;
+    private int requested;
+    private int changed;
+    private List<Long> changedMovieIds;
+}
@@ -0,0 +1,15 @@
+package com.moviestar.app.model.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class ScoredMovieResponse {
+    private Long movieId;
+    private double score;
+}
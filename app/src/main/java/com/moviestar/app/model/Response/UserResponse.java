@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Date;
 
 @Data
 @Builder
@@ -17,5 +16,6 @@ public class UserResponse {
     private String email;
     private String profilePictureUrl;
     private LocalDateTime createdAt;
+    private LocalDateTime lastLogin;
     private String status;
 }
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 public class UserDTO {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_user_id_seq")
+    @SequenceGenerator(name = "app_user_id_seq", sequenceName = "app_user_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "username", nullable = false, unique = true)
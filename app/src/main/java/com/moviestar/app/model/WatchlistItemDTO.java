@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class WatchlistItemDTO {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "watchlist_id_seq")
+    @SequenceGenerator(name = "watchlist_id_seq", sequenceName = "watchlist_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,46 @@
+package com.moviestar.app.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters exported next to the framework metrics.
+ */
+@Component
+public class AppMetrics {
+
+    private final Counter ratingsAdded;
+    private final Counter commentLikes;
+    private final Counter commentDislikes;
+    private final Counter bannedRequestsRejected;
+
+    public AppMetrics(MeterRegistry registry) {
+        this.ratingsAdded = Counter.builder("moviestar.ratings.added")
+                .description("Ratings created or changed")
+                .register(registry);
+        this.commentLikes = Counter.builder("moviestar.comments.reactions")
+                .description("Likes and dislikes given to comments")
+                .tag("reaction", "like")
+                .register(registry);
+        this.commentDislikes = Counter.builder("moviestar.comments.reactions")
+                .description("Likes and dislikes given to comments")
+                .tag("reaction", "dislike")
+                .register(registry);
+        this.bannedRequestsRejected = Counter.builder("moviestar.banned.requests.rejected")
+                .description("Authenticated requests refused because the user is banned")
+                .register(registry);
+    }
+
+    public void ratingAdded() {
+        ratingsAdded.increment();
+    }
+
+    public void commentReacted(boolean isLike) {
+        (isLike ? commentLikes : commentDislikes).increment();
+    }
+
+    public void bannedRequestRejected() {
+        bannedRequestsRejected.increment();
+    }
+}
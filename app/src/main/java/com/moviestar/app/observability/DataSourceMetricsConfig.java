@@ -0,0 +1,40 @@
+package com.moviestar.app.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes every JDBC statement through {@link QueryMetricsListener}. The pool itself stays the
+ * target of the proxy, so Hikari's own connection metrics are unaffected.
+ */
+@Configuration
+public class DataSourceMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                   Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                Duration threshold = environment.getProperty("app.observability.slow-query-threshold",
+                        Duration.class, Duration.ofMillis(200));
+                double sampleRate = environment.getProperty("app.observability.slow-query-sample-rate",
+                        Double.class, 1.0);
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new QueryMetricsListener(meterRegistry.getObject(), threshold, sampleRate))
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.moviestar.app.observability;
+
+/**
+ * Running count of the SQL statements executed by the current thread. Callers take the difference
+ * of two readings to find how many statements a block of code issued.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private QueryCounter() {
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+}
@@ -0,0 +1,73 @@
+package com.moviestar.app.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes every executed statement to the current request and logs a sample of the slow ones
+ * as a single {@code key=value} line. Bind parameters are never logged.
+ */
+@Slf4j
+class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final String STARTED = "moviestar.startedNanos";
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final Counter slowQueries;
+
+    QueryMetricsListener(MeterRegistry registry, Duration slowThreshold, double sampleRate) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowQueries = Counter.builder("db.slow.queries")
+                .description("Statements slower than app.observability.slow-query-threshold")
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        long elapsed = started != null ? System.nanoTime() - started : Duration.ofMillis(execInfo.getElapsedTime()).toNanos();
+
+        QueryCounter.increment();
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementExecuted(started != null ? started : System.nanoTime() - elapsed, elapsed,
+                    queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery() : sql(queryInfoList),
+                    execInfo.getBatchSize(), execInfo.isSuccess());
+        }
+
+        if (elapsed >= slowThresholdNanos) {
+            slowQueries.increment();
+            if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.warn("slow_query duration_ms={} success={} batch_size={} request=\"{}\" sql=\"{}\"",
+                        elapsed / 1_000_000, execInfo.isSuccess(), execInfo.getBatchSize(),
+                        stats != null ? stats.describe() : "-", sql(queryInfoList));
+            }
+        }
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "))
+                .replaceAll("\\s+", " ")
+                .replace("\"", "'");
+        return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+}
@@ -0,0 +1,61 @@
+package com.moviestar.app.observability;
+
+import com.moviestar.app.observability.jfr.CacheLoadRecordingCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many statements each request issued and how long they took in the database, tagged
+ * like {@code http.server.requests} (method and route template). Runs ahead of the security
+ * filters so the user lookups done there are counted too. Requests over the slow request threshold
+ * are also kept in the {@link SlowRequestLog}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin(request.getMethod(), request.getRequestURI(),
+                slowRequestLog.maxSteps());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CacheLoadRecordingCache.abandonPendingLoads();
+            stats.end();
+            slowRequestLog.offer(stats, response.getStatus(), System.nanoTime() - stats.startedNanos());
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmatched paths are collapsed into one tag value so scanners cannot explode the series count
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("db.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.statements);
+            Timer.builder("db.time")
+                    .description("Time spent in the database per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.moviestar.app.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement count and database time of the HTTP request running on the current thread, plus the
+ * first statements and cache lookups in the order they happened (kept for the slow request log).
+ * Work done outside a request (scheduled jobs, index builders) is not attributed to anything.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String method;
+    private final String path;
+    private final long startedNanos;
+    private final int maxEntries;
+    private final List<Entry> entries;
+    int statements;
+    long nanos;
+    int cacheHits;
+    int cacheMisses;
+    int droppedEntries;
+
+    private RequestQueryStats(String method, String path, int maxEntries) {
+        this.method = method;
+        this.path = path;
+        this.startedNanos = System.nanoTime();
+        this.maxEntries = maxEntries;
+        this.entries = maxEntries > 0 ? new ArrayList<>() : List.of();
+    }
+
+    static RequestQueryStats begin(String method, String path, int maxEntries) {
+        RequestQueryStats stats = new RequestQueryStats(method, path, maxEntries);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Called by the instrumented Spring caches for every {@code @Cacheable} lookup.
+     */
+    public static void cacheAccessed(String cacheName, Object key, boolean hit) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        if (hit) {
+            stats.cacheHits++;
+        } else {
+            stats.cacheMisses++;
+        }
+        stats.add(new Entry(hit ? EntryType.CACHE_HIT : EntryType.CACHE_MISS, System.nanoTime(), 0,
+                cacheName, key, 0, true));
+    }
+
+    void statementExecuted(long startedAt, long elapsed, String sql, int batchSize, boolean success) {
+        statements++;
+        nanos += elapsed;
+        add(new Entry(EntryType.SQL, startedAt, elapsed, sql, null, batchSize, success));
+    }
+
+    private void add(Entry entry) {
+        if (entries.size() < maxEntries) {
+            entries.add(entry);
+        } else {
+            droppedEntries++;
+        }
+    }
+
+    void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    String describe() {
+        return method + " " + path;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    long startedNanos() {
+        return startedNanos;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    enum EntryType {
+        SQL, CACHE_HIT, CACHE_MISS
+    }
+
+    // Only references are captured here; formatting is left to the rare requests that turn out slow
+    record Entry(EntryType type, long startedNanos, long nanos, String text, Object key, int batchSize, boolean success) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.moviestar.app.observability;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A request that took at least {@code app.observability.slow-requests.threshold}, with the SQL
+ * statements and cache lookups it made in order. Offsets are milliseconds since the request
+ * entered the filter chain.
+ */
+public record SlowRequest(long id,
+                          Instant timestamp,
+                          String method,
+                          String path,
+                          int status,
+                          double durationMs,
+                          double dbTimeMs,
+                          int statements,
+                          int cacheHits,
+                          int cacheMisses,
+                          List<Step> steps,
+                          int droppedSteps) {
+
+    public record Step(String type, double offsetMs, double durationMs, String detail, Integer batchSize, Boolean success) {
+    }
+}
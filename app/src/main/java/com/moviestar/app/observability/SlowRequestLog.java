@@ -0,0 +1,107 @@
+package com.moviestar.app.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent slow requests in a fixed-size ring. Writers claim a slot with one atomic
+ * increment and publish an immutable {@link SlowRequest} into it, so recording never blocks a
+ * request thread; once the ring is full the oldest entries are overwritten. Requests under the
+ * threshold cost one comparison here.
+ */
+@Component
+public class SlowRequestLog {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long thresholdNanos;
+    private final int maxSteps;
+    private final int mask;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowRequestLog(@Value("${app.observability.slow-requests.threshold:PT0.5S}") Duration threshold,
+                          @Value("${app.observability.slow-requests.capacity:128}") int capacity,
+                          @Value("${app.observability.slow-requests.max-steps:200}") int maxSteps) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.observability.slow-requests.capacity must be at least 1");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.maxSteps = maxSteps;
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    int maxSteps() {
+        return maxSteps;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    void offer(RequestQueryStats stats, int status, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        long id = sequence.getAndIncrement();
+        slots.set((int) (id & mask), toSlowRequest(id, stats, status, elapsedNanos));
+    }
+
+    /**
+     * Newest first, at most {@code limit} entries.
+     */
+    public List<SlowRequest> recent(int limit) {
+        long last = sequence.get() - 1;
+        long first = Math.max(0, last - slots.length() + 1);
+        List<SlowRequest> result = new ArrayList<>();
+        for (long id = last; id >= first && result.size() < limit; id--) {
+            SlowRequest request = slots.get((int) (id & mask));
+            // A slot can still be empty (claimed but not yet written) or already hold a newer request
+            if (request != null && request.id() == id) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private static SlowRequest toSlowRequest(long id, RequestQueryStats stats, int status, long elapsedNanos) {
+        List<SlowRequest.Step> steps = new ArrayList<>(stats.entries().size());
+        for (RequestQueryStats.Entry entry : stats.entries()) {
+            double offsetMs = millis(entry.startedNanos() - stats.startedNanos());
+            steps.add(switch (entry.type()) {
+                case SQL -> new SlowRequest.Step("sql", offsetMs, millis(entry.nanos()), sql(entry.text()),
+                        entry.batchSize(), entry.success());
+                case CACHE_HIT -> new SlowRequest.Step("cache_hit", offsetMs, 0, entry.text() + "::" + entry.key(), null, null);
+                case CACHE_MISS -> new SlowRequest.Step("cache_miss", offsetMs, 0, entry.text() + "::" + entry.key(), null, null);
+            });
+        }
+        return new SlowRequest(id, Instant.now(), stats.method(), stats.path(), status, millis(elapsedNanos),
+                millis(stats.nanos), stats.statements, stats.cacheHits, stats.cacheMisses, List.copyOf(steps),
+                stats.droppedEntries);
+    }
+
+    private static String sql(String sql) {
+        String normalized = sql.replaceAll("\\s+", " ").trim();
+        return normalized.length() > MAX_SQL_LENGTH ? normalized.substring(0, MAX_SQL_LENGTH) + "..." : normalized;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviestar.app.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("moviestar.CacheLoad")
+@Label("Cache Load")
+@Category({"MovieStar", "Cache"})
+@Description("A Spring cache miss, from the lookup until the loaded value is stored")
+public class CacheLoadEvent extends QueryCountingEvent {
+
+    @Label("Cache")
+    public String cacheName;
+
+    @Label("Key")
+    public String key;
+}
@@ -0,0 +1,160 @@
+package com.moviestar.app.observability.jfr;
+
+import com.moviestar.app.observability.RequestQueryStats;
+import jdk.jfr.EventType;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Emits a {@link CacheLoadEvent} for every miss. For {@code @Cacheable} the cache interceptor
+ * looks the key up, invokes the method on a miss and then stores the result, so the event starts
+ * at the missed {@link #get(Object)} and ends at the {@link #put(Object, Object)} of the same key
+ * on the same thread. Misses whose method throws are never stored and so never committed; their
+ * pending loads are dropped by {@link #abandonPendingLoads()} once the request is over, or make way
+ * for newer ones beyond {@value #MAX_PENDING} per thread. Every lookup is also reported to the
+ * current request's {@link RequestQueryStats}.
+ */
+public class CacheLoadRecordingCache implements Cache {
+
+    private static final int MAX_PENDING = 16;
+    private static final EventType CACHE_LOAD = EventType.getEventType(CacheLoadEvent.class);
+    private static final ThreadLocal<Deque<PendingLoad>> PENDING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Cache delegate;
+
+    CacheLoadRecordingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        RequestQueryStats.cacheAccessed(delegate.getName(), key, value != null);
+        if (value == null && CACHE_LOAD.isEnabled()) {
+            Deque<PendingLoad> pending = PENDING.get();
+            takePending(pending, key);
+            if (pending.size() == MAX_PENDING) {
+                pending.removeFirst();
+            }
+            CacheLoadEvent event = newEvent(key);
+            event.startTiming();
+            pending.addLast(new PendingLoad(delegate.getName(), key, event));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!CACHE_LOAD.isEnabled()) {
+            return delegate.get(key, valueLoader);
+        }
+        return delegate.get(key, () -> {
+            CacheLoadEvent event = newEvent(key);
+            event.startTiming();
+            try {
+                return valueLoader.call();
+            } finally {
+                event.finish();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        Deque<PendingLoad> pending = PENDING.get();
+        PendingLoad load = takePending(pending, key);
+        if (pending.isEmpty()) {
+            PENDING.remove();
+        }
+        if (load != null) {
+            load.event.finish();
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Drops the current thread's pending loads, those whose method threw before the value could be
+     * stored. Called once a request is over.
+     */
+    public static void abandonPendingLoads() {
+        PENDING.remove();
+    }
+
+    private PendingLoad takePending(Deque<PendingLoad> pending, Object key) {
+        for (Iterator<PendingLoad> it = pending.descendingIterator(); it.hasNext(); ) {
+            PendingLoad load = it.next();
+            if (load.cacheName.equals(delegate.getName()) && Objects.equals(load.key, key)) {
+                it.remove();
+                return load;
+            }
+        }
+        return null;
+    }
+
+    private CacheLoadEvent newEvent(Object key) {
+        CacheLoadEvent event = new CacheLoadEvent();
+        event.cacheName = delegate.getName();
+        event.key = String.valueOf(key);
+        return event;
+    }
+
+    private record PendingLoad(String cacheName, Object key, CacheLoadEvent event) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.moviestar.app.observability.jfr;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves {@code @Cacheable} caches to {@link CacheLoadRecordingCache} decorators. The
+ * {@link CacheManager} itself is left alone, so its caches keep their metrics and code that
+ * evicts through the manager directly is unaffected.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CacheLoadRecordingConfig implements CachingConfigurer {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public CacheLoadRecordingConfig(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public CacheResolver cacheResolver() {
+        ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+        return context -> resolve(context, caches);
+    }
+
+    private Collection<? extends Cache> resolve(CacheOperationInvocationContext<?> context, ConcurrentMap<String, Cache> caches) {
+        Collection<String> names = context.getOperation().getCacheNames();
+        List<Cache> resolved = new ArrayList<>(names.size());
+        for (String name : names) {
+            Cache cache = caches.get(name);
+            if (cache == null) {
+                Cache target = cacheManager.getObject().getCache(name);
+                if (target == null) {
+                    throw new IllegalArgumentException("Cannot find cache named '" + name + "' for " + context.getOperation());
+                }
+                cache = caches.computeIfAbsent(name, key -> new CacheLoadRecordingCache(target));
+            }
+            resolved.add(cache);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviestar.app.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("moviestar.CommentLike")
+@Label("Comment Like")
+@Category({"MovieStar", "Service"})
+@Description("CommentService.likeComment")
+public class CommentLikeEvent extends QueryCountingEvent {
+
+    @Label("Comment Id")
+    public long commentId;
+
+    @Label("Like")
+    public boolean like;
+}
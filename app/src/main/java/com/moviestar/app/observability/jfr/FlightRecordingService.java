@@ -0,0 +1,143 @@
+package com.moviestar.app.observability.jfr;
+
+import com.moviestar.app.exception.EntityNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs at most one on-demand flight recording: the JDK's "default" settings plus the application's
+ * {@code moviestar.*} events. The recording is bounded in age, size and duration, so leaving one
+ * running by accident costs at most {@code app.jfr.max-size} of disk.
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    static final List<Class<? extends QueryCountingEvent>> EVENTS = List.of(
+            MovieResponseEvent.class, CacheLoadEvent.class, UserResolutionEvent.class,
+            CommentLikeEvent.class, RatingAddEvent.class);
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration maxDuration;
+    private final Duration eventThreshold;
+
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${app.jfr.max-age:PT10M}") Duration maxAge,
+                                  @Value("${app.jfr.max-size:64MB}") DataSize maxSize,
+                                  @Value("${app.jfr.max-duration:PT30M}") Duration maxDuration,
+                                  @Value("${app.jfr.event-threshold:PT0S}") Duration eventThreshold) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.maxDuration = maxDuration;
+        this.eventThreshold = eventThreshold;
+    }
+
+    public synchronized Map<String, Object> start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingAlreadyRunningException();
+        }
+        closeRecording();
+
+        Recording started = new Recording(defaultConfiguration());
+        started.setName("moviestar-on-demand");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        for (Class<? extends QueryCountingEvent> event : EVENTS) {
+            started.enable(event).withThreshold(eventThreshold);
+        }
+        started.start();
+        recording = started;
+        log.info("Started flight recording {} for {}", started.getId(), started.getDuration());
+        return status();
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (recording == null) {
+            result.put("state", "NONE");
+            return result;
+        }
+        result.put("id", recording.getId());
+        result.put("state", recording.getState().name());
+        result.put("startTime", recording.getStartTime());
+        result.put("duration", recording.getDuration());
+        result.put("maxAge", recording.getMaxAge());
+        result.put("maxSizeBytes", recording.getMaxSize());
+        result.put("sizeBytes", recording.getSize());
+        return result;
+    }
+
+    /**
+     * Writes what the recording holds so far (the recording keeps running) and returns it in
+     * the .jfr format read by JDK Mission Control and {@code jfr print}.
+     */
+    public synchronized byte[] dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new EntityNotFoundException("No flight recording has been started");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("moviestar-", ".jfr");
+            recording.dump(file);
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump flight recording", e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}", file, e);
+                }
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stop() {
+        if (recording == null) {
+            throw new EntityNotFoundException("No flight recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Map<String, Object> result = status();
+        closeRecording();
+        return result;
+    }
+
+    @PreDestroy
+    synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Configuration defaultConfiguration() {
+        try {
+            return Configuration.getConfiguration("default");
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR default configuration is not available", e);
+        }
+    }
+}
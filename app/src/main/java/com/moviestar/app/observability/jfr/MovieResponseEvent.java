@@ -0,0 +1,16 @@
+package com.moviestar.app.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("moviestar.MovieResponse")
+@Label("Movie Response Conversion")
+@Category({"MovieStar", "Service"})
+@Description("MovieService.convertToResponse, including the lazy loads and rating lookups it triggers")
+public class MovieResponseEvent extends QueryCountingEvent {
+
+    @Label("Movie Id")
+    public long movieId;
+}
@@ -0,0 +1,34 @@
+package com.moviestar.app.observability.jfr;
+
+import com.moviestar.app.observability.QueryCounter;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the application's flight recorder events: the event duration plus the number of SQL
+ * statements the thread issued in between. When no recording has the event enabled,
+ * {@link #startTiming()} and {@link #finish()} return immediately.
+ */
+@StackTrace(false)
+public abstract class QueryCountingEvent extends Event {
+
+    @Label("SQL Statements")
+    public long queryCount;
+
+    private transient long queriesAtStart;
+
+    public final void startTiming() {
+        if (isEnabled()) {
+            queriesAtStart = QueryCounter.current();
+            begin();
+        }
+    }
+
+    public final void finish() {
+        if (isEnabled()) {
+            queryCount = QueryCounter.current() - queriesAtStart;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviestar.app.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("moviestar.RatingAdd")
+@Label("Rating Add")
+@Category({"MovieStar", "Service"})
+@Description("RatingServiceImpl.addRating")
+public class RatingAddEvent extends QueryCountingEvent {
+
+    @Label("Movie Id")
+    public long movieId;
+
+    @Label("Rating")
+    public int rating;
+}
@@ -0,0 +1,7 @@
+package com.moviestar.app.observability.jfr;
+
+public class RecordingAlreadyRunningException extends IllegalStateException {
+    public RecordingAlreadyRunningException() {
+        super("A flight recording is already running");
+    }
+}
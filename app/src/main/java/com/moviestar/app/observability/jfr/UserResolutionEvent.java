@@ -0,0 +1,19 @@
+package com.moviestar.app.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("moviestar.UserResolution")
+@Label("User Resolution")
+@Category({"MovieStar", "Security"})
+@Description("BannedUserFilter creating or updating the caller's profile and checking the ban status")
+public class UserResolutionEvent extends QueryCountingEvent {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Banned")
+    public boolean banned;
+}
@@ -0,0 +1,101 @@
+package com.moviestar.app.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The non-blocking catalog read path: {@link ReactiveCatalogRoutes} over R2DBC, served by
+ * {@link ReactiveCatalogServer} on {@code app.reactive-catalog.port}. Off unless
+ * {@code app.reactive-catalog.enabled} is set. It reads the database directly, without the
+ * application's caches, so it sees every committed change at once.
+ * <p>
+ * The pool connects to {@code app.reactive-catalog.url}, by default the primary from
+ * {@code spring.datasource.url}; a read replica's URL can be given instead.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.reactive-catalog.enabled", havingValue = "true")
+public class ReactiveCatalogConfig {
+
+    // The pool stays inside the repository: a ConnectionFactory bean would make Boot back off from the JDBC DataSource
+    @Bean
+    public ReactiveCatalogRepository reactiveCatalogRepository(
+            @Value("${app.reactive-catalog.url:}") String url,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${app.reactive-catalog.username:${spring.datasource.username}}") String username,
+            @Value("${app.reactive-catalog.password:${spring.datasource.password}}") String password,
+            @Value("${app.reactive-catalog.pool-size:10}") int poolSize,
+            @Value("${app.reactive-catalog.page-size:100}") int pageSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.isBlank() ? r2dbcUrl(jdbcUrl) : url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-catalog")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .maxAcquireTime(Duration.ofSeconds(30))
+                .build());
+        return new ReactiveCatalogRepository(pool, pageSize);
+    }
+
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(ReactiveCatalogRepository repository,
+                                                       ObjectMapper objectMapper,
+                                                       ObservationRegistry observationRegistry,
+                                                       @Value("${app.reactive-catalog.port:8082}") int port,
+                                                       @Value("${app.cors.allowed-origins}") String[] allowedOrigins) {
+        // The MVC side's ObjectMapper, so both write the same JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(Arrays.asList(allowedOrigins));
+        cors.setAllowedMethods(List.of("GET", "OPTIONS"));
+        cors.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+        corsSource.registerCorsConfiguration("/**", cors);
+
+        HttpHandler handler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(new ReactiveCatalogRoutes(repository).routes(), strategies))
+                .filter(new CorsWebFilter(corsSource))
+                .exceptionHandlers(handlers -> handlers.addAll(strategies.exceptionHandlers()))
+                .observationRegistry(observationRegistry)
+                .observationConvention(new DefaultServerRequestObservationConvention("http.server.reactive.requests"))
+                .build();
+        return new ReactiveCatalogServer(handler, port);
+    }
+
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + "; set app.reactive-catalog.url");
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+}
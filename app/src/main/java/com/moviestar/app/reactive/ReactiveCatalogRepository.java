@@ -0,0 +1,275 @@
+package com.moviestar.app.reactive;
+
+import com.moviestar.app.model.Response.ActorResponse;
+import com.moviestar.app.model.Response.DirectorResponse;
+import com.moviestar.app.model.Response.GenreResponse;
+import com.moviestar.app.model.Response.MovieResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Catalog reads over R2DBC, producing the same responses as the JPA services. Lists are read in
+ * pages of {@code pageSize} rows by key ({@code id > last}), each page on its own short query, and
+ * the next page is only read once the previous one has been taken downstream; no connection is held
+ * while a slow client reads. A page of movies costs five queries, whatever its size: the movies,
+ * then their genres, cast, directors and rating totals in parallel.
+ * <p>
+ * Owns its connection pool, whose usage is exported as {@code r2dbc.pool.*} with
+ * {@code name=reactive-catalog}.
+ */
+public class ReactiveCatalogRepository implements MeterBinder {
+
+    private static final String MOVIE_COLUMNS = "SELECT id, title, description, year, poster_url, backdrop_url FROM movie ";
+
+    private static final String MOVIE_GENRES = "SELECT mg.movie_id, g.id, g.genre FROM movie_genre mg "
+            + "JOIN genre g ON g.id = mg.genre_id WHERE mg.movie_id = ANY(:ids) ORDER BY mg.movie_id, g.id";
+
+    // Cast entries carry no biography or picture, as in MovieService
+    private static final String MOVIE_ACTORS = "SELECT ma.movie_id, a.id, a.name, a.surname, a.birth_day, "
+            + "NULL AS about, NULL AS picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_actor m WHERE m.actor_id = a.id ORDER BY m.movie_id)::bigint[] AS movie_ids "
+            + "FROM movie_actor ma JOIN actor a ON a.id = ma.actor_id WHERE ma.movie_id = ANY(:ids) ORDER BY ma.movie_id, a.id";
+
+    private static final String MOVIE_DIRECTORS = "SELECT md.movie_id, d.id, d.name, d.surname, d.birth_day, d.about, d.picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_director m WHERE m.director_id = d.id ORDER BY m.movie_id)::bigint[] AS movie_ids "
+            + "FROM movie_director md JOIN director d ON d.id = md.director_id WHERE md.movie_id = ANY(:ids) ORDER BY md.movie_id, d.id";
+
+    private static final String MOVIE_RATINGS = "SELECT movie_id, avg(rating::float8) AS average, count(*) AS total "
+            + "FROM rating WHERE movie_id = ANY(:ids) GROUP BY movie_id";
+
+    private static final String ACTOR_COLUMNS = "SELECT a.id, a.name, a.surname, a.birth_day, a.about, a.picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_actor m WHERE m.actor_id = a.id ORDER BY m.movie_id)::bigint[] AS movie_ids FROM actor a ";
+
+    private static final String DIRECTOR_COLUMNS = "SELECT d.id, d.name, d.surname, d.birth_day, d.about, d.picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_director m WHERE m.director_id = d.id ORDER BY m.movie_id)::bigint[] AS movie_ids FROM director d ";
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient client;
+    private final int pageSize;
+
+    public ReactiveCatalogRepository(ConnectionFactory connectionFactory, int pageSize) {
+        this.connectionFactory = connectionFactory;
+        this.client = DatabaseClient.create(connectionFactory);
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            pool.getMetrics().ifPresent(metrics -> {
+                gauge(registry, "r2dbc.pool.acquired", "Connections in use", metrics, PoolMetrics::acquiredSize);
+                gauge(registry, "r2dbc.pool.idle", "Idle connections", metrics, PoolMetrics::idleSize);
+                gauge(registry, "r2dbc.pool.pending", "Requests waiting for a connection", metrics, PoolMetrics::pendingAcquireSize);
+                gauge(registry, "r2dbc.pool.max.allocated", "Maximum size of the pool", metrics, PoolMetrics::getMaxAllocatedSize);
+            });
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    public Flux<MovieResponse> findMovies() {
+        return pages(after -> client.sql(MOVIE_COLUMNS + "WHERE id > :after ORDER BY id LIMIT :limit")
+                        .bind("after", after)
+                        .bind("limit", pageSize)
+                        .map(ReactiveCatalogRepository::movieRow)
+                        .all(),
+                MovieRow::id)
+                .concatMap(this::toResponses, 1)
+                .flatMapIterable(responses -> responses, 1);
+    }
+
+    public Mono<MovieResponse> findMovie(long id) {
+        return client.sql(MOVIE_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::movieRow)
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .flatMap(this::toResponses)
+                .map(responses -> responses.get(0));
+    }
+
+    public Flux<GenreResponse> findGenres() {
+        return client.sql("SELECT id, genre FROM genre ORDER BY id")
+                .map(ReactiveCatalogRepository::genre)
+                .all();
+    }
+
+    public Mono<GenreResponse> findGenre(long id) {
+        return client.sql("SELECT id, genre FROM genre WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::genre)
+                .one();
+    }
+
+    public Flux<ActorResponse> findActors() {
+        return pages(after -> client.sql(ACTOR_COLUMNS + "WHERE a.id > :after ORDER BY a.id LIMIT :limit")
+                        .bind("after", after)
+                        .bind("limit", pageSize)
+                        .map(ReactiveCatalogRepository::actor)
+                        .all(),
+                ActorResponse::getId)
+                .flatMapIterable(actors -> actors, 1);
+    }
+
+    public Mono<ActorResponse> findActor(long id) {
+        return client.sql(ACTOR_COLUMNS + "WHERE a.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::actor)
+                .one();
+    }
+
+    public Flux<DirectorResponse> findDirectors() {
+        return pages(after -> client.sql(DIRECTOR_COLUMNS + "WHERE d.id > :after ORDER BY d.id LIMIT :limit")
+                        .bind("after", after)
+                        .bind("limit", pageSize)
+                        .map(ReactiveCatalogRepository::director)
+                        .all(),
+                DirectorResponse::getId)
+                .flatMapIterable(directors -> directors, 1);
+    }
+
+    public Mono<DirectorResponse> findDirector(long id) {
+        return client.sql(DIRECTOR_COLUMNS + "WHERE d.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::director)
+                .one();
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String description, PoolMetrics metrics,
+                              ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, metrics, value)
+                .description(description)
+                .tag("name", "reactive-catalog")
+                .register(registry);
+    }
+
+    // Pages by key, reading the next page only when the previous one has been requested in full
+    private <T> Flux<List<T>> pages(LongFunction<Flux<T>> page, ToLongFunction<T> id) {
+        return page.apply(0L).collectList()
+                .expand(rows -> rows.size() < pageSize
+                        ? Mono.empty()
+                        : page.apply(id.applyAsLong(rows.get(rows.size() - 1))).collectList())
+                .filter(rows -> !rows.isEmpty());
+    }
+
+    private Mono<List<MovieResponse>> toResponses(List<MovieRow> movies) {
+        Long[] ids = movies.stream().map(MovieRow::id).toArray(Long[]::new);
+        Mono<Map<Long, Collection<GenreResponse>>> genres = client.sql(MOVIE_GENRES)
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("movie_id", Long.class), genre(row)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<Long, Collection<ActorResponse>>> actors = client.sql(MOVIE_ACTORS)
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("movie_id", Long.class), actor(row)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<Long, Collection<DirectorResponse>>> directors = client.sql(MOVIE_DIRECTORS)
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("movie_id", Long.class), director(row)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<Long, RatingTotals>> ratings = client.sql(MOVIE_RATINGS)
+                .bind("ids", ids)
+                .map(row -> new RatingTotals(row.get("movie_id", Long.class), row.get("average", Double.class), row.get("total", Long.class)))
+                .all()
+                .collectMap(RatingTotals::movieId);
+        return Mono.zip(genres, actors, directors, ratings)
+                .map(links -> movies.stream()
+                        .map(movie -> MovieResponse.builder()
+                                .id(movie.id())
+                                .title(movie.title())
+                                .description(movie.description())
+                                .year(movie.year())
+                                .genres(List.copyOf(links.getT1().getOrDefault(movie.id(), List.of())))
+                                .actors(List.copyOf(links.getT2().getOrDefault(movie.id(), List.of())))
+                                .directors(List.copyOf(links.getT3().getOrDefault(movie.id(), List.of())))
+                                .posterURL(movie.posterURL())
+                                .backdropURL(movie.backdropURL())
+                                .averageRating(links.getT4().getOrDefault(movie.id(), RatingTotals.NONE).average())
+                                .totalRatings((int) links.getT4().getOrDefault(movie.id(), RatingTotals.NONE).total())
+                                .build())
+                        .toList());
+    }
+
+    private static MovieRow movieRow(Readable row) {
+        return new MovieRow(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("year", Integer.class),
+                row.get("poster_url", String.class),
+                row.get("backdrop_url", String.class));
+    }
+
+    private static GenreResponse genre(Readable row) {
+        return GenreResponse.builder()
+                .id(row.get("id", Long.class))
+                .genre(row.get("genre", String.class))
+                .build();
+    }
+
+    private static ActorResponse actor(Readable row) {
+        return ActorResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .surname(row.get("surname", String.class))
+                .birthDay(date(row.get("birth_day", LocalDate.class)))
+                .about(row.get("about", String.class))
+                .pictureUrl(row.get("picture_url", String.class))
+                .movieIds(Arrays.asList(row.get("movie_ids", Long[].class)))
+                .build();
+    }
+
+    private static DirectorResponse director(Readable row) {
+        return DirectorResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .surname(row.get("surname", String.class))
+                .birthDay(date(row.get("birth_day", LocalDate.class)))
+                .about(row.get("about", String.class))
+                .pictureUrl(row.get("picture_url", String.class))
+                .movieIds(Arrays.asList(row.get("movie_ids", Long[].class)))
+                .build();
+    }
+
+    // Hibernate reads these DATE columns as midnight in the JVM's time zone
+    private static Date date(LocalDate date) {
+        return date != null ? Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
+    private record MovieRow(Long id, String title, String description, Integer year, String posterURL, String backdropURL) {
+    }
+
+    private record RatingTotals(Long movieId, double average, long total) {
+
+        static final RatingTotals NONE = new RatingTotals(null, 0.0, 0);
+    }
+}
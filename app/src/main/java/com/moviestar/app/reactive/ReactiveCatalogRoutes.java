@@ -0,0 +1,67 @@
+package com.moviestar.app.reactive;
+
+import com.moviestar.app.exception.ErrorResponse;
+import com.moviestar.app.model.Response.ActorResponse;
+import com.moviestar.app.model.Response.DirectorResponse;
+import com.moviestar.app.model.Response.GenreResponse;
+import com.moviestar.app.model.Response.MovieResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.LongFunction;
+
+/**
+ * The public catalog reads on the reactive stack, at the same paths and with the same JSON as the
+ * MVC controllers. Lists are written as one JSON array while they are read, or as one document per
+ * line when the client accepts {@code application/x-ndjson}; either way the response is produced
+ * as fast as the client takes it. A missing id answers 404 with the usual {@link ErrorResponse}.
+ */
+public class ReactiveCatalogRoutes {
+
+    private final ReactiveCatalogRepository repository;
+
+    public ReactiveCatalogRoutes(ReactiveCatalogRepository repository) {
+        this.repository = repository;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/movies", request -> list(request, repository.findMovies(), MovieResponse.class))
+                .GET("/api/movies/{id}", request -> one(request, repository::findMovie, "Movie"))
+                .GET("/api/genres", request -> list(request, repository.findGenres(), GenreResponse.class))
+                .GET("/api/genres/{id}", request -> one(request, repository::findGenre, "Genre"))
+                .GET("/api/actors", request -> list(request, repository.findActors(), ActorResponse.class))
+                .GET("/api/actors/{id}", request -> one(request, repository::findActor, "Actor"))
+                .GET("/api/directors", request -> list(request, repository.findDirectors(), DirectorResponse.class))
+                .GET("/api/directors/{id}", request -> one(request, repository::findDirector, "Director"))
+                .build();
+    }
+
+    private static <T> Mono<ServerResponse> list(ServerRequest request, Flux<T> items, Class<T> type) {
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(accepted -> accepted.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(items, type);
+    }
+
+    private static <T> Mono<ServerResponse> one(ServerRequest request, LongFunction<Mono<T>> find, String entity) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return find.apply(id)
+                .flatMap(item -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(item))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ErrorResponse(entity + " not found with id: " + id))));
+    }
+}
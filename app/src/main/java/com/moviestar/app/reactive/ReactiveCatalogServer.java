@@ -0,0 +1,45 @@
+package com.moviestar.app.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * A Netty server of its own for the reactive catalog, next to the servlet container: catalog
+ * traffic can be routed to its port and scaled on event-loop threads, while writes and
+ * authenticated reads stay on the MVC side. Started and stopped with the application context.
+ */
+@Slf4j
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveCatalogServer(HttpHandler handler, int port) {
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(handler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("Reactive catalog listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
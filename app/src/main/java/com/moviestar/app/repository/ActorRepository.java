@@ -2,6 +2,8 @@ package com.moviestar.app.repository;
 
 import com.moviestar.app.model.ActorDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,7 @@ import java.util.List;
 @Repository
 public interface ActorRepository extends JpaRepository<ActorDTO, Long> {
     List<ActorDTO> findByNameContainingOrSurnameContaining(String name, String surname);
+
+    @Query("SELECT m.id FROM ActorDTO a JOIN a.movies m WHERE a.id = :id")
+    List<Long> findMovieIds(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,10 +1,21 @@
 package com.moviestar.app.repository;
 
 import com.moviestar.app.model.GenreDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+// Both lookups go through the query cache; any write to the genre table invalidates their results
 @Repository
 public interface GenreRepository extends JpaRepository<GenreDTO, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<GenreDTO> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByGenre(String genre);
-}
\ No newline at end of file
+}
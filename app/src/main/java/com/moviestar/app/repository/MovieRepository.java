@@ -1,11 +1,17 @@
 package com.moviestar.app.repository;
 
 import com.moviestar.app.model.MovieDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<MovieDTO, Long> {
@@ -19,4 +25,33 @@ public interface MovieRepository extends JpaRepository<MovieDTO, Long> {
 
     @Query(value = "SELECT * FROM movie ORDER BY RANDOM()", nativeQuery = true)
     List<MovieDTO> findAllRandomized();
+
+    @Query(value = "SELECT movie_id AS movieId, 1 AS kind, genre_id AS featureId FROM movie_genre "
+            + "UNION ALL SELECT movie_id, 2, actor_id FROM movie_actor "
+            + "UNION ALL SELECT movie_id, 3, director_id FROM movie_director "
+            + "ORDER BY 1", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<MovieFeature> streamMovieFeatures();
+
+    @Query(value = "SELECT movie_id AS movieId, 1 AS kind, genre_id AS featureId FROM movie_genre WHERE movie_id IN (:movieIds) "
+            + "UNION ALL SELECT movie_id, 2, actor_id FROM movie_actor WHERE movie_id IN (:movieIds) "
+            + "UNION ALL SELECT movie_id, 3, director_id FROM movie_director WHERE movie_id IN (:movieIds) "
+            + "ORDER BY 1", nativeQuery = true)
+    List<MovieFeature> findMovieFeatures(@Param("movieIds") Collection<Long> movieIds);
+
+    @Query(value = "SELECT movie_id AS movieId, 2 AS kind, actor_id AS featureId FROM movie_actor "
+            + "UNION ALL SELECT movie_id, 3, director_id FROM movie_director", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<MovieFeature> streamMovieCredits();
+
+    /**
+     * One row of a movie's genre (kind 1), actor (kind 2) or director (kind 3) associations.
+     */
+    interface MovieFeature {
+        Number getMovieId();
+
+        Number getKind();
+
+        Number getFeatureId();
+    }
 }
@@ -1,13 +1,19 @@
 package com.moviestar.app.repository;
 
 import com.moviestar.app.model.RatingDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RatingRepository extends JpaRepository<RatingDTO, Long> {
@@ -21,4 +27,26 @@ public interface RatingRepository extends JpaRepository<RatingDTO, Long> {
     void deleteByUsernameAndMovieId(String username, Long movieId);
     
     List<RatingDTO> findByUsername(String username);
-}
\ No newline at end of file
+
+    @Query("SELECT r.movieId FROM RatingDTO r GROUP BY r.movieId ORDER BY COUNT(r) DESC, r.movieId")
+    List<Long> findMostRatedMovieIds(Pageable pageable);
+
+    @Query("SELECT r.movieId AS movieId, r.username AS username, r.rating AS rating FROM RatingDTO r")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RatingEntry> streamAllRatings();
+
+    @Query("SELECT r.movieId AS movieId, r.username AS username, r.rating AS rating FROM RatingDTO r WHERE r.movieId IN :movieIds")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<RatingEntry> findRatingsForMovies(@Param("movieIds") Collection<Long> movieIds);
+
+    interface RatingEntry {
+        Long getMovieId();
+
+        String getUsername();
+
+        int getRating();
+    }
+}
@@ -2,14 +2,20 @@ package com.moviestar.app.repository;
 
 import com.moviestar.app.model.UserDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserDTO, Long> {
+public interface UserRepository extends JpaRepository<UserDTO, Long>, JpaSpecificationExecutor<UserDTO> {
     Optional<UserDTO> findByUsername(String username);
     Optional<UserDTO> findByUsernameIgnoreCase(String username);
     boolean existsByUsername(String username);
-    List<UserDTO> findByStatus(UserDTO.UserStatus status);
+
+    // Served by idx_app_user_username_lower; an exact-case match wins over other case variants
+    @Query(value = "SELECT * FROM app_user WHERE lower(username) = lower(:username) " +
+            "ORDER BY (username = :username) DESC LIMIT 1", nativeQuery = true)
+    Optional<UserDTO> findByUsernamePreferExactCase(@Param("username") String username);
 }
@@ -0,0 +1,70 @@
+package com.moviestar.app.repository;
+
+import com.moviestar.app.model.UserDTO;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public enum SortField {
+        CREATED_AT, LAST_LOGIN
+    }
+
+    public static Specification<UserDTO> hasStatus(UserDTO.UserStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    // Prefix matches use the text_pattern_ops index on lower(username), substring matches the trigram index
+    public static Specification<UserDTO> usernameMatches(String term, boolean prefixOnly) {
+        return (root, query, cb) -> {
+            if (term == null || term.isBlank()) {
+                return null;
+            }
+            String escaped = term.trim().toLowerCase()
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            String pattern = prefixOnly ? escaped + "%" : "%" + escaped + "%";
+            return cb.like(cb.lower(root.get("username")), pattern, '\\');
+        };
+    }
+
+    // Keyset pagination: rows strictly after (sortValue, id) in the requested direction, ordered the same way
+    public static Specification<UserDTO> orderedAfter(SortField field, boolean ascending,
+                                                      LocalDateTime sortValue, Long id) {
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> key = sortKey(field, root, cb);
+            Expression<Long> rowId = root.get("id");
+
+            if (ascending) {
+                query.orderBy(cb.asc(key), cb.asc(rowId));
+            } else {
+                query.orderBy(cb.desc(key), cb.desc(rowId));
+            }
+
+            if (sortValue == null || id == null) {
+                return null;
+            }
+            return ascending
+                    ? cb.or(cb.greaterThan(key, sortValue),
+                            cb.and(cb.equal(key, sortValue), cb.greaterThan(rowId, id)))
+                    : cb.or(cb.lessThan(key, sortValue),
+                            cb.and(cb.equal(key, sortValue), cb.lessThan(rowId, id)));
+        };
+    }
+
+    // Users who never logged in sort by their creation time, matching idx_app_user_last_activity
+    private static Expression<LocalDateTime> sortKey(SortField field, Root<UserDTO> root, CriteriaBuilder cb) {
+        if (field == SortField.LAST_LOGIN) {
+            return cb.coalesce(root.<LocalDateTime>get("lastLogin"), root.<LocalDateTime>get("createdAt"));
+        }
+        return root.get("createdAt");
+    }
+}
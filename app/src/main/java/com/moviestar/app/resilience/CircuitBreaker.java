@@ -0,0 +1,232 @@
+package com.moviestar.app.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A count-based circuit breaker. While closed, the outcomes of the last {@code windowSize} calls
+ * are kept, and once at least {@code minimumCalls} of them are known and the share of failures
+ * reaches {@code failureRateThreshold} percent the circuit opens: calls are refused at once for
+ * {@code openDuration}. After that it is half-open and lets a single call through as a probe; its
+ * success closes the circuit again, its failure opens it for another {@code openDuration}. Every
+ * caller given a permit must report the call's outcome through it. Outcomes only count in the
+ * state the permit was given in: a call let through before the circuit opened that finishes while
+ * it is half-open neither closes nor reopens it, only the probe's own outcome does.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int windowFailures;
+    private long openedAt;
+    private boolean probing;
+    // Moves on at every change of state, so outcomes of permits given in an earlier one are ignored
+    private long generation;
+    private long successes;
+    private long failures;
+    private long rejections;
+    private long openings;
+
+    public CircuitBreaker(int failureRateThreshold, int windowSize, int minimumCalls, long openNanos,
+                          LongSupplier nanoClock) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 1 and 100");
+        }
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the window size");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openNanos;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * A permit for the call to go ahead, or {@code null} when it is refused. When half-open, only
+     * the first caller is let through until it reports back.
+     */
+    public synchronized Permit tryAcquirePermission() {
+        State current = state();
+        if (current == State.CLOSED) {
+            return new Permit(generation, false);
+        }
+        if (current == State.HALF_OPEN && !probing) {
+            probing = true;
+            return new Permit(generation, true);
+        }
+        rejections++;
+        return null;
+    }
+
+    /**
+     * Counts a failure that did not come from a permitted call, such as a statement failing on a
+     * connection taken earlier. It is only recorded while closed.
+     */
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.CLOSED) {
+            recordFailure();
+        }
+    }
+
+    private synchronized void succeeded(Permit permit) {
+        successes++;
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (permit.probe) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    private synchronized void failed(Permit permit) {
+        failures++;
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (permit.probe) {
+                open();
+            }
+        } else if (state == State.CLOSED) {
+            recordFailure();
+        }
+    }
+
+    private void recordFailure() {
+        record(true);
+        if (recorded >= minimumCalls && windowFailures * 100L >= (long) failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * The current state; an open circuit whose open duration is over becomes half-open here.
+     */
+    public synchronized State state() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probing = false;
+            generation++;
+        }
+        return state;
+    }
+
+    /**
+     * Nanoseconds until an open circuit lets a probe through, 0 when it is not open.
+     */
+    public synchronized long remainingOpenNanos() {
+        return state() == State.OPEN ? openNanos - (nanoClock.getAsLong() - openedAt) : 0;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0.0 : (double) windowFailures / recorded;
+    }
+
+    public synchronized long successes() {
+        return successes;
+    }
+
+    public synchronized long failures() {
+        return failures;
+    }
+
+    public synchronized long rejections() {
+        return rejections;
+    }
+
+    public synchronized long openings() {
+        return openings;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                windowFailures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probing = false;
+        generation++;
+        openings++;
+        resetWindow();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probing = false;
+        generation++;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * Permission for one call to go ahead; its outcome is to be reported once, through
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public final class Permit {
+
+        private final long generation;
+        private final boolean probe;
+        private boolean reported;
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        /**
+         * Whether the call is the probe of a half-open circuit.
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+
+        public void onSuccess() {
+            synchronized (CircuitBreaker.this) {
+                if (!reported) {
+                    reported = true;
+                    succeeded(this);
+                }
+            }
+        }
+
+        public void onFailure() {
+            synchronized (CircuitBreaker.this) {
+                if (!reported) {
+                    reported = true;
+                    failed(this);
+                }
+            }
+        }
+    }
+}
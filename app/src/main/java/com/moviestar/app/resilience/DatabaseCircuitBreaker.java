@@ -0,0 +1,194 @@
+package com.moviestar.app.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The circuit breaker in front of the database. Every connection taken from the pool is a call:
+ * failing to get one counts as a failure, and repository calls that fail because the database is
+ * unreachable or timing out are counted too. Once open, connections are refused straight away
+ * instead of every request waiting out the pool's {@code connectionTimeout}, so an outage does not
+ * tie up request threads; after {@code app.resilience.open-duration} one connection is let through
+ * to see whether the database is back.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseCircuitBreaker implements MeterBinder {
+
+    // Connection exceptions (08xxx) and operator intervention, such as a shutdown (57Pxx)
+    private static final String[] UNAVAILABLE_SQL_STATES = {"08", "57P"};
+
+    private final CircuitBreaker breaker;
+
+    public DatabaseCircuitBreaker(@Value("${app.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+                                  @Value("${app.resilience.sliding-window-size:20}") int slidingWindowSize,
+                                  @Value("${app.resilience.minimum-calls:5}") int minimumCalls,
+                                  @Value("${app.resilience.open-duration:PT10S}") Duration openDuration) {
+        this.breaker = new CircuitBreaker(failureRateThreshold, slidingWindowSize, minimumCalls,
+                openDuration.toNanos(), System::nanoTime);
+    }
+
+    /**
+     * Whether the database is to be considered unreachable because of the exception or one of its
+     * causes.
+     */
+    public static boolean isUnavailable(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof JDBCConnectionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                for (String state : UNAVAILABLE_SQL_STATES) {
+                    if (sqlException.getSQLState().startsWith(state)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a connection through the breaker. Anything thrown, errors included, counts as a
+     * failure, so a probe always reports back.
+     */
+    public <T> T connect(SqlCall<T> call) throws SQLException {
+        CircuitBreaker.Permit permit = breaker.tryAcquirePermission();
+        if (permit == null) {
+            throw new CircuitOpenException();
+        }
+        boolean connected = false;
+        try {
+            T result = call.call();
+            connected = true;
+            return result;
+        } finally {
+            if (connected) {
+                permit.onSuccess();
+                if (permit.isProbe() && breaker.state() == CircuitBreaker.State.CLOSED) {
+                    log.info("Database is reachable again; circuit breaker closed");
+                }
+            } else {
+                failed(permit::onFailure);
+            }
+        }
+    }
+
+    /**
+     * Counts a failed repository call, when it failed because the database is unavailable.
+     */
+    public void repositoryCallFailed(RuntimeException exception) {
+        // Failures to get a connection have already been counted by connect
+        if (!(exception instanceof CannotCreateTransactionException) && isUnavailable(exception)
+                && !causedByOpenCircuit(exception)) {
+            failed(breaker::onFailure);
+        }
+    }
+
+    private static boolean causedByOpenCircuit(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CircuitOpenException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void failed(Runnable report) {
+        CircuitBreaker.State before = breaker.state();
+        report.run();
+        if (before != CircuitBreaker.State.OPEN && breaker.state() == CircuitBreaker.State.OPEN) {
+            log.warn("Database is failing; circuit breaker opened for {} ms",
+                    Duration.ofNanos(breaker.remainingOpenNanos()).toMillis());
+        }
+    }
+
+    public boolean isOpen() {
+        return breaker.state() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * How long clients should wait before trying again.
+     */
+    public Duration retryAfter() {
+        return Duration.ofNanos(breaker.remainingOpenNanos());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("db.circuit.breaker.state", breaker, b -> b.state() == state ? 1 : 0)
+                    .description("Whether the database circuit breaker is in the state")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder("db.circuit.breaker.failure.rate", breaker, CircuitBreaker::failureRate)
+                .description("Share of failed calls among the recent ones")
+                .register(registry);
+        calls(registry, "success", CircuitBreaker::successes);
+        calls(registry, "failure", CircuitBreaker::failures);
+        calls(registry, "rejected", CircuitBreaker::rejections);
+    }
+
+    private void calls(MeterRegistry registry, String outcome, ToDoubleFunction<CircuitBreaker> count) {
+        FunctionCounter.builder("db.circuit.breaker.calls", breaker, count)
+                .description("Database calls through the circuit breaker")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", breaker.state().name());
+        result.put("failureRate", breaker.failureRate());
+        result.put("retryAfterMillis", retryAfter().toMillis());
+        result.put("successes", breaker.successes());
+        result.put("failures", breaker.failures());
+        result.put("rejections", breaker.rejections());
+        result.put("openings", breaker.openings());
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Thrown instead of taking a connection while the circuit is open.
+     */
+    public static class CircuitOpenException extends SQLTransientConnectionException {
+        CircuitOpenException() {
+            super("Database circuit breaker is open", "08001");
+        }
+    }
+}
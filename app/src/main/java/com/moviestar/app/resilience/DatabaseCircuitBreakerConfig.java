@@ -0,0 +1,93 @@
+package com.moviestar.app.resilience;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Puts the {@link DatabaseCircuitBreaker} around the application's data source, where every
+ * transaction and repository call gets its connection, and around the Spring Data repositories, so
+ * calls failing on a connection already taken are counted as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseCircuitBreakerConfig {
+
+    /**
+     * Declared with its own type: post-processors are sorted by the type the bean definition
+     * predicts, before they are created, so a plain {@code BeanPostProcessor} would lose its order.
+     */
+    @Bean
+    static CircuitBreakerPostProcessor databaseCircuitBreakerPostProcessor(ObjectProvider<DatabaseCircuitBreaker> breaker) {
+        return new CircuitBreakerPostProcessor(breaker);
+    }
+
+    /**
+     * Goes first among the data source wrappers: behind the replica routing's
+     * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, taking a
+     * connection would not reach the database at all.
+     */
+    static final class CircuitBreakerPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<DatabaseCircuitBreaker> breaker;
+
+        private CircuitBreakerPostProcessor(ObjectProvider<DatabaseCircuitBreaker> breaker) {
+            this.breaker = breaker;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                return new CircuitBreakingDataSource(dataSource, breaker.getObject());
+            }
+            if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+                DatabaseCircuitBreaker databaseBreaker = breaker.getObject();
+                advised.addAdvice(0, (MethodInterceptor) invocation -> {
+                    try {
+                        return invocation.proceed();
+                    } catch (RuntimeException e) {
+                        databaseBreaker.repositoryCallFailed(e);
+                        throw e;
+                    }
+                });
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    static class CircuitBreakingDataSource extends DelegatingDataSource {
+
+        private final DatabaseCircuitBreaker breaker;
+
+        CircuitBreakingDataSource(DataSource target, DatabaseCircuitBreaker breaker) {
+            super(target);
+            this.breaker = breaker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return breaker.connect(() -> obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return breaker.connect(() -> obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.moviestar.app.resilience;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Fills the {@link LastKnownGoodStore} from successful catalog reads and, while the database
+ * circuit breaker is open, answers catalog reads from it without reaching Spring MVC. Requests
+ * that fail on an unavailable database once under way are answered from the store by
+ * {@link com.moviestar.app.exception.GlobalExceptionHandler}. Runs after the security filter chain,
+ * the catalog snapshot and the movie cards.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 3)
+@ConditionalOnProperty(name = "app.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class LastKnownGoodFilter extends OncePerRequestFilter {
+
+    private final LastKnownGoodStore store;
+    private final DatabaseCircuitBreaker breaker;
+
+    public LastKnownGoodFilter(LastKnownGoodStore store, DatabaseCircuitBreaker breaker) {
+        this.store = store;
+        this.breaker = breaker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = LastKnownGoodStore.key(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (breaker.isOpen()) {
+            LastKnownGoodStore.Response stale = store.get(key);
+            if (stale != null) {
+                write(stale, store.serveStale(stale), response);
+                return;
+            }
+        }
+        if (!store.wantsRefresh(key)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, captured);
+            if (captured.getStatus() == HttpServletResponse.SC_OK
+                    && captured.getHeader(LastKnownGoodStore.STALE_HEADER) == null
+                    && captured.getContentType() != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(captured.getContentType()))) {
+                store.put(key, captured.getContentAsByteArray(), captured.getContentType());
+            }
+        } finally {
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static void write(LastKnownGoodStore.Response stale, HttpHeaders headers, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentLength(stale.body().length);
+        response.getOutputStream().write(stale.body());
+    }
+}
@@ -0,0 +1,140 @@
+package com.moviestar.app.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * The last successful response of each public catalog read ({@code GET /api/movies},
+ * {@code /api/movies/search}, {@code /api/genres} and their {@code /{id}} forms), kept so it can
+ * be served, marked as stale, while the database is unavailable. Responses are recaptured at most
+ * every {@code app.resilience.stale.refresh-interval}, are kept for up to
+ * {@code app.resilience.stale.max-age} and take at most {@code app.resilience.stale.capacity} of
+ * heap, least recently used first out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class LastKnownGoodStore implements MeterBinder {
+
+    static final String STALE_HEADER = "X-Last-Known-Good";
+
+    private static final Pattern CATALOG_PATH = Pattern.compile("/api/(?:movies|genres)(?:/\\d{1,18})?|/api/movies/search");
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final Cache<String, Response> responses;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final AtomicLong staleServed = new AtomicLong();
+
+    @Autowired
+    public LastKnownGoodStore(@Value("${app.resilience.stale.capacity:32MB}") DataSize capacity,
+                              @Value("${app.resilience.stale.max-age:PT24H}") Duration maxAge,
+                              @Value("${app.resilience.stale.refresh-interval:PT5S}") Duration refreshInterval) {
+        this(capacity, maxAge, refreshInterval, Clock.systemUTC());
+    }
+
+    LastKnownGoodStore(DataSize capacity, Duration maxAge, Duration refreshInterval, Clock clock) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(capacity.toBytes())
+                .weigher((String key, Response response) -> ENTRY_OVERHEAD + 2 * key.length() + response.body().length)
+                .expireAfterWrite(maxAge)
+                .build();
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * The key the request's response is kept under, or {@code null} when it is not a catalog read.
+     */
+    public static String key(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!CATALOG_PATH.matcher(path).matches()) {
+            return null;
+        }
+        return request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+    }
+
+    public Response get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Whether the response kept under the key, if any, is old enough to be replaced.
+     */
+    public boolean wantsRefresh(String key) {
+        Response response = responses.getIfPresent(key);
+        return response == null || !response.storedAt().plus(refreshInterval).isAfter(clock.instant());
+    }
+
+    public void put(String key, byte[] body, String contentType) {
+        responses.put(key, new Response(body, contentType, clock.instant()));
+    }
+
+    /**
+     * Counts the response as served stale and returns its headers, which mark it as such: its
+     * {@code Age} and, in {@value #STALE_HEADER}, when it was captured.
+     */
+    public HttpHeaders serveStale(Response response) {
+        staleServed.incrementAndGet();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, response.contentType());
+        headers.set(HttpHeaders.AGE, Long.toString(
+                Math.max(0, Duration.between(response.storedAt(), clock.instant()).toSeconds())));
+        headers.set(STALE_HEADER, response.storedAt().toString());
+        return headers;
+    }
+
+    public void clear() {
+        responses.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.last.known.good.entries", responses, Cache::estimatedSize)
+                .description("Catalog responses kept for serving while the database is unavailable")
+                .register(registry);
+        Gauge.builder("catalog.last.known.good.size", this, LastKnownGoodStore::weightedSize)
+                .description("Heap taken by the kept catalog responses")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("catalog.stale.responses", staleServed, AtomicLong::get)
+                .description("Catalog responses served stale while the database was unavailable")
+                .register(registry);
+    }
+
+    private long weightedSize() {
+        return responses.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", responses.estimatedSize());
+        result.put("bytes", weightedSize());
+        result.put("staleServed", staleServed.get());
+        return result;
+    }
+
+    public record Response(byte[] body, String contentType, Instant storedAt) {
+    }
+}
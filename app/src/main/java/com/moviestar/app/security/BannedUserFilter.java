@@ -2,6 +2,8 @@ package com.moviestar.app.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.observability.AppMetrics;
+import com.moviestar.app.observability.jfr.UserResolutionEvent;
 import com.moviestar.app.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -26,6 +28,7 @@ public class BannedUserFilter extends OncePerRequestFilter {
 
     private final UserService userService;
     private final ObjectMapper objectMapper;
+    private final AppMetrics appMetrics;
     
     private static final String USER_PROFILE_PATH_PATTERN = "/api/users/[^/]+$";
     
@@ -61,10 +64,22 @@ public class BannedUserFilter extends OncePerRequestFilter {
             String picture = jwtToken.getToken().hasClaim("picture") ?
                 jwtToken.getToken().getClaimAsString("picture") : null;
                 
-            userService.createOrUpdateUser(username, email, picture);
-            
-            Optional<UserDTO> userOpt = userService.getUserByUsername(username);
-            if (userOpt.isPresent() && userOpt.get().getStatus() == UserDTO.UserStatus.BANNED) {
+            UserResolutionEvent event = new UserResolutionEvent();
+            event.username = username;
+            event.startTiming();
+            boolean banned;
+            try {
+                userService.createOrUpdateUser(username, email, picture);
+
+                Optional<UserDTO> userOpt = userService.getUserByUsername(username);
+                banned = userOpt.isPresent() && userOpt.get().getStatus() == UserDTO.UserStatus.BANNED;
+                event.banned = banned;
+            } finally {
+                event.finish();
+            }
+            if (banned) {
+                appMetrics.bannedRequestRejected();
+
                 Map<String, Object> errorDetails = new HashMap<>();
                 errorDetails.put("message", "Your account has been banned");
                 errorDetails.put("status", HttpStatus.FORBIDDEN.value());
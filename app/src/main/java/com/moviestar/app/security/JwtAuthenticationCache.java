@@ -0,0 +1,135 @@
+package com.moviestar.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified bearer tokens, keyed by a SHA-256 digest of the raw token.
+ * Entries live until the token's {@code exp} claim (capped by {@code max-ttl}), so a repeat
+ * request with the same token skips signature verification and authority conversion.
+ */
+@Component
+public class JwtAuthenticationCache implements MeterBinder {
+
+    private final Cache<String, Entry> cache;
+
+    public JwtAuthenticationCache(
+            @Value("${app.security.jwt-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.jwt-cache.max-ttl:PT1H}") Duration maxTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+    }
+
+    public Jwt decode(String token, Function<String, Jwt> decoder) {
+        String key = digest(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            return entry.jwt;
+        }
+        Jwt jwt = decoder.apply(token);
+        cache.put(key, new Entry(jwt));
+        return jwt;
+    }
+
+    public JwtAuthenticationToken authenticate(Jwt jwt, Function<Jwt, JwtAuthenticationToken> converter) {
+        Entry entry = cache.getIfPresent(digest(jwt.getTokenValue()));
+        if (entry == null) {
+            return converter.apply(jwt);
+        }
+        JwtAuthenticationToken converted = entry.authentication;
+        if (converted == null) {
+            converted = converter.apply(jwt);
+            entry.authentication = converted;
+        }
+        // The provider attaches request details to the returned token, so never hand out the cached instance
+        return new JwtAuthenticationToken(converted.getToken(), converted.getAuthorities(), converted.getName());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Same tag keys as the Spring caches, which Prometheus requires for meters sharing a name
+        CaffeineCacheMetrics.monitor(registry, cache, "jwtAuthentication",
+                "cache.manager", "jwtAuthenticationCache", "name", "jwtAuthentication");
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Jwt jwt;
+        private volatile JwtAuthenticationToken authentication;
+
+        private Entry(Jwt jwt) {
+            this.jwt = jwt;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Entry> {
+        private final long maxTtlNanos;
+
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            Instant expiresAt = entry.jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.model.ActorDTO;
 import com.moviestar.app.model.MovieDTO;
 import com.moviestar.app.model.Requests.ActorRequest;
 import com.moviestar.app.model.Response.ActorResponse;
 import com.moviestar.app.repository.ActorRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,20 +19,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ActorService {
     private final ActorRepository actorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<MovieDTO> getActorMovies(Long actorId) {
         ActorDTO actor = actorRepository.findById(actorId)
                 .orElseThrow(() -> new RuntimeException("Actor not found"));
         
-        return actor.getMovies();
+        return new ArrayList<>(actor.getMovies());
     }
 
+    @Transactional(readOnly = true)
     public List<ActorResponse> getAllActors() {
         return actorRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ActorResponse getActorById(Long id) {
         ActorDTO actor = actorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Actor not found"));
@@ -51,8 +58,10 @@ public class ActorService {
     public void deleteActor(Long id) {
         ActorDTO actor = actorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Actor not found"));
-        actor.getMovies().forEach(movie -> movie.getActors().remove(actor));
+        // The movie_actor rows go with the actor (ON DELETE CASCADE), so no movie has to be loaded
+        List<Long> movieIds = actorRepository.findMovieIds(id);
         actorRepository.deleteById(id);
+        movieIds.forEach(movieId -> eventPublisher.publishEvent(new MovieAssociationsChangedEvent(movieId)));
     }
 
     @Transactional
@@ -85,6 +94,7 @@ public class ActorService {
         return convertToResponse(actorRepository.save(actor));
     }
 
+    @Transactional(readOnly = true)
     public List<ActorResponse> searchActors(String query) {
         return actorRepository.findByNameContainingOrSurnameContaining(query, query)
                 .stream()
@@ -3,6 +3,8 @@ package com.moviestar.app.service;
 import com.moviestar.app.model.CommentDTO;
 import com.moviestar.app.model.CommentLikeDTO;
 import com.moviestar.app.model.Response.CommentResponse;
+import com.moviestar.app.observability.AppMetrics;
+import com.moviestar.app.observability.jfr.CommentLikeEvent;
 import com.moviestar.app.repository.CommentLikeRepository;
 import com.moviestar.app.repository.CommentRepository;
 import lombok.AllArgsConstructor;
@@ -19,13 +21,16 @@ import java.util.stream.Collectors;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final CommentLikeRepository commentLikeRepository;
+    private final AppMetrics appMetrics;
 
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByMovieId(Long movieId) {
         return commentRepository.getCommentDTOByMovieId(movieId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByMovieIdSorted(Long movieId, String sortBy) {
         List<CommentDTO> comments;
         
@@ -74,6 +79,18 @@ public class CommentService {
 
     @Transactional
     public CommentResponse likeComment(Long commentId, String username, boolean isLike) {
+        CommentLikeEvent event = new CommentLikeEvent();
+        event.commentId = commentId;
+        event.like = isLike;
+        event.startTiming();
+        try {
+            return applyLike(commentId, username, isLike);
+        } finally {
+            event.finish();
+        }
+    }
+
+    private CommentResponse applyLike(Long commentId, String username, boolean isLike) {
         CommentDTO comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
         
@@ -105,6 +122,7 @@ public class CommentService {
         }
         
         CommentDTO updatedComment = commentRepository.save(comment);
+        appMetrics.commentReacted(isLike);
         return convertToResponse(updatedComment);
     }
 
@@ -180,6 +198,7 @@ public class CommentService {
         commentRepository.deleteById(commentId);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByUsername(String username) {
         return commentRepository.findByUsernameOrderByCreatedAtDesc(username).stream()
                 .map(this::convertToResponse)
@@ -3,9 +3,11 @@ package com.moviestar.app.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.model.DirectorDTO;
 import com.moviestar.app.model.MovieDTO;
 import com.moviestar.app.model.Requests.DirectorRequest;
@@ -19,14 +21,17 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DirectorService {
     private final DirectorRepository directorRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final MovieService movieService; 
 
+    @Transactional(readOnly = true)
     public List<DirectorResponse> getAllDirectors() {
         return directorRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public DirectorResponse getDirectorById(Long id) {
         DirectorDTO director = directorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Director not found"));
@@ -49,8 +54,10 @@ public class DirectorService {
     public void deleteDirector(Long id) {
         DirectorDTO director = directorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Director not found"));
-        director.getMovies().forEach(movie -> movie.getDirectors().remove(director));
+        // The movie_director rows go with the director (ON DELETE CASCADE), so no movie has to be loaded
+        List<Long> movieIds = directorRepository.findMovieIds(id);
         directorRepository.deleteById(id);
+        movieIds.forEach(movieId -> eventPublisher.publishEvent(new MovieAssociationsChangedEvent(movieId)));
     }
 
     @Transactional
@@ -83,6 +90,7 @@ public class DirectorService {
         return convertToResponse(directorRepository.save(director));
     }
 
+    @Transactional(readOnly = true)
     public List<DirectorResponse> searchDirectors(String query) {
         return directorRepository.findByNameContainingOrSurnameContaining(query, query)
                 .stream()
@@ -90,6 +98,7 @@ public class DirectorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<MovieResponse> getDirectorMovies(Long directorId) {
         DirectorDTO director = directorRepository.findById(directorId)
                 .orElseThrow(() -> new RuntimeException("Director not found"));
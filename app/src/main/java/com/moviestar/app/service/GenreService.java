@@ -5,9 +5,11 @@ import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.exception.EntityNotFoundException;
 import com.moviestar.app.model.GenreDTO;
 import com.moviestar.app.model.Requests.GenreRequest;
@@ -20,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class GenreService {
     private final GenreRepository genreRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(value = "genres")
     public List<GenreResponse> getAllGenres() {
@@ -49,6 +52,7 @@ public class GenreService {
     @CacheEvict(value = "genres", allEntries = true)
     public void deleteGenre(Long id) {
         genreRepository.deleteById(id);
+        eventPublisher.publishEvent(MovieAssociationsChangedEvent.allMovies());
     }
 
     private GenreResponse convertToResponse(GenreDTO genre) {
@@ -0,0 +1,118 @@
+package com.moviestar.app.service;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.exception.EntityNotFoundException;
+import com.moviestar.app.model.Requests.MovieLinksRequest;
+import com.moviestar.app.model.Response.MovieLinksResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Adds or removes many movie-genre, movie-actor or movie-director links at once. Each call is one
+ * existence check per table and one statement against the join table, whatever the number of links;
+ * links that already exist (or are already gone) are left alone.
+ */
+@Service
+@RequiredArgsConstructor
+public class MovieLinkService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public enum Association {
+        GENRES("genre", "movie_genre", "genre_id"),
+        ACTORS("actor", "movie_actor", "actor_id"),
+        DIRECTORS("director", "movie_director", "director_id");
+
+        private final String table;
+        private final String joinTable;
+        private final String column;
+
+        Association(String table, String joinTable, String column) {
+            this.table = table;
+            this.joinTable = joinTable;
+            this.column = column;
+        }
+
+        public static Association of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown association '" + name + "', use genres, actors or directors");
+            }
+        }
+    }
+
+    @Transactional
+    @CacheEvict(value = {"movies", "moviesByTitle", "moviesByActor", "moviesByGenre"}, allEntries = true)
+    public MovieLinksResponse link(Association association, List<MovieLinksRequest.Link> links) {
+        List<MovieLinksRequest.Link> distinct = List.copyOf(new LinkedHashSet<>(links));
+        requireExisting("movie", "Movies", distinct.stream().map(MovieLinksRequest.Link::getMovieId).toList());
+        requireExisting(association.table, capitalize(association.name()), distinct.stream().map(MovieLinksRequest.Link::getId).toList());
+
+        List<Long> changed = changeLinks("INSERT INTO " + association.joinTable + " (movie_id, " + association.column + ") "
+                + "SELECT * FROM unnest(?, ?) ON CONFLICT DO NOTHING RETURNING movie_id", distinct);
+        return finish(association, links.size(), changed);
+    }
+
+    @Transactional
+    @CacheEvict(value = {"movies", "moviesByTitle", "moviesByActor", "moviesByGenre"}, allEntries = true)
+    public MovieLinksResponse unlink(Association association, List<MovieLinksRequest.Link> links) {
+        List<MovieLinksRequest.Link> distinct = List.copyOf(new LinkedHashSet<>(links));
+        List<Long> changed = changeLinks("DELETE FROM " + association.joinTable + " j USING unnest(?, ?) AS l(movie_id, id) "
+                + "WHERE j.movie_id = l.movie_id AND j." + association.column + " = l.id RETURNING j.movie_id", distinct);
+        return finish(association, links.size(), changed);
+    }
+
+    // One statement for all links: the movie ids and the linked ids go in as two parallel arrays
+    private List<Long> changeLinks(String sql, List<MovieLinksRequest.Link> links) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint",
+                    links.stream().map(MovieLinksRequest.Link::getMovieId).toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint",
+                    links.stream().map(MovieLinksRequest.Link::getId).toArray()));
+            return statement;
+        }, (result, rowNum) -> result.getLong(1));
+    }
+
+    private MovieLinksResponse finish(Association association, int requested, List<Long> changed) {
+        Set<Long> changedMovies = new TreeSet<>(changed);
+        changedMovies.forEach(movieId -> eventPublisher.publishEvent(new MovieAssociationsChangedEvent(movieId)));
+        return MovieLinksResponse.builder()
+                .association(association.name().toLowerCase(Locale.ROOT))
+                .requested(requested)
+                .changed(changed.size())
+                .changedMovieIds(List.copyOf(changedMovies))
+                .build();
+    }
+
+    private void requireExisting(String table, String label, Collection<Long> ids) {
+        Set<Long> missing = new TreeSet<>(ids);
+        missing.removeAll(new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + table + " WHERE id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", missing.toArray()));
+            return statement;
+        }, (result, rowNum) -> result.getLong(1))));
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(label + " not found: " + missing);
+        }
+    }
+
+    private static String capitalize(String name) {
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+    }
+}
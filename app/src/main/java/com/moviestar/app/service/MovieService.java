@@ -1,5 +1,6 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.exception.EntityNotFoundException;
 import com.moviestar.app.model.ActorDTO;
 import com.moviestar.app.model.GenreDTO;
@@ -10,6 +11,7 @@ import com.moviestar.app.model.Response.ActorResponse;
 import com.moviestar.app.model.Response.GenreResponse;
 import com.moviestar.app.model.Response.MovieResponse;
 import com.moviestar.app.model.Response.DirectorResponse;
+import com.moviestar.app.observability.jfr.MovieResponseEvent;
 import com.moviestar.app.repository.MovieRepository;
 import com.moviestar.app.repository.ActorRepository;
 import com.moviestar.app.repository.GenreRepository;
@@ -17,11 +19,14 @@ import com.moviestar.app.repository.DirectorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
-
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,12 +38,15 @@ public class MovieService {
     private final GenreRepository genreRepository;
     private final RatingService ratingService;
     private final DirectorRepository directorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "movies")
     public List<MovieDTO> getAllMovies() {
         return movieRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "movies", key = "#id")
     public MovieDTO getMovieById(Long id) {
         return movieRepository.findById(id)
@@ -51,7 +59,9 @@ public class MovieService {
         validateRequest(request);
         MovieDTO movie = new MovieDTO();
         updateMovieFromRequest(movie, request);
-        return movieRepository.save(movie);
+        MovieDTO saved = movieRepository.save(movie);
+        eventPublisher.publishEvent(new MovieAssociationsChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -61,7 +71,9 @@ public class MovieService {
         MovieDTO movie = movieRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Movie not found with id: " + id));
         updateMovieFromRequest(movie, request);
-        return movieRepository.save(movie);
+        MovieDTO saved = movieRepository.save(movie);
+        eventPublisher.publishEvent(new MovieAssociationsChangedEvent(id));
+        return saved;
     }
 
     @Transactional
@@ -71,28 +83,44 @@ public class MovieService {
             throw new EntityNotFoundException("Movie not found with id: " + id);
         }
         movieRepository.deleteById(id);
+        eventPublisher.publishEvent(new MovieAssociationsChangedEvent(id));
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "moviesByTitle", key = "#title")
     public List<MovieDTO> getMoviesByTitle(String title) {
         return movieRepository.findByTitle(title);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "moviesByActor", key = "#actor")
     public List<MovieDTO> getMoviesByActor(String actor) {
         return movieRepository.findByActor(actor);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "moviesByGenre", key = "#genre")
     public List<MovieDTO> getMoviesByGenre(String genre) {
         return movieRepository.findByGenresGenre(genre);
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDTO> getRandomizedMovies() {
         return movieRepository.findAllRandomized();
     }
 
     public MovieResponse convertToResponse(MovieDTO movieDTO) {
+        MovieResponseEvent event = new MovieResponseEvent();
+        event.movieId = movieDTO.getId() != null ? movieDTO.getId() : 0;
+        event.startTiming();
+        try {
+            return buildResponse(movieDTO);
+        } finally {
+            event.finish();
+        }
+    }
+
+    private MovieResponse buildResponse(MovieDTO movieDTO) {
         List<ActorResponse> actors = movieDTO.getActors().stream()
                 .map(this::convertActorToResponse)
                 .collect(Collectors.toList());
@@ -190,32 +218,36 @@ public class MovieService {
         if (genres.size() != request.getGenreIds().size()) {
             throw new EntityNotFoundException("One or more genres not found");
         }
-        movie.setGenres(genres);
+        replaceContents(movie.getGenres(), genres);
 
+        List<ActorDTO> actors = new ArrayList<>();
         if (request.getActorIds() != null && !request.getActorIds().isEmpty()) {
-            List<ActorDTO> actors = actorRepository.findAllById(request.getActorIds());
+            actors = actorRepository.findAllById(request.getActorIds());
             if (actors.size() != request.getActorIds().size()) {
                 throw new EntityNotFoundException("One or more actors not found");
             }
-            movie.setActors(actors);
-        } else {
-            movie.setActors(new ArrayList<>());
         }
+        replaceContents(movie.getActors(), actors);
 
+        List<DirectorDTO> directors = new ArrayList<>();
         if (request.getDirectorIds() != null && !request.getDirectorIds().isEmpty()) {
-            List<DirectorDTO> directors = directorRepository.findAllById(request.getDirectorIds());
+            directors = directorRepository.findAllById(request.getDirectorIds());
             if (directors.size() != request.getDirectorIds().size()) {
                 throw new EntityNotFoundException("One or more directors not found");
             }
-            movie.setDirectors(directors);
-        } else {
-            movie.setDirectors(new ArrayList<>());
         }
+        replaceContents(movie.getDirectors(), directors);
 
         movie.setPosterURL(request.getPosterURL());
         movie.setBackdropURL(request.getBackdropURL());
     }
 
+    // Changes the managed set in place, so only the links that differ are inserted or deleted
+    private static <T> void replaceContents(Set<T> current, Collection<T> wanted) {
+        current.retainAll(new HashSet<>(wanted));
+        current.addAll(wanted);
+    }
+
     @Transactional
     @CacheEvict(value = "movies", key = "#movieId")
     public MovieDTO addDirectorToMovie(Long movieId, Long directorId) {
@@ -223,18 +255,12 @@ public class MovieService {
         DirectorDTO director = directorRepository.findById(directorId)
                 .orElseThrow(() -> new EntityNotFoundException("Director not found with id: " + directorId));
         
-        if (movie.getDirectors() == null) {
-            movie.setDirectors(new ArrayList<>());
+        if (movie.getDirectors().add(director)) {
+            MovieDTO saved = movieRepository.save(movie);
+            eventPublisher.publishEvent(new MovieAssociationsChangedEvent(movieId));
+            return saved;
         }
-        
-        boolean directorExists = movie.getDirectors().stream()
-                .anyMatch(d -> d.getId().equals(directorId));
-        
-        if (!directorExists) {
-            movie.getDirectors().add(director);
-            return movieRepository.save(movie);
-        }
-        
+
         return movie;
     }
 
@@ -243,11 +269,12 @@ public class MovieService {
     public MovieDTO removeDirectorFromMovie(Long movieId, Long directorId) {
         MovieDTO movie = getMovieById(movieId);
         
-        if (movie.getDirectors() != null) {
-            movie.getDirectors().removeIf(director -> director.getId().equals(directorId));
-            return movieRepository.save(movie);
+        if (movie.getDirectors().removeIf(director -> director.getId().equals(directorId))) {
+            MovieDTO saved = movieRepository.save(movie);
+            eventPublisher.publishEvent(new MovieAssociationsChangedEvent(movieId));
+            return saved;
         }
-        
+
         return movie;
     }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.RatingChangedEvent;
 import com.moviestar.app.model.RatingDTO;
+import com.moviestar.app.observability.AppMetrics;
+import com.moviestar.app.observability.jfr.RatingAddEvent;
 import com.moviestar.app.repository.RatingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,11 +19,25 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RatingServiceImpl implements RatingService {
     private final RatingRepository ratingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppMetrics appMetrics;
 
     @Override
     @Transactional
     @CacheEvict(value = {"movieRatingAverage", "movieRatingCount"}, key = "#ratingDTO.movieId")
     public void addRating(RatingDTO ratingDTO, String username) {
+        RatingAddEvent event = new RatingAddEvent();
+        event.movieId = ratingDTO.getMovieId() != null ? ratingDTO.getMovieId() : 0;
+        event.rating = ratingDTO.getRating();
+        event.startTiming();
+        try {
+            saveRating(ratingDTO, username);
+        } finally {
+            event.finish();
+        }
+    }
+
+    private void saveRating(RatingDTO ratingDTO, String username) {
         Optional<RatingDTO> existingRating = ratingRepository.findByUsernameAndMovieId(username, ratingDTO.getMovieId());
         
         if (existingRating.isPresent()) {
@@ -30,6 +48,8 @@ public class RatingServiceImpl implements RatingService {
             ratingDTO.setUsername(username);
             ratingRepository.save(ratingDTO);
         }
+        eventPublisher.publishEvent(new RatingChangedEvent(ratingDTO.getMovieId(), username));
+        appMetrics.ratingAdded();
     }
 
     @Override
@@ -56,6 +76,7 @@ public class RatingServiceImpl implements RatingService {
     @CacheEvict(value = {"movieRatingAverage", "movieRatingCount"}, key = "#movieId")
     public void removeRating(Long movieId, String username) {
         ratingRepository.deleteByUsernameAndMovieId(username, movieId);
+        eventPublisher.publishEvent(new RatingChangedEvent(movieId, username));
     }
     
     @Override
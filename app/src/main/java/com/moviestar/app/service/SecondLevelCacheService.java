@@ -0,0 +1,206 @@
+package com.moviestar.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moviestar.app.cache.CacheInvalidationBus;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.model.ActorDTO;
+import com.moviestar.app.model.DirectorDTO;
+import com.moviestar.app.model.MovieDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the Hibernate second-level cache in step with writes that bypass Hibernate, and reports on
+ * its regions. Entity changes made through Hibernate update the cache themselves; links written
+ * with plain SQL (bulk link endpoints, imports, the join rows removed by {@code ON DELETE CASCADE})
+ * would leave cached movie collections pointing at the old genres, actors and directors, so the
+ * collections of every movie named in a {@link MovieAssociationsChangedEvent} are evicted once the
+ * change has committed. The movies of actors and directors are the inverse side, which Hibernate
+ * does not update even for its own writes; which actors and directors a change touched is not
+ * known, so those regions are evicted whole (links change rarely, and only through admins).
+ * <p>
+ * With the {@link CacheInvalidationBus} enabled, committed changes to cached entities and links
+ * are also sent to the other instances, which evict the entity (and the query cache, whose results
+ * they can no longer check against this instance's table timestamps) or the links.
+ */
+@Service
+public class SecondLevelCacheService implements MeterBinder, CacheInvalidationBus.Listener {
+
+    public static final String ENTITY_REGION_PREFIX = "hibernate:";
+    public static final String MOVIE_LINKS_REGION = "hibernate:movie-links";
+
+    private static final List<String> MOVIE_LINK_ROLES = List.of(
+            MovieDTO.class.getName() + ".genres",
+            MovieDTO.class.getName() + ".actors",
+            MovieDTO.class.getName() + ".directors");
+    private static final List<String> PEOPLE_MOVIES_ROLES = List.of(
+            ActorDTO.class.getName() + ".movies",
+            DirectorDTO.class.getName() + ".movies");
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager hibernateCacheManager;
+    private final ObjectProvider<CacheInvalidationBus> bus;
+
+    public SecondLevelCacheService(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager,
+                                   ObjectProvider<CacheInvalidationBus> bus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.hibernateCacheManager = hibernateCacheManager;
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    void joinInvalidationBus() {
+        bus.ifAvailable(invalidationBus -> {
+            invalidationBus.addListener(this);
+            EntityChangePublisher publisher = new EntityChangePublisher(invalidationBus);
+            EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_COMMIT_INSERT, publisher);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, publisher);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, publisher);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssociationsChanged(MovieAssociationsChangedEvent event) {
+        evictLinks(event.movieId());
+        bus.ifAvailable(invalidationBus -> invalidationBus.publish(MOVIE_LINKS_REGION, event.movieId()));
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Override
+    public void evict(String region, Object key) {
+        if (MOVIE_LINKS_REGION.equals(region)) {
+            evictLinks(key instanceof Long movieId ? movieId : null);
+        } else if (region.startsWith(ENTITY_REGION_PREFIX)) {
+            org.hibernate.Cache cache = sessionFactory.getCache();
+            cache.evictEntityData(region.substring(ENTITY_REGION_PREFIX.length()), key);
+            cache.evictDefaultQueryRegion();
+        }
+    }
+
+    @Override
+    public void clear(String region) {
+        if (MOVIE_LINKS_REGION.equals(region)) {
+            evictLinks(null);
+        } else if (region.startsWith(ENTITY_REGION_PREFIX)) {
+            org.hibernate.Cache cache = sessionFactory.getCache();
+            cache.evictEntityData(region.substring(ENTITY_REGION_PREFIX.length()));
+            cache.evictDefaultQueryRegion();
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        evictAll();
+    }
+
+    // null for every movie
+    private void evictLinks(Long movieId) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        for (String role : MOVIE_LINK_ROLES) {
+            if (movieId == null) {
+                cache.evictCollectionData(role);
+            } else {
+                cache.evictCollectionData(role, movieId);
+            }
+        }
+        PEOPLE_MOVIES_ROLES.forEach(cache::evictCollectionData);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Same tag keys as the Spring caches, which Prometheus requires for meters sharing a name
+        for (String region : hibernateCacheManager.getCacheNames()) {
+            CaffeineCacheMetrics.monitor(registry, region(region), region, "cache.manager", "hibernate", "name", region);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : hibernateCacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = region(region);
+            CacheStats stats = cache.stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            regions.put(region, entry);
+        }
+        return Map.of("regions", regions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> region(String name) {
+        return hibernateCacheManager.getCache(name).unwrap(Cache.class);
+    }
+
+    // Runs once the transaction has committed, and only for entities stored in the cache
+    private record EntityChangePublisher(CacheInvalidationBus bus)
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+
+        private void publish(EntityPersister persister, Object id) {
+            bus.publish(ENTITY_REGION_PREFIX + persister.getEntityName(), id);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package com.moviestar.app.service;
 
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.model.Response.UserPageResponse;
 import com.moviestar.app.model.Response.UserResponse;
 import com.moviestar.app.repository.UserRepository;
+import com.moviestar.app.repository.UserSpecifications;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
 
     public Optional<UserDTO> getUserByUsername(String username) {
@@ -21,13 +30,7 @@ public class UserService {
             return Optional.empty();
         }
         
-        Optional<UserDTO> userOpt = userRepository.findByUsername(username);
-        
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByUsernameIgnoreCase(username);
-        }
-        
-        return userOpt;
+        return userRepository.findByUsernamePreferExactCase(username);
     }
 
     @Transactional
@@ -72,12 +75,62 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll();
+    public UserPageResponse searchUsers(UserDTO.UserStatus status, String query, boolean prefixOnly,
+                                        UserSpecifications.SortField sortField, boolean ascending,
+                                        String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = decodeCursor(cursor);
+                afterValue = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        Specification<UserDTO> spec = Specification.where(UserSpecifications.hasStatus(status))
+                .and(UserSpecifications.usernameMatches(query, prefixOnly))
+                .and(UserSpecifications.orderedAfter(sortField, ascending, afterValue, afterId));
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<UserDTO> rows = userRepository.findBy(spec, q -> q.limit(pageSize + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            UserDTO last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(sortValue(last, sortField), last.getId());
+        }
+
+        return UserPageResponse.builder()
+                .users(rows.stream().map(this::convertToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private LocalDateTime sortValue(UserDTO user, UserSpecifications.SortField sortField) {
+        if (sortField == UserSpecifications.SortField.LAST_LOGIN && user.getLastLogin() != null) {
+            return user.getLastLogin();
+        }
+        return user.getCreatedAt();
     }
 
-    public List<UserDTO> getUsersByStatus(UserDTO.UserStatus status) {
-        return userRepository.findByStatus(status);
+    private String encodeCursor(LocalDateTime value, Long id) {
+        String raw = value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
     }
 
     public UserResponse convertToResponse(UserDTO userDTO) {
@@ -87,6 +140,7 @@ public class UserService {
                 .profilePictureUrl(userDTO.getProfilePictureUrl())
                 .status(userDTO.getStatus().name())
                 .createdAt(userDTO.getCreatedAt())
+                .lastLogin(userDTO.getLastLogin())
                 .build();
     }
 }
@@ -22,6 +22,7 @@ public class WatchlistService {
     private final MovieRepository movieRepository;
     private final MovieService movieService;
 
+    @Transactional(readOnly = true)
     public List<MovieResponse> getUserWatchlist(String username) {
         List<WatchlistItemDTO> watchlistItems = watchlistRepository.findByUsername(username);
         
@@ -42,6 +43,7 @@ public class WatchlistService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<MovieResponse> getPublicUserWatchlist(String username) {
         List<WatchlistItemDTO> watchlistItems = watchlistRepository.findByUsername(username);
         
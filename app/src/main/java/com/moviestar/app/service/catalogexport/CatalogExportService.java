@@ -0,0 +1,142 @@
+package com.moviestar.app.service.catalogexport;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams whole tables to an output stream without holding them in memory. CSV is produced by
+ * PostgreSQL itself with {@code COPY ... TO STDOUT}; NDJSON is written row by row from a cursor
+ * that fetches {@code app.export.fetch-size} rows at a time. Either way the heap used is the same
+ * for ten rows or ten million.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the dataset to {@code out}, which is flushed but not closed.
+     */
+    public void export(ExportDataset dataset, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        BufferedOutputStream buffered = new BufferedOutputStream(compressed != null ? compressed : out, BUFFER_SIZE);
+        try {
+            // PostgreSQL only uses a cursor for the fetch size outside auto-commit
+            readOnlyTransaction.executeWithoutResult(status -> {
+                if (format == ExportFormat.CSV) {
+                    copyCsv(dataset, buffered);
+                } else {
+                    writeNdjson(dataset, buffered);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private void copyCsv(ExportDataset dataset, OutputStream out) {
+        cursorTemplate.execute((Connection connection) -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut("COPY (" + dataset.copyQuery() + ") TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(ExportDataset dataset, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            List<ExportColumn> columns = dataset.columns();
+            cursorTemplate.query(dataset.query(), (RowCallbackHandler) resultSet -> {
+                try {
+                    writeRow(generator, columns, resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeRow(JsonGenerator generator, List<ExportColumn> columns, ResultSet resultSet)
+            throws IOException, SQLException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            ExportColumn column = columns.get(i);
+            int index = i + 1;
+            generator.writeFieldName(column.name());
+            switch (column.type()) {
+                case NUMBER -> {
+                    long value = resultSet.getLong(index);
+                    if (resultSet.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+                case TEXT -> generator.writeString(resultSet.getString(index));
+                case TIMESTAMP -> {
+                    Timestamp value = resultSet.getTimestamp(index);
+                    generator.writeString(value == null ? null : value.toLocalDateTime().toString());
+                }
+                case ID_LIST -> {
+                    Array array = resultSet.getArray(index);
+                    generator.writeStartArray();
+                    if (array != null) {
+                        for (Object id : (Object[]) array.getArray()) {
+                            generator.writeNumber(((Number) id).longValue());
+                        }
+                        array.free();
+                    }
+                    generator.writeEndArray();
+                }
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,24 @@
+package com.moviestar.app.service.catalogexport;
+
+record ExportColumn(String name, String expression, Type type) {
+
+    enum Type {
+        NUMBER, TEXT, TIMESTAMP, ID_LIST
+    }
+
+    static ExportColumn number(String name, String expression) {
+        return new ExportColumn(name, expression, Type.NUMBER);
+    }
+
+    static ExportColumn text(String name, String expression) {
+        return new ExportColumn(name, expression, Type.TEXT);
+    }
+
+    static ExportColumn timestamp(String name, String expression) {
+        return new ExportColumn(name, expression, Type.TIMESTAMP);
+    }
+
+    static ExportColumn idList(String name, String subquery) {
+        return new ExportColumn(name, subquery, Type.ID_LIST);
+    }
+}
@@ -0,0 +1,100 @@
+package com.moviestar.app.service.catalogexport;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The tables that can be exported and the columns written for each. Movie exports use the column
+ * names and id lists of the bulk import, so an export can be imported into another instance.
+ */
+public enum ExportDataset {
+    MOVIES("movie m", "m.id", List.of(
+            ExportColumn.number("id", "m.id"),
+            ExportColumn.text("title", "m.title"),
+            ExportColumn.text("description", "m.description"),
+            ExportColumn.number("year", "m.year"),
+            ExportColumn.text("posterURL", "m.poster_url"),
+            ExportColumn.text("backdropURL", "m.backdrop_url"),
+            ExportColumn.idList("genreIds", "SELECT genre_id FROM movie_genre WHERE movie_id = m.id ORDER BY genre_id"),
+            ExportColumn.idList("actorIds", "SELECT actor_id FROM movie_actor WHERE movie_id = m.id ORDER BY actor_id"),
+            ExportColumn.idList("directorIds", "SELECT director_id FROM movie_director WHERE movie_id = m.id ORDER BY director_id"))),
+    RATINGS("rating r", "r.id", List.of(
+            ExportColumn.number("id", "r.id"),
+            ExportColumn.number("movieId", "r.movie_id"),
+            ExportColumn.text("username", "r.username"),
+            ExportColumn.number("rating", "r.rating"))),
+    COMMENTS("comment c", "c.id", List.of(
+            ExportColumn.number("id", "c.id"),
+            ExportColumn.number("movieId", "c.movie_id"),
+            ExportColumn.text("username", "c.username"),
+            ExportColumn.text("comment", "c.comment"),
+            ExportColumn.number("likesCount", "c.likes_count"),
+            ExportColumn.number("dislikesCount", "c.dislikes_count"),
+            ExportColumn.timestamp("createdAt", "c.created_at"),
+            ExportColumn.timestamp("updatedAt", "c.updated_at"))),
+    WATCHLIST("watchlist w", "w.id", List.of(
+            ExportColumn.number("id", "w.id"),
+            ExportColumn.text("username", "w.username"),
+            ExportColumn.number("movieId", "w.movie_id"),
+            ExportColumn.timestamp("addedAt", "w.added_at")));
+
+    private final String from;
+    private final String orderBy;
+    private final List<ExportColumn> columns;
+
+    ExportDataset(String from, String orderBy, List<ExportColumn> columns) {
+        this.from = from;
+        this.orderBy = orderBy;
+        this.columns = columns;
+    }
+
+    public static ExportDataset of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export '" + name + "', use movies, ratings, comments or watchlist");
+        }
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    List<ExportColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * The query for row-by-row reading; id lists come back as SQL arrays.
+     */
+    String query() {
+        return select(columns.stream().map(column -> column.type() == ExportColumn.Type.ID_LIST
+                ? "ARRAY(" + column.expression() + ")"
+                : column.expression()));
+    }
+
+    /**
+     * The same rows as {@link #query()} for {@code COPY ... TO STDOUT}, with id lists joined by {@code |}
+     * (empty lists as empty fields rather than {@code ""}) and timestamps in ISO-8601.
+     */
+    String copyQuery() {
+        return select(columns.stream().map(column -> switch (column.type()) {
+            case ID_LIST -> "NULLIF(array_to_string(ARRAY(" + column.expression() + "), '|'), '')";
+            case TIMESTAMP -> "to_char(" + column.expression() + ", 'YYYY-MM-DD\"T\"HH24:MI:SS.US')";
+            default -> column.expression();
+        }));
+    }
+
+    private String select(java.util.stream.Stream<String> expressions) {
+        List<String> selected = expressions.collect(Collectors.toList());
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(selected.get(i)).append(" AS \"").append(columns.get(i).name()).append('"');
+        }
+        return sql.append(" FROM ").append(from).append(" ORDER BY ").append(orderBy).toString();
+    }
+}
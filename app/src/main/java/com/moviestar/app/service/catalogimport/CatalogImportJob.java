@@ -0,0 +1,105 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.moviestar.app.model.Response.CatalogImportResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one import. Updated by the import thread and read by status requests, hence the
+ * synchronized accessors.
+ */
+class CatalogImportJob {
+
+    enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final ImportFormat format;
+    private final long uploadBytes;
+    private final int maxErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final List<ImportError> errors = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+
+    CatalogImportJob(String id, ImportFormat format, long uploadBytes, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.uploadBytes = uploadBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    String id() {
+        return id;
+    }
+
+    ImportFormat format() {
+        return format;
+    }
+
+    synchronized boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    synchronized void started() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    synchronized void imported(int count) {
+        imported += count;
+    }
+
+    synchronized long imported() {
+        return imported;
+    }
+
+    synchronized void rejected(ImportError error) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+    }
+
+    synchronized void completed() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void failed(String reason) {
+        status = Status.FAILED;
+        message = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized CatalogImportResponse toResponse() {
+        return CatalogImportResponse.builder()
+                .id(id)
+                .format(format.name())
+                .status(status.name())
+                .message(message)
+                .uploadBytes(uploadBytes)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rowsRead(rowsRead)
+                .imported(imported)
+                .failed(failed)
+                .errors(List.copyOf(errors))
+                .errorsTruncated(failed > errors.size())
+                .build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.exception.EntityNotFoundException;
+import com.moviestar.app.model.Requests.MovieRequest;
+import com.moviestar.app.model.Response.CatalogImportResponse;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk movie imports. The upload is spooled to a temporary file while the request is still open,
+ * then parsed and written on a background thread, one chunk per transaction, so a failing chunk
+ * only loses its own rows. Jobs run one at a time in submission order; the most recent ones are
+ * kept for status queries.
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    private static final List<String> MOVIE_CACHES = List.of("movies", "moviesByTitle", "moviesByActor", "moviesByGenre");
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final CatalogImportWriter writer;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int retainedJobs;
+
+    private final Map<String, CatalogImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public CatalogImportService(CatalogImportWriter writer,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.import.chunk-size:1000}") int chunkSize,
+                                @Value("${app.import.max-errors:1000}") int maxErrors,
+                                @Value("${app.import.retained-jobs:20}") int retainedJobs) {
+        this(writer, objectMapper, validator, cacheManager, eventPublisher, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "catalog-import");
+            thread.setDaemon(true);
+            return thread;
+        }), chunkSize, maxErrors, retainedJobs);
+    }
+
+    CatalogImportService(CatalogImportWriter writer, ObjectMapper objectMapper, Validator validator,
+                         CacheManager cacheManager, ApplicationEventPublisher eventPublisher, ExecutorService executor,
+                         int chunkSize, int maxErrors, int retainedJobs) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retainedJobs = retainedJobs;
+    }
+
+    public CatalogImportResponse submit(ImportFormat format, InputStream upload) throws IOException {
+        Path file = Files.createTempFile("catalog-import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(upload, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        CatalogImportJob job = new CatalogImportJob(UUID.randomUUID().toString(), format, Files.size(file), maxErrors);
+        register(job);
+        executor.execute(() -> run(job, file));
+        log.info("Queued catalog import {} ({}, {} bytes)", job.id(), format, Files.size(file));
+        return job.toResponse();
+    }
+
+    public CatalogImportResponse getJob(String id) {
+        CatalogImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new EntityNotFoundException("Import job not found with id: " + id);
+        }
+        return job.toResponse();
+    }
+
+    public List<CatalogImportResponse> getJobs() {
+        List<CatalogImportJob> current;
+        synchronized (jobs) {
+            current = new ArrayList<>(jobs.values());
+        }
+        return current.stream().map(CatalogImportJob::toResponse).collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void register(CatalogImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.id(), job);
+            int excess = jobs.size() - retainedJobs;
+            for (Iterator<CatalogImportJob> it = jobs.values().iterator(); it.hasNext() && excess > 0; ) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    void run(CatalogImportJob job, Path file) {
+        job.started();
+        long started = System.nanoTime();
+        try (MovieRowReader reader = open(job.format(), file)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                job.rowRead();
+                String error = row.error() != null ? row.error() : validate(row.movie());
+                if (error != null) {
+                    job.rejected(new ImportError(row.line(), row.movie() != null ? row.movie().getTitle() : null, error));
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    write(job, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(job, chunk);
+            }
+            job.completed();
+        } catch (IOException | RuntimeException e) {
+            log.error("Catalog import {} failed", job.id(), e);
+            job.failed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", file, e);
+            }
+            if (job.imported() > 0) {
+                eventPublisher.publishEvent(MovieAssociationsChangedEvent.allMovies());
+            }
+        }
+        CatalogImportResponse result = job.toResponse();
+        log.info("Catalog import {} {} in {} ms: {} imported, {} rejected", job.id(), result.getStatus(),
+                (System.nanoTime() - started) / 1_000_000, result.getImported(), result.getFailed());
+    }
+
+    private void write(CatalogImportJob job, List<ImportRow> chunk) {
+        try {
+            CatalogImportWriter.ChunkResult result = writer.write(chunk);
+            job.imported(result.imported());
+            result.errors().forEach(job::rejected);
+            if (result.imported() > 0) {
+                evictMovieCaches();
+            }
+        } catch (DataAccessException e) {
+            String reason = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunk.forEach(row -> job.rejected(new ImportError(row.line(), row.movie().getTitle(), reason)));
+        }
+    }
+
+    private MovieRowReader open(ImportFormat format, Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return format == ImportFormat.CSV ? new CsvMovieReader(reader) : new NdjsonMovieReader(reader, objectMapper);
+    }
+
+    private String validate(MovieRequest movie) {
+        List<String> problems = validator.validate(movie).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+        if (movie.getYear() != null && (movie.getYear() < 1888 || movie.getYear() > 2200)) {
+            problems.add("Year must be between 1888 and 2200");
+        }
+        if (tooLong(movie.getPosterURL()) || tooLong(movie.getBackdropURL())) {
+            problems.add("Image URLs must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private void evictMovieCaches() {
+        for (String name : MOVIE_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
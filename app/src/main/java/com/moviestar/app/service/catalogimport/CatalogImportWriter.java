@@ -0,0 +1,146 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.moviestar.app.model.Requests.MovieRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes one chunk of an import in a single transaction. Referenced genres, actors and directors
+ * are checked with one query per table for the whole chunk; rows referring to unknown ids are
+ * reported and skipped. Movies and their links are inserted with JDBC batches (which the driver
+ * rewrites into multi-row inserts), taking ids from {@code movie_id_seq} in the same blocks of
+ * 50 Hibernate's pooled optimizer uses, so both can keep allocating from it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogImportWriter {
+
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    record ChunkResult(int imported, List<ImportError> errors) {
+    }
+
+    @Transactional
+    public ChunkResult write(List<ImportRow> rows) {
+        Set<Long> genres = existing("genre", rows.stream().map(row -> row.movie().getGenreIds()));
+        Set<Long> actors = existing("actor", rows.stream().map(row -> row.movie().getActorIds()));
+        Set<Long> directors = existing("director", rows.stream().map(row -> row.movie().getDirectorIds()));
+
+        List<ImportError> errors = new ArrayList<>();
+        List<MovieRequest> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String missing = missing("genre", row.movie().getGenreIds(), genres)
+                    + missing("actor", row.movie().getActorIds(), actors)
+                    + missing("director", row.movie().getDirectorIds(), directors);
+            if (missing.isEmpty()) {
+                valid.add(row.movie());
+            } else {
+                errors.add(new ImportError(row.line(), row.movie().getTitle(), missing.substring(2)));
+            }
+        }
+        if (valid.isEmpty()) {
+            return new ChunkResult(0, errors);
+        }
+
+        List<Long> ids = allocateMovieIds(valid.size());
+        // Typed setters: setObject(null) would make JdbcTemplate look up parameter types per row
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO movie (id, title, description, year, poster_url, backdrop_url) VALUES (?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        MovieRequest movie = valid.get(i);
+                        statement.setLong(1, ids.get(i));
+                        statement.setString(2, movie.getTitle());
+                        statement.setString(3, movie.getDescription());
+                        statement.setInt(4, movie.getYear());
+                        statement.setString(5, movie.getPosterURL());
+                        statement.setString(6, movie.getBackdropURL());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return valid.size();
+                    }
+                });
+        insertLinks("movie_genre", "genre_id", valid, ids, MovieRequest::getGenreIds);
+        insertLinks("movie_actor", "actor_id", valid, ids, MovieRequest::getActorIds);
+        insertLinks("movie_director", "director_id", valid, ids, MovieRequest::getDirectorIds);
+        return new ChunkResult(valid.size(), errors);
+    }
+
+    private Set<Long> existing(String table, Stream<List<Long>> references) {
+        Set<Long> ids = references.filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + table + " WHERE id = ANY(?)");
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            statement.setArray(1, array);
+            return statement;
+        }, (result, rowNum) -> result.getLong(1)));
+    }
+
+    private static String missing(String kind, List<Long> referenced, Set<Long> existing) {
+        if (referenced == null) {
+            return "";
+        }
+        List<Long> unknown = referenced.stream().filter(id -> !existing.contains(id)).distinct().toList();
+        return unknown.isEmpty() ? "" : "; unknown " + kind + " ids " + unknown;
+    }
+
+    // Same blocks as Hibernate's pooled optimizer: nextval is the top of a block of 50 ids
+    private List<Long> allocateMovieIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long hi = jdbcTemplate.queryForObject("SELECT nextval('movie_id_seq')", Long.class);
+            for (long id = Math.max(1, hi - ID_BLOCK + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void insertLinks(String table, String column, List<MovieRequest> movies, List<Long> ids,
+                             Function<MovieRequest, List<Long>> references) {
+        List<long[]> links = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            List<Long> referenced = references.apply(movies.get(i));
+            if (referenced != null) {
+                for (Long id : new LinkedHashSet<>(referenced)) {
+                    links.add(new long[]{ids.get(i), id});
+                }
+            }
+        }
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (movie_id, " + column + ") VALUES (?, ?)",
+                links, links.size(), (statement, link) -> {
+                    statement.setLong(1, link[0]);
+                    statement.setLong(2, link[1]);
+                });
+    }
+}
@@ -0,0 +1,187 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.moviestar.app.model.Requests.MovieRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns: {@code title}, {@code description},
+ * {@code year}, {@code genreIds}, {@code actorIds}, {@code directorIds}, {@code posterURL} and
+ * {@code backdropURL}, in any order and case. An {@code id} column, as written by the movie
+ * export, is ignored: imported movies get new ids. Id lists are separated by {@code |}. Quoted
+ * fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvMovieReader implements MovieRowReader {
+
+    private static final List<String> COLUMNS = List.of(
+            "title", "description", "year", "genreids", "actorids", "directorids", "posterurl", "backdropurl");
+    private static final String IGNORED_COLUMN = "id";
+
+    private final Reader reader;
+    private Map<String, Integer> columns;
+    private long line = 1;
+    private int pending = -2;
+
+    CsvMovieReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> fields;
+        long start;
+        do {
+            start = line;
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return ImportRow.parsed(start, toMovie(fields));
+        } catch (IllegalArgumentException e) {
+            return ImportRow.failed(start, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (IGNORED_COLUMN.equals(name)) {
+                continue;
+            }
+            if (!COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column '" + header.get(i) + "', expected " + COLUMNS);
+            }
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+    }
+
+    private MovieRequest toMovie(List<String> fields) {
+        MovieRequest movie = new MovieRequest();
+        movie.setTitle(field(fields, "title"));
+        movie.setDescription(field(fields, "description"));
+        String year = field(fields, "year");
+        if (year != null) {
+            try {
+                movie.setYear(Integer.parseInt(year));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Year is not a number: " + year);
+            }
+        }
+        movie.setGenreIds(ids(fields, "genreids"));
+        movie.setActorIds(ids(fields, "actorids"));
+        movie.setDirectorIds(ids(fields, "directorids"));
+        movie.setPosterURL(field(fields, "posterurl"));
+        movie.setBackdropURL(field(fields, "backdropurl"));
+        return movie;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<Long> ids(List<String> fields, String column) {
+        String value = field(fields, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Arrays.stream(value.split("\\|"))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id in " + column + ": " + value);
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting before line " + line);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,7 @@
+package com.moviestar.app.service.catalogimport;
+
+/**
+ * A rejected record: the line it starts on, its title when it could be read, and why.
+ */
+public record ImportError(long line, String title, String message) {
+}
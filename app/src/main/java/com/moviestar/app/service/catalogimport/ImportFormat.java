@@ -0,0 +1,29 @@
+package com.moviestar.app.service.catalogimport;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    NDJSON, CSV;
+
+    /**
+     * The format named by an explicit {@code format} parameter, else the one implied by the
+     * upload's content type.
+     */
+    public static ImportFormat of(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format '" + format + "', use ndjson or csv");
+            }
+        }
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Send the upload as application/x-ndjson or text/csv, or pass format=ndjson|csv");
+    }
+}
@@ -0,0 +1,18 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.moviestar.app.model.Requests.MovieRequest;
+
+/**
+ * One parsed record of an upload: the movie, or why it could not be read. {@code line} is the
+ * line the record starts on.
+ */
+record ImportRow(long line, MovieRequest movie, String error) {
+
+    static ImportRow parsed(long line, MovieRequest movie) {
+        return new ImportRow(line, movie, null);
+    }
+
+    static ImportRow failed(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.moviestar.app.service.catalogimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an upload one record at a time, so imports never hold more than one chunk in memory.
+ */
+interface MovieRowReader extends Closeable {
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,356 @@
+package com.moviestar.app.service.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable collaboration graph of actors and directors. People are dense int nodes (actors
+ * first, then directors); two people are adjacent when they share at least one movie and the edge
+ * weight is the number of shared movies. Adjacency, person-to-movie and movie-to-person lists are
+ * all stored in compressed sparse row form; each adjacency row is sorted by descending weight.
+ */
+public final class CollaborationGraph {
+
+    final long[] actorIds;
+    final long[] directorIds;
+    final long[] movieIds;
+
+    final int[] personMovieOffsets;
+    final int[] personMovies;
+
+    final int[] edgeOffsets;
+    final int[] edgeTargets;
+    final int[] edgeWeights;
+
+    private CollaborationGraph(long[] actorIds, long[] directorIds, long[] movieIds,
+                               int[] personMovieOffsets, int[] personMovies,
+                               int[] edgeOffsets, int[] edgeTargets, int[] edgeWeights) {
+        this.actorIds = actorIds;
+        this.directorIds = directorIds;
+        this.movieIds = movieIds;
+        this.personMovieOffsets = personMovieOffsets;
+        this.personMovies = personMovies;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeWeights = edgeWeights;
+    }
+
+    public int nodeCount() {
+        return actorIds.length + directorIds.length;
+    }
+
+    public int edgeCount() {
+        return edgeTargets.length / 2;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int nodeOf(PersonType type, long id) {
+        if (type == PersonType.ACTOR) {
+            int idx = Arrays.binarySearch(actorIds, id);
+            return idx >= 0 ? idx : -1;
+        }
+        int idx = Arrays.binarySearch(directorIds, id);
+        return idx >= 0 ? actorIds.length + idx : -1;
+    }
+
+    public PersonType typeOf(int node) {
+        return node < actorIds.length ? PersonType.ACTOR : PersonType.DIRECTOR;
+    }
+
+    public long idOf(int node) {
+        return node < actorIds.length ? actorIds[node] : directorIds[node - actorIds.length];
+    }
+
+    public int degree(int node) {
+        return edgeOffsets[node + 1] - edgeOffsets[node];
+    }
+
+    public int neighbour(int node, int i) {
+        return edgeTargets[edgeOffsets[node] + i];
+    }
+
+    public int weight(int node, int i) {
+        return edgeWeights[edgeOffsets[node] + i];
+    }
+
+    /**
+     * Returns the id of the lowest-id movie both people worked on, or {@code null} if none.
+     */
+    public Long sharedMovie(int a, int b) {
+        int i = personMovieOffsets[a];
+        int j = personMovieOffsets[b];
+        while (i < personMovieOffsets[a + 1] && j < personMovieOffsets[b + 1]) {
+            if (personMovies[i] == personMovies[j]) {
+                return movieIds[personMovies[i]];
+            }
+            if (personMovies[i] < personMovies[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shortest collaboration path between two nodes by bidirectional breadth-first search, always
+     * expanding the smaller frontier. Returns the nodes from {@code source} to {@code target}, or
+     * an empty list when they are not connected within {@code maxDepth} edges.
+     */
+    public List<Integer> shortestPath(int source, int target, int maxDepth) {
+        if (source == target) {
+            return List.of(source);
+        }
+        SearchState state = SearchState.forGraph(nodeCount());
+        int[] forward = new int[]{source};
+        int[] backward = new int[]{target};
+        state.visit(source, true, -1);
+        state.visit(target, false, -1);
+
+        for (int depth = 0; depth < maxDepth; depth++) {
+            boolean expandForward = forward.length <= backward.length;
+            int[] frontier = expandForward ? forward : backward;
+            int[] next = new int[16];
+            int nextSize = 0;
+            for (int node : frontier) {
+                for (int e = edgeOffsets[node]; e < edgeOffsets[node + 1]; e++) {
+                    int other = edgeTargets[e];
+                    if (state.visited(other, expandForward)) {
+                        continue;
+                    }
+                    state.visit(other, expandForward, node);
+                    if (state.visited(other, !expandForward)) {
+                        return state.path(other);
+                    }
+                    if (nextSize == next.length) {
+                        next = Arrays.copyOf(next, nextSize * 2);
+                    }
+                    next[nextSize++] = other;
+                }
+            }
+            if (nextSize == 0) {
+                break;
+            }
+            if (expandForward) {
+                forward = Arrays.copyOf(next, nextSize);
+            } else {
+                backward = Arrays.copyOf(next, nextSize);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private long[] movies = new long[1024];
+        private long[] people = new long[1024];
+        private boolean[] directors = new boolean[1024];
+        private int size;
+
+        public Builder add(long movieId, PersonType type, long personId) {
+            if (size == movies.length) {
+                int capacity = size * 2;
+                movies = Arrays.copyOf(movies, capacity);
+                people = Arrays.copyOf(people, capacity);
+                directors = Arrays.copyOf(directors, capacity);
+            }
+            movies[size] = movieId;
+            people[size] = personId;
+            directors[size] = type == PersonType.DIRECTOR;
+            size++;
+            return this;
+        }
+
+        public CollaborationGraph build() {
+            long[] actorIds = distinctSorted(false);
+            long[] directorIds = distinctSorted(true);
+            long[] movieIds = distinctSorted(movies, size);
+            int nodeCount = actorIds.length + directorIds.length;
+            int movieCount = movieIds.length;
+
+            int[] creditMovie = new int[size];
+            int[] creditNode = new int[size];
+            int[] moviePeopleOffsets = new int[movieCount + 1];
+            int[] personMovieOffsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                creditMovie[i] = Arrays.binarySearch(movieIds, movies[i]);
+                creditNode[i] = directors[i]
+                        ? actorIds.length + Arrays.binarySearch(directorIds, people[i])
+                        : Arrays.binarySearch(actorIds, people[i]);
+                moviePeopleOffsets[creditMovie[i] + 1]++;
+                personMovieOffsets[creditNode[i] + 1]++;
+            }
+            for (int m = 0; m < movieCount; m++) {
+                moviePeopleOffsets[m + 1] += moviePeopleOffsets[m];
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                personMovieOffsets[n + 1] += personMovieOffsets[n];
+            }
+
+            int[] moviePeople = new int[size];
+            int[] cursor = Arrays.copyOf(moviePeopleOffsets, movieCount);
+            for (int i = 0; i < size; i++) {
+                moviePeople[cursor[creditMovie[i]]++] = creditNode[i];
+            }
+            // Walking movies in index order leaves every person's movie row sorted, which sharedMovie relies on
+            int[] personMovies = new int[size];
+            cursor = Arrays.copyOf(personMovieOffsets, nodeCount);
+            for (int m = 0; m < movieCount; m++) {
+                for (int p = moviePeopleOffsets[m]; p < moviePeopleOffsets[m + 1]; p++) {
+                    personMovies[cursor[moviePeople[p]]++] = m;
+                }
+            }
+
+            int[][] targets = new int[nodeCount][];
+            int[][] weights = new int[nodeCount][];
+            // Nodes are split into a few chunks per core so each chunk reuses one dense counter array
+            int chunkCount = Math.max(1, Math.min(nodeCount, ForkJoinPool.getCommonPoolParallelism() * 4));
+            IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+                int[] counter = new int[nodeCount];
+                int to = (int) ((long) (chunk + 1) * nodeCount / chunkCount);
+                for (int node = (int) ((long) chunk * nodeCount / chunkCount); node < to; node++) {
+                    collectNeighbours(node, counter, personMovieOffsets, personMovies,
+                            moviePeopleOffsets, moviePeople, targets, weights);
+                }
+            });
+
+            int[] edgeOffsets = new int[nodeCount + 1];
+            for (int n = 0; n < nodeCount; n++) {
+                edgeOffsets[n + 1] = edgeOffsets[n] + targets[n].length;
+            }
+            int[] edgeTargets = new int[edgeOffsets[nodeCount]];
+            int[] edgeWeights = new int[edgeOffsets[nodeCount]];
+            for (int n = 0; n < nodeCount; n++) {
+                System.arraycopy(targets[n], 0, edgeTargets, edgeOffsets[n], targets[n].length);
+                System.arraycopy(weights[n], 0, edgeWeights, edgeOffsets[n], weights[n].length);
+            }
+
+            return new CollaborationGraph(actorIds, directorIds, movieIds, personMovieOffsets, personMovies,
+                    edgeOffsets, edgeTargets, edgeWeights);
+        }
+
+        private static void collectNeighbours(int node, int[] counter, int[] personMovieOffsets, int[] personMovies,
+                                              int[] moviePeopleOffsets, int[] moviePeople,
+                                              int[][] targets, int[][] weights) {
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (int pm = personMovieOffsets[node]; pm < personMovieOffsets[node + 1]; pm++) {
+                int movie = personMovies[pm];
+                for (int p = moviePeopleOffsets[movie]; p < moviePeopleOffsets[movie + 1]; p++) {
+                    int other = moviePeople[p];
+                    if (other == node) {
+                        continue;
+                    }
+                    if (counter[other]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+            // Pack (weight, node) into longs so one primitive sort orders by weight desc, then node asc
+            long[] packed = new long[touchedCount];
+            for (int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                packed[t] = ((long) (Integer.MAX_VALUE - counter[other]) << 32) | other;
+                counter[other] = 0;
+            }
+            Arrays.sort(packed);
+            int[] rowTargets = new int[touchedCount];
+            int[] rowWeights = new int[touchedCount];
+            for (int t = 0; t < touchedCount; t++) {
+                rowTargets[t] = (int) packed[t];
+                rowWeights[t] = Integer.MAX_VALUE - (int) (packed[t] >>> 32);
+            }
+            targets[node] = rowTargets;
+            weights[node] = rowWeights;
+        }
+
+        private long[] distinctSorted(boolean director) {
+            long[] selected = new long[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (directors[i] == director) {
+                    selected[count++] = people[i];
+                }
+            }
+            return distinctSorted(selected, count);
+        }
+
+        private static long[] distinctSorted(long[] values, int length) {
+            long[] sorted = Arrays.copyOf(values, length);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+
+    /**
+     * Per-thread visit marks for path searches. Marks are stamped with a search generation so the
+     * arrays never need clearing between searches.
+     */
+    private static final class SearchState {
+        private static final ThreadLocal<SearchState> STATES = ThreadLocal.withInitial(SearchState::new);
+
+        private int[] forwardStamp = new int[0];
+        private int[] backwardStamp = new int[0];
+        private int[] forwardParent = new int[0];
+        private int[] backwardParent = new int[0];
+        private int generation;
+
+        private static SearchState forGraph(int nodeCount) {
+            SearchState state = STATES.get();
+            if (state.forwardStamp.length < nodeCount || state.generation == Integer.MAX_VALUE) {
+                state.forwardStamp = new int[nodeCount];
+                state.backwardStamp = new int[nodeCount];
+                state.forwardParent = new int[nodeCount];
+                state.backwardParent = new int[nodeCount];
+                state.generation = 0;
+            }
+            state.generation++;
+            return state;
+        }
+
+        private boolean visited(int node, boolean forward) {
+            return (forward ? forwardStamp : backwardStamp)[node] == generation;
+        }
+
+        private void visit(int node, boolean forward, int parent) {
+            if (forward) {
+                forwardStamp[node] = generation;
+                forwardParent[node] = parent;
+            } else {
+                backwardStamp[node] = generation;
+                backwardParent[node] = parent;
+            }
+        }
+
+        private List<Integer> path(int meeting) {
+            List<Integer> path = new ArrayList<>();
+            for (int node = meeting; node != -1; node = forwardParent[node]) {
+                path.add(node);
+            }
+            Collections.reverse(path);
+            for (int node = backwardParent[meeting]; node != -1; node = backwardParent[node]) {
+                path.add(node);
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.moviestar.app.service.graph;
+
+import com.moviestar.app.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class CollaborationGraphLoader {
+    private static final int ACTOR_KIND = 2;
+
+    private final MovieRepository movieRepository;
+
+    @Transactional(readOnly = true)
+    public CollaborationGraph load() {
+        CollaborationGraph.Builder builder = CollaborationGraph.builder();
+        try (Stream<MovieRepository.MovieFeature> credits = movieRepository.streamMovieCredits()) {
+            credits.forEach(credit -> builder.add(
+                    credit.getMovieId().longValue(),
+                    credit.getKind().intValue() == ACTOR_KIND ? PersonType.ACTOR : PersonType.DIRECTOR,
+                    credit.getFeatureId().longValue()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.moviestar.app.service.graph;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.exception.EntityNotFoundException;
+import com.moviestar.app.model.Response.CollaborationPathResponse;
+import com.moviestar.app.model.Response.CollaborationStepResponse;
+import com.moviestar.app.model.Response.CollaboratorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves collaborator and degrees-of-separation queries from an in-memory
+ * {@link CollaborationGraph}. Cast and crew changes request a rebuild, which is debounced so a
+ * burst of admin edits costs a single rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollaborationGraphService {
+
+    private static final int MAX_RESULTS = 100;
+    private static final int MAX_PATH_DEPTH = 10;
+
+    private final CollaborationGraphLoader collaborationGraphLoader;
+
+    private final AtomicReference<CollaborationGraph> graph = new AtomicReference<>();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Collaboration graph build failed", e);
+            }
+        }, "collaboration-graph-bootstrap");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssociationsChanged(MovieAssociationsChangedEvent event) {
+        rebuildRequested.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.collaboration.rebuild-delay:PT5S}",
+            initialDelayString = "${app.collaboration.rebuild-delay:PT5S}")
+    public void rebuildIfRequested() {
+        if (graph.get() == null || !rebuildRequested.getAndSet(false)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            rebuildRequested.set(true);
+            log.error("Collaboration graph rebuild failed", e);
+        }
+    }
+
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        CollaborationGraph built = collaborationGraphLoader.load();
+        graph.set(built);
+        log.info("Built collaboration graph with {} people and {} edges from {} movies in {} ms",
+                built.nodeCount(), built.edgeCount(), built.movieCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * People who share the most movies with the given person, optionally only of one type.
+     */
+    public List<CollaboratorResponse> topCollaborators(PersonType type, Long id, PersonType collaboratorType, int limit) {
+        CollaborationGraph current = graph.get();
+        int node = current != null ? current.nodeOf(type, id) : -1;
+        if (node < 0) {
+            return Collections.emptyList();
+        }
+        int count = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<CollaboratorResponse> result = new ArrayList<>(Math.min(count, current.degree(node)));
+        for (int i = 0; i < current.degree(node) && result.size() < count; i++) {
+            int other = current.neighbour(node, i);
+            PersonType otherType = current.typeOf(other);
+            if (collaboratorType == null || collaboratorType == otherType) {
+                result.add(CollaboratorResponse.builder()
+                        .type(otherType.label())
+                        .id(current.idOf(other))
+                        .sharedMovies(current.weight(node, i))
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Shortest chain of collaborations between two people, with the movie linking each step to the
+     * previous one.
+     */
+    public CollaborationPathResponse shortestPath(PersonType fromType, Long fromId, PersonType toType, Long toId,
+                                                  int maxDepth) {
+        CollaborationGraph current = graph.get();
+        int source = current != null ? current.nodeOf(fromType, fromId) : -1;
+        int target = current != null ? current.nodeOf(toType, toId) : -1;
+        List<Integer> nodes = source >= 0 && target >= 0
+                ? current.shortestPath(source, target, Math.max(1, Math.min(maxDepth, MAX_PATH_DEPTH)))
+                : Collections.emptyList();
+        if (nodes.isEmpty()) {
+            throw new EntityNotFoundException("No collaboration path found between " + fromType.label() + " " + fromId
+                    + " and " + toType.label() + " " + toId);
+        }
+
+        List<CollaborationStepResponse> path = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            path.add(CollaborationStepResponse.builder()
+                    .type(current.typeOf(node).label())
+                    .id(current.idOf(node))
+                    .viaMovieId(i == 0 ? null : current.sharedMovie(nodes.get(i - 1), node))
+                    .build());
+        }
+        return CollaborationPathResponse.builder()
+                .degrees(nodes.size() - 1)
+                .path(path)
+                .build();
+    }
+
+    public Map<String, Object> stats() {
+        CollaborationGraph current = graph.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", current != null);
+        result.put("rebuildPending", rebuildRequested.get());
+        if (current != null) {
+            result.put("people", current.nodeCount());
+            result.put("edges", current.edgeCount());
+            result.put("movies", current.movieCount());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package com.moviestar.app.service.graph;
+
+public enum PersonType {
+    ACTOR,
+    DIRECTOR;
+
+    public String label() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Parses {@code actor} or {@code director}; {@code null}, blank and {@code all} mean no type.
+     */
+    public static PersonType fromLabel(String label) {
+        if (label == null || label.isBlank() || label.equalsIgnoreCase("all")) {
+            return null;
+        }
+        for (PersonType type : values()) {
+            if (type.label().equalsIgnoreCase(label)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown person type: " + label);
+    }
+}
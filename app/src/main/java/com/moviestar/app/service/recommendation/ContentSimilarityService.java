@@ -0,0 +1,151 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Metadata-based movie similarity: Jaccard similarity of genre, cast and crew sets, estimated with
+ * a {@link MinHashIndex}. Association changes mark movies dirty and a periodic refresh re-reads
+ * just those movies' features. Its confidence is what the rating-based similarity lacks, so it
+ * fades as a movie collects ratings.
+ */
+@Slf4j
+@Service
+public class ContentSimilarityService implements SimilaritySource {
+
+    private final MovieFeatureLoader movieFeatureLoader;
+    private final RecommendationService recommendationService;
+    private final int bands;
+    private final int rowsPerBand;
+
+    private final Set<Long> dirtyMovies = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRebuildRequested = new AtomicBoolean();
+    private final AtomicReference<MinHashIndex> index = new AtomicReference<>();
+
+    public ContentSimilarityService(
+            MovieFeatureLoader movieFeatureLoader,
+            RecommendationService recommendationService,
+            @Value("${app.recommendations.content.bands:16}") int bands,
+            @Value("${app.recommendations.content.rows-per-band:4}") int rowsPerBand) {
+        this.movieFeatureLoader = movieFeatureLoader;
+        this.recommendationService = recommendationService;
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+    }
+
+    @Override
+    public String name() {
+        return "content";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Content similarity index build failed", e);
+            }
+        }, "content-similarity-bootstrap");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssociationsChanged(MovieAssociationsChangedEvent event) {
+        if (event.movieId() == null) {
+            fullRebuildRequested.set(true);
+        } else {
+            dirtyMovies.add(event.movieId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendations.content.refresh-interval:PT10S}",
+            initialDelayString = "${app.recommendations.content.refresh-interval:PT10S}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Content similarity index refresh failed", e);
+        }
+    }
+
+    public synchronized void rebuild() {
+        fullRebuildRequested.set(false);
+        dirtyMovies.clear();
+        long started = System.nanoTime();
+        MinHashIndex built = MinHashIndex.build(movieFeatureLoader.loadAll(), bands, rowsPerBand);
+        index.set(built);
+        log.info("Built content similarity index for {} movies in {} ms",
+                built.movieCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized void refresh() {
+        MinHashIndex current = index.get();
+        if (current == null) {
+            return;
+        }
+        if (fullRebuildRequested.get()) {
+            rebuild();
+            return;
+        }
+        if (dirtyMovies.isEmpty()) {
+            return;
+        }
+        Set<Long> dirty = new HashSet<>(dirtyMovies);
+        dirtyMovies.removeAll(dirty);
+        try {
+            MovieFeatures changed = movieFeatureLoader.load(dirty);
+            // Dirty movies without any remaining association (or deleted ones) drop out of the index
+            Set<Long> removed = new HashSet<>(dirty);
+            for (long movieId : changed.movieIds) {
+                removed.remove(movieId);
+            }
+            index.set(current.update(changed, removed));
+        } catch (RuntimeException e) {
+            dirtyMovies.addAll(dirty);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ScoredMovieResponse> similarMovies(Long movieId, int limit) {
+        MinHashIndex current = index.get();
+        return current != null ? current.similar(movieId, limit) : Collections.emptyList();
+    }
+
+    @Override
+    public double confidence(Long movieId) {
+        return 1.0 - recommendationService.confidence(movieId);
+    }
+
+    public Map<String, Object> stats() {
+        MinHashIndex current = index.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", current != null);
+        result.put("bands", bands);
+        result.put("rowsPerBand", rowsPerBand);
+        result.put("pendingMovies", dirtyMovies.size());
+        if (current != null) {
+            result.put("movies", current.movieCount());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.moviestar.app.service.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Top-K neighbour lists for every movie of a {@link RatingMatrix}, flattened into two parallel
+ * arrays of {@code itemCount * k} slots. Each row is sorted by descending similarity and padded
+ * with {@code -1} neighbours. Rows are only mutated while an index is being assembled; a published
+ * index is treated as read-only.
+ */
+public final class ItemSimilarityIndex {
+
+    final long[] movieIds;
+    final int k;
+    final int[] neighbours;
+    final float[] scores;
+
+    ItemSimilarityIndex(long[] movieIds, int k) {
+        this.movieIds = movieIds;
+        this.k = k;
+        this.neighbours = new int[movieIds.length * k];
+        this.scores = new float[movieIds.length * k];
+        Arrays.fill(neighbours, -1);
+    }
+
+    ItemSimilarityIndex(long[] movieIds, int k, int[] neighbours, float[] scores) {
+        this.movieIds = movieIds;
+        this.k = k;
+        this.neighbours = neighbours;
+        this.scores = scores;
+    }
+
+    public int itemCount() {
+        return movieIds.length;
+    }
+
+    public int neighbourCount() {
+        return k;
+    }
+
+    /**
+     * Copies the rows of this index onto a (possibly different) movie set, translating neighbour
+     * positions and dropping neighbours that no longer exist.
+     */
+    ItemSimilarityIndex remapTo(long[] targetMovieIds) {
+        ItemSimilarityIndex target = new ItemSimilarityIndex(targetMovieIds, k);
+        int[] translation = new int[movieIds.length];
+        for (int i = 0; i < movieIds.length; i++) {
+            int idx = Arrays.binarySearch(targetMovieIds, movieIds[i]);
+            translation[i] = idx >= 0 ? idx : -1;
+        }
+        for (int oldItem = 0; oldItem < movieIds.length; oldItem++) {
+            int newItem = translation[oldItem];
+            if (newItem < 0) {
+                continue;
+            }
+            int write = newItem * k;
+            for (int slot = oldItem * k, end = slot + k; slot < end && neighbours[slot] >= 0; slot++) {
+                int mapped = translation[neighbours[slot]];
+                if (mapped >= 0) {
+                    target.neighbours[write] = mapped;
+                    target.scores[write] = scores[slot];
+                    write++;
+                }
+            }
+        }
+        return target;
+    }
+
+    void setRow(int item, int[] rowNeighbours, float[] rowScores, int offset) {
+        System.arraycopy(rowNeighbours, offset, neighbours, item * k, k);
+        System.arraycopy(rowScores, offset, scores, item * k, k);
+    }
+
+    /**
+     * Removes every entry that points at a flagged item from the rows of unflagged items, keeping
+     * the remaining entries packed at the front of each row.
+     */
+    void removeReferences(boolean[] flagged) {
+        for (int item = 0; item < movieIds.length; item++) {
+            if (flagged[item]) {
+                continue;
+            }
+            int base = item * k;
+            int write = base;
+            for (int slot = base, end = base + k; slot < end && neighbours[slot] >= 0; slot++) {
+                if (!flagged[neighbours[slot]]) {
+                    neighbours[write] = neighbours[slot];
+                    scores[write] = scores[slot];
+                    write++;
+                }
+            }
+            for (; write < base + k; write++) {
+                neighbours[write] = -1;
+                scores[write] = 0f;
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code neighbour} into the row of {@code item} if it ranks among the top K.
+     */
+    void offer(int item, int neighbour, float score) {
+        int base = item * k;
+        int last = base + k - 1;
+        if (neighbours[last] >= 0 && scores[last] >= score) {
+            return;
+        }
+        int pos = last;
+        while (pos > base && (neighbours[pos - 1] < 0 || scores[pos - 1] < score)) {
+            neighbours[pos] = neighbours[pos - 1];
+            scores[pos] = scores[pos - 1];
+            pos--;
+        }
+        neighbours[pos] = neighbour;
+        scores[pos] = score;
+    }
+}
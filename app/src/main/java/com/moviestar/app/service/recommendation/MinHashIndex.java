@@ -0,0 +1,187 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * MinHash signatures of every movie's feature set plus an LSH banding index over them. A movie's
+ * signature is split into {@code bands} bands of {@code rows} values; movies sharing any band are
+ * candidates, and candidates are ranked by the fraction of equal signature values, which estimates
+ * the Jaccard similarity of their feature sets. Instances are immutable.
+ */
+public final class MinHashIndex {
+
+    // Very common feature sets (e.g. a single popular genre) produce huge buckets; scanning is capped per band
+    private static final int MAX_BUCKET_SCAN = 1000;
+    private static final long SEED = 0x5DEECE66DL;
+
+    final int bands;
+    final int rows;
+    final long[] movieIds;
+    final int[] signatures;
+    // Per band: (bucket hash << 32 | movie index), sorted
+    final long[][] buckets;
+
+    private MinHashIndex(int bands, int rows, long[] movieIds, int[] signatures, long[][] buckets) {
+        this.bands = bands;
+        this.rows = rows;
+        this.movieIds = movieIds;
+        this.signatures = signatures;
+        this.buckets = buckets;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public static MinHashIndex build(MovieFeatures features, int bands, int rows) {
+        int hashes = bands * rows;
+        long[] multipliers = new long[hashes];
+        long[] offsets = new long[hashes];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int h = 0; h < hashes; h++) {
+            multipliers[h] = random.nextLong() | 1L;
+            offsets[h] = random.nextLong();
+        }
+
+        int movieCount = features.movieCount();
+        int[] signatures = new int[movieCount * hashes];
+        IntStream.range(0, movieCount).parallel().forEach(m -> {
+            int base = m * hashes;
+            Arrays.fill(signatures, base, base + hashes, Integer.MAX_VALUE);
+            for (int f = features.offsets[m]; f < features.offsets[m + 1]; f++) {
+                long feature = features.features[f];
+                for (int h = 0; h < hashes; h++) {
+                    int value = hash(feature * multipliers[h] + offsets[h]);
+                    if (value < signatures[base + h]) {
+                        signatures[base + h] = value;
+                    }
+                }
+            }
+        });
+        return withSignatures(bands, rows, features.movieIds, signatures);
+    }
+
+    /**
+     * Returns a copy of this index where the signatures of the movies in {@code changed} are
+     * replaced (or added), and the movies in {@code removed} are dropped.
+     */
+    public MinHashIndex update(MovieFeatures changed, Set<Long> removed) {
+        MinHashIndex fresh = build(changed, bands, rows);
+        int hashes = bands * rows;
+        long[] merged = new long[movieIds.length + fresh.movieIds.length];
+        int[] mergedSignatures = new int[merged.length * hashes];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < movieIds.length || j < fresh.movieIds.length) {
+            boolean takeFresh = i == movieIds.length
+                    || (j < fresh.movieIds.length && fresh.movieIds[j] <= movieIds[i]);
+            if (takeFresh) {
+                if (i < movieIds.length && movieIds[i] == fresh.movieIds[j]) {
+                    i++;
+                }
+                merged[count] = fresh.movieIds[j];
+                System.arraycopy(fresh.signatures, j * hashes, mergedSignatures, count * hashes, hashes);
+                count++;
+                j++;
+            } else {
+                if (!removed.contains(movieIds[i])) {
+                    merged[count] = movieIds[i];
+                    System.arraycopy(signatures, i * hashes, mergedSignatures, count * hashes, hashes);
+                    count++;
+                }
+                i++;
+            }
+        }
+        return withSignatures(bands, rows, Arrays.copyOf(merged, count), Arrays.copyOf(mergedSignatures, count * hashes));
+    }
+
+    public List<ScoredMovieResponse> similar(Long movieId, int limit) {
+        int movie = Arrays.binarySearch(movieIds, movieId);
+        if (movie < 0) {
+            return List.of();
+        }
+        int hashes = bands * rows;
+        Set<Integer> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            long key = (long) bandHash(signatures, movie * hashes, band, rows) << 32;
+            long[] entries = buckets[band];
+            int start = lowerBound(entries, key);
+            for (int e = start, end = Math.min(entries.length, start + MAX_BUCKET_SCAN); e < end; e++) {
+                if ((entries[e] & 0xFFFFFFFF00000000L) != key) {
+                    break;
+                }
+                int candidate = (int) entries[e];
+                if (candidate != movie) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        List<ScoredMovieResponse> result = new ArrayList<>(candidates.size());
+        for (int candidate : candidates) {
+            int equal = 0;
+            for (int h = 0; h < hashes; h++) {
+                if (signatures[movie * hashes + h] == signatures[candidate * hashes + h]) {
+                    equal++;
+                }
+            }
+            result.add(ScoredMovieResponse.builder()
+                    .movieId(movieIds[candidate])
+                    .score((double) equal / hashes)
+                    .build());
+        }
+        result.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static MinHashIndex withSignatures(int bands, int rows, long[] movieIds, int[] signatures) {
+        int hashes = bands * rows;
+        long[][] buckets = new long[bands][];
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            long[] entries = new long[movieIds.length];
+            for (int m = 0; m < movieIds.length; m++) {
+                entries[m] = ((long) bandHash(signatures, m * hashes, band, rows) << 32) | m;
+            }
+            Arrays.sort(entries);
+            buckets[band] = entries;
+        });
+        return new MinHashIndex(bands, rows, movieIds, signatures, buckets);
+    }
+
+    private static int bandHash(int[] signatures, int base, int band, int rows) {
+        long h = band;
+        for (int r = 0; r < rows; r++) {
+            h = h * 0x9E3779B97F4A7C15L + signatures[base + band * rows + r];
+        }
+        return hash(h);
+    }
+
+    private static int hash(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) ((z ^ (z >>> 31)) >>> 32);
+    }
+
+    private static int lowerBound(long[] entries, long key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,60 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blends the similar-movie lists of all {@link SimilaritySource}s. Each source contributes its
+ * scores weighted by {@code app.recommendations.more-like-this.weights.<source>} (default 1) times
+ * its confidence for the movie, so rating-based similarity takes over from metadata similarity
+ * as a movie collects ratings.
+ */
+@Service
+@RequiredArgsConstructor
+public class MoreLikeThisService {
+
+    private static final int MAX_RESULTS = 100;
+    private static final int MIN_CANDIDATES = 50;
+
+    private final List<SimilaritySource> sources;
+    private final Environment environment;
+
+    public List<ScoredMovieResponse> moreLikeThis(Long movieId, int limit) {
+        int count = Math.max(1, Math.min(limit, MAX_RESULTS));
+        int candidates = Math.max(count * 3, MIN_CANDIDATES);
+
+        Map<Long, Double> combined = new HashMap<>();
+        double totalWeight = 0;
+        for (SimilaritySource source : sources) {
+            double weight = environment.getProperty(
+                    "app.recommendations.more-like-this.weights." + source.name(), Double.class, 1.0)
+                    * source.confidence(movieId);
+            if (weight <= 0) {
+                continue;
+            }
+            totalWeight += weight;
+            for (ScoredMovieResponse similar : source.similarMovies(movieId, candidates)) {
+                combined.merge(similar.getMovieId(), weight * similar.getScore(), Double::sum);
+            }
+        }
+        if (combined.isEmpty()) {
+            return List.of();
+        }
+
+        double normalizer = totalWeight;
+        List<ScoredMovieResponse> result = new ArrayList<>(combined.size());
+        combined.forEach((id, score) -> result.add(ScoredMovieResponse.builder()
+                .movieId(id)
+                .score(score / normalizer)
+                .build()));
+        result.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return result.size() > count ? new ArrayList<>(result.subList(0, count)) : result;
+    }
+}
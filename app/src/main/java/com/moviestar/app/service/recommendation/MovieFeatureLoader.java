@@ -0,0 +1,31 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class MovieFeatureLoader {
+    private final MovieRepository movieRepository;
+
+    @Transactional(readOnly = true)
+    public MovieFeatures loadAll() {
+        MovieFeatures.Builder builder = MovieFeatures.builder();
+        try (Stream<MovieRepository.MovieFeature> rows = movieRepository.streamMovieFeatures()) {
+            rows.forEach(builder::add);
+        }
+        return builder.build();
+    }
+
+    @Transactional(readOnly = true)
+    public MovieFeatures load(Collection<Long> movieIds) {
+        MovieFeatures.Builder builder = MovieFeatures.builder();
+        movieRepository.findMovieFeatures(movieIds).forEach(builder::add);
+        return builder.build();
+    }
+}
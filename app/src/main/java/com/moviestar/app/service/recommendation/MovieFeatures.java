@@ -0,0 +1,67 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.repository.MovieRepository;
+
+import java.util.Arrays;
+
+/**
+ * Metadata features per movie in CSR form. Each feature is a genre, actor or director id tagged
+ * with its kind in the high bits, so equal ids of different kinds never collide.
+ */
+public final class MovieFeatures {
+
+    final long[] movieIds;
+    final int[] offsets;
+    final long[] features;
+
+    private MovieFeatures(long[] movieIds, int[] offsets, long[] features) {
+        this.movieIds = movieIds;
+        this.offsets = offsets;
+        this.features = features;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Accepts rows grouped by movie id, as returned by the feature queries.
+     */
+    public static final class Builder {
+        private long[] movieIds = new long[256];
+        private int[] offsets = new int[257];
+        private long[] features = new long[1024];
+        private int movieCount;
+        private int featureCount;
+
+        public Builder add(MovieRepository.MovieFeature row) {
+            return add(row.getMovieId().longValue(), row.getKind().intValue(), row.getFeatureId().longValue());
+        }
+
+        public Builder add(long movieId, int kind, long featureId) {
+            if (movieCount == 0 || movieIds[movieCount - 1] != movieId) {
+                if (movieCount == movieIds.length) {
+                    movieIds = Arrays.copyOf(movieIds, movieCount * 2);
+                    offsets = Arrays.copyOf(offsets, movieCount * 2 + 1);
+                }
+                movieIds[movieCount++] = movieId;
+            }
+            if (featureCount == features.length) {
+                features = Arrays.copyOf(features, featureCount * 2);
+            }
+            features[featureCount++] = ((long) kind << 40) | featureId;
+            offsets[movieCount] = featureCount;
+            return this;
+        }
+
+        public MovieFeatures build() {
+            return new MovieFeatures(Arrays.copyOf(movieIds, movieCount),
+                    Arrays.copyOf(offsets, movieCount + 1),
+                    Arrays.copyOf(features, featureCount));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.moviestar.app.service.recommendation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable sparse user x movie rating matrix stored twice in CSR form: once by movie (the
+ * raters of each movie) and once by user (the movies each user rated, ascending by movie index).
+ * Values used for similarity are either raw ratings (cosine) or ratings centred on the user's
+ * mean (adjusted cosine).
+ */
+public final class RatingMatrix {
+
+    final long[] movieIds;
+    final Map<String, Integer> userIndex;
+    final float[] userMeans;
+
+    final int[] itemOffsets;
+    final int[] itemUsers;
+    final float[] itemValues;
+    final float[] itemNorms;
+
+    final int[] userOffsets;
+    final int[] userItems;
+    final float[] userValues;
+    final byte[] userRatings;
+
+    private RatingMatrix(long[] movieIds, Map<String, Integer> userIndex, float[] userMeans,
+                         int[] itemOffsets, int[] itemUsers, float[] itemValues, float[] itemNorms,
+                         int[] userOffsets, int[] userItems, float[] userValues, byte[] userRatings) {
+        this.movieIds = movieIds;
+        this.userIndex = userIndex;
+        this.userMeans = userMeans;
+        this.itemOffsets = itemOffsets;
+        this.itemUsers = itemUsers;
+        this.itemValues = itemValues;
+        this.itemNorms = itemNorms;
+        this.userOffsets = userOffsets;
+        this.userItems = userItems;
+        this.userValues = userValues;
+        this.userRatings = userRatings;
+    }
+
+    public int itemCount() {
+        return movieIds.length;
+    }
+
+    public int userCount() {
+        return userMeans.length;
+    }
+
+    public int ratingCount() {
+        return itemUsers.length;
+    }
+
+    public int indexOfMovie(long movieId) {
+        int idx = Arrays.binarySearch(movieIds, movieId);
+        return idx >= 0 ? idx : -1;
+    }
+
+    public long movieIdAt(int item) {
+        return movieIds[item];
+    }
+
+    public int indexOfUser(String username) {
+        Integer idx = userIndex.get(username);
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * Hands every rating of the matrix, with its raw value, to the consumer.
+     */
+    public void forEachRating(RatingConsumer consumer) {
+        String[] usernames = new String[userCount()];
+        userIndex.forEach((username, user) -> usernames[user] = username);
+        for (int user = 0; user < usernames.length; user++) {
+            for (int q = userOffsets[user]; q < userOffsets[user + 1]; q++) {
+                consumer.accept(movieIds[userItems[q]], usernames[user], userRatings[q]);
+            }
+        }
+    }
+
+    boolean userRated(int user, int item) {
+        return Arrays.binarySearch(userItems, userOffsets[user], userOffsets[user + 1], item) >= 0;
+    }
+
+    public static Builder builder(boolean adjusted) {
+        return new Builder(adjusted);
+    }
+
+    @FunctionalInterface
+    public interface RatingConsumer {
+        void accept(long movieId, String username, int rating);
+    }
+
+    public static final class Builder {
+        private final boolean adjusted;
+        private final Map<String, Integer> userIndex = new HashMap<>();
+        private long[] movies = new long[1024];
+        private int[] users = new int[1024];
+        private byte[] ratings = new byte[1024];
+        private int size;
+
+        private Builder(boolean adjusted) {
+            this.adjusted = adjusted;
+        }
+
+        public Builder add(long movieId, String username, int rating) {
+            if (size == movies.length) {
+                int capacity = size + (size >> 1);
+                movies = Arrays.copyOf(movies, capacity);
+                users = Arrays.copyOf(users, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+            }
+            Integer user = userIndex.get(username);
+            if (user == null) {
+                user = userIndex.size();
+                userIndex.put(username, user);
+            }
+            movies[size] = movieId;
+            users[size] = user;
+            ratings[size] = (byte) rating;
+            size++;
+            return this;
+        }
+
+        public RatingMatrix build() {
+            long[] movieIds = distinctSorted(movies, size);
+            int itemCount = movieIds.length;
+            int userCount = userIndex.size();
+
+            int[] items = new int[size];
+            int[] itemOffsets = new int[itemCount + 1];
+            int[] userOffsets = new int[userCount + 1];
+            double[] ratingSums = new double[userCount];
+            for (int i = 0; i < size; i++) {
+                items[i] = Arrays.binarySearch(movieIds, movies[i]);
+                itemOffsets[items[i] + 1]++;
+                userOffsets[users[i] + 1]++;
+                ratingSums[users[i]] += ratings[i];
+            }
+            for (int i = 0; i < itemCount; i++) {
+                itemOffsets[i + 1] += itemOffsets[i];
+            }
+            for (int u = 0; u < userCount; u++) {
+                userOffsets[u + 1] += userOffsets[u];
+            }
+
+            float[] userMeans = new float[userCount];
+            for (int u = 0; u < userCount; u++) {
+                int count = userOffsets[u + 1] - userOffsets[u];
+                userMeans[u] = count == 0 ? 0f : (float) (ratingSums[u] / count);
+            }
+
+            int[] itemUsers = new int[size];
+            byte[] itemRatings = new byte[size];
+            int[] cursor = Arrays.copyOf(itemOffsets, itemCount);
+            for (int i = 0; i < size; i++) {
+                int pos = cursor[items[i]]++;
+                itemUsers[pos] = users[i];
+                itemRatings[pos] = ratings[i];
+            }
+
+            // Walking the item CSR in item order fills every user row already sorted by item index
+            int[] userItems = new int[size];
+            byte[] userRatings = new byte[size];
+            float[] userValues = new float[size];
+            cursor = Arrays.copyOf(userOffsets, userCount);
+            float[] itemValues = new float[size];
+            float[] itemNorms = new float[itemCount];
+            for (int item = 0; item < itemCount; item++) {
+                double norm = 0;
+                for (int p = itemOffsets[item]; p < itemOffsets[item + 1]; p++) {
+                    int user = itemUsers[p];
+                    float value = adjusted ? itemRatings[p] - userMeans[user] : itemRatings[p];
+                    itemValues[p] = value;
+                    norm += (double) value * value;
+
+                    int pos = cursor[user]++;
+                    userItems[pos] = item;
+                    userRatings[pos] = itemRatings[p];
+                    userValues[pos] = value;
+                }
+                itemNorms[item] = (float) Math.sqrt(norm);
+            }
+
+            return new RatingMatrix(movieIds, Map.copyOf(userIndex), userMeans,
+                    itemOffsets, itemUsers, itemValues, itemNorms,
+                    userOffsets, userItems, userValues, userRatings);
+        }
+
+        private static long[] distinctSorted(long[] values, int length) {
+            long[] sorted = Arrays.copyOf(values, length);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.repository.RatingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class RatingMatrixLoader {
+    private static final int MOVIES_PER_QUERY = 1000;
+
+    private final RatingRepository ratingRepository;
+
+    /**
+     * Streams the whole rating table into a {@link RatingMatrix}. The read-only transaction keeps
+     * the cursor open so the driver can fetch rows in batches instead of buffering the result.
+     */
+    @Transactional(readOnly = true)
+    public RatingMatrix load(boolean adjusted) {
+        RatingMatrix.Builder builder = RatingMatrix.builder(adjusted);
+        try (Stream<RatingRepository.RatingEntry> ratings = ratingRepository.streamAllRatings()) {
+            ratings.forEach(r -> builder.add(r.getMovieId(), r.getUsername(), r.getRating()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * A copy of the matrix in which the ratings of the given movies are read again from the
+     * database; the ratings of every other movie are taken over as they are.
+     */
+    @Transactional(readOnly = true)
+    public RatingMatrix reload(RatingMatrix current, Set<Long> movieIds, boolean adjusted) {
+        RatingMatrix.Builder builder = RatingMatrix.builder(adjusted);
+        current.forEachRating((movieId, username, rating) -> {
+            if (!movieIds.contains(movieId)) {
+                builder.add(movieId, username, rating);
+            }
+        });
+        List<Long> ids = new ArrayList<>(movieIds);
+        for (int from = 0; from < ids.size(); from += MOVIES_PER_QUERY) {
+            List<Long> batch = ids.subList(from, Math.min(from + MOVIES_PER_QUERY, ids.size()));
+            ratingRepository.findRatingsForMovies(batch)
+                    .forEach(r -> builder.add(r.getMovieId(), r.getUsername(), r.getRating()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,342 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Item-item collaborative filtering over the rating table. A full build loads every rating into a
+ * {@link RatingMatrix} and computes top-K neighbours for all movies in parallel; afterwards rating
+ * events mark movies dirty and a periodic refresh recomputes only those rows. Lookups read the
+ * current immutable snapshot and never touch the database.
+ */
+@Slf4j
+@Service
+public class RecommendationService implements SimilaritySource {
+
+    private static final int MAX_RESULTS = 100;
+    // Rating count at which rating-based neighbours get half of their full blending weight
+    private static final double HALF_CONFIDENCE_RATINGS = 20.0;
+    // Damps predictions that rest on a single weak neighbour
+    private static final float SHRINKAGE = 1.0f;
+
+    private final RatingMatrixLoader ratingMatrixLoader;
+    private final int neighbourCount;
+    private final int minSupport;
+    private final boolean adjustedCosine;
+    private final ForkJoinPool pool;
+    private final SimilarityComputer similarityComputer;
+
+    private final Set<Long> dirtyMovies = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    public RecommendationService(
+            RatingMatrixLoader ratingMatrixLoader,
+            @Value("${app.recommendations.neighbours:20}") int neighbourCount,
+            @Value("${app.recommendations.min-support:2}") int minSupport,
+            @Value("${app.recommendations.similarity:adjusted-cosine}") String similarity,
+            @Value("${app.recommendations.parallelism:0}") int parallelism) {
+        if (!similarity.equals("cosine") && !similarity.equals("adjusted-cosine")) {
+            throw new IllegalArgumentException("Unknown similarity measure: " + similarity);
+        }
+        this.ratingMatrixLoader = ratingMatrixLoader;
+        this.neighbourCount = neighbourCount;
+        this.minSupport = minSupport;
+        this.adjustedCosine = similarity.equals("adjusted-cosine");
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.similarityComputer = new SimilarityComputer(pool);
+    }
+
+    @Override
+    public String name() {
+        return "ratings";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::scheduledRebuild, "recommendation-bootstrap");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        dirtyMovies.add(event.movieId());
+    }
+
+    @Scheduled(cron = "${app.recommendations.full-rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Recommendation index rebuild failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendations.refresh-interval:PT1M}",
+            initialDelayString = "${app.recommendations.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Recommendation index refresh failed", e);
+        }
+    }
+
+    public synchronized void rebuild() {
+        // Cleared before loading so ratings that land during the build are picked up by the next refresh
+        dirtyMovies.clear();
+        long started = System.nanoTime();
+        RatingMatrix matrix = ratingMatrixLoader.load(adjustedCosine);
+
+        int[] items = new int[matrix.itemCount()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        SimilarityComputer.Rows rows = similarityComputer.compute(matrix, items, neighbourCount, minSupport);
+        ItemSimilarityIndex index = new ItemSimilarityIndex(matrix.movieIds, neighbourCount, rows.neighbours, rows.scores);
+
+        Instant now = Instant.now();
+        snapshot.set(new Snapshot(matrix, index, now, now));
+        log.info("Built recommendation index for {} movies, {} users, {} ratings in {} ms",
+                matrix.itemCount(), matrix.userCount(), matrix.ratingCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Recomputes the neighbour rows of movies whose ratings changed since the last build or refresh
+     * (plus movies rated for the first time) and patches them into a copy of the current index.
+     * Only those movies' ratings are read from the database; the rest of the matrix is copied.
+     * Rows of untouched movies are kept, except that entries pointing at a recomputed movie are
+     * replaced by its fresh scores. Shifts of user means caused by a rating change are only fully
+     * reflected by the next full rebuild.
+     */
+    public synchronized void refresh() {
+        Snapshot current = snapshot.get();
+        if (current == null || dirtyMovies.isEmpty()) {
+            return;
+        }
+        Set<Long> dirty = new HashSet<>(dirtyMovies);
+        dirtyMovies.removeAll(dirty);
+        try {
+            snapshot.set(patch(current, dirty));
+        } catch (RuntimeException e) {
+            dirtyMovies.addAll(dirty);
+            throw e;
+        }
+    }
+
+    private Snapshot patch(Snapshot current, Set<Long> dirty) {
+        RatingMatrix matrix = ratingMatrixLoader.reload(current.matrix(), dirty, adjustedCosine);
+        ItemSimilarityIndex index = current.index().remapTo(matrix.movieIds);
+
+        boolean[] affected = new boolean[matrix.itemCount()];
+        int affectedCount = 0;
+        for (int item = 0; item < matrix.itemCount(); item++) {
+            long movieId = matrix.movieIds[item];
+            if (dirty.contains(movieId) || current.matrix().indexOfMovie(movieId) < 0) {
+                affected[item] = true;
+                affectedCount++;
+            }
+        }
+        int[] items = new int[affectedCount];
+        for (int item = 0, n = 0; item < affected.length; item++) {
+            if (affected[item]) {
+                items[n++] = item;
+            }
+        }
+
+        SimilarityComputer.Rows rows = similarityComputer.compute(matrix, items, neighbourCount, minSupport);
+        index.removeReferences(affected);
+        for (int r = 0; r < items.length; r++) {
+            index.setRow(items[r], rows.neighbours, rows.scores, r * neighbourCount);
+        }
+        for (int r = 0; r < items.length; r++) {
+            for (int slot = r * neighbourCount, end = slot + neighbourCount; slot < end; slot++) {
+                int neighbour = rows.neighbours[slot];
+                if (neighbour < 0) {
+                    break;
+                }
+                if (!affected[neighbour]) {
+                    index.offer(neighbour, items[r], rows.scores[slot]);
+                }
+            }
+        }
+        return new Snapshot(matrix, index, current.builtAt(), Instant.now());
+    }
+
+    @Override
+    public List<ScoredMovieResponse> similarMovies(Long movieId, int limit) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        int item = current.matrix().indexOfMovie(movieId);
+        if (item < 0) {
+            return Collections.emptyList();
+        }
+        ItemSimilarityIndex index = current.index();
+        int count = Math.min(clamp(limit), index.k);
+        List<ScoredMovieResponse> result = new ArrayList<>(count);
+        for (int slot = item * index.k, end = slot + count; slot < end && index.neighbours[slot] >= 0; slot++) {
+            result.add(ScoredMovieResponse.builder()
+                    .movieId(index.movieIds[index.neighbours[slot]])
+                    .score(index.scores[slot])
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public double confidence(Long movieId) {
+        Snapshot current = snapshot.get();
+        int item = current != null ? current.matrix().indexOfMovie(movieId) : -1;
+        if (item < 0) {
+            return 0.0;
+        }
+        int ratings = current.matrix().itemOffsets[item + 1] - current.matrix().itemOffsets[item];
+        return ratings / (ratings + HALF_CONFIDENCE_RATINGS);
+    }
+
+    /**
+     * Predicts ratings for movies the user has not rated from the neighbours of the movies they
+     * have rated, weighting each neighbour's deviation from the user's mean by its similarity.
+     */
+    public List<ScoredMovieResponse> recommendFor(String username, int limit) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        RatingMatrix matrix = current.matrix();
+        int user = matrix.indexOfUser(username);
+        if (user < 0) {
+            return Collections.emptyList();
+        }
+        ItemSimilarityIndex index = current.index();
+        Workspace workspace = workspaces.get().ensureCapacity(matrix.itemCount());
+        float[] numerator = workspace.numerator;
+        float[] denominator = workspace.denominator;
+        int[] touched = workspace.touched;
+        int touchedCount = 0;
+        float mean = matrix.userMeans[user];
+
+        for (int q = matrix.userOffsets[user]; q < matrix.userOffsets[user + 1]; q++) {
+            int rated = matrix.userItems[q];
+            float deviation = matrix.userRatings[q] - mean;
+            for (int slot = rated * index.k, end = slot + index.k; slot < end; slot++) {
+                int candidate = index.neighbours[slot];
+                if (candidate < 0) {
+                    break;
+                }
+                float similarity = index.scores[slot];
+                if (denominator[candidate] == 0f) {
+                    touched[touchedCount++] = candidate;
+                }
+                numerator[candidate] += similarity * deviation;
+                denominator[candidate] += similarity;
+            }
+        }
+
+        int count = clamp(limit);
+        int[] bestItems = new int[count];
+        float[] bestScores = new float[count];
+        int size = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int candidate = touched[t];
+            if (!matrix.userRated(user, candidate)) {
+                float predicted = mean + numerator[candidate] / (denominator[candidate] + SHRINKAGE);
+                size = insertDescending(bestItems, bestScores, size, candidate, predicted);
+            }
+            numerator[candidate] = 0f;
+            denominator[candidate] = 0f;
+        }
+
+        List<ScoredMovieResponse> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ScoredMovieResponse.builder()
+                    .movieId(matrix.movieIds[bestItems[i]])
+                    .score(Math.max(1f, Math.min(10f, bestScores[i])))
+                    .build());
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", current != null);
+        result.put("similarity", adjustedCosine ? "adjusted-cosine" : "cosine");
+        result.put("neighbours", neighbourCount);
+        result.put("pendingMovies", dirtyMovies.size());
+        if (current != null) {
+            result.put("movies", current.matrix().itemCount());
+            result.put("users", current.matrix().userCount());
+            result.put("ratings", current.matrix().ratingCount());
+            result.put("builtAt", current.builtAt());
+            result.put("refreshedAt", current.refreshedAt());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+
+    private static int insertDescending(int[] items, float[] scores, int size, int item, float score) {
+        int capacity = items.length;
+        if (size == capacity && scores[size - 1] >= score) {
+            return size;
+        }
+        int pos = size == capacity ? capacity - 1 : size++;
+        while (pos > 0 && scores[pos - 1] < score) {
+            items[pos] = items[pos - 1];
+            scores[pos] = scores[pos - 1];
+            pos--;
+        }
+        items[pos] = item;
+        scores[pos] = score;
+        return size;
+    }
+
+    private record Snapshot(RatingMatrix matrix, ItemSimilarityIndex index, Instant builtAt, Instant refreshedAt) {
+    }
+
+    private static final class Workspace {
+        private float[] numerator = new float[0];
+        private float[] denominator = new float[0];
+        private int[] touched = new int[0];
+
+        private Workspace ensureCapacity(int itemCount) {
+            if (numerator.length < itemCount) {
+                numerator = new float[itemCount];
+                denominator = new float[itemCount];
+                touched = new int[itemCount];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.moviestar.app.service.recommendation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the top-K most similar movies for a set of movies of a {@link RatingMatrix}.
+ * Each movie's row is produced by walking its raters and, for each rater, the movies that user
+ * rated, accumulating dot products into a dense scratch array. Work is split across a fork/join
+ * pool by ranges of target movies; every leaf owns its own scratch arrays.
+ */
+final class SimilarityComputer {
+
+    private static final int MIN_LEAF_SIZE = 32;
+
+    private final ForkJoinPool pool;
+
+    SimilarityComputer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the rows for {@code items} as two flattened arrays of {@code items.length * k}
+     * slots, in the same order as {@code items}.
+     */
+    Rows compute(RatingMatrix matrix, int[] items, int k, int minSupport) {
+        Rows rows = new Rows(items.length, k);
+        if (items.length == 0 || matrix.itemCount() == 0) {
+            return rows;
+        }
+        int leafSize = Math.max(MIN_LEAF_SIZE, items.length / (pool.getParallelism() * 8));
+        pool.invoke(new RangeTask(matrix, items, k, minSupport, rows, 0, items.length, leafSize));
+        return rows;
+    }
+
+    static final class Rows {
+        final int[] neighbours;
+        final float[] scores;
+
+        Rows(int count, int k) {
+            this.neighbours = new int[count * k];
+            this.scores = new float[count * k];
+            Arrays.fill(neighbours, -1);
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final RatingMatrix matrix;
+        private final int[] items;
+        private final int k;
+        private final int minSupport;
+        private final Rows rows;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private RangeTask(RatingMatrix matrix, int[] items, int k, int minSupport, Rows rows,
+                          int from, int to, int leafSize) {
+            this.matrix = matrix;
+            this.items = items;
+            this.k = k;
+            this.minSupport = minSupport;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                computeLeaf();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(matrix, items, k, minSupport, rows, from, mid, leafSize),
+                    new RangeTask(matrix, items, k, minSupport, rows, mid, to, leafSize));
+        }
+
+        private void computeLeaf() {
+            int itemCount = matrix.itemCount();
+            float[] dot = new float[itemCount];
+            int[] support = new int[itemCount];
+            int[] touched = new int[itemCount];
+            int[] heapItems = new int[k];
+            float[] heapScores = new float[k];
+
+            for (int pos = from; pos < to; pos++) {
+                int item = items[pos];
+                int touchedCount = 0;
+                for (int p = matrix.itemOffsets[item]; p < matrix.itemOffsets[item + 1]; p++) {
+                    int user = matrix.itemUsers[p];
+                    float value = matrix.itemValues[p];
+                    for (int q = matrix.userOffsets[user]; q < matrix.userOffsets[user + 1]; q++) {
+                        int other = matrix.userItems[q];
+                        if (other == item) {
+                            continue;
+                        }
+                        if (support[other]++ == 0) {
+                            touched[touchedCount++] = other;
+                        }
+                        dot[other] += value * matrix.userValues[q];
+                    }
+                }
+
+                int heapSize = 0;
+                float norm = matrix.itemNorms[item];
+                for (int t = 0; t < touchedCount; t++) {
+                    int other = touched[t];
+                    float denominator = norm * matrix.itemNorms[other];
+                    if (support[other] >= minSupport && denominator > 0f) {
+                        float similarity = dot[other] / denominator;
+                        // Negative similarities carry no "also liked" signal, so they are never kept
+                        if (similarity > 0f) {
+                            heapSize = push(heapItems, heapScores, heapSize, other, similarity);
+                        }
+                    }
+                    dot[other] = 0f;
+                    support[other] = 0;
+                }
+                drainDescending(heapItems, heapScores, heapSize, pos * k);
+            }
+        }
+
+        private int push(int[] heapItems, float[] heapScores, int size, int item, float score) {
+            if (size < k) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heapScores[parent] <= score) {
+                        break;
+                    }
+                    heapItems[i] = heapItems[parent];
+                    heapScores[i] = heapScores[parent];
+                    i = parent;
+                }
+                heapItems[i] = item;
+                heapScores[i] = score;
+            } else if (score > heapScores[0]) {
+                siftDown(heapItems, heapScores, size, item, score);
+            }
+            return size;
+        }
+
+        private static void siftDown(int[] heapItems, float[] heapScores, int size, int item, float score) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heapScores[child + 1] < heapScores[child]) {
+                    child++;
+                }
+                if (heapScores[child] >= score) {
+                    break;
+                }
+                heapItems[i] = heapItems[child];
+                heapScores[i] = heapScores[child];
+                i = child;
+            }
+            heapItems[i] = item;
+            heapScores[i] = score;
+        }
+
+        private void drainDescending(int[] heapItems, float[] heapScores, int size, int offset) {
+            for (int remaining = size; remaining > 0; remaining--) {
+                rows.neighbours[offset + remaining - 1] = heapItems[0];
+                rows.scores[offset + remaining - 1] = heapScores[0];
+                int lastItem = heapItems[remaining - 1];
+                float lastScore = heapScores[remaining - 1];
+                siftDown(heapItems, heapScores, remaining - 1, lastItem, lastScore);
+            }
+        }
+    }
+}
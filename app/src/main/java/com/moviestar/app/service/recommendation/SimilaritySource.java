@@ -0,0 +1,21 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+
+import java.util.List;
+
+/**
+ * A provider of "similar movie" lists with scores in {@code [0, 1]}, blended by
+ * {@link MoreLikeThisService}.
+ */
+public interface SimilaritySource {
+
+    String name();
+
+    List<ScoredMovieResponse> similarMovies(Long movieId, int limit);
+
+    /**
+     * How much this source's list for the given movie can be trusted, in {@code [0, 1]}.
+     */
+    double confidence(Long movieId);
+}
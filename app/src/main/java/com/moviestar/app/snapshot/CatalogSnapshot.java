@@ -0,0 +1,129 @@
+package com.moviestar.app.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * A catalog snapshot file, mapped read-only. Records are the JSON the API returns, so serving one
+ * is a copy out of the mapping: no query, no entity and no serialization. Lookups binary-search the
+ * mapped index and allocate nothing beyond the returned buffer view, and the data lives outside the
+ * heap, so the collector never scans it.
+ * <p>
+ * Layout, big-endian: a header ({@code MSCATSNP}, version, section count, build time in epoch
+ * millis); per section its record count, the offset and length of its data and the offset of its
+ * index; the data of each section, a JSON array of its records ({@code [r1,r2,...]}), so the whole
+ * list is one slice; the index of each section, entries of id, offset and length sorted by id; and a
+ * CRC-32C of everything before it.
+ */
+public final class CatalogSnapshot {
+
+    static final long MAGIC = 0x4D53434154534E50L;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8 + 4 + 4 + 8;
+    static final int SECTION_SIZE = 4 + 8 + 8 + 8;
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 4;
+    static final int TRAILER_SIZE = 8;
+
+    public enum Section {
+        GENRES, MOVIES, ACTORS, DIRECTORS
+    }
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Instant builtAt;
+    private final int[] counts = new int[Section.values().length];
+    private final int[] dataOffsets = new int[Section.values().length];
+    private final int[] dataLengths = new int[Section.values().length];
+    private final int[] indexOffsets = new int[Section.values().length];
+
+    private CatalogSnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE + TRAILER_SIZE || buffer.getLong(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + path);
+        }
+        if (buffer.getInt(8) != VERSION || buffer.getInt(12) != counts.length) {
+            throw new IOException("Unsupported catalog snapshot version " + buffer.getInt(8) + ": " + path);
+        }
+        int end = buffer.capacity() - TRAILER_SIZE;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("Catalog snapshot is corrupt (checksum mismatch): " + path);
+        }
+        this.builtAt = Instant.ofEpochMilli(buffer.getLong(16));
+        for (int i = 0; i < counts.length; i++) {
+            int entry = HEADER_SIZE + i * SECTION_SIZE;
+            counts[i] = buffer.getInt(entry);
+            dataOffsets[i] = Math.toIntExact(buffer.getLong(entry + 4));
+            dataLengths[i] = Math.toIntExact(buffer.getLong(entry + 12));
+            indexOffsets[i] = Math.toIntExact(buffer.getLong(entry + 20));
+        }
+    }
+
+    /**
+     * Maps and verifies the file. The mapping outlives the file: a snapshot replaced or deleted
+     * on disk stays readable until it is no longer referenced.
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new CatalogSnapshot(path, mapped);
+        }
+    }
+
+    /**
+     * The section's records as one JSON array.
+     */
+    public ByteBuffer list(Section section) {
+        return buffer.slice(dataOffsets[section.ordinal()], dataLengths[section.ordinal()]);
+    }
+
+    /**
+     * The JSON record with this id, or {@code null} if the section has none.
+     */
+    public ByteBuffer find(Section section, long id) {
+        int index = indexOffsets[section.ordinal()];
+        int low = 0;
+        int high = counts[section.ordinal()] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = index + middle * INDEX_ENTRY_SIZE;
+            long entryId = buffer.getLong(entry);
+            if (entryId < id) {
+                low = middle + 1;
+            } else if (entryId > id) {
+                high = middle - 1;
+            } else {
+                return buffer.slice(Math.toIntExact(buffer.getLong(entry + 8)), buffer.getInt(entry + 16));
+            }
+        }
+        return null;
+    }
+
+    public int count(Section section) {
+        return counts[section.ordinal()];
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public long size() {
+        return buffer.capacity();
+    }
+
+    public Path path() {
+        return path;
+    }
+}
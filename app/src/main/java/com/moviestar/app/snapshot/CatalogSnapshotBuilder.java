@@ -0,0 +1,224 @@
+package com.moviestar.app.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.datasource.PrimaryReads;
+import com.moviestar.app.model.Response.ActorResponse;
+import com.moviestar.app.model.Response.DirectorResponse;
+import com.moviestar.app.model.Response.GenreResponse;
+import com.moviestar.app.model.Response.MovieResponse;
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the catalog with a handful of set-based queries in one repeatable-read transaction on the
+ * primary, so the snapshot is consistent and holds every change committed before its build time,
+ * and writes each record as the JSON the MVC endpoints return. Movies are streamed from a cursor;
+ * genres, the cast and directors of every movie and the rating totals are held in memory while
+ * they are written. The file is written to a temporary file next to its
+ * target and renamed over it, so readers of the path only ever see a whole snapshot.
+ */
+class CatalogSnapshotBuilder {
+
+    private static final String GENRES = "SELECT id, genre FROM genre ORDER BY id";
+
+    private static final String ACTORS = "SELECT a.id, a.name, a.surname, a.birth_day, a.about, a.picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_actor m WHERE m.actor_id = a.id ORDER BY m.movie_id)::bigint[] AS movie_ids "
+            + "FROM actor a ORDER BY a.id";
+
+    private static final String DIRECTORS = "SELECT d.id, d.name, d.surname, d.birth_day, d.about, d.picture_url, "
+            + "ARRAY(SELECT m.movie_id FROM movie_director m WHERE m.director_id = d.id ORDER BY m.movie_id)::bigint[] AS movie_ids "
+            + "FROM director d ORDER BY d.id";
+
+    private static final String MOVIE_GENRES = "SELECT movie_id, genre_id FROM movie_genre ORDER BY movie_id, genre_id";
+    private static final String MOVIE_ACTORS = "SELECT movie_id, actor_id FROM movie_actor ORDER BY movie_id, actor_id";
+    private static final String MOVIE_DIRECTORS = "SELECT movie_id, director_id FROM movie_director ORDER BY movie_id, director_id";
+
+    private static final String MOVIE_RATINGS = "SELECT movie_id, avg(rating::float8) AS average, count(*) AS total "
+            + "FROM rating GROUP BY movie_id";
+
+    private static final String MOVIES = "SELECT id, title, description, year, poster_url, backdrop_url FROM movie ORDER BY id";
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectMapper objectMapper;
+
+    CatalogSnapshotBuilder(DataSource dataSource, PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper, int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+    }
+
+    CatalogSnapshot build(Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // A name of its own, so builders sharing the directory never write into each other's file
+        Path temp = Files.createTempFile(parent, target.getFileName() + ".", ".tmp");
+        if (Files.getFileStore(temp).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            // Temp files are private to their owner; instances loading the snapshot need to read it
+            Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-r--r--"));
+        }
+        // From the primary: changes committed before the build time must be in the snapshot
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(temp);
+             PrimaryReads.Scope primary = PrimaryReads.begin()) {
+            Instant builtAt = Instant.now();
+            snapshotTransaction.executeWithoutResult(status -> {
+                try {
+                    write(writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish(builtAt);
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temp);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return CatalogSnapshot.open(target);
+    }
+
+    private void write(CatalogSnapshotWriter writer) throws IOException {
+        Map<Long, GenreResponse> genres = new HashMap<>();
+        writer.begin(Section.GENRES);
+        for (GenreResponse genre : cursorTemplate.query(GENRES, (rs, row) -> GenreResponse.builder()
+                .id(rs.getLong("id"))
+                .genre(rs.getString("genre"))
+                .build())) {
+            genres.put(genre.getId(), genre);
+            writer.add(genre.getId(), objectMapper.writeValueAsBytes(genre));
+        }
+
+        // Cast entries carry no biography or picture, as in MovieService
+        Map<Long, ActorResponse> cast = new HashMap<>();
+        writer.begin(Section.ACTORS);
+        stream(ACTORS, rs -> {
+            ActorResponse actor = ActorResponse.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .surname(rs.getString("surname"))
+                    .birthDay(date(rs, "birth_day"))
+                    .about(rs.getString("about"))
+                    .pictureUrl(rs.getString("picture_url"))
+                    .movieIds(ids(rs.getArray("movie_ids")))
+                    .build();
+            writer.add(actor.getId(), objectMapper.writeValueAsBytes(actor));
+            cast.put(actor.getId(), new ActorResponse(actor.getId(), actor.getName(), actor.getSurname(),
+                    actor.getBirthDay(), null, null, actor.getMovieIds()));
+        });
+
+        Map<Long, DirectorResponse> directors = new HashMap<>();
+        writer.begin(Section.DIRECTORS);
+        stream(DIRECTORS, rs -> {
+            DirectorResponse director = DirectorResponse.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .surname(rs.getString("surname"))
+                    .birthDay(date(rs, "birth_day"))
+                    .about(rs.getString("about"))
+                    .pictureUrl(rs.getString("picture_url"))
+                    .movieIds(ids(rs.getArray("movie_ids")))
+                    .build();
+            writer.add(director.getId(), objectMapper.writeValueAsBytes(director));
+            directors.put(director.getId(), director);
+        });
+
+        Map<Long, List<GenreResponse>> movieGenres = links(MOVIE_GENRES, genres);
+        Map<Long, List<ActorResponse>> movieActors = links(MOVIE_ACTORS, cast);
+        Map<Long, List<DirectorResponse>> movieDirectors = links(MOVIE_DIRECTORS, directors);
+        Map<Long, double[]> ratings = new HashMap<>();
+        cursorTemplate.query(MOVIE_RATINGS, (RowCallbackHandler) rs ->
+                ratings.put(rs.getLong("movie_id"), new double[]{rs.getDouble("average"), rs.getLong("total")}));
+
+        writer.begin(Section.MOVIES);
+        stream(MOVIES, rs -> {
+            long id = rs.getLong("id");
+            double[] rating = ratings.getOrDefault(id, new double[]{0.0, 0});
+            MovieResponse movie = MovieResponse.builder()
+                    .id(id)
+                    .title(rs.getString("title"))
+                    .description(rs.getString("description"))
+                    .year(rs.getObject("year", Integer.class))
+                    .genres(movieGenres.getOrDefault(id, List.of()))
+                    .actors(movieActors.getOrDefault(id, List.of()))
+                    .directors(movieDirectors.getOrDefault(id, List.of()))
+                    .posterURL(rs.getString("poster_url"))
+                    .backdropURL(rs.getString("backdrop_url"))
+                    .averageRating(rating[0])
+                    .totalRatings((int) rating[1])
+                    .build();
+            writer.add(id, objectMapper.writeValueAsBytes(movie));
+        });
+    }
+
+    private <T> Map<Long, List<T>> links(String sql, Map<Long, T> targets) {
+        Map<Long, List<T>> links = new HashMap<>();
+        cursorTemplate.query(sql, (RowCallbackHandler) rs -> {
+            T target = targets.get(rs.getLong(2));
+            if (target != null) {
+                links.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(target);
+            }
+        });
+        return links;
+    }
+
+    private void stream(String sql, RowWriter rowWriter) {
+        cursorTemplate.query(sql, (RowCallbackHandler) rs -> {
+            try {
+                rowWriter.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static List<Long> ids(Array array) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        if (array != null) {
+            for (Object id : (Object[]) array.getArray()) {
+                ids.add(((Number) id).longValue());
+            }
+            array.free();
+        }
+        return ids;
+    }
+
+    // Hibernate reads these DATE columns as midnight in the JVM's time zone
+    private static Date date(ResultSet rs, String column) throws SQLException {
+        java.sql.Date date = rs.getDate(column);
+        return date != null ? new Date(date.getTime()) : null;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,88 @@
+package com.moviestar.app.snapshot;
+
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the public catalog reads ({@code GET /api/movies}, {@code /api/genres},
+ * {@code /api/actors}, {@code /api/directors} and their {@code /{id}} forms) from the mapped
+ * {@link CatalogSnapshot}, without reaching Spring MVC or the database. It runs after the security
+ * filter chain, so CORS and bans still apply. Ids missing from the snapshot, such as movies added
+ * since it was built, records changed since then and every request made before a snapshot is
+ * loaded go on to the controllers. Responses carry the snapshot's build time in {@code X-Catalog-Snapshot}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnExpression("${app.snapshot.enabled:false} and ${app.snapshot.serve:true}")
+public class CatalogSnapshotFilter extends OncePerRequestFilter {
+
+    static final String SNAPSHOT_HEADER = "X-Catalog-Snapshot";
+
+    private static final Pattern CATALOG_PATH = Pattern.compile("/api/(movies|genres|actors|directors)(?:/(\\d{1,18}))?");
+    private static final Map<String, Section> SECTIONS = Map.of(
+            "movies", Section.MOVIES,
+            "genres", Section.GENRES,
+            "actors", Section.ACTORS,
+            "directors", Section.DIRECTORS);
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final CatalogSnapshotService snapshotService;
+
+    public CatalogSnapshotFilter(CatalogSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CatalogSnapshot snapshot = snapshotService.current();
+        Matcher matcher = CATALOG_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (snapshot == null || !matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Section section = SECTIONS.get(matcher.group(1));
+        Long id = matcher.group(2) == null ? null : Long.parseLong(matcher.group(2));
+        if (snapshotService.isOutdated(snapshot, section, id)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ByteBuffer body = id == null ? snapshot.list(section) : snapshot.find(section, id);
+        if (body == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLengthLong(body.remaining());
+        response.setHeader(SNAPSHOT_HEADER, snapshot.builtAt().toString());
+        ServletOutputStream out = response.getOutputStream();
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, body.remaining())];
+        while (body.hasRemaining()) {
+            int length = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.moviestar.app.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.model.ActorDTO;
+import com.moviestar.app.model.DirectorDTO;
+import com.moviestar.app.model.GenreDTO;
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the current {@link CatalogSnapshot}. With {@code app.snapshot.build} set, this instance
+ * rebuilds the file from the database every {@code app.snapshot.refresh-interval}; otherwise it
+ * only maps the file at {@code app.snapshot.path} whenever a new one appears there, so one builder
+ * can feed instances sharing a volume. A new snapshot is swapped in whole; requests that already
+ * hold the previous one finish on it. A file already on disk is served from startup, before the
+ * database has answered anything, and a failed build leaves the last good snapshot in place.
+ * <p>
+ * Catalog changes made on this instance are noted when they commit: the parts they touch are left
+ * to the controllers (see {@link #isOutdated}) until a snapshot built after them is in place, and a
+ * builder requests a rebuild, debounced by {@code app.snapshot.rebuild-delay} so a burst of edits
+ * costs a single build. Movie changes arrive as events; genres, actors and directors are watched
+ * through Hibernate, and a change to one outdates its section and the movies, which embed them.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.snapshot.enabled", havingValue = "true")
+public class CatalogSnapshotService implements MeterBinder {
+
+    private static final Map<String, Section> ENTITY_SECTIONS = Map.of(
+            GenreDTO.class.getName(), Section.GENRES,
+            ActorDTO.class.getName(), Section.ACTORS,
+            DirectorDTO.class.getName(), Section.DIRECTORS);
+
+    private final CatalogSnapshotBuilder builder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Path path;
+    private final boolean build;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    // When parts of the catalog last changed: whole sections, the movie list and single movies
+    private final Map<Section, Instant> sectionsChanged = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> moviesChanged = new ConcurrentHashMap<>();
+    private volatile Instant movieListChanged;
+    private volatile Object loadedFileKey;
+    private volatile long lastBuildMillis = -1;
+    private volatile String lastError;
+
+    public CatalogSnapshotService(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.snapshot.path:${java.io.tmpdir}/moviestar/catalog.snapshot}") Path path,
+                                  @Value("${app.snapshot.build:true}") boolean build,
+                                  @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.builder = new CatalogSnapshotBuilder(dataSource, transactionManager, objectMapper, fetchSize);
+        this.entityManagerFactory = entityManagerFactory;
+        this.path = path;
+        this.build = build;
+        try {
+            reload();
+        } catch (IOException e) {
+            lastError = e.getMessage();
+            log.warn("Ignoring catalog snapshot at {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PostConstruct
+    void listenForChanges() {
+        EntityChangeListener listener = new EntityChangeListener(this);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    public CatalogSnapshot current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!build) {
+            return;
+        }
+        Thread starter = new Thread(this::refresh, "catalog-snapshot-bootstrap");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.refresh-interval:PT10M}",
+            initialDelayString = "${app.snapshot.refresh-interval:PT10M}")
+    public void refresh() {
+        try {
+            if (build) {
+                rebuild();
+            } else {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            lastError = e.getMessage();
+            log.error("Catalog snapshot refresh failed, still serving the previous one", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssociationsChanged(MovieAssociationsChangedEvent event) {
+        Instant now = Instant.now();
+        if (event.movieId() == null) {
+            for (Section section : Section.values()) {
+                sectionsChanged.put(section, now);
+            }
+        } else {
+            movieChanged(event.movieId(), now);
+            // Actors and directors list the ids of their movies
+            sectionsChanged.put(Section.ACTORS, now);
+            sectionsChanged.put(Section.DIRECTORS, now);
+        }
+        rebuildRequested.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        movieChanged(event.movieId(), Instant.now());
+        rebuildRequested.set(true);
+    }
+
+    void sectionChanged(Section section) {
+        Instant now = Instant.now();
+        sectionsChanged.put(section, now);
+        // Movies embed the names of their genres, actors and directors
+        sectionsChanged.put(Section.MOVIES, now);
+        rebuildRequested.set(true);
+    }
+
+    private void movieChanged(Long movieId, Instant now) {
+        moviesChanged.put(movieId, now);
+        movieListChanged = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.rebuild-delay:PT5S}",
+            initialDelayString = "${app.snapshot.rebuild-delay:PT5S}")
+    public void rebuildIfRequested() {
+        if (!build || current.get() == null || !rebuildRequested.getAndSet(false)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (IOException | RuntimeException e) {
+            rebuildRequested.set(true);
+            failures.increment();
+            lastError = e.getMessage();
+            log.error("Catalog snapshot rebuild failed, still serving the previous one", e);
+        }
+    }
+
+    /**
+     * Whether the snapshot's list of the section, or with an id that record, may be out of date
+     * because the catalog changed on this instance after the snapshot was built.
+     */
+    public boolean isOutdated(CatalogSnapshot snapshot, Section section, Long id) {
+        Instant builtAt = snapshot.builtAt();
+        if (changedSince(sectionsChanged.get(section), builtAt)) {
+            return true;
+        }
+        if (section != Section.MOVIES) {
+            return false;
+        }
+        return changedSince(id == null ? movieListChanged : moviesChanged.get(id), builtAt);
+    }
+
+    // Build times are kept to the millisecond, so a change in the same millisecond counts as later
+    private static boolean changedSince(Instant changedAt, Instant builtAt) {
+        return changedAt != null && !changedAt.isBefore(builtAt);
+    }
+
+    /**
+     * Builds a snapshot from the database and swaps it in.
+     */
+    public synchronized Map<String, Object> rebuild() throws IOException {
+        long started = System.nanoTime();
+        CatalogSnapshot snapshot = builder.build(path);
+        lastBuildMillis = (System.nanoTime() - started) / 1_000_000;
+        builds.increment();
+        swap(snapshot, Files.readAttributes(path, BasicFileAttributes.class));
+        log.info("Built catalog snapshot of {} movies ({} bytes) in {} ms",
+                snapshot.count(Section.MOVIES), snapshot.size(), lastBuildMillis);
+        return stats();
+    }
+
+    synchronized void reload() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (current.get() != null && fileKey(attributes).equals(loadedFileKey)) {
+            return;
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        swap(snapshot, attributes);
+        log.info("Loaded catalog snapshot of {} movies built at {}", snapshot.count(Section.MOVIES), snapshot.builtAt());
+    }
+
+    private void swap(CatalogSnapshot snapshot, BasicFileAttributes attributes) {
+        loadedFileKey = fileKey(attributes);
+        lastError = null;
+        current.set(snapshot);
+        Instant builtAt = snapshot.builtAt();
+        sectionsChanged.values().removeIf(changedAt -> changedAt.isBefore(builtAt));
+        moviesChanged.values().removeIf(changedAt -> changedAt.isBefore(builtAt));
+    }
+
+    // A rename over the path gives a new inode, and the modification time covers file systems without one
+    private static Object fileKey(BasicFileAttributes attributes) {
+        return attributes.fileKey() + "@" + attributes.lastModifiedTime() + "/" + attributes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.age", this, service -> {
+                    CatalogSnapshot snapshot = service.current.get();
+                    return snapshot != null ? Duration.between(snapshot.builtAt(), Instant.now()).toMillis() / 1000.0 : Double.NaN;
+                })
+                .description("Time since the catalog snapshot being served was built")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("catalog.snapshot.size", this, service -> {
+                    CatalogSnapshot snapshot = service.current.get();
+                    return snapshot != null ? snapshot.size() : 0;
+                })
+                .description("Size of the mapped catalog snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("catalog.snapshot.builds", builds, LongAdder::sum)
+                .description("Catalog snapshots built by this instance")
+                .register(registry);
+        FunctionCounter.builder("catalog.snapshot.failures", failures, LongAdder::sum)
+                .description("Catalog snapshot builds or loads that failed")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        CatalogSnapshot snapshot = current.get();
+        stats.put("path", path.toAbsolutePath().toString());
+        stats.put("mode", build ? "build" : "load");
+        stats.put("loaded", snapshot != null);
+        if (snapshot != null) {
+            stats.put("builtAt", snapshot.builtAt().toString());
+            stats.put("ageSeconds", Duration.between(snapshot.builtAt(), Instant.now()).toSeconds());
+            stats.put("sizeBytes", snapshot.size());
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Section section : Section.values()) {
+                counts.put(section.name().toLowerCase(), snapshot.count(section));
+            }
+            stats.put("records", counts);
+        }
+        stats.put("builds", builds.sum());
+        stats.put("lastBuildMillis", lastBuildMillis);
+        stats.put("failures", failures.sum());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    // Runs once the transaction has committed
+    private record EntityChangeListener(CatalogSnapshotService service)
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return ENTITY_SECTIONS.containsKey(persister.getEntityName());
+        }
+
+        private void changed(EntityPersister persister) {
+            Section section = ENTITY_SECTIONS.get(persister.getEntityName());
+            if (section != null) {
+                service.sectionChanged(section);
+            }
+        }
+    }
+}
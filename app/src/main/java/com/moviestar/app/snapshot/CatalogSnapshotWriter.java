@@ -0,0 +1,156 @@
+package com.moviestar.app.snapshot;
+
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes a file in the {@link CatalogSnapshot} layout. Sections may come in any order, each once
+ * and with ascending ids; sections never begun are written empty. Only the index entries are kept in
+ * memory, twenty bytes per record.
+ */
+final class CatalogSnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SECTIONS = Section.values().length;
+
+    private final FileChannel channel;
+    private final OutputStream out;
+    private final int[] counts = new int[SECTIONS];
+    private final long[] dataOffsets = new long[SECTIONS];
+    private final long[] dataLengths = new long[SECTIONS];
+    private final ByteArrayOutputStream[] indexes = new ByteArrayOutputStream[SECTIONS];
+    private long position;
+    private Section current;
+    private long lastId;
+
+    CatalogSnapshotWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.READ);
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        // The header and section table are filled in by finish()
+        write(new byte[CatalogSnapshot.HEADER_SIZE + SECTIONS * CatalogSnapshot.SECTION_SIZE]);
+    }
+
+    void begin(Section section) throws IOException {
+        if (indexes[section.ordinal()] != null) {
+            throw new IllegalStateException("Section " + section + " was already written");
+        }
+        end();
+        current = section;
+        lastId = Long.MIN_VALUE;
+        indexes[section.ordinal()] = new ByteArrayOutputStream();
+        dataOffsets[section.ordinal()] = position;
+        write('[');
+    }
+
+    /**
+     * Appends one record, which must be a complete JSON value, to the current section.
+     */
+    void add(long id, byte[] json) throws IOException {
+        if (current == null) {
+            throw new IllegalStateException("No section begun");
+        }
+        if (id <= lastId) {
+            throw new IllegalArgumentException("Ids must ascend within a section: " + id + " after " + lastId);
+        }
+        lastId = id;
+        int section = current.ordinal();
+        if (counts[section]++ > 0) {
+            write(',');
+        }
+        DataOutputStream index = new DataOutputStream(indexes[section]);
+        index.writeLong(id);
+        index.writeLong(position);
+        index.writeInt(json.length);
+        write(json);
+    }
+
+    /**
+     * Writes the indexes, header and checksum and forces the file to disk.
+     */
+    void finish(Instant builtAt) throws IOException {
+        end();
+        for (Section section : Section.values()) {
+            if (indexes[section.ordinal()] == null) {
+                begin(section);
+                end();
+            }
+        }
+        long[] indexOffsets = new long[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            indexOffsets[i] = position;
+            write(indexes[i].toByteArray());
+        }
+        out.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE + SECTIONS * CatalogSnapshot.SECTION_SIZE);
+        header.putLong(CatalogSnapshot.MAGIC)
+                .putInt(CatalogSnapshot.VERSION)
+                .putInt(SECTIONS)
+                .putLong(builtAt.toEpochMilli());
+        for (int i = 0; i < SECTIONS; i++) {
+            header.putInt(counts[i])
+                    .putLong(dataOffsets[i])
+                    .putLong(dataLengths[i])
+                    .putLong(indexOffsets[i]);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+
+        CRC32C crc = new CRC32C();
+        ByteBuffer chunk = ByteBuffer.allocate(BUFFER_SIZE);
+        for (long offset = 0; offset < position; ) {
+            chunk.clear().limit((int) Math.min(BUFFER_SIZE, position - offset));
+            int read = channel.read(chunk, offset);
+            if (read < 0) {
+                throw new IOException("Snapshot file ended early");
+            }
+            chunk.flip();
+            crc.update(chunk);
+            offset += read;
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(CatalogSnapshot.TRAILER_SIZE).putLong(crc.getValue()).flip();
+        while (trailer.hasRemaining()) {
+            channel.write(trailer, position + trailer.position());
+        }
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void end() throws IOException {
+        if (current != null) {
+            write(']');
+            dataLengths[current.ordinal()] = position - dataOffsets[current.ordinal()];
+            current = null;
+        }
+    }
+
+    private void write(int b) throws IOException {
+        out.write(b);
+        position++;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
@@ -0,0 +1,270 @@
+package com.moviestar.app.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.repository.RatingRepository;
+import com.moviestar.app.service.GenreService;
+import com.moviestar.app.service.MovieService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the caches and the JIT before the instance reports itself ready. Runs as an
+ * {@link ApplicationRunner}, so the readiness state stays {@code REFUSING_TRAFFIC} (and
+ * {@code /actuator/health/readiness} reports 503) until it returns; it returns when the warm-up is
+ * done or once {@code app.warm-up.budget} has passed, whichever comes first, and never fails startup.
+ * <p>
+ * First the genres, the movie list and the most rated movies (their entities, links and rating
+ * summaries, then the response and its JSON) are loaded in parallel; the query for the most rated
+ * movies counts against the budget as well. Then the GET requests listed
+ * in {@code app.warm-up.replay-file} are replayed over loopback, {@code app.warm-up.replay-rounds}
+ * times, so the whole request path (filters, controllers, Jackson) is compiled before real traffic
+ * arrives.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmUp implements ApplicationRunner {
+
+    private final MovieService movieService;
+    private final GenreService genreService;
+    private final RatingRepository ratingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final Duration budget;
+    private final int parallelism;
+    private final int popularMovies;
+    private final String replayFile;
+    private final int replayRounds;
+
+    private volatile Map<String, Object> lastRun = Map.of("state", "pending");
+
+    public StartupWarmUp(MovieService movieService,
+                         GenreService genreService,
+                         RatingRepository ratingRepository,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         Environment environment,
+                         @Value("${app.warm-up.budget:PT30S}") Duration budget,
+                         @Value("${app.warm-up.parallelism:4}") int parallelism,
+                         @Value("${app.warm-up.popular-movies:100}") int popularMovies,
+                         @Value("${app.warm-up.replay-file:}") String replayFile,
+                         @Value("${app.warm-up.replay-rounds:3}") int replayRounds) {
+        this.movieService = movieService;
+        this.genreService = genreService;
+        this.ratingRepository = ratingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.budget = budget;
+        this.parallelism = parallelism;
+        this.popularMovies = popularMovies;
+        this.replayFile = replayFile;
+        this.replayRounds = replayRounds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int preloaded = 0;
+        int replayed = 0;
+        String state = "budget-exceeded";
+        try {
+            List<Long> popular = mostRatedMovieIds(executor, deadline);
+            if (popular != null) {
+                List<Callable<Object>> preload = preloadTasks(popular);
+                preloaded = runAll(executor, preload, deadline, failures);
+                if (preloaded == preload.size()) {
+                    List<Callable<Object>> replay = replayTasks();
+                    replayed = runAll(executor, replay, deadline, failures);
+                    if (replayed == replay.size()) {
+                        state = "complete";
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            state = "failed";
+            failures.incrementAndGet();
+            log.warn("Warm-up stopped early", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("state", state);
+        run.put("durationMillis", took.toMillis());
+        run.put("preloaded", preloaded);
+        run.put("replayed", replayed);
+        run.put("failures", failures.get());
+        lastRun = run;
+        log.info("Warm-up {} in {} ms: {} preload tasks, {} replayed requests, {} failures",
+                state, took.toMillis(), preloaded, replayed, failures.get());
+    }
+
+    public Map<String, Object> stats() {
+        return lastRun;
+    }
+
+    /**
+     * The most rated movies, or {@code null} when the budget runs out first. The query runs on the
+     * pool, so waiting for it stops at the deadline, and in a transaction that times out with the
+     * budget, so it does not keep running on the database afterwards.
+     */
+    private List<Long> mostRatedMovieIds(ExecutorService executor, long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return null;
+        }
+        TransactionTemplate query = new TransactionTemplate(readOnlyTransaction.getTransactionManager(), readOnlyTransaction);
+        // Rounded up to whole seconds, the unit of transaction timeouts
+        query.setTimeout((int) TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+        Future<List<Long>> ids = executor.submit(() -> query.execute(status ->
+                ratingRepository.findMostRatedMovieIds(PageRequest.of(0, Math.max(popularMovies, 1)))));
+        try {
+            return ids.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            ids.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Callable<Object>> preloadTasks(List<Long> popular) {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        tasks.add(genreService::getAllGenres);
+        tasks.add(movieService::getAllMovies);
+        for (Long movieId : popular) {
+            tasks.add(() -> readOnlyTransaction.execute(status -> {
+                MovieDTO movie = movieService.getMovieById(movieId);
+                try {
+                    return objectMapper.writeValueAsBytes(movieService.convertToResponse(movie));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        return tasks;
+    }
+
+    private List<Callable<Object>> replayTasks() {
+        if (replayFile.isBlank()) {
+            return List.of();
+        }
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            log.info("Not replaying warm-up requests: no web server port");
+            return List.of();
+        }
+        List<String> paths;
+        try {
+            paths = readPaths(Path.of(replayFile));
+        } catch (IOException e) {
+            log.warn("Cannot read warm-up requests from {}: {}", replayFile, e.getMessage());
+            return List.of();
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int round = 0; round < replayRounds; round++) {
+            for (String path : paths) {
+                URI uri = URI.create("http://localhost:" + port + path);
+                tasks.add(() -> {
+                    HttpResponse<Void> response = client.send(
+                            HttpRequest.newBuilder(uri).GET().header("Accept", "application/json").build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 500) {
+                        throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+                    }
+                    return null;
+                });
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * One request per line, either a path or {@code GET <path>}; blank lines and lines starting with
+     * {@code #} are skipped, as are other methods.
+     */
+    static List<String> readPaths(Path file) throws IOException {
+        List<String> paths = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String request = line.trim();
+            if (request.isEmpty() || request.startsWith("#")) {
+                continue;
+            }
+            if (request.startsWith("GET ")) {
+                request = request.substring(4).trim();
+            }
+            if (request.startsWith("/")) {
+                paths.add(request);
+            }
+        }
+        return paths;
+    }
+
+    // Returns how many tasks finished (successfully or not) before the deadline; the rest are cancelled
+    private static int runAll(ExecutorService executor, List<Callable<Object>> tasks, long deadline, AtomicInteger failures)
+            throws InterruptedException {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Future<Object>> futures = executor.invokeAll(tasks, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        int finished = 0;
+        for (Future<Object> future : futures) {
+            if (future.isCancelled()) {
+                continue;
+            }
+            finished++;
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failures.getAndIncrement() == 0) {
+                    log.warn("Warm-up task failed: {}", e.getCause().toString());
+                }
+            }
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,134 @@
+package com.moviestar.app.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of requests handled at once. With virtual threads the container no longer
+ * caps concurrency through its thread pool, and every request past the connection pool's size
+ * would wait inside Hikari until {@code connectionTimeout} and then fail; here requests past the
+ * limit wait briefly for a slot and are otherwise answered 503 straight away. The limit defaults to
+ * {@code app.concurrency-limit.requests-per-connection} requests per pooled connection, since a
+ * request only holds a connection for its transactions. Health and metrics endpoints are exempt.
+ * An asynchronous request, such as a streaming export, keeps its slot until it completes.
+ * <p>
+ * On by default when {@code spring.threads.virtual.enabled} is set.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnExpression("${app.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final Duration queueTimeout;
+    private final Counter rejected;
+
+    public RequestConcurrencyLimitFilter(MeterRegistry registry,
+                                         @Value("${app.concurrency-limit.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                         @Value("${app.concurrency-limit.requests-per-connection:2}") int requestsPerConnection,
+                                         @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                         @Value("${app.concurrency-limit.queue-timeout:PT1S}") Duration queueTimeout,
+                                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : connectionPoolSize * requestsPerConnection;
+        this.permits = new Semaphore(limit, true);
+        this.queueTimeout = queueTimeout;
+        this.rejected = Counter.builder("http.server.requests.rejected")
+                .description("Requests refused because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("http.server.requests.concurrency", this, filter -> filter.limit - filter.permits.availablePermits())
+                .description("Requests being handled under the concurrency limit")
+                .register(registry);
+        Gauge.builder("http.server.requests.concurrency.limit", this, filter -> filter.limit)
+                .description("Maximum number of requests handled at once")
+                .register(registry);
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled needs Java 21 or later; requests run on platform threads");
+        }
+        log.info("Handling at most {} requests at once", limit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy");
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    // Timeouts and errors are followed by onComplete as well, so the permit is released there only
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Restarted by a later dispatch: keep listening to the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,23 @@
+-- Entities now take ids from their sequences through Hibernate's pooled optimizer, which reserves
+-- 50 ids per nextval (the value returned is the top of the block), so the sequences step by 50.
+-- Each sequence is moved to the current maximum id so the first block starts right after it;
+-- on an empty table it is reset to an uncalled 1, which the optimizer treats as a fresh start.
+ALTER SEQUENCE genre_id_seq INCREMENT BY 50;
+ALTER SEQUENCE actor_id_seq INCREMENT BY 50;
+ALTER SEQUENCE director_id_seq INCREMENT BY 50;
+ALTER SEQUENCE movie_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE rating_id_seq INCREMENT BY 50;
+ALTER SEQUENCE app_user_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comment_like_id_seq INCREMENT BY 50;
+ALTER SEQUENCE watchlist_id_seq INCREMENT BY 50;
+
+SELECT setval('genre_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM genre;
+SELECT setval('actor_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM actor;
+SELECT setval('director_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM director;
+SELECT setval('movie_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM movie;
+SELECT setval('comment_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM comment;
+SELECT setval('rating_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM rating;
+SELECT setval('app_user_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM app_user;
+SELECT setval('comment_like_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM comment_like;
+SELECT setval('watchlist_id_seq', COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM watchlist;
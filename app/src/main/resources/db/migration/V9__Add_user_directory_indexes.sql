@@ -0,0 +1,12 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Case-insensitive equality and prefix search on usernames
+CREATE INDEX IF NOT EXISTS idx_app_user_username_lower ON app_user (lower(username) text_pattern_ops);
+
+-- Substring search on usernames
+CREATE INDEX IF NOT EXISTS idx_app_user_username_trgm ON app_user USING gin (lower(username) gin_trgm_ops);
+
+-- Keyset pagination for the admin user directory
+CREATE INDEX IF NOT EXISTS idx_app_user_status_created_at ON app_user (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_app_user_created_at ON app_user (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_app_user_last_activity ON app_user ((COALESCE(last_login, created_at)), id);
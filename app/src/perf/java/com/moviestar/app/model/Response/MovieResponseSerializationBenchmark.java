@@ -0,0 +1,89 @@
+package com.moviestar.app.model.Response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.perf.Fixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link MovieResponse} with the same object mapper defaults Spring MVC
+ * uses, for a single movie and for a list page.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MovieResponseSerializationBenchmark {
+
+    @Param({"5", "50"})
+    public int castSize;
+
+    private ObjectWriter writer;
+    private MovieResponse movie;
+    private List<MovieResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        movie = toResponse(Fixtures.movie(42L, 3, castSize, 2, 20));
+        page = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            page.add(toResponse(Fixtures.movie(id, 3, castSize, 2, 20)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeMovie() throws Exception {
+        return writer.writeValueAsBytes(movie);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    private static MovieResponse toResponse(MovieDTO dto) {
+        return MovieResponse.builder()
+                .id(dto.getId())
+                .title(dto.getTitle())
+                .description(dto.getDescription())
+                .year(dto.getYear())
+                .genres(dto.getGenres().stream()
+                        .map(g -> GenreResponse.builder().id(g.getId()).genre(g.getGenre()).build())
+                        .toList())
+                .actors(dto.getActors().stream()
+                        .map(a -> ActorResponse.builder()
+                                .id(a.getId())
+                                .name(a.getName())
+                                .surname(a.getSurname())
+                                .birthDay(new Date(0))
+                                .movieIds(a.getMovies().stream().map(MovieDTO::getId).toList())
+                                .build())
+                        .toList())
+                .directors(dto.getDirectors().stream()
+                        .map(d -> DirectorResponse.builder()
+                                .id(d.getId())
+                                .name(d.getName())
+                                .surname(d.getSurname())
+                                .about(d.getAbout())
+                                .pictureUrl(d.getPictureUrl())
+                                .movieIds(d.getMovies().stream().map(MovieDTO::getId).toList())
+                                .build())
+                        .toList())
+                .posterURL(dto.getPosterURL())
+                .backdropURL(dto.getBackdropURL())
+                .averageRating(7.4)
+                .totalRatings(1234)
+                .build();
+    }
+}
@@ -0,0 +1,437 @@
+package com.moviestar.app.perf;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills a (migrated) database with a synthetic catalog, users and user activity for scale testing.
+ * Movie popularity, cast and crew appearances and user activity all follow power laws, so the
+ * generated data has the hot rows and long tails the real workload has. Tables are loaded in
+ * parallel chunks, one connection and transaction per chunk, through {@code COPY} by default or
+ * batched inserts with {@code --mode=batch}. The genres seeded by the migrations are reused.
+ *
+ * <p>Every option is {@code --name=value}; everything but {@code --ratings} defaults relative to
+ * the rating count. The same seed always produces the same data.
+ */
+public final class DatasetGenerator {
+
+    private static final double MOVIE_POPULARITY_SKEW = 1.0;
+    private static final double PERSON_POPULARITY_SKEW = 0.9;
+    private static final double USER_ACTIVITY_SKEW = 0.7;
+    private static final double COMMENT_REACTION_SKEW = 1.1;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long HISTORY_SECONDS = ChronoUnit.SECONDS.between(NOW.minusYears(3), NOW);
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Ana",
+            "Hiroshi", "Yuki", "Ahmet", "Elif", "Pierre", "Claire", "Luca", "Giulia", "Sven", "Ingrid"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Martin", "Lee", "Clark", "Lewis", "Walker",
+            "Tanaka", "Sato", "Yilmaz", "Kaya", "Dubois", "Laurent", "Rossi", "Bianchi", "Lindqvist", "Berg"
+    };
+    private static final String[] WORDS = {
+            "Night", "Shadow", "Return", "Last", "City", "Dream", "Fire", "Silent", "River", "Storm",
+            "Lost", "Empire", "Heart", "Winter", "Secret", "Blood", "Star", "Kingdom", "Echo", "Midnight",
+            "Broken", "Iron", "Garden", "Ghost", "Summer", "Road", "Glass", "Wild", "Golden", "Edge"
+    };
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final boolean copy;
+    private final int threads;
+    private final long seed;
+
+    private final int users;
+    private final int movies;
+    private final int actors;
+    private final int directors;
+    private final long ratings;
+    private final long watchlist;
+    private final int comments;
+    private final long commentReactions;
+
+    private long[] genreIds;
+    private long movieBase;
+    private long actorBase;
+    private long directorBase;
+    private long userBase;
+    private long commentBase;
+
+    private ZipfSampler moviePopularity;
+    private ZipfSampler actorPopularity;
+    private ZipfSampler directorPopularity;
+    private ZipfSampler userActivity;
+    private double[] movieQuality;
+    private double[] userBias;
+
+    private DatasetGenerator(Map<String, String> options) {
+        url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/moviestar");
+        user = options.getOrDefault("user", "postgres");
+        password = options.getOrDefault("password", "postgres");
+        copy = !"batch".equals(options.getOrDefault("mode", "copy"));
+        threads = intOption(options, "threads", Runtime.getRuntime().availableProcessors());
+        seed = longOption(options, "seed", 42);
+
+        ratings = longOption(options, "ratings", 1_000_000);
+        users = intOption(options, "users", (int) Math.max(100, ratings / 20));
+        movies = intOption(options, "movies", (int) Math.max(100, ratings / 50));
+        actors = intOption(options, "actors", movies * 2);
+        directors = intOption(options, "directors", Math.max(10, movies / 4));
+        watchlist = longOption(options, "watchlist", ratings / 4);
+        comments = intOption(options, "comments", (int) (ratings / 5));
+        commentReactions = longOption(options, "comment-likes", (long) comments * 2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        DatasetGenerator generator = new DatasetGenerator(options);
+        if (Boolean.parseBoolean(options.getOrDefault("truncate", "false"))) {
+            generator.truncate();
+        }
+        generator.run();
+    }
+
+    private void run() throws Exception {
+        long started = System.nanoTime();
+        prepare();
+
+        System.out.printf("Generating %,d users, %,d movies, %,d actors, %,d directors using %d threads (%s)%n",
+                users, movies, actors, directors, threads, copy ? "COPY" : "batched inserts");
+        parallel("app_user", users, 20_000, this::writeUsers);
+        parallel("movie", movies, 5_000, this::writeMovies);
+        parallel("actor", actors, 20_000, (connection, from, to, random) -> writePeople(connection, "actor", actorBase, from, to, random));
+        parallel("director", directors, 20_000, (connection, from, to, random) -> writePeople(connection, "director", directorBase, from, to, random));
+        parallel("movie credits", movies, 5_000, this::writeCredits);
+
+        int[] ratingsPerUser = ZipfSampler.allocate(users, USER_ACTIVITY_SKEW, ratings, 1, Math.max(1, movies / 2), seed + 1);
+        int[] watchlistPerUser = ZipfSampler.allocate(users, USER_ACTIVITY_SKEW, watchlist, 0, Math.max(1, movies / 10), seed + 2);
+        parallel("rating", users, 2_000, (connection, from, to, random) -> writeRatings(connection, ratingsPerUser, from, to, random));
+        parallel("watchlist", users, 2_000, (connection, from, to, random) -> writeWatchlist(connection, watchlistPerUser, from, to, random));
+
+        int[] reactionsPerComment = ZipfSampler.allocate(comments, COMMENT_REACTION_SKEW, commentReactions, 0, Math.max(1, users / 2), seed + 3);
+        parallel("comment + comment_like", comments, 5_000, (connection, from, to, random) -> writeComments(connection, reactionsPerComment, from, to, random));
+
+        finish();
+        System.out.printf("Dataset generated in %,d s%n", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void truncate() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE movie_genre, movie_actor, movie_director, comment_like, comment, rating, "
+                    + "watchlist, movie, actor, director, app_user RESTART IDENTITY CASCADE");
+            System.out.println("Truncated all tables except genre");
+        }
+    }
+
+    private void prepare() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            List<Long> ids = new ArrayList<>();
+            try (ResultSet result = statement.executeQuery("SELECT id FROM genre ORDER BY id")) {
+                while (result.next()) {
+                    ids.add(result.getLong(1));
+                }
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("No genres found; run the Flyway migrations first");
+            }
+            genreIds = ids.stream().mapToLong(Long::longValue).toArray();
+            movieBase = maxId(statement, "movie");
+            actorBase = maxId(statement, "actor");
+            directorBase = maxId(statement, "director");
+            userBase = maxId(statement, "app_user");
+            commentBase = maxId(statement, "comment");
+        }
+
+        moviePopularity = new ZipfSampler(movies, MOVIE_POPULARITY_SKEW, seed + 10);
+        actorPopularity = new ZipfSampler(actors, PERSON_POPULARITY_SKEW, seed + 11);
+        directorPopularity = new ZipfSampler(directors, PERSON_POPULARITY_SKEW, seed + 12);
+        userActivity = new ZipfSampler(users, USER_ACTIVITY_SKEW, seed + 13);
+
+        SplittableRandom random = new SplittableRandom(seed + 14);
+        movieQuality = new double[movies];
+        for (int m = 0; m < movies; m++) {
+            movieQuality[m] = 6.5 + 1.5 * gaussian(random);
+        }
+        userBias = new double[users];
+        for (int u = 0; u < users; u++) {
+            userBias[u] = gaussian(random);
+        }
+    }
+
+    private void finish() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Same convention as V10: the pooled optimizer treats the value returned as the top of its block
+            for (String table : List.of("movie", "actor", "director", "comment")) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM " + table);
+            }
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private long writeUsers(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+        try (TableWriter writer = TableWriter.open(connection, copy, "app_user",
+                "username", "email", "profile_picture_url", "status", "created_at", "last_login")) {
+            for (int u = from; u < to; u++) {
+                String username = username(u);
+                LocalDateTime createdAt = pastTime(random);
+                writer.row(username, username + "@example.com", null,
+                        random.nextInt(100) < 2 ? "BANNED" : "ACTIVE",
+                        createdAt, between(createdAt, NOW, random));
+            }
+        }
+        return to - from;
+    }
+
+    private long writeMovies(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+        try (TableWriter writer = TableWriter.open(connection, copy, "movie",
+                "id", "title", "description", "year", "poster_url", "backdrop_url")) {
+            for (int m = from; m < to; m++) {
+                long id = movieBase + m + 1;
+                String title = pick(WORDS, random) + " " + pick(WORDS, random) + (random.nextInt(5) == 0 ? " " + (2 + random.nextInt(3)) : "");
+                int year = Math.max(1920, NOW.getYear() - (int) (-15 * Math.log(1 - random.nextDouble())));
+                writer.row(id, title, "A story of " + pick(WORDS, random).toLowerCase() + " and " + pick(WORDS, random).toLowerCase() + ".",
+                        year, "https://img.example.com/poster/" + id + ".jpg", "https://img.example.com/backdrop/" + id + ".jpg");
+            }
+        }
+        return to - from;
+    }
+
+    private long writePeople(Connection connection, String table, long base, int from, int to, SplittableRandom random) throws SQLException {
+        try (TableWriter writer = TableWriter.open(connection, copy, table,
+                "id", "name", "surname", "birth_day", "about", "picture_url")) {
+            for (int p = from; p < to; p++) {
+                LocalDate birthDay = LocalDate.of(1920, 1, 1).plusDays(random.nextInt(30_000));
+                writer.row(base + p + 1, pick(FIRST_NAMES, random), pick(LAST_NAMES, random), birthDay, null, null);
+            }
+        }
+        return to - from;
+    }
+
+    private long writeCredits(Connection connection, int from, int to, SplittableRandom random) throws SQLException {
+        long rows = 0;
+        try (TableWriter writer = TableWriter.open(connection, copy, "movie_genre", "movie_id", "genre_id")) {
+            for (int m = from; m < to; m++) {
+                int count = 1 + random.nextInt(Math.min(3, genreIds.length));
+                Set<Long> picked = new HashSet<>();
+                while (picked.size() < count) {
+                    picked.add(genreIds[random.nextInt(genreIds.length)]);
+                }
+                for (long genreId : picked) {
+                    writer.row(movieBase + m + 1, genreId);
+                    rows++;
+                }
+            }
+        }
+        try (TableWriter writer = TableWriter.open(connection, copy, "movie_actor", "movie_id", "actor_id")) {
+            for (int m = from; m < to; m++) {
+                for (int actor : distinct(actorPopularity, 3 + random.nextInt(13), random)) {
+                    writer.row(movieBase + m + 1, actorBase + actor + 1);
+                    rows++;
+                }
+            }
+        }
+        try (TableWriter writer = TableWriter.open(connection, copy, "movie_director", "movie_id", "director_id")) {
+            for (int m = from; m < to; m++) {
+                for (int director : distinct(directorPopularity, random.nextInt(10) == 0 ? 2 : 1, random)) {
+                    writer.row(movieBase + m + 1, directorBase + director + 1);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeRatings(Connection connection, int[] perUser, int from, int to, SplittableRandom random) throws SQLException {
+        long rows = 0;
+        try (TableWriter writer = TableWriter.open(connection, copy, "rating", "movie_id", "rating", "username")) {
+            for (int u = from; u < to; u++) {
+                String username = username(u);
+                for (int movie : distinct(moviePopularity, perUser[u], random)) {
+                    double score = movieQuality[movie] + userBias[u] + 1.5 * gaussian(random);
+                    writer.row(movieBase + movie + 1, (int) Math.max(1, Math.min(10, Math.round(score))), username);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeWatchlist(Connection connection, int[] perUser, int from, int to, SplittableRandom random) throws SQLException {
+        long rows = 0;
+        try (TableWriter writer = TableWriter.open(connection, copy, "watchlist", "username", "movie_id", "added_at")) {
+            for (int u = from; u < to; u++) {
+                String username = username(u);
+                for (int movie : distinct(moviePopularity, perUser[u], random)) {
+                    writer.row(username, movieBase + movie + 1, pastTime(random));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeComments(Connection connection, int[] reactionsPerComment, int from, int to, SplittableRandom random) throws SQLException {
+        List<Object[]> reactions = new ArrayList<>();
+        try (TableWriter writer = TableWriter.open(connection, copy, "comment",
+                "id", "comment", "username", "created_at", "updated_at", "movie_id", "likes_count", "dislikes_count")) {
+            for (int c = from; c < to; c++) {
+                long id = commentBase + c + 1;
+                LocalDateTime createdAt = pastTime(random);
+                int likes = 0;
+                int dislikes = 0;
+                for (int reactor : distinct(userActivity, reactionsPerComment[c], random)) {
+                    boolean like = random.nextInt(100) < 80;
+                    if (like) {
+                        likes++;
+                    } else {
+                        dislikes++;
+                    }
+                    reactions.add(new Object[]{id, username(reactor), like, between(createdAt, NOW, random)});
+                }
+                writer.row(id, commentText(random), username(userActivity.sample(random)), createdAt,
+                        random.nextInt(10) == 0 ? between(createdAt, NOW, random) : null,
+                        movieBase + moviePopularity.sample(random) + 1, likes, dislikes);
+            }
+        }
+        try (TableWriter writer = TableWriter.open(connection, copy, "comment_like", "comment_id", "username", "is_like", "created_at")) {
+            for (Object[] reaction : reactions) {
+                writer.row(reaction);
+            }
+        }
+        return (to - from) + reactions.size();
+    }
+
+    private void parallel(String label, int total, int chunkSize, Chunk chunk) throws Exception {
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int from = 0; from < total; from += chunkSize) {
+                int start = from;
+                int end = Math.min(total, from + chunkSize);
+                // Seeded per chunk, so the output does not depend on thread scheduling
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003L + label.hashCode() * 31L + start);
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        connection.setAutoCommit(false);
+                        long rows = chunk.write(connection, start, end, random);
+                        connection.commit();
+                        return rows;
+                    }
+                }));
+            }
+            long rows = 0;
+            for (Future<Long> future : futures) {
+                rows += future.get();
+            }
+            long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000L);
+            System.out.printf("  %-24s %,12d rows %,8d ms %,10d rows/s%n", label, rows, millis, rows * 1000 / millis);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Draws {@code count} different items from {@code sampler}. Heavy users can ask for a large part
+     * of the catalog, where rejection sampling stalls; the remainder is then filled uniformly.
+     */
+    private static int[] distinct(ZipfSampler sampler, int count, SplittableRandom random) {
+        count = Math.min(count, sampler.size());
+        Set<Integer> picked = new HashSet<>(count * 2);
+        for (int attempts = count * 20; picked.size() < count && attempts > 0; attempts--) {
+            picked.add(sampler.sample(random));
+        }
+        int next = random.nextInt(sampler.size());
+        while (picked.size() < count) {
+            picked.add(next);
+            next = (next + 1) % sampler.size();
+        }
+        return picked.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private String username(int user) {
+        return "loaduser" + (userBase + user + 1);
+    }
+
+    private static String commentText(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        int words = 5 + random.nextInt(60);
+        for (int w = 0; w < words; w++) {
+            text.append(w == 0 ? pick(WORDS, random) : " " + pick(WORDS, random).toLowerCase());
+        }
+        return text.append('.').toString();
+    }
+
+    private static LocalDateTime pastTime(SplittableRandom random) {
+        return NOW.minusSeconds(random.nextLong(HISTORY_SECONDS));
+    }
+
+    private static LocalDateTime between(LocalDateTime start, LocalDateTime end, SplittableRandom random) {
+        return start.plusSeconds(random.nextLong(ChronoUnit.SECONDS.between(start, end) + 1));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("reWriteBatchedInserts", "true");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        return options.containsKey(name) ? Long.parseLong(options.get(name)) : defaultValue;
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        long write(Connection connection, int from, int to, SplittableRandom random) throws SQLException;
+    }
+}
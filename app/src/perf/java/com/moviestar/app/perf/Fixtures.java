@@ -0,0 +1,124 @@
+package com.moviestar.app.perf;
+
+import com.moviestar.app.model.ActorDTO;
+import com.moviestar.app.model.CommentDTO;
+import com.moviestar.app.model.DirectorDTO;
+import com.moviestar.app.model.GenreDTO;
+import com.moviestar.app.model.MovieDTO;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Synthetic in-memory data and interface stubs for benchmarks. Stubs are plain dynamic proxies
+ * rather than mocks so that the measured code path carries no mocking overhead.
+ */
+public final class Fixtures {
+
+    public static final Object UNSUPPORTED = new Object();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Implements {@code type} by routing every call to {@code handler(methodName, args)}. Methods
+     * the handler does not know should make it return {@link #UNSUPPORTED}.
+     */
+    public static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "stub " + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    Object result = handler.apply(method.getName(), args);
+                    if (result == UNSUPPORTED) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                    return result;
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    public static MovieDTO movie(long id, int genres, int actors, int directors, int filmographySize) {
+        MovieDTO movie = new MovieDTO();
+        movie.setId(id);
+        movie.setTitle("Movie " + id);
+        movie.setDescription("A synthetic description for movie " + id + " used to give the payload a realistic size.");
+        movie.setYear(1950 + (int) (id % 75));
+        movie.setPosterURL("https://images.example.com/posters/" + id + ".jpg");
+        movie.setBackdropURL("https://images.example.com/backdrops/" + id + ".jpg");
+
+        Set<GenreDTO> genreList = new LinkedHashSet<>();
+        for (int g = 0; g < genres; g++) {
+            genreList.add(new GenreDTO((long) g + 1, "Genre " + (g + 1)));
+        }
+        movie.setGenres(genreList);
+
+        Set<ActorDTO> actorList = new LinkedHashSet<>();
+        for (int a = 0; a < actors; a++) {
+            ActorDTO actor = new ActorDTO();
+            actor.setId(id * 100 + a);
+            actor.setName("Actor");
+            actor.setSurname("Number " + a);
+            actor.setBirthDay(new Date(0));
+            actor.setMovies(filmography(filmographySize));
+            actorList.add(actor);
+        }
+        movie.setActors(actorList);
+
+        Set<DirectorDTO> directorList = new LinkedHashSet<>();
+        for (int d = 0; d < directors; d++) {
+            DirectorDTO director = new DirectorDTO();
+            director.setId(id * 10 + d);
+            director.setName("Director");
+            director.setSurname("Number " + d);
+            director.setBirthDay(new Date(0));
+            director.setAbout("Synthetic biography");
+            director.setPictureUrl("https://images.example.com/directors/" + d + ".jpg");
+            director.setMovies(filmography(filmographySize));
+            directorList.add(director);
+        }
+        movie.setDirectors(directorList);
+        return movie;
+    }
+
+    public static List<CommentDTO> comments(long movieId, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<CommentDTO> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CommentDTO comment = new CommentDTO();
+            comment.setId((long) i + 1);
+            comment.setMovieId(movieId);
+            comment.setUsername("user" + random.nextInt(10_000));
+            comment.setComment("Synthetic comment number " + i + " with a few words of text.");
+            comment.setCreatedAt(start.plusMinutes(random.nextInt(500_000)));
+            comment.setLikesCount(random.nextInt(200));
+            comment.setDislikesCount(random.nextInt(50));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    private static Set<MovieDTO> filmography(int size) {
+        Set<MovieDTO> movies = new LinkedHashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            MovieDTO movie = new MovieDTO();
+            movie.setId((long) i + 1);
+            movies.add(movie);
+        }
+        return movies;
+    }
+}
@@ -0,0 +1,173 @@
+package com.moviestar.app.perf;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Compares the JDBC traffic Hibernate generates for a bulk write (admin imports, the batch mode
+ * of {@link DatasetGenerator}) under each id strategy, against a temporary rating-shaped table:
+ * <ul>
+ *     <li>{@code identity}: one {@code INSERT ... RETURNING id} round trip per row, which is all
+ *     Hibernate can do with {@code GenerationType.IDENTITY}</li>
+ *     <li>{@code sequence}: ids from a pooled sequence (one {@code nextval} per 50 rows) but no
+ *     JDBC batching, i.e. {@code hibernate.jdbc.batch_size} unset</li>
+ *     <li>{@code sequence-batched}: the same with {@code executeBatch} every {@code batch-size} rows</li>
+ *     <li>{@code sequence-batched-rewrite}: additionally with the driver's
+ *     {@code reWriteBatchedInserts}, which turns each batch into multi-row inserts</li>
+ * </ul>
+ * Each mode inserts {@code --rows} rows in one transaction per iteration; the best and median
+ * iteration are reported. Options are {@code --name=value}: url, user, password, rows (20,000),
+ * iterations (5), batch-size (50).
+ */
+public final class InsertBatchingBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String INSERT = "INSERT INTO bench_rating (movie_id, rating, username, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_WITH_ID = "INSERT INTO bench_rating (id, movie_id, rating, username, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int rows;
+    private final int iterations;
+    private final int batchSize;
+
+    private InsertBatchingBenchmark(Map<String, String> options) {
+        url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/moviestar");
+        user = options.getOrDefault("user", "postgres");
+        password = options.getOrDefault("password", "postgres");
+        rows = Integer.parseInt(options.getOrDefault("rows", "20000"));
+        iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        batchSize = Integer.parseInt(options.getOrDefault("batch-size", "50"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new InsertBatchingBenchmark(options).run();
+    }
+
+    private void run() throws SQLException {
+        System.out.printf("Inserting %,d rows per iteration, %d iterations, batch size %d%n", rows, iterations, batchSize);
+        System.out.printf("%-26s %12s %12s %14s%n", "mode", "best ms", "median ms", "rows/s (best)");
+        report("identity", false, this::insertIdentity);
+        report("sequence", false, connection -> insertSequence(connection, 1));
+        report("sequence-batched", false, connection -> insertSequence(connection, batchSize));
+        report("sequence-batched-rewrite", true, connection -> insertSequence(connection, batchSize));
+    }
+
+    private void report(String mode, boolean rewrite, Insert insert) throws SQLException {
+        long[] millis = new long[iterations];
+        try (Connection connection = connect(rewrite)) {
+            prepare(connection);
+            // One untimed pass to warm up the JIT, the driver's statement cache and the table
+            insert.run(connection);
+            for (int i = 0; i < iterations; i++) {
+                truncate(connection);
+                long started = System.nanoTime();
+                insert.run(connection);
+                millis[i] = (System.nanoTime() - started) / 1_000_000;
+            }
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-26s %12d %12d %,14d%n", mode, millis[0], millis[iterations / 2],
+                rows * 1000L / Math.max(1, millis[0]));
+    }
+
+    private void insertIdentity(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            for (int row = 0; row < rows; row++) {
+                bind(insert, 1, row);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertSequence(Connection connection, int batch) throws SQLException {
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_rating_seq')");
+             PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+            long nextId = 0;
+            long lastId = -1;
+            for (int row = 0; row < rows; row++) {
+                if (nextId > lastId) {
+                    try (ResultSet result = nextval.executeQuery()) {
+                        result.next();
+                        lastId = result.getLong(1);
+                    }
+                    nextId = lastId - ALLOCATION_SIZE + 1;
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, row);
+                if (batch == 1) {
+                    insert.executeUpdate();
+                } else {
+                    insert.addBatch();
+                    if ((row + 1) % batch == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            if (batch > 1) {
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int first, int row) throws SQLException {
+        insert.setLong(first, 1 + row % 5_000);
+        insert.setInt(first + 1, 1 + row % 10);
+        insert.setString(first + 2, "benchuser" + row);
+        insert.setTimestamp(first + 3, Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(row)));
+    }
+
+    private static void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_rating (id BIGSERIAL PRIMARY KEY, movie_id BIGINT NOT NULL, "
+                    + "rating INT NOT NULL, username VARCHAR(255) NOT NULL, created_at TIMESTAMP)");
+            statement.execute("CREATE TEMP SEQUENCE bench_rating_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    private static void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_rating");
+        }
+        connection.commit();
+    }
+
+    private Connection connect(boolean rewrite) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(rewrite));
+        Connection connection = DriverManager.getConnection(url, properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    @FunctionalInterface
+    private interface Insert {
+        void run(Connection connection) throws SQLException;
+    }
+}
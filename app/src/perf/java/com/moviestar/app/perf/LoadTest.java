@@ -0,0 +1,233 @@
+package com.moviestar.app.perf;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test: {@code --concurrency} clients each send GET requests for a random one
+ * of {@code --paths} back to back, first for {@code --warmup-seconds} (not recorded), then for
+ * {@code --duration-seconds}. Reports throughput, latency percentiles, 503s (refused by the
+ * concurrency limit) and other failures.
+ * <p>
+ * With {@code --jar}, the application is started once per mode in {@code --modes}
+ * ({@code platform}, {@code virtual}: {@code spring.threads.virtual.enabled} off and on), on
+ * {@code --port}, and stopped afterwards; the virtual mode is skipped on a JVM older than 21. Without
+ * it, a running instance at {@code --url} is tested once. Options are {@code --name=value}: url
+ * ({@code http://localhost:8081}), jar, modes (platform,virtual), port (18082), paths
+ * ({@code /api/movies,/api/genres}), concurrency (200), warmup-seconds (10), duration-seconds (30).
+ * Any other option is passed on to the launched application, e.g.
+ * {@code --spring.datasource.hikari.maximum-pool-size=10}.
+ */
+public final class LoadTest {
+
+    private final String url;
+    private final Path jar;
+    private final List<String> modes;
+    private final int port;
+    private final List<String> paths;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final List<String> applicationArgs = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private LoadTest(Map<String, String> options) {
+        url = option(options, "url", "http://localhost:8081");
+        String jarOption = option(options, "jar", null);
+        jar = jarOption != null ? Path.of(jarOption).toAbsolutePath() : null;
+        modes = Arrays.asList(option(options, "modes", "platform,virtual").split(","));
+        port = Integer.parseInt(option(options, "port", "18082"));
+        paths = Arrays.asList(option(options, "paths", "/api/movies,/api/genres").split(","));
+        concurrency = Integer.parseInt(option(options, "concurrency", "200"));
+        warmup = Duration.ofSeconds(Long.parseLong(option(options, "warmup-seconds", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(option(options, "duration-seconds", "30")));
+        options.forEach((name, value) -> applicationArgs.add("--" + name + "=" + value));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("%d clients, %s warm-up, %s measured, paths %s%n", concurrency, warmup, duration, paths);
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s %8s%n",
+                "mode", "requests/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "503s", "errors");
+        if (jar == null) {
+            report("running", measure(url));
+            return;
+        }
+        if (!Files.exists(jar)) {
+            throw new IllegalArgumentException("No jar at " + jar);
+        }
+        for (String mode : modes) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.printf("%-10s skipped (virtual threads need Java 21, this is %s)%n", mode, Runtime.version().feature());
+                continue;
+            }
+            if (!mode.equals("virtual") && !mode.equals("platform")) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected platform or virtual");
+            }
+            Process process = launch(mode.equals("virtual"));
+            try {
+                report(mode, measure("http://localhost:" + port));
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+    }
+
+    private Process launch(boolean virtualThreads) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar.toString(),
+                "--server.port=" + port, "--spring.threads.virtual.enabled=" + virtualThreads));
+        command.addAll(applicationArgs);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        // Ready, not just listening: the startup warm-up has finished
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return process;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        process.destroy();
+        throw new IllegalStateException("Application not ready within 5 minutes: " + command);
+    }
+
+    private Result measure(String baseUrl) throws InterruptedException {
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Accept", "application/json")
+                        .build())
+                .toList();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Client[] clients = new Client[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Client worker = new Client(requests, new SplittableRandom(i), measureFrom, end, done);
+            clients[i] = worker;
+            Thread thread = new Thread(worker, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        Histogram latencies = new Histogram(TimeUnit.SECONDS.toNanos(60), 3);
+        long rejected = 0;
+        long errors = 0;
+        for (Client worker : clients) {
+            latencies.add(worker.latencies);
+            rejected += worker.rejected;
+            errors += worker.errors;
+        }
+        return new Result(latencies, rejected, errors);
+    }
+
+    private void report(String mode, Result result) {
+        Histogram latencies = result.latencies();
+        System.out.printf("%-10s %12.1f %10.1f %10.1f %10.1f %10.1f %8d %8d%n",
+                mode,
+                latencies.getTotalCount() / (double) duration.toSeconds(),
+                millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                result.rejected(), result.errors());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private record Result(Histogram latencies, long rejected, long errors) {
+    }
+
+    // Successful responses are timed; 503s and failures are only counted
+    private final class Client implements Runnable {
+
+        private final List<HttpRequest> requests;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long end;
+        private final CountDownLatch done;
+        private final Histogram latencies = new Histogram(TimeUnit.SECONDS.toNanos(60), 3);
+        private long rejected;
+        private long errors;
+
+        private Client(List<HttpRequest> requests, SplittableRandom random, long measureFrom, long end, CountDownLatch done) {
+            this.requests = requests;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    HttpRequest request = requests.get(random.nextInt(requests.size()));
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long finished = System.nanoTime();
+                    if (now < measureFrom) {
+                        continue;
+                    }
+                    if (status >= 200 && status < 300) {
+                        latencies.recordValue(Math.min(finished - now, latencies.getHighestTrackableValue()));
+                    } else if (status == 503) {
+                        rejected++;
+                    } else {
+                        errors++;
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.moviestar.app.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time to first request: how long after {@code java} is launched {@code GET /api/genres}
+ * first answers 200. Each mode starts the application {@code --runs} times in a fresh JVM:
+ * <ul>
+ *     <li>{@code jar}: the executable jar, as built by a plain {@code mvn package}</li>
+ *     <li>{@code extracted}: the jar extracted by the {@code fast-startup} profile</li>
+ *     <li>{@code extracted-aot}: the same with the AOT-generated initializers ({@code -Dspring.aot.enabled=true})</li>
+ *     <li>{@code extracted-aot-cds}: additionally with the CDS archive from the profile's training run</li>
+ * </ul>
+ * The {@code extracted*} modes need {@code mvn -Pfast-startup package} first. Besides the time to
+ * first request, the time Spring reports in its {@code Started ... in} line is shown. The best and
+ * median run are reported per mode. Options are {@code --name=value}: jar
+ * ({@code target/app-0.0.1-SNAPSHOT.jar}), cds-directory ({@code target/cds}), runs (5), port
+ * (18081), timeout-seconds (120), modes (all, comma-separated). Any other option is passed on to
+ * the application, e.g. {@code --spring.datasource.url=...}.
+ */
+public final class StartupBenchmark {
+
+    private static final List<String> MODES = List.of("jar", "extracted", "extracted-aot", "extracted-aot-cds");
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Path jar;
+    private final Path cdsDirectory;
+    private final int runs;
+    private final int port;
+    private final Duration timeout;
+    private final List<String> modes;
+    private final List<String> applicationArgs = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Map<String, String> options) {
+        // Absolute, since a CDS archive only maps for the class path it was created with
+        jar = Path.of(option(options, "jar", "target/app-0.0.1-SNAPSHOT.jar")).toAbsolutePath();
+        cdsDirectory = Path.of(option(options, "cds-directory", "target/cds")).toAbsolutePath();
+        runs = Integer.parseInt(option(options, "runs", "5"));
+        port = Integer.parseInt(option(options, "port", "18081"));
+        timeout = Duration.ofSeconds(Long.parseLong(option(options, "timeout-seconds", "120")));
+        modes = Arrays.asList(option(options, "modes", String.join(",", MODES)).split(","));
+        options.forEach((name, value) -> applicationArgs.add("--" + name + "=" + value));
+        applicationArgs.add("--server.port=" + port);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new StartupBenchmark(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Time to first GET /api/genres, %d runs per mode%n", runs);
+        System.out.printf("%-20s %12s %14s %16s %18s%n", "mode", "best ms", "median ms", "started best s", "started median s");
+        for (String mode : modes) {
+            List<String> command = command(mode);
+            if (command == null) {
+                System.out.printf("%-20s skipped (run mvn -Pfast-startup package first)%n", mode);
+                continue;
+            }
+            long[] millis = new long[runs];
+            double[] started = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                Result result = launch(command);
+                millis[i] = result.millis();
+                started[i] = result.startedSeconds();
+            }
+            Arrays.sort(millis);
+            Arrays.sort(started);
+            System.out.printf("%-20s %12d %14d %16.2f %18.2f%n", mode, millis[0], millis[runs / 2], started[0], started[runs / 2]);
+        }
+    }
+
+    private List<String> command(String mode) {
+        Path extracted = cdsDirectory.resolve(jar.getFileName());
+        Path archive = cdsDirectory.resolve("app.jsa");
+        List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        switch (mode) {
+            case "jar" -> {
+                if (!Files.exists(jar)) {
+                    return null;
+                }
+                command.addAll(List.of("-jar", jar.toString()));
+            }
+            case "extracted" -> {
+                if (!Files.exists(extracted)) {
+                    return null;
+                }
+                command.addAll(List.of("-jar", extracted.toString()));
+            }
+            case "extracted-aot" -> {
+                if (!Files.exists(extracted)) {
+                    return null;
+                }
+                command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extracted.toString()));
+            }
+            case "extracted-aot-cds" -> {
+                if (!Files.exists(extracted) || !Files.exists(archive)) {
+                    return null;
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true", "-jar", extracted.toString()));
+            }
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES);
+        }
+        command.addAll(applicationArgs);
+        return command;
+    }
+
+    private Result launch(List<String> command) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/genres"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        AtomicLong startedMillis = new AtomicLong(-1);
+        Thread output = new Thread(() -> drain(process, startedMillis), "startup-benchmark-output");
+        output.setDaemon(true);
+        output.start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " before answering: " + command);
+                }
+                if (System.nanoTime() - launched > timeout.toNanos()) {
+                    throw new IllegalStateException("No answer within " + timeout + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = (System.nanoTime() - launched) / 1_000_000;
+                        // The web server answers before Spring logs its startup time
+                        for (int i = 0; i < 500 && startedMillis.get() < 0; i++) {
+                            Thread.sleep(10);
+                        }
+                        return new Result(millis, startedMillis.get() / 1000.0);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static void drain(Process process, AtomicLong startedMillis) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    startedMillis.set(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                }
+            }
+        } catch (IOException e) {
+            // The process is gone
+        }
+    }
+
+    private record Result(long millis, double startedSeconds) {
+    }
+}
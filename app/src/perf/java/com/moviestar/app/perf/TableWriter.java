@@ -0,0 +1,129 @@
+package com.moviestar.app.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Appends rows to one table over one connection, either through {@code COPY ... FROM STDIN} or
+ * through batched {@code INSERT}s. The caller owns the connection and its transaction.
+ */
+abstract class TableWriter implements AutoCloseable {
+
+    abstract void row(Object... values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    static TableWriter open(Connection connection, boolean copy, String table, String... columns) throws SQLException {
+        return copy ? new Copy(connection, table, columns) : new Batch(connection, table, columns);
+    }
+
+    private static final class Copy extends TableWriter {
+
+        private static final int FLUSH_BYTES = 1 << 20;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+
+        Copy(Connection connection, String table, String[] columns) throws SQLException {
+            String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                append(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        private void append(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                buffer.append('"');
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"') {
+                        buffer.append('"');
+                    }
+                    buffer.append(c);
+                }
+                buffer.append('"');
+            } else if (value instanceof Boolean flag) {
+                buffer.append(flag ? 't' : 'f');
+            } else if (value instanceof LocalDateTime time) {
+                buffer.append(time.toLocalDate()).append(' ').append(time.toLocalTime());
+            } else {
+                buffer.append(value);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            flush();
+            copyIn.endCopy();
+        }
+    }
+
+    private static final class Batch extends TableWriter {
+
+        private static final int BATCH_SIZE = 1000;
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String table, String[] columns) throws SQLException {
+            String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+            statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")");
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
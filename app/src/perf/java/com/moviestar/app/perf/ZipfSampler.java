@@ -0,0 +1,84 @@
+package com.moviestar.app.perf;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples indexes {@code 0..n-1} with probability proportional to {@code 1 / rank^exponent}. Ranks
+ * are assigned through a seeded permutation, so the most popular items are scattered over the id
+ * range instead of all being the lowest ids. Instances are immutable and safe to share between
+ * threads; each caller brings its own random source.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] itemByRank;
+
+    ZipfSampler(int n, double exponent, long seed) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one item");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += weight(rank, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        itemByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            itemByRank[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+    }
+
+    int size() {
+        return itemByRank.length;
+    }
+
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return itemByRank[Math.min(rank, itemByRank.length - 1)];
+    }
+
+    /**
+     * Splits {@code total} over {@code n} items by the same power law, in item order (not rank
+     * order). Every item gets at least {@code min} and at most {@code max}; the sum is therefore
+     * only approximately {@code total}.
+     */
+    static int[] allocate(int n, double exponent, long total, int min, int max, long seed) {
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += weight(rank, exponent);
+        }
+        int[] counts = new int[n];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int rank = 0; rank < n; rank++) {
+            double expected = total * weight(rank, exponent) / sum;
+            long count = (long) expected + (random.nextDouble() < expected - Math.floor(expected) ? 1 : 0);
+            counts[rank] = (int) Math.max(min, Math.min(max, count));
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = counts[i];
+            counts[i] = counts[j];
+            counts[j] = swap;
+        }
+        return counts;
+    }
+
+    private static double weight(int rank, double exponent) {
+        return 1.0 / Math.pow(rank + 1, exponent);
+    }
+}
@@ -0,0 +1,91 @@
+package com.moviestar.app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.observability.AppMetrics;
+import com.moviestar.app.perf.Fixtures;
+import com.moviestar.app.repository.UserRepository;
+import com.moviestar.app.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request work of {@link BannedUserFilter}. The user repository is an in-memory
+ * stub, so the numbers cover the filter's own overhead (claim extraction, user upsert logic and
+ * the ban response) rather than database latency.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+// Thread scope keeps the security context (a thread local) on the thread that runs the benchmark
+@State(Scope.Thread)
+public class BannedUserFilterBenchmark {
+
+    @Param({"anonymous", "active", "banned"})
+    public String caller;
+
+    private BannedUserFilter filter;
+    private MockHttpServletRequest request;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setUsername("benchuser");
+        user.setEmail("bench@example.com");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setStatus("banned".equals(caller) ? UserDTO.UserStatus.BANNED : UserDTO.UserStatus.ACTIVE);
+
+        UserRepository userRepository = Fixtures.stub(UserRepository.class, (method, args) -> switch (method) {
+            case "findByUsername", "findByUsernamePreferExactCase" -> Optional.of(user);
+            case "save" -> args[0];
+            default -> Fixtures.UNSUPPORTED;
+        });
+        filter = new BannedUserFilter(new UserService(userRepository), new ObjectMapper(),
+                new AppMetrics(new SimpleMeterRegistry()));
+        request = new MockHttpServletRequest("GET", "/api/watchlist");
+
+        if ("anonymous".equals(caller)) {
+            SecurityContextHolder.clearContext();
+        } else {
+            Jwt jwt = Jwt.withTokenValue("token")
+                    .header("alg", "RS256")
+                    .claim("preferred_username", "benchuser")
+                    .claim("email", "bench@example.com")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .build();
+            SecurityContextHolder.getContext().setAuthentication(
+                    new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")), "benchuser"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws Exception {
+        // A fresh response per call, as in a real request; the banned case writes its JSON body into it
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,52 @@
+package com.moviestar.app.service;
+
+import com.moviestar.app.model.CommentDTO;
+import com.moviestar.app.model.Response.CommentResponse;
+import com.moviestar.app.observability.AppMetrics;
+import com.moviestar.app.perf.Fixtures;
+import com.moviestar.app.repository.CommentLikeRepository;
+import com.moviestar.app.repository.CommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CommentServiceBenchmark {
+
+    @Param({"10", "500"})
+    public int commentCount;
+
+    @Param({"newest", "likes", "default"})
+    public String sortBy;
+
+    private CommentService commentService;
+
+    @Setup
+    public void setUp() {
+        List<CommentDTO> byInsertion = Fixtures.comments(1L, commentCount, 7L);
+        List<CommentDTO> byLikes = byInsertion.stream()
+                .sorted(Comparator.comparing(CommentDTO::getLikesCount).reversed())
+                .toList();
+        CommentRepository commentRepository = Fixtures.stub(CommentRepository.class, (method, args) -> switch (method) {
+            case "getCommentDTOByMovieId" -> byInsertion;
+            case "getCommentsByMovieIdOrderByLikesDesc" -> byLikes;
+            default -> Fixtures.UNSUPPORTED;
+        });
+        commentService = new CommentService(commentRepository,
+                Fixtures.stub(CommentLikeRepository.class, (method, args) -> Fixtures.UNSUPPORTED),
+                new AppMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public List<CommentResponse> getCommentsByMovieIdSorted() {
+        return commentService.getCommentsByMovieIdSorted(1L, sortBy);
+    }
+}
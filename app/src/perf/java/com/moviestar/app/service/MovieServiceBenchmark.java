@@ -0,0 +1,85 @@
+package com.moviestar.app.service;
+
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.model.RatingDTO;
+import com.moviestar.app.model.Response.MovieResponse;
+import com.moviestar.app.perf.Fixtures;
+import com.moviestar.app.repository.ActorRepository;
+import com.moviestar.app.repository.DirectorRepository;
+import com.moviestar.app.repository.GenreRepository;
+import com.moviestar.app.repository.MovieRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MovieServiceBenchmark {
+
+    @Param({"5", "50"})
+    public int castSize;
+
+    @Param({"10", "200"})
+    public int filmographySize;
+
+    private MovieService movieService;
+    private MovieDTO movie;
+
+    @Setup
+    public void setUp() {
+        movieService = new MovieService(
+                Fixtures.stub(MovieRepository.class, (method, args) -> Fixtures.UNSUPPORTED),
+                Fixtures.stub(ActorRepository.class, (method, args) -> Fixtures.UNSUPPORTED),
+                Fixtures.stub(GenreRepository.class, (method, args) -> Fixtures.UNSUPPORTED),
+                new FixedRatingService(),
+                Fixtures.stub(DirectorRepository.class, (method, args) -> Fixtures.UNSUPPORTED),
+                event -> { });
+        movie = Fixtures.movie(42L, 3, castSize, 2, filmographySize);
+    }
+
+    @Benchmark
+    public MovieResponse convertToResponse() {
+        return movieService.convertToResponse(movie);
+    }
+
+    /**
+     * Stands in for the cached rating lookups, which are served from the cache on the hot path.
+     */
+    private static final class FixedRatingService implements RatingService {
+        @Override
+        public void addRating(RatingDTO ratingDTO, String username) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double getAverageRatingForMovie(Long movieId) {
+            return 7.4;
+        }
+
+        @Override
+        public long getRatingCountForMovie(Long movieId) {
+            return 1234;
+        }
+
+        @Override
+        public Optional<Integer> getUserRatingForMovie(Long movieId, String username) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void removeRating(Long movieId, String username) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RatingDTO> getUserRatings(String username) {
+            return List.of();
+        }
+    }
+}
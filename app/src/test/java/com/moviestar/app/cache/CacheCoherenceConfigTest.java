@@ -0,0 +1,93 @@
+package com.moviestar.app.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheCoherenceConfigTest {
+
+    @Mock
+    private CacheInvalidationBus bus;
+
+    private ConcurrentMapCacheManager target;
+    private CacheCoherenceConfig.CoherentCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        target = new ConcurrentMapCacheManager("movies");
+        target.getCache("movies").put(1L, "Heat");
+        target.getCache("movies").put(2L, "Ronin");
+        cacheManager = new CacheCoherenceConfig.CoherentCacheManager(target, bus);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictionOutsideATransactionIsAppliedAndPublished() {
+        cacheManager.getCache("movies").evict(1L);
+
+        assertNull(target.getCache("movies").get(1L));
+        verify(bus).publish("movies", 1L);
+    }
+
+    @Test
+    void evictionInsideATransactionWaitsForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheManager.getCache("movies").evict(1L);
+        cacheManager.getCache("movies").clear();
+
+        assertNotNull(target.getCache("movies").get(1L));
+        verifyNoInteractions(bus);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(target.getCache("movies").get(2L));
+        verify(bus).publish("movies", 1L);
+        verify(bus).publish("movies", null);
+    }
+
+    @Test
+    void putsAreNotPublished() {
+        cacheManager.getCache("movies").put(3L, "Thief");
+
+        assertEquals("Thief", target.getCache("movies").get(3L, String.class));
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    void remoteInvalidationsAreAppliedWithoutBeingPublished() {
+        cacheManager.evict("movies", 1L);
+        assertNull(target.getCache("movies").get(1L));
+
+        cacheManager.clearAll();
+        assertNull(target.getCache("movies").get(2L));
+
+        cacheManager.clear("unknown");
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    void unknownCachesStayUnknown() {
+        ConcurrentMapCacheManager fixed = new ConcurrentMapCacheManager("movies");
+        Cache cache = new CacheCoherenceConfig.CoherentCacheManager(fixed, bus).getCache("genres");
+
+        assertNull(cache);
+    }
+}
@@ -0,0 +1,118 @@
+package com.moviestar.app.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationBus.Listener listener;
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        // A long window keeps the flusher out of the way; the tests drain by hand
+        bus = new CacheInvalidationBus(jdbcTemplate, objectMapper, "cache_test", Duration.ofHours(1), Duration.ofSeconds(1),
+                "jdbc:postgresql://localhost/none", "user", "password");
+        bus.addListener(listener);
+    }
+
+    @Test
+    void invalidationsAreCoalescedPerRegionAndKey() throws Exception {
+        bus.publish("movies", 1L);
+        bus.publish("movies", 1L);
+        bus.publish("movies", 2L);
+        bus.publish("moviesByTitle", "Heat");
+
+        List<String> payloads = bus.drain();
+
+        assertEquals(1, payloads.size());
+        JsonNode regions = objectMapper.readTree(payloads.get(0)).get("regions");
+        assertEquals("[\"L:1\",\"L:2\"]", regions.get("movies").toString());
+        assertEquals("[\"S:Heat\"]", regions.get("moviesByTitle").toString());
+        assertEquals(List.of(), bus.drain());
+    }
+
+    @Test
+    void clearingARegionSubsumesItsKeys() throws Exception {
+        bus.publish("movies", 1L);
+        bus.publish("movies", null);
+        bus.publish("movies", 2L);
+
+        JsonNode regions = objectMapper.readTree(bus.drain().get(0)).get("regions");
+
+        assertEquals("[\"*\"]", regions.get("movies").toString());
+    }
+
+    @Test
+    void keysOfOtherTypesClearTheRegion() throws Exception {
+        bus.publish("movies", List.of(1L));
+
+        JsonNode regions = objectMapper.readTree(bus.drain().get(0)).get("regions");
+
+        assertEquals("[\"*\"]", regions.get("movies").toString());
+    }
+
+    @Test
+    void largeBatchesAreSplitBelowThePayloadLimit() throws Exception {
+        for (long id = 0; id < 2_000; id++) {
+            bus.publish("movies", id);
+        }
+
+        List<String> payloads = bus.drain();
+
+        assertTrue(payloads.size() > 1);
+        int keys = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < CacheInvalidationBus.MAX_PAYLOAD_BYTES);
+            keys += objectMapper.readTree(payload).get("regions").get("movies").size();
+        }
+        assertEquals(2_000, keys);
+    }
+
+    @Test
+    void notificationsFromOtherInstancesAreApplied() {
+        bus.receive("{\"node\":\"other\",\"regions\":{\"movies\":[\"L:7\",\"*\"],\"moviesByTitle\":[\"S:Heat\"]}}");
+
+        verify(listener).evict("movies", 7L);
+        verify(listener).clear("movies");
+        verify(listener).evict("moviesByTitle", "Heat");
+        assertEquals(1L, bus.stats().get("received"));
+    }
+
+    @Test
+    void ownNotificationsAreSkipped() {
+        bus.publish("movies", 7L);
+
+        bus.receive(bus.drain().get(0));
+
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void malformedNotificationsAreIgnored() {
+        bus.receive("not json");
+
+        verifyNoInteractions(listener);
+    }
+}
@@ -0,0 +1,86 @@
+package com.moviestar.app.cache;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.model.ActorDTO;
+import com.moviestar.app.model.MovieDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MovieCardCacheTest {
+
+    @Test
+    void cardsAreDroppedWithTheirMovieOrAllAtOnce() {
+        MovieCardCache cards = cache(Duration.ZERO);
+        put(cards, 1);
+        put(cards, 2);
+
+        cards.onRatingChanged(new RatingChangedEvent(1L, "user"));
+        assertNull(cards.acquire(1));
+        assertNotNull(cards.acquire(2));
+
+        put(cards, 1);
+        cards.onAssociationsChanged(MovieAssociationsChangedEvent.allMovies());
+        assertNull(cards.acquire(1));
+        assertNull(cards.acquire(2));
+    }
+
+    @Test
+    void invalidationsFromOtherInstancesDropTheCardsTheyConcern() {
+        MovieCardCache cards = cache(Duration.ZERO);
+        put(cards, 1);
+        put(cards, 2);
+
+        cards.evict("movieRatingAverage", 1L);
+        assertNull(cards.acquire(1));
+        cards.evict("moviesByTitle", "Heat");
+        cards.evict("hibernate:" + MovieDTO.class.getName(), 3L);
+        assertNotNull(cards.acquire(2));
+
+        cards.evict("hibernate:" + ActorDTO.class.getName(), 9L);
+        assertNull(cards.acquire(2));
+    }
+
+    @Test
+    void cardsRenderedAcrossAnInvalidationAreNotStored() {
+        MovieCardCache cards = cache(Duration.ZERO);
+        long stamp = cards.stamp();
+        cards.invalidate(7L);
+
+        assertFalse(cards.put(1, card(), stamp));
+        assertTrue(cards.put(1, card(), cards.stamp()));
+    }
+
+    @Test
+    void nothingIsStoredWhileAnInvalidationSettles() {
+        MovieCardCache cards = cache(Duration.ofHours(1));
+        assertTrue(cards.put(1, card(), cards.stamp()));
+
+        cards.invalidate(7L);
+
+        assertEquals(-1, cards.stamp());
+        assertFalse(cards.put(1, card(), cards.stamp()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MovieCardCache cache(Duration settleTime) {
+        return new MovieCardCache(mock(EntityManagerFactory.class), mock(ObjectProvider.class),
+                DataSize.ofKilobytes(64), DataSize.ofKilobytes(16), settleTime);
+    }
+
+    private static void put(MovieCardCache cards, long movieId) {
+        assertTrue(cards.put(movieId, card(), cards.stamp()));
+    }
+
+    private static byte[] card() {
+        return "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.moviestar.app.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MovieCardFilterTest {
+
+    private MovieCardCache cards;
+    private MovieCardFilter filter;
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cards = new MovieCardCache(mock(EntityManagerFactory.class), mock(ObjectProvider.class),
+                DataSize.ofKilobytes(64), DataSize.ofKilobytes(16), Duration.ZERO);
+        filter = new MovieCardFilter(cards);
+    }
+
+    @Test
+    void aRenderedCardIsServedFromTheCacheAfterwards() throws Exception {
+        MockHttpServletResponse first = get("/api/movies/5", movieServlet(200, "application/json"));
+        assertEquals("miss", first.getHeader(MovieCardFilter.CARD_HEADER));
+        assertEquals("{\"id\":5,\"title\":\"Heat\"}", first.getContentAsString());
+
+        MockHttpServletResponse second = get("/api/movies/5", movieServlet(200, "application/json"));
+        assertEquals("hit", second.getHeader(MovieCardFilter.CARD_HEADER));
+        assertEquals(200, second.getStatus());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("{\"id\":5,\"title\":\"Heat\"}", second.getContentAsString());
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void failuresAndOtherPathsAreNotStored() throws Exception {
+        get("/api/movies/5", movieServlet(404, "application/json"));
+        assertNull(cards.acquire(5));
+
+        MockHttpServletResponse search = get("/api/movies/search", movieServlet(200, "application/json"));
+        assertNull(search.getHeader(MovieCardFilter.CARD_HEADER));
+        get("/api/movies/5/comments", movieServlet(200, "application/json"));
+        assertNull(cards.acquire(5));
+    }
+
+    private HttpServlet movieServlet(int status, String contentType) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                rendered.incrementAndGet();
+                response.setStatus(status);
+                response.setContentType(contentType);
+                response.getWriter().write("{\"id\":5,\"title\":\"Heat\"}");
+            }
+        };
+    }
+
+    private MockHttpServletResponse get(String path, HttpServlet servlet) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
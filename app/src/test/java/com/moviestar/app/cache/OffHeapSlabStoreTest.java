@@ -0,0 +1,143 @@
+package com.moviestar.app.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSlabStoreTest {
+
+    private static final int SLAB_SIZE = 4096;
+
+    @Test
+    void valuesAreReadBackAndReplaced() {
+        OffHeapSlabStore store = new OffHeapSlabStore(4 * SLAB_SIZE, SLAB_SIZE);
+
+        assertTrue(store.put(42, bytes("first")));
+        assertTrue(store.put(-7, bytes("negative")));
+        assertEquals("first", read(store, 42));
+        assertTrue(store.put(42, bytes("second, and longer than the first")));
+
+        assertEquals("second, and longer than the first", read(store, 42));
+        assertEquals("negative", read(store, -7));
+        assertNull(store.acquire(1));
+        assertEquals(2, store.size());
+        assertEquals(1, store.stats().misses());
+
+        assertTrue(store.remove(42));
+        assertFalse(store.remove(42));
+        assertNull(store.acquire(42));
+        store.clear();
+        assertNull(store.acquire(-7));
+        assertEquals(0, store.stats().usedBytes());
+    }
+
+    @Test
+    void theIndexKeepsEveryKeyThroughGrowthAndRemovals() {
+        OffHeapSlabStore store = new OffHeapSlabStore(1024 * SLAB_SIZE, SLAB_SIZE);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(5_000) * 1024L;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key) != null, store.remove(key));
+            } else {
+                String value = "value " + i;
+                assertTrue(store.put(key, bytes(value)));
+                expected.put(key, value);
+            }
+        }
+        assertEquals(expected.size(), store.size());
+        expected.forEach((key, value) -> assertEquals(value, read(store, key)));
+    }
+
+    @Test
+    void recentlyReadEntriesSurviveEviction() {
+        // One slab of 256-byte chunks holds 16 entries
+        OffHeapSlabStore store = new OffHeapSlabStore(SLAB_SIZE, SLAB_SIZE);
+        for (long key = 0; key < 16; key++) {
+            assertTrue(store.put(key, new byte[100]));
+        }
+        read(store, 3);
+        read(store, 9);
+
+        assertTrue(store.put(16, new byte[100]));
+        assertTrue(store.put(17, new byte[100]));
+
+        assertEquals(16, store.size());
+        assertEquals(2, store.stats().evictions());
+        assertNotNull(store.acquire(3));
+        assertNotNull(store.acquire(9));
+        assertNull(store.acquire(0));
+        assertNull(store.acquire(1));
+    }
+
+    @Test
+    void pinnedEntriesAreNeitherEvictedNorOverwritten() {
+        OffHeapSlabStore store = new OffHeapSlabStore(SLAB_SIZE, SLAB_SIZE);
+        byte[] original = new byte[100];
+        original[0] = 1;
+        store.put(1, original);
+        OffHeapSlabStore.Entry pinned = store.acquire(1);
+
+        store.put(1, new byte[100]);
+        for (long key = 2; key < 200; key++) {
+            store.put(key, new byte[100]);
+        }
+        assertEquals(1, pinned.value().get(0));
+
+        pinned.close();
+        pinned.close();
+        for (long key = 200; key < 400; key++) {
+            assertTrue(store.put(key, new byte[100]));
+        }
+    }
+
+    @Test
+    void aFullStoreMovesSlabsToTheSizesInDemand() {
+        OffHeapSlabStore store = new OffHeapSlabStore(2 * SLAB_SIZE, SLAB_SIZE);
+        store.put(1, new byte[100]);
+        store.put(2, new byte[3000]);
+
+        assertTrue(store.put(3, new byte[1500]));
+
+        assertEquals(2, store.size());
+        assertNotNull(store.acquire(3));
+        assertFalse(store.put(4, new byte[SLAB_SIZE]));
+        assertEquals(1, store.stats().rejections());
+    }
+
+    @Test
+    void leftoverBytesInFreeChunksDoNotPinASlab() {
+        OffHeapSlabStore store = new OffHeapSlabStore(SLAB_SIZE, SLAB_SIZE);
+        byte[] filler = new byte[SLAB_SIZE - 100];
+        Arrays.fill(filler, (byte) 0xFF);
+        assertTrue(store.put(1, filler));
+        // Split into small chunks whose headers fall on the old value's bytes
+        assertTrue(store.put(2, new byte[100]));
+
+        assertTrue(store.put(3, new byte[2000]));
+
+        assertNull(store.acquire(2));
+        assertNotNull(store.acquire(3));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(OffHeapSlabStore store, long key) {
+        try (OffHeapSlabStore.Entry entry = store.acquire(key)) {
+            ByteBuffer value = entry.value();
+            byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
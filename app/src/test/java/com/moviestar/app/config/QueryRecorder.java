@@ -0,0 +1,91 @@
+package com.moviestar.app.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements issued by the current thread between {@link #start()} and
+ * {@link Recording#stop()}, together with the rows read from each statement's result set.
+ * Statements from other threads (scheduled jobs, index builders) are not recorded, so a recording
+ * around a MockMvc call covers exactly that request.
+ */
+public final class QueryRecorder {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private QueryRecorder() {
+    }
+
+    public static Recording start() {
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void statementExecuted(String sql, int batchSize) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.statements.add(new RecordedStatement(sql, batchSize));
+        }
+    }
+
+    static void rowRead() {
+        Recording recording = CURRENT.get();
+        if (recording != null && !recording.statements.isEmpty()) {
+            recording.statements.get(recording.statements.size() - 1).rows++;
+        }
+    }
+
+    public static final class Recording {
+
+        private final List<RecordedStatement> statements = new ArrayList<>();
+
+        public void stop() {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+
+        public int statementCount() {
+            return statements.size();
+        }
+
+        public long rowCount() {
+            return statements.stream().mapToLong(statement -> statement.rows).sum();
+        }
+
+        public List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        public String describe() {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < statements.size(); i++) {
+                RecordedStatement statement = statements.get(i);
+                description.append(String.format("%n  %3d. [%d rows%s] %s", i + 1, statement.rows,
+                        statement.batchSize > 1 ? ", batch of " + statement.batchSize : "", statement.sql));
+            }
+            return description.toString();
+        }
+    }
+
+    public static final class RecordedStatement {
+
+        private final String sql;
+        private final int batchSize;
+        private long rows;
+
+        private RecordedStatement(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public long rows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.moviestar.app.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+
+/**
+ * Wraps the application's {@link DataSource} in a datasource-proxy that reports every executed
+ * statement and every row read to {@link QueryRecorder}.
+ */
+@TestConfiguration
+public class QueryRecordingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryRecordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .proxyResultSet()
+                        .afterQuery((execution, queries) -> queries.forEach(query ->
+                                QueryRecorder.statementExecuted(query.getQuery(), execution.getBatchSize())))
+                        .afterMethod(context -> {
+                            if (context.getTarget() instanceof ResultSet
+                                    && "next".equals(context.getMethod().getName())
+                                    && Boolean.TRUE.equals(context.getResult())) {
+                                QueryRecorder.rowRead();
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+}
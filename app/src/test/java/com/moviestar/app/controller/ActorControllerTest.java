@@ -1,7 +1,12 @@
 package com.moviestar.app.controller;
 
 import com.moviestar.app.model.Response.ActorResponse;
+import com.moviestar.app.model.Response.CollaborationPathResponse;
+import com.moviestar.app.model.Response.CollaborationStepResponse;
+import com.moviestar.app.model.Response.CollaboratorResponse;
 import com.moviestar.app.service.ActorService;
+import com.moviestar.app.service.graph.CollaborationGraphService;
+import com.moviestar.app.service.graph.PersonType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +23,7 @@ import java.util.Date;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -30,6 +36,9 @@ public class ActorControllerTest {
     @Mock
     private ActorService actorService;
 
+    @Mock
+    private CollaborationGraphService collaborationGraphService;
+
     @InjectMocks
     private ActorController actorController;
 
@@ -147,4 +156,50 @@ public class ActorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.pictureUrl").value("http://example.com/john_doe.jpg"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCollaborators_FiltersByType() throws Exception {
+        when(collaborationGraphService.topCollaborators(PersonType.ACTOR, 1L, PersonType.DIRECTOR, 5))
+                .thenReturn(List.of(CollaboratorResponse.builder().type("director").id(7L).sharedMovies(3).build()));
+
+        mockMvc.perform(get("/api/actors/1/collaborators").param("type", "director").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("director"))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].sharedMovies").value(3));
+    }
+
+    @Test
+    void getCollaborators_UnknownType_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/actors/1/collaborators").param("type", "writer"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(collaborationGraphService);
+    }
+
+    @Test
+    void getCollaborationPath_ToActor() throws Exception {
+        CollaborationPathResponse path = CollaborationPathResponse.builder()
+                .degrees(1)
+                .path(List.of(
+                        CollaborationStepResponse.builder().type("actor").id(1L).build(),
+                        CollaborationStepResponse.builder().type("actor").id(2L).viaMovieId(10L).build()))
+                .build();
+        when(collaborationGraphService.shortestPath(PersonType.ACTOR, 1L, PersonType.ACTOR, 2L, 6)).thenReturn(path);
+
+        mockMvc.perform(get("/api/actors/1/collaboration-path").param("toActor", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.degrees").value(1))
+                .andExpect(jsonPath("$.path[1].viaMovieId").value(10));
+    }
+
+    @Test
+    void getCollaborationPath_RequiresExactlyOneTarget() throws Exception {
+        mockMvc.perform(get("/api/actors/1/collaboration-path"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/actors/1/collaboration-path").param("toActor", "2").param("toDirector", "3"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(collaborationGraphService);
+    }
+}
@@ -5,6 +5,11 @@ import com.moviestar.app.service.DirectorService;
 import com.moviestar.app.service.MovieService;
 import com.moviestar.app.service.GenreService;
 import com.moviestar.app.service.CommentService;
+import com.moviestar.app.model.Response.CatalogImportResponse;
+import com.moviestar.app.model.Response.MovieLinksResponse;
+import com.moviestar.app.service.MovieLinkService;
+import com.moviestar.app.service.catalogimport.CatalogImportService;
+import com.moviestar.app.service.catalogimport.ImportFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +19,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +44,12 @@ public class AdminControllerTest {
     
     @Mock
     private CommentService commentService;
+
+    @Mock
+    private CatalogImportService catalogImportService;
+
+    @Mock
+    private MovieLinkService movieLinkService;
     
     @InjectMocks
     private AdminController adminController;
@@ -66,4 +81,51 @@ public class AdminControllerTest {
                
         verify(commentService).deleteAllUserComments(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    void importMoviesQueuesAJob() throws Exception {
+        CatalogImportResponse job = CatalogImportResponse.builder().id("job-1").format("CSV").status("QUEUED").build();
+        when(catalogImportService.submit(eq(ImportFormat.CSV), any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/admin/movies/import")
+                        .contentType("text/csv")
+                        .content("title,year\nHeat,1995\n"))
+               .andExpect(status().isAccepted())
+               .andExpect(header().string("Location", "/api/admin/movies/import/job-1"))
+               .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void importMoviesRejectsUnknownFormats() throws Exception {
+        mockMvc.perform(post("/api/admin/movies/import")
+                        .contentType("application/xml")
+                        .content("<movies/>"))
+               .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(catalogImportService);
+    }
+
+    @Test
+    void linkMoviesInBulk() throws Exception {
+        MovieLinksResponse response = MovieLinksResponse.builder()
+                .association("actors").requested(2).changed(1).changedMovieIds(List.of(7L)).build();
+        when(movieLinkService.link(eq(MovieLinkService.Association.ACTORS), any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/admin/movies/links/actors")
+                        .contentType("application/json")
+                        .content("{\"links\":[{\"movieId\":7,\"id\":1},{\"movieId\":7,\"id\":2}]}"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.changed").value(1))
+               .andExpect(jsonPath("$.changedMovieIds[0]").value(7));
+    }
+
+    @Test
+    void unlinkMoviesRejectsUnknownAssociations() throws Exception {
+        mockMvc.perform(delete("/api/admin/movies/links/writers")
+                        .contentType("application/json")
+                        .content("{\"links\":[{\"movieId\":7,\"id\":1}]}"))
+               .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(movieLinkService);
+    }
+}
@@ -0,0 +1,88 @@
+package com.moviestar.app.controller;
+
+import com.moviestar.app.service.catalogexport.CatalogExportService;
+import com.moviestar.app.service.catalogexport.ExportDataset;
+import com.moviestar.app.service.catalogexport.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminExportControllerTest {
+
+    @Mock
+    private CatalogExportService catalogExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminExportController(catalogExportService, Duration.ofHours(1)))
+                .setAsyncRequestTimeout(30_000)
+                .build();
+    }
+
+    @Test
+    void streamsTheExportAsAnAttachment() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("id,movieId\n1,2\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(catalogExportService).export(eq(ExportDataset.RATINGS), eq(ExportFormat.CSV), eq(false), any());
+
+        MvcResult result = mockMvc.perform(get("/api/admin/exports/ratings").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"ratings.csv\""))
+                .andExpect(content().string("id,movieId\n1,2\n"));
+    }
+
+    @Test
+    void compressedExportsAreServedAsGzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/exports/movies").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"movies.ndjson.gz\""));
+        verify(catalogExportService).export(eq(ExportDataset.MOVIES), eq(ExportFormat.NDJSON), eq(true), any());
+    }
+
+    @Test
+    void onlyExportsGetTheLongAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/exports/movies"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofHours(1).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void rejectsUnknownDatasetsAndFormats() throws Exception {
+        mockMvc.perform(get("/api/admin/exports/users")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/exports/movies").param("format", "xml")).andExpect(status().isBadRequest());
+        verifyNoInteractions(catalogExportService);
+    }
+}
@@ -1,7 +1,9 @@
 package com.moviestar.app.controller;
 
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.model.Response.UserPageResponse;
 import com.moviestar.app.model.Response.UserResponse;
+import com.moviestar.app.repository.UserSpecifications;
 import com.moviestar.app.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +17,6 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -44,26 +45,25 @@ public class AdminUserControllerTest {
 
     @Test
     void getAllUsers() throws Exception {
-        List<UserDTO> users = Arrays.asList(
-            createUserDTO(1L, "user1", "user1@example.com", UserDTO.UserStatus.ACTIVE),
-            createUserDTO(2L, "user2", "user2@example.com", UserDTO.UserStatus.BANNED)
-        );
-        
-        UserResponse user1Response = createUserResponse("user1", "user1@example.com", "ACTIVE");
-        UserResponse user2Response = createUserResponse("user2", "user2@example.com", "BANNED");
-        
-        when(userService.getAllUsers()).thenReturn(users);
-        when(userService.convertToResponse(users.get(0))).thenReturn(user1Response);
-        when(userService.convertToResponse(users.get(1))).thenReturn(user2Response);
+        UserPageResponse page = UserPageResponse.builder()
+            .users(Arrays.asList(
+                createUserResponse("user1", "user1@example.com", "ACTIVE"),
+                createUserResponse("user2", "user2@example.com", "BANNED")))
+            .nextCursor("next")
+            .build();
+
+        when(userService.searchUsers(null, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, null, 50)).thenReturn(page);
 
         mockMvc.perform(get("/api/admin/users")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("user1"))
-                .andExpect(jsonPath("$[0].status").value("ACTIVE"))
-                .andExpect(jsonPath("$[1].username").value("user2"))
-                .andExpect(jsonPath("$[1].status").value("BANNED"));
+                .andExpect(jsonPath("$.users[0].username").value("user1"))
+                .andExpect(jsonPath("$.users[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.users[1].username").value("user2"))
+                .andExpect(jsonPath("$.users[1].status").value("BANNED"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
@@ -100,50 +100,116 @@ public class AdminUserControllerTest {
 
     @Test
     void getBannedUsers() throws Exception {
-        List<UserDTO> bannedUsers = Arrays.asList(
-            createUserDTO(1L, "banned1", "banned1@example.com", UserDTO.UserStatus.BANNED),
-            createUserDTO(2L, "banned2", "banned2@example.com", UserDTO.UserStatus.BANNED)
-        );
-        
-        UserResponse banned1Response = createUserResponse("banned1", "banned1@example.com", "BANNED");
-        UserResponse banned2Response = createUserResponse("banned2", "banned2@example.com", "BANNED");
-        
-        when(userService.getUsersByStatus(UserDTO.UserStatus.BANNED)).thenReturn(bannedUsers);
-        when(userService.convertToResponse(bannedUsers.get(0))).thenReturn(banned1Response);
-        when(userService.convertToResponse(bannedUsers.get(1))).thenReturn(banned2Response);
+        UserPageResponse page = UserPageResponse.builder()
+            .users(Arrays.asList(
+                createUserResponse("banned1", "banned1@example.com", "BANNED"),
+                createUserResponse("banned2", "banned2@example.com", "BANNED")))
+            .build();
+
+        when(userService.searchUsers(UserDTO.UserStatus.BANNED, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, "cursor", 2)).thenReturn(page);
 
         mockMvc.perform(get("/api/admin/users/banned")
+                .param("cursor", "cursor")
+                .param("limit", "2")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("banned1"))
-                .andExpect(jsonPath("$[0].status").value("BANNED"))
-                .andExpect(jsonPath("$[1].username").value("banned2"))
-                .andExpect(jsonPath("$[1].status").value("BANNED"));
+                .andExpect(jsonPath("$.users[0].username").value("banned1"))
+                .andExpect(jsonPath("$.users[0].status").value("BANNED"))
+                .andExpect(jsonPath("$.users[1].username").value("banned2"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
     void getActiveUsers() throws Exception {
-        List<UserDTO> activeUsers = Arrays.asList(
-            createUserDTO(1L, "active1", "active1@example.com", UserDTO.UserStatus.ACTIVE),
-            createUserDTO(2L, "active2", "active2@example.com", UserDTO.UserStatus.ACTIVE)
-        );
-        
-        UserResponse active1Response = createUserResponse("active1", "active1@example.com", "ACTIVE");
-        UserResponse active2Response = createUserResponse("active2", "active2@example.com", "ACTIVE");
-        
-        when(userService.getUsersByStatus(UserDTO.UserStatus.ACTIVE)).thenReturn(activeUsers);
-        when(userService.convertToResponse(activeUsers.get(0))).thenReturn(active1Response);
-        when(userService.convertToResponse(activeUsers.get(1))).thenReturn(active2Response);
+        UserPageResponse page = UserPageResponse.builder()
+            .users(Arrays.asList(
+                createUserResponse("active1", "active1@example.com", "ACTIVE"),
+                createUserResponse("active2", "active2@example.com", "ACTIVE")))
+            .build();
+
+        when(userService.searchUsers(UserDTO.UserStatus.ACTIVE, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, null, 50)).thenReturn(page);
 
         mockMvc.perform(get("/api/admin/users/active")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("active1"))
-                .andExpect(jsonPath("$[0].status").value("ACTIVE"))
-                .andExpect(jsonPath("$[1].username").value("active2"))
-                .andExpect(jsonPath("$[1].status").value("ACTIVE"));
+                .andExpect(jsonPath("$.users[0].username").value("active1"))
+                .andExpect(jsonPath("$.users[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.users[1].username").value("active2"))
+                .andExpect(jsonPath("$.users[1].status").value("ACTIVE"));
+    }
+
+    @Test
+    void getActiveUsers_InvalidCursor() throws Exception {
+        when(userService.searchUsers(UserDTO.UserStatus.ACTIVE, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, "bad", 50))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/admin/users/active")
+                .param("cursor", "bad")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserDirectory() throws Exception {
+        UserPageResponse page = UserPageResponse.builder()
+            .users(Arrays.asList(createUserResponse("user1", "user1@example.com", "ACTIVE")))
+            .nextCursor("next")
+            .build();
+
+        when(userService.searchUsers(UserDTO.UserStatus.ACTIVE, "us", false,
+                UserSpecifications.SortField.LAST_LOGIN, false, null, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/admin/users/directory")
+                .param("status", "ACTIVE")
+                .param("query", "us")
+                .param("match", "contains")
+                .param("sortBy", "lastLogin")
+                .param("limit", "20")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("user1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getUserDirectory_InvalidSort() throws Exception {
+        mockMvc.perform(get("/api/admin/users/directory")
+                .param("sortBy", "email")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserDirectory_InvalidDirection() throws Exception {
+        mockMvc.perform(get("/api/admin/users/directory")
+                .param("direction", "sideways")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserDirectory_InvalidMatch() throws Exception {
+        mockMvc.perform(get("/api/admin/users/directory")
+                .param("match", "suffix")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserDirectory_InvalidCursor() throws Exception {
+        when(userService.searchUsers(null, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, "bad", 50))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/admin/users/directory")
+                .param("cursor", "bad")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     private UserDTO createUserDTO(Long id, String username, String email, UserDTO.UserStatus status) {
@@ -31,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -99,9 +100,9 @@ public class MovieControllerTest {
         movieDTO.setTitle("The Matrix");
         movieDTO.setDescription("A sci-fi classic");
         movieDTO.setYear(1999);
-        movieDTO.setGenres(genreDTOs);
-        movieDTO.setActors(new ArrayList<>());
-        movieDTO.setDirectors(new ArrayList<>());
+        movieDTO.setGenres(new LinkedHashSet<>(genreDTOs));
+        movieDTO.setActors(new LinkedHashSet<>());
+        movieDTO.setDirectors(new LinkedHashSet<>());
         movieDTO.setPosterURL("poster.jpg");
         movieDTO.setBackdropURL("backdrop.jpg");
 
@@ -147,9 +148,9 @@ public class MovieControllerTest {
         movieDTO.setTitle("The Matrix");
         movieDTO.setDescription("A sci-fi classic");
         movieDTO.setYear(1999);
-        movieDTO.setGenres(genreDTOs);
-        movieDTO.setActors(new ArrayList<>());
-        movieDTO.setDirectors(new ArrayList<>());
+        movieDTO.setGenres(new LinkedHashSet<>(genreDTOs));
+        movieDTO.setActors(new LinkedHashSet<>());
+        movieDTO.setDirectors(new LinkedHashSet<>());
         movieDTO.setPosterURL("poster.jpg");
         movieDTO.setBackdropURL("backdrop.jpg");
 
@@ -194,9 +195,9 @@ public class MovieControllerTest {
         movieDTO.setTitle("The Matrix");
         movieDTO.setDescription("A sci-fi classic");
         movieDTO.setYear(1999);
-        movieDTO.setGenres(genreDTOs);
-        movieDTO.setActors(new ArrayList<>());
-        movieDTO.setDirectors(new ArrayList<>());
+        movieDTO.setGenres(new LinkedHashSet<>(genreDTOs));
+        movieDTO.setActors(new LinkedHashSet<>());
+        movieDTO.setDirectors(new LinkedHashSet<>());
         movieDTO.setPosterURL("poster.jpg");
         movieDTO.setBackdropURL("backdrop.jpg");
 
@@ -404,9 +405,9 @@ public class MovieControllerTest {
         movieDTO.setTitle("The Matrix");
         movieDTO.setDescription("A sci-fi classic");
         movieDTO.setYear(1999);
-        movieDTO.setGenres(genreDTOs);
-        movieDTO.setActors(new ArrayList<>());
-        movieDTO.setDirectors(new ArrayList<>());
+        movieDTO.setGenres(new LinkedHashSet<>(genreDTOs));
+        movieDTO.setActors(new LinkedHashSet<>());
+        movieDTO.setDirectors(new LinkedHashSet<>());
         movieDTO.setPosterURL("poster.jpg");
         movieDTO.setBackdropURL("backdrop.jpg");
 
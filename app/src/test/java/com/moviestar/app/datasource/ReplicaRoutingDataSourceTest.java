@@ -0,0 +1,145 @@
+package com.moviestar.app.datasource;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicasInTurn() throws Exception {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        ReplicaRouter router = new ReplicaRouter(List.of(replica("replica-1", 0, first), replica("replica-2", 0, second)), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+
+        inTransaction(true);
+
+        assertSame(first, dataSource.getConnection());
+        assertSame(second, dataSource.getConnection());
+        assertSame(first, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkStayOnThePrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRouter router = new ReplicaRouter(List.of(replica("replica-1", 0, mock(Connection.class))), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        inTransaction(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void readOnlyTransactionsFillingACacheStayOnThePrimary() throws Throwable {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection replicaConnection = mock(Connection.class);
+        ReplicaRouter router = new ReplicaRouter(List.of(replica("replica-1", 0, replicaConnection)), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+        MethodInvocation cacheMiss = mock(MethodInvocation.class);
+        when(cacheMiss.proceed()).thenAnswer(invocation -> dataSource.getConnection());
+
+        inTransaction(true);
+
+        assertSame(primaryConnection, new PrimaryReads().invoke(cacheMiss));
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void primaryReadScopesNestUntilTheOutermostCloses() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection replicaConnection = mock(Connection.class);
+        ReplicaRouter router = new ReplicaRouter(List.of(replica("replica-1", 0, replicaConnection)), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+
+        inTransaction(true);
+
+        try (PrimaryReads.Scope outer = PrimaryReads.begin()) {
+            try (PrimaryReads.Scope inner = PrimaryReads.begin()) {
+                assertSame(primaryConnection, dataSource.getConnection());
+            }
+            assertSame(primaryConnection, dataSource.getConnection());
+        }
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void replicaBehindTheLagLimitIsSkipped() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection upToDate = mock(Connection.class);
+        ReplicaRouter router = new ReplicaRouter(List.of(
+                replica("replica-1", 60_000, mock(Connection.class)),
+                replica("replica-2", 100, upToDate)), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+
+        inTransaction(true);
+
+        assertSame(upToDate, dataSource.getConnection());
+        assertSame(upToDate, dataSource.getConnection());
+        assertEquals(0L, router.stats().get("primaryFallbacks"));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection replicaConnection = mock(Connection.class);
+        DataSource replicaDataSource = replicaDataSource(0, replicaConnection);
+        ReplicaRouter router = new ReplicaRouter(List.of(new ReplicaRouter.Replica("replica-1", "jdbc:test", replicaDataSource)), Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, router);
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        inTransaction(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replicaDataSource, times(2)).getConnection();
+        assertEquals(2L, router.stats().get("primaryFallbacks"));
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static ReplicaRouter.Replica replica(String name, long lagMillis, Connection connection) throws SQLException {
+        return new ReplicaRouter.Replica(name, "jdbc:test:" + name, replicaDataSource(lagMillis, connection));
+    }
+
+    // Answers the lag check with the given lag, then hands out the given connection
+    private static DataSource replicaDataSource(long lagMillis, Connection connection) throws SQLException {
+        Connection checkConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(checkConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(checkConnection, connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.TestContainersConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Health probes stay public, but metrics need the admin role on the application port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class ActuatorSecurityIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void metricsAreNotPublic() throws Exception {
+        assertEquals(401, get("/actuator/prometheus").statusCode());
+        assertEquals(401, get("/actuator/metrics").statusCode());
+    }
+
+    @Test
+    void healthProbesArePublic() throws Exception {
+        assertEquals(200, get("/actuator/health/liveness").statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,149 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.cache.CacheInvalidationBus;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.GenreDTO;
+import com.moviestar.app.repository.GenreRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invalidations travel between instances over {@code LISTEN/NOTIFY}: evictions made here are
+ * notified once they commit, and notifications from another instance evict the Spring caches and
+ * the second-level cache here.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class CacheCoherenceIntegrationTest {
+
+    private static final String CHANNEL = "moviestar_cache_invalidation";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Test
+    void evictionsAreNotifiedOnceTheirTransactionCommits() throws Exception {
+        try (Connection listener = listen()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                movies().evict(-1L);
+                movies().evict(-2L);
+                movies().evict(-1L);
+                assertEquals(List.of(), notifications(listener, 200));
+            });
+
+            List<String> payloads = notifications(listener, 5_000);
+
+            assertEquals(1, payloads.size(), payloads.toString());
+            assertTrue(payloads.get(0).contains("\"movies\":[\"L:-1\",\"L:-2\"]"), payloads.get(0));
+        }
+    }
+
+    @Test
+    void notificationsFromAnotherInstanceEvictSpringCacheEntries() throws Exception {
+        movies().put(-3L, "stale");
+        movies().put(-4L, "kept");
+
+        notifyFromAnotherInstance("{\"movies\":[\"L:-3\"],\"genres\":[\"*\"]}");
+
+        await(() -> movies().get(-3L) == null);
+        assertNotNull(movies().get(-4L));
+    }
+
+    @Test
+    void notificationsFromAnotherInstanceEvictSecondLevelCacheEntities() throws Exception {
+        long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        transactionTemplate.executeWithoutResult(status -> genreRepository.findById(drama).orElseThrow());
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsEntity(GenreDTO.class, drama));
+
+        notifyFromAnotherInstance("{\"hibernate:" + GenreDTO.class.getName() + "\":[\"L:" + drama + "\"]}");
+
+        await(() -> !cache.containsEntity(GenreDTO.class, drama));
+    }
+
+    private Cache movies() {
+        return cacheManager.getCache("movies");
+    }
+
+    private void notifyFromAnotherInstance(String regions) throws Exception {
+        await(() -> Boolean.TRUE.equals(cacheInvalidationBus.stats().get("listening")));
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", result -> null, CHANNEL, "{\"node\":\"another\",\"regions\":" + regions + "}");
+    }
+
+    private Connection listen() throws Exception {
+        Connection connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        return connection;
+    }
+
+    private static List<String> notifications(Connection connection, int timeoutMillis) {
+        try {
+            List<String> payloads = new ArrayList<>();
+            PGNotification[] batch = connection.unwrap(PGConnection.class).getNotifications(timeoutMillis);
+            if (batch != null) {
+                for (PGNotification notification : batch) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+            return payloads;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+}
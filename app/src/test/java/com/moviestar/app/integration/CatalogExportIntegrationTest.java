@@ -0,0 +1,134 @@
+package com.moviestar.app.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.Response.CatalogImportResponse;
+import com.moviestar.app.service.catalogexport.CatalogExportService;
+import com.moviestar.app.service.catalogexport.ExportDataset;
+import com.moviestar.app.service.catalogexport.ExportFormat;
+import com.moviestar.app.service.catalogimport.CatalogImportService;
+import com.moviestar.app.service.catalogimport.ImportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class CatalogExportIntegrationTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long movieId;
+    private long drama;
+    private long comedy;
+
+    @BeforeEach
+    void setUp() {
+        drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        comedy = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Comedy'", Long.class);
+        movieId = jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year) VALUES ('Export \"quoted\", title', 'd', 1999) RETURNING id",
+                Long.class);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?), (?, ?)", movieId, comedy, movieId, drama);
+        jdbcTemplate.update("INSERT INTO comment (comment, username, movie_id) VALUES ('line one\nline two', 'exporter', ?)", movieId);
+    }
+
+    @Test
+    void ndjsonExportsOneObjectPerRowInTheImportLayout() throws Exception {
+        String export = export(ExportDataset.MOVIES, ExportFormat.NDJSON, false);
+
+        JsonNode movie = null;
+        for (String line : export.split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            if (row.get("id").asLong() == movieId) {
+                movie = row;
+            }
+        }
+        assertNotNull(movie);
+        assertEquals("Export \"quoted\", title", movie.get("title").asText());
+        assertEquals(1999, movie.get("year").asInt());
+        assertEquals(Math.min(drama, comedy), movie.get("genreIds").get(0).asLong());
+        assertEquals(Math.max(drama, comedy), movie.get("genreIds").get(1).asLong());
+        assertTrue(movie.get("actorIds").isEmpty());
+        assertTrue(movie.get("posterURL").isNull());
+    }
+
+    @Test
+    void csvExportsAreWrittenByCopyAndCanBeGzipped() throws Exception {
+        String movies = export(ExportDataset.MOVIES, ExportFormat.CSV, true);
+        assertTrue(movies.startsWith("id,title,description,year,posterURL,backdropURL,genreIds,actorIds,directorIds\n"));
+        assertTrue(movies.contains(movieId + ",\"Export \"\"quoted\"\", title\",d,1999,,,"
+                + Math.min(drama, comedy) + "|" + Math.max(drama, comedy) + ",,\n"));
+
+        String comments = export(ExportDataset.COMMENTS, ExportFormat.CSV, false);
+        assertTrue(comments.contains("\"line one\nline two\""));
+    }
+
+    @Test
+    void movieExportsCanBeImportedAgain() throws Exception {
+        String csv = export(ExportDataset.MOVIES, ExportFormat.CSV, false);
+        String header = csv.substring(0, csv.indexOf('\n') + 1);
+        String csvRow = csv.lines().filter(line -> line.startsWith(movieId + ",")).findFirst().orElseThrow();
+        String ndjsonRow = export(ExportDataset.MOVIES, ExportFormat.NDJSON, false).lines()
+                .filter(line -> line.startsWith("{\"id\":" + movieId + ",")).findFirst().orElseThrow();
+
+        assertEquals(1, importMovies(ImportFormat.CSV, header + csvRow + "\n").getImported());
+        assertEquals(1, importMovies(ImportFormat.NDJSON, ndjsonRow + "\n").getImported());
+
+        List<Long> copies = jdbcTemplate.queryForList("SELECT id FROM movie WHERE title = ? AND year = 1999 AND id > ?",
+                Long.class, "Export \"quoted\", title", movieId);
+        assertEquals(2, copies.size());
+        for (long copy : copies) {
+            assertEquals(List.of(Math.min(drama, comedy), Math.max(drama, comedy)), jdbcTemplate.queryForList(
+                    "SELECT genre_id FROM movie_genre WHERE movie_id = ? ORDER BY genre_id", Long.class, copy));
+        }
+    }
+
+    private CatalogImportResponse importMovies(ImportFormat format, String upload) throws Exception {
+        CatalogImportResponse job = catalogImportService.submit(format,
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)));
+        for (int i = 0; i < 100 && !List.of("COMPLETED", "FAILED").contains(job.getStatus()); i++) {
+            Thread.sleep(100);
+            job = catalogImportService.getJob(job.getId());
+        }
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(List.of(), job.getErrors());
+        return job;
+    }
+
+    private String export(ExportDataset dataset, ExportFormat format, boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        catalogExportService.export(dataset, format, gzip, out);
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
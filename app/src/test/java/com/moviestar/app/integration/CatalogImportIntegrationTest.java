@@ -0,0 +1,75 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.repository.MovieRepository;
+import com.moviestar.app.model.Response.CatalogImportResponse;
+import com.moviestar.app.service.catalogimport.CatalogImportService;
+import com.moviestar.app.service.catalogimport.ImportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class CatalogImportIntegrationTest {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsMoviesWithLinksAndKeepsSequenceUsableByHibernate() throws Exception {
+        Long actorId = jdbcTemplate.queryForObject(
+                "INSERT INTO actor (name, surname) VALUES ('Import', 'Actor') RETURNING id", Long.class);
+        Long directorId = jdbcTemplate.queryForObject(
+                "INSERT INTO director (name, surname) VALUES ('Import', 'Director') RETURNING id", Long.class);
+        Long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        StringBuilder upload = new StringBuilder();
+        for (int i = 1; i <= 120; i++) {
+            upload.append(String.format("{\"title\":\"Imported %d\",\"description\":\"d\",\"year\":2000,"
+                    + "\"genreIds\":[%d,%d],\"actorIds\":[%d],\"directorIds\":[%d]}%n", i, drama, drama, actorId, directorId));
+        }
+        upload.append(String.format("{\"title\":\"Unknown actor\",\"description\":\"d\",\"year\":2000,"
+                + "\"genreIds\":[%d],\"actorIds\":[-1]}%n", drama));
+
+        CatalogImportResponse job = catalogImportService.submit(ImportFormat.NDJSON,
+                new ByteArrayInputStream(upload.toString().getBytes(StandardCharsets.UTF_8)));
+        for (int i = 0; i < 100 && !List.of("COMPLETED", "FAILED").contains(job.getStatus()); i++) {
+            Thread.sleep(100);
+            job = catalogImportService.getJob(job.getId());
+        }
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(120, job.getImported());
+        assertEquals(1, job.getFailed());
+        assertEquals("unknown actor ids [-1]", job.getErrors().get(0).message());
+        assertEquals(120, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movie_actor WHERE actor_id = ?", Integer.class, actorId));
+        assertEquals(120, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movie_genre mg JOIN movie m ON m.id = mg.movie_id WHERE m.title LIKE 'Imported %'",
+                Integer.class));
+
+        MovieDTO movie = new MovieDTO();
+        movie.setTitle("Saved after import");
+        movie.setDescription("d");
+        movie.setYear(2001);
+        MovieDTO saved = movieRepository.save(movie);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie WHERE id = ?", Integer.class, saved.getId()));
+    }
+}
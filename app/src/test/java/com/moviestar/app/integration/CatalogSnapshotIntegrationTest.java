@@ -0,0 +1,252 @@
+package com.moviestar.app.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.controller.ActorController;
+import com.moviestar.app.controller.DirectorController;
+import com.moviestar.app.controller.GenreController;
+import com.moviestar.app.controller.MovieController;
+import com.moviestar.app.model.Requests.ActorRequest;
+import com.moviestar.app.model.Requests.GenreRequest;
+import com.moviestar.app.service.ActorService;
+import com.moviestar.app.service.GenreService;
+import com.moviestar.app.service.RatingService;
+import com.moviestar.app.snapshot.CatalogSnapshotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The catalog snapshot answers with the same JSON as the controllers for the same data, and ids
+ * added or changed after it was built are found through the controllers until it is rebuilt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.snapshot.enabled=true",
+        "app.snapshot.path=${java.io.tmpdir}/moviestar-test/catalog-${random.uuid}.snapshot",
+        "app.snapshot.refresh-interval=PT1H",
+        "app.snapshot.rebuild-delay=PT1H"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class CatalogSnapshotIntegrationTest {
+
+    private static final String SNAPSHOT_HEADER = "X-Catalog-Snapshot";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private MovieController movieController;
+
+    @Autowired
+    private GenreController genreController;
+
+    @Autowired
+    private ActorController actorController;
+
+    @Autowired
+    private DirectorController directorController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private long rated;
+    private long actor;
+    private long director;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        long comedy = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Comedy'", Long.class);
+        actor = jdbcTemplate.queryForObject(
+                "INSERT INTO actor (name, surname, birth_day, about, picture_url) VALUES ('Snapshot', 'Actor', DATE '1970-05-17', 'bio', 'a.jpg') RETURNING id",
+                Long.class);
+        director = jdbcTemplate.queryForObject(
+                "INSERT INTO director (name, surname, birth_day, about, picture_url) VALUES ('Snapshot', 'Director', DATE '1961-12-01', 'bio', 'd.jpg') RETURNING id",
+                Long.class);
+        rated = movie("Snapshot rated", 2001);
+        long second = movie("Snapshot second", null);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?), (?, ?), (?, ?)",
+                rated, comedy, rated, drama, second, drama);
+        jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?), (?, ?)", rated, actor, second, actor);
+        jdbcTemplate.update("INSERT INTO movie_director (movie_id, director_id) VALUES (?, ?)", rated, director);
+        jdbcTemplate.update("INSERT INTO rating (movie_id, rating, username) VALUES (?, 7, 's1'), (?, 8, 's2'), (?, 10, 's3')",
+                rated, rated, rated);
+        // The rows were written behind the caches' back
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+        snapshotService.rebuild();
+    }
+
+    @Test
+    void listsMatchTheControllers() throws Exception {
+        assertMatches("/api/movies", movieController::getMovies);
+        assertMatches("/api/genres", genreController::getAllGenres);
+        assertMatches("/api/actors", actorController::getAllActors);
+        assertMatches("/api/directors", directorController::getAllDirectors);
+    }
+
+    @Test
+    void singleEntitiesMatchTheControllers() throws Exception {
+        assertMatches("/api/movies/" + rated, () -> movieController.getMovieById(rated));
+        assertMatches("/api/actors/" + actor, () -> actorController.getActorById(actor));
+        assertMatches("/api/directors/" + director, () -> directorController.getDirectorById(director));
+
+        JsonNode movie = objectMapper.readTree(get("/api/movies/" + rated).body());
+        assertEquals(8.333333333333334, movie.get("averageRating").asDouble(), 1e-9);
+        assertEquals(3, movie.get("totalRatings").asInt());
+        assertEquals(2, movie.get("genres").size());
+    }
+
+    @Test
+    void moviesAddedAfterTheSnapshotAreServedByTheControllers() throws Exception {
+        long added = movie("Snapshot added later", 2024);
+
+        HttpResponse<String> response = get("/api/movies/" + added);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertEquals("Snapshot added later", objectMapper.readTree(response.body()).get("title").asText());
+        assertEquals(404, get("/api/movies/-1").statusCode());
+    }
+
+    @Test
+    void changedMoviesAreServedByTheControllersUntilTheRebuild() throws Exception {
+        ratingService.removeRating(rated, "s3");
+
+        HttpResponse<String> changed = get("/api/movies/" + rated);
+        assertTrue(changed.headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertEquals(2, objectMapper.readTree(changed.body()).get("totalRatings").asInt());
+        assertTrue(get("/api/movies").headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertTrue(get("/api/genres").headers().firstValue(SNAPSHOT_HEADER).isPresent());
+
+        snapshotService.rebuildIfRequested();
+
+        HttpResponse<String> rebuilt = get("/api/movies/" + rated);
+        assertTrue(rebuilt.headers().firstValue(SNAPSHOT_HEADER).isPresent());
+        assertEquals(2, objectMapper.readTree(rebuilt.body()).get("totalRatings").asInt());
+    }
+
+    @Test
+    void genreAndActorEditsAreServedByTheControllersUntilTheRebuild() throws Exception {
+        long genre = jdbcTemplate.queryForObject("INSERT INTO genre (genre) VALUES ('Snapshot genre') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?)", rated, genre);
+        snapshotService.rebuild();
+
+        ActorRequest actorRequest = new ActorRequest("Renamed", "Actor",
+                Date.valueOf("1970-05-17"), "bio", "a.jpg", null);
+        actorService.updateActor(actor, actorRequest);
+
+        HttpResponse<String> editedActor = get("/api/actors/" + actor);
+        assertTrue(editedActor.headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertEquals("Renamed", objectMapper.readTree(editedActor.body()).get("name").asText());
+        assertTrue(get("/api/movies/" + rated).headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertTrue(get("/api/genres").headers().firstValue(SNAPSHOT_HEADER).isPresent());
+        assertTrue(get("/api/directors/" + director).headers().firstValue(SNAPSHOT_HEADER).isPresent());
+
+        genreService.updateGenre(genre, new GenreRequest("Snapshot renamed"));
+
+        HttpResponse<String> genres = get("/api/genres");
+        assertTrue(genres.headers().firstValue(SNAPSHOT_HEADER).isEmpty());
+        assertTrue(genres.body().contains("\"Snapshot renamed\""));
+
+        snapshotService.rebuildIfRequested();
+
+        HttpResponse<String> rebuilt = get("/api/movies/" + rated);
+        assertTrue(rebuilt.headers().firstValue(SNAPSHOT_HEADER).isPresent());
+        assertTrue(rebuilt.body().contains("\"Snapshot renamed\""));
+        assertTrue(get("/api/actors/" + actor).headers().firstValue(SNAPSHOT_HEADER).isPresent());
+    }
+
+    private void assertMatches(String path, Supplier<ResponseEntity<?>> controller) throws Exception {
+        HttpResponse<String> response = get(path);
+        assertEquals(200, response.statusCode(), path);
+        assertTrue(response.headers().firstValue(SNAPSHOT_HEADER).isPresent(), path);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        String rendered = transaction.execute(status -> {
+            try {
+                return objectMapper.writeValueAsString(controller.get().getBody());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        JsonNode expected = objectMapper.readTree(rendered);
+        JsonNode served = objectMapper.readTree(response.body());
+        if (expected.isArray()) {
+            assertEquals(byId(expected), byId(served), path);
+        } else {
+            assertEquals(expected, served, path);
+        }
+    }
+
+    private long movie(String title, Integer year) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year, poster_url) VALUES (?, 'd', ?, 'p.jpg') RETURNING id",
+                Long.class, title, year);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The controllers list in table order, the snapshot by id
+    private Map<Long, JsonNode> byId(JsonNode list) {
+        Map<Long, JsonNode> items = new TreeMap<>();
+        for (JsonNode item : list) {
+            items.put(item.get("id").asLong(), item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,76 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.resilience.DatabaseCircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * While the database circuit breaker is open, catalog reads get their last good response, marked
+ * as stale, and other reads are refused at once; after the open duration a probe closes it again.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.resilience.open-duration=PT1S",
+        "app.resilience.stale.refresh-interval=PT0S"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class DatabaseOutageIntegrationTest {
+
+    private static final String STALE_HEADER = "X-Last-Known-Good";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseCircuitBreaker breaker;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void catalogReadsAreServedStaleUntilTheDatabaseIsBack() throws Exception {
+        HttpResponse<String> fresh = get("/api/genres");
+        assertEquals(200, fresh.statusCode());
+        assertTrue(fresh.headers().firstValue(STALE_HEADER).isEmpty());
+
+        for (int i = 0; i < 40 && !breaker.isOpen(); i++) {
+            breaker.repositoryCallFailed(new DataAccessResourceFailureException("Connection refused"));
+        }
+        assertTrue(breaker.isOpen());
+
+        HttpResponse<String> stale = get("/api/genres");
+        assertEquals(200, stale.statusCode());
+        assertEquals(fresh.body(), stale.body());
+        assertTrue(stale.headers().firstValue(STALE_HEADER).isPresent());
+        assertTrue(stale.headers().firstValue("Age").isPresent());
+
+        HttpResponse<String> unseen = get("/api/movies/999999999");
+        assertEquals(503, unseen.statusCode());
+        assertTrue(unseen.headers().firstValue("Retry-After").isPresent());
+
+        Thread.sleep(1_100);
+        assertEquals(404, get("/api/movies/999999999").statusCode());
+        HttpResponse<String> recovered = get("/api/genres");
+        assertEquals(200, recovered.statusCode());
+        assertTrue(recovered.headers().firstValue(STALE_HEADER).isEmpty());
+        assertFalse(breaker.isOpen());
+        assertEquals("CLOSED", breaker.stats().get("state"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
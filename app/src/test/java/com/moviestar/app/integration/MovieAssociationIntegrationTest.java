@@ -0,0 +1,145 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.QueryRecorder;
+import com.moviestar.app.config.QueryRecordingConfig;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.Requests.MovieLinksRequest;
+import com.moviestar.app.model.Requests.MovieRequest;
+import com.moviestar.app.model.Response.MovieLinksResponse;
+import com.moviestar.app.service.ActorService;
+import com.moviestar.app.service.MovieLinkService;
+import com.moviestar.app.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Link changes must touch only the join rows that actually change, never rewrite a movie's
+ * whole collection.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+@Import(QueryRecordingConfig.class)
+class MovieAssociationIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private MovieLinkService movieLinkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long movieId;
+    private long drama;
+    private List<Long> actorIds;
+    private long directorId;
+
+    @BeforeEach
+    void setUp() {
+        drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        actorIds = List.of(insert("actor"), insert("actor"), insert("actor"), insert("actor"));
+        directorId = insert("director");
+        movieId = jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year) VALUES ('Linked', 'd', 2000) RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?)", movieId, drama);
+        for (Long actorId : actorIds.subList(0, 3)) {
+            jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?)", movieId, actorId);
+        }
+    }
+
+    @Test
+    void addingADirectorInsertsOneRow() {
+        List<String> statements = record(() -> movieService.addDirectorToMovie(movieId, directorId));
+
+        assertEquals(List.of("insert into movie_director"), joinTableWrites(statements));
+        assertEquals(1, count("movie_director"));
+    }
+
+    @Test
+    void updatingAMovieOnlyWritesTheChangedLinks() {
+        MovieRequest request = new MovieRequest();
+        request.setTitle("Linked");
+        request.setDescription("d");
+        request.setYear(2000);
+        request.setGenreIds(List.of(drama));
+        request.setActorIds(List.of(actorIds.get(1), actorIds.get(2), actorIds.get(3)));
+
+        List<String> statements = record(() -> movieService.updateMovie(movieId, request));
+
+        assertEquals(List.of("delete from movie_actor", "insert into movie_actor"), joinTableWrites(statements));
+        assertEquals(List.of(actorIds.get(1), actorIds.get(2), actorIds.get(3)), jdbcTemplate.queryForList(
+                "SELECT actor_id FROM movie_actor WHERE movie_id = ? ORDER BY actor_id", Long.class, movieId));
+    }
+
+    @Test
+    void deletingAnActorDoesNotLoadItsMovies() {
+        List<String> statements = record(() -> actorService.deleteActor(actorIds.get(0)));
+
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("movie_genre") || sql.contains("movie_director")));
+        assertTrue(joinTableWrites(statements).isEmpty());
+        assertEquals(2, count("movie_actor"));
+    }
+
+    @Test
+    void bulkLinksSkipExistingRowsAndUnlinksRemoveOnlyMatchingOnes() {
+        List<MovieLinksRequest.Link> links = List.of(
+                new MovieLinksRequest.Link(movieId, actorIds.get(0)),
+                new MovieLinksRequest.Link(movieId, actorIds.get(3)),
+                new MovieLinksRequest.Link(movieId, actorIds.get(3)));
+
+        MovieLinksResponse linked = movieLinkService.link(MovieLinkService.Association.ACTORS, links);
+        assertEquals(3, linked.getRequested());
+        assertEquals(1, linked.getChanged());
+        assertEquals(List.of(movieId), linked.getChangedMovieIds());
+        assertEquals(4, count("movie_actor"));
+
+        MovieLinksResponse unlinked = movieLinkService.unlink(MovieLinkService.Association.ACTORS, links);
+        assertEquals(2, unlinked.getChanged());
+        assertEquals(2, count("movie_actor"));
+
+        assertThrows(com.moviestar.app.exception.EntityNotFoundException.class, () -> movieLinkService.link(
+                MovieLinkService.Association.DIRECTORS, List.of(new MovieLinksRequest.Link(movieId, -1L))));
+    }
+
+    private long insert(String table) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO " + table + " (name, surname) VALUES ('Linked', 'Person') RETURNING id", Long.class);
+    }
+
+    private int count(String joinTable) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + joinTable + " WHERE movie_id = ?", Integer.class, movieId);
+    }
+
+    private static List<String> record(Runnable action) {
+        QueryRecorder.Recording recording = QueryRecorder.start();
+        try {
+            action.run();
+        } finally {
+            recording.stop();
+        }
+        return recording.statements().stream().map(statement -> statement.sql().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    private static List<String> joinTableWrites(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> (sql.startsWith("insert") || sql.startsWith("delete")) && sql.contains("movie_"))
+                .map(sql -> sql.substring(0, sql.indexOf(" movie_") + 1) + sql.substring(sql.indexOf("movie_")).split("[ (]")[0])
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.moviestar.app.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.RatingDTO;
+import com.moviestar.app.service.RatingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Movie cards are served from off-heap memory once rendered, and are rendered again after anything
+ * they show has changed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.movie-cards.enabled=true",
+        "app.movie-cards.settle-time=PT0S"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class MovieCardIntegrationTest {
+
+    private static final String CARD_HEADER = "X-Movie-Card";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private long movie;
+    private long actor;
+
+    @BeforeEach
+    void setUp() {
+        actor = jdbcTemplate.queryForObject(
+                "INSERT INTO actor (name, surname, birth_day) VALUES ('Card', 'Actor', DATE '1970-05-17') RETURNING id",
+                Long.class);
+        movie = jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year) VALUES ('Card movie', 'd', 1999) RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?)", movie, actor);
+        // The rows were written behind the caches' back
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+    }
+
+    @Test
+    void aCardIsServedFromMemoryOnceRendered() throws Exception {
+        HttpResponse<String> first = get("/api/movies/" + movie);
+        HttpResponse<String> second = get("/api/movies/" + movie);
+
+        assertEquals("miss", first.headers().firstValue(CARD_HEADER).orElseThrow());
+        assertEquals("hit", second.headers().firstValue(CARD_HEADER).orElseThrow());
+        assertEquals(200, second.statusCode());
+        assertEquals(first.body(), second.body());
+        assertEquals("Card movie", objectMapper.readTree(second.body()).get("title").asText());
+    }
+
+    @Test
+    void ratingAMovieRendersItsCardAgain() throws Exception {
+        get("/api/movies/" + movie);
+        assertEquals("hit", get("/api/movies/" + movie).headers().firstValue(CARD_HEADER).orElseThrow());
+
+        RatingDTO rating = new RatingDTO();
+        rating.setMovieId(movie);
+        rating.setRating(8);
+        ratingService.addRating(rating, "card-rater");
+
+        HttpResponse<String> after = get("/api/movies/" + movie);
+        assertEquals("miss", after.headers().firstValue(CARD_HEADER).orElseThrow());
+        assertEquals(1, objectMapper.readTree(after.body()).get("totalRatings").asInt());
+        assertEquals("hit", get("/api/movies/" + movie).headers().firstValue(CARD_HEADER).orElseThrow());
+    }
+
+    @Test
+    void unknownMoviesAreNotStored() throws Exception {
+        assertNotEquals(200, get("/api/movies/999999999").statusCode());
+        assertEquals("miss", get("/api/movies/999999999").headers().firstValue(CARD_HEADER).orElseThrow());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
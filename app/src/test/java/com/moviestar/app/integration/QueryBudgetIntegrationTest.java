@@ -0,0 +1,146 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.QueryRecorder;
+import com.moviestar.app.config.QueryRecordingConfig;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.service.SecondLevelCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint below declares how many SQL statements one request may issue against a small
+ * fixed dataset (cold caches, including Hibernate's second-level cache). A change that needs more statements fails with the list of
+ * statements the request ran; a change that needs fewer should lower the budget in the same
+ * commit, so the budgets keep tracking the code.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+@Import(QueryRecordingConfig.class)
+class QueryBudgetIntegrationTest {
+
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                budget("GET /api/movies", get("/api/movies"), 26),
+                budget("GET /api/movies/{id}", get("/api/movies/1001"), 10),
+                budget("GET /api/movies/search?title", get("/api/movies/search").param("title", "Budget Movie 1"), 10),
+                budget("GET /api/movies/search?genre", get("/api/movies/search").param("genre", "Drama"), 26),
+                budget("GET /api/movies/random", get("/api/movies/random"), 26),
+                budget("GET /api/movies/{id}/comments", get("/api/movies/1001/comments"), 1),
+                budget("GET /api/movies/{id}/ratings", get("/api/movies/1001/ratings"), 1),
+                budget("GET /api/actors", get("/api/actors"), 4),
+                budget("GET /api/actors/{id}", get("/api/actors/1001"), 2),
+                budget("GET /api/actors/{id}/movies", get("/api/actors/1001/movies"), 26),
+                budget("GET /api/directors", get("/api/directors"), 3),
+                budget("GET /api/directors/{id}", get("/api/directors/1001"), 2),
+                budget("GET /api/directors/{id}/movies", get("/api/directors/1001/movies"), 15),
+                budget("GET /api/genres", get("/api/genres"), 1),
+                budget("GET /api/users/{username}", get("/api/users/budget_alice"), 1),
+                budget("GET /api/users/{username}/comments", get("/api/users/budget_alice/comments"), 1),
+                budget("GET /api/users/{username}/watchlist", get("/api/users/budget_alice/watchlist"), 27),
+                budget("GET /api/watchlist", get("/api/watchlist").with(alice()), 30),
+                budget("GET /api/watchlist/{id}/status", get("/api/watchlist/1001/status").with(alice()), 4)
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        secondLevelCacheService.evictAll();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void requestStaysWithinQueryBudget(String endpoint, RequestBuilder request, int budget) throws Exception {
+        QueryRecorder.Recording recording = QueryRecorder.start();
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } finally {
+            recording.stop();
+        }
+
+        if (recording.statementCount() > budget) {
+            fail(String.format("%s issued %d SQL statements (%d rows), budget is %d:%s",
+                    endpoint, recording.statementCount(), recording.rowCount(), budget, recording.describe()));
+        }
+    }
+
+    private static Arguments budget(String endpoint, RequestBuilder request, int statements) {
+        return Arguments.of(endpoint, request, statements);
+    }
+
+    private static RequestPostProcessor alice() {
+        return jwt().jwt(token -> token.claim("preferred_username", "budget_alice"));
+    }
+
+    // Four movies with two genres, three actors and one director each, rated, commented and
+    // watch-listed by two users
+    private void seed() {
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("INSERT INTO actor (id, name, surname) VALUES (?, ?, ?)", 1000 + i, "Actor", "Number " + i);
+        }
+        for (int i = 1; i <= 2; i++) {
+            jdbcTemplate.update("INSERT INTO director (id, name, surname) VALUES (?, ?, ?)", 1000 + i, "Director", "Number " + i);
+        }
+        for (String username : new String[]{"budget_alice", "budget_bob"}) {
+            jdbcTemplate.update("INSERT INTO app_user (username, email) VALUES (?, ?)", username, username + "@example.com");
+        }
+        Long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        Long comedy = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Comedy'", Long.class);
+        for (int i = 1; i <= 4; i++) {
+            long movieId = 1000 + i;
+            jdbcTemplate.update("INSERT INTO movie (id, title, description, year) VALUES (?, ?, ?, ?)",
+                    movieId, "Budget Movie " + i, "Description " + i, 2000 + i);
+            jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?), (?, ?)", movieId, drama, movieId, comedy);
+            for (int actor = 1; actor <= 3; actor++) {
+                jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?)", movieId, 1000 + actor);
+            }
+            jdbcTemplate.update("INSERT INTO movie_director (movie_id, director_id) VALUES (?, ?)", movieId, 1000 + (i % 2) + 1);
+            for (String username : new String[]{"budget_alice", "budget_bob"}) {
+                jdbcTemplate.update("INSERT INTO rating (movie_id, rating, username) VALUES (?, ?, ?)", movieId, 5 + i, username);
+                jdbcTemplate.update("INSERT INTO comment (comment, username, movie_id) VALUES (?, ?, ?)", "Comment on " + i, username, movieId);
+                jdbcTemplate.update("INSERT INTO watchlist (username, movie_id) VALUES (?, ?)", username, movieId);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.moviestar.app.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.reactive.ReactiveCatalogServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive catalog answers with the same JSON as the MVC endpoints for the same data. The page
+ * size is smaller than the catalog, so lists span several pages.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.reactive-catalog.enabled=true",
+        "app.reactive-catalog.port=0",
+        "app.reactive-catalog.page-size=2"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+class ReactiveCatalogIntegrationTest {
+
+    @LocalServerPort
+    private int mvcPort;
+
+    @Autowired
+    private ReactiveCatalogServer reactiveCatalogServer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private long rated;
+    private long actor;
+    private long director;
+
+    @BeforeEach
+    void setUp() {
+        long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        long comedy = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Comedy'", Long.class);
+        actor = jdbcTemplate.queryForObject(
+                "INSERT INTO actor (name, surname, birth_day, about, picture_url) VALUES ('Reactive', 'Actor', DATE '1970-05-17', 'bio', 'a.jpg') RETURNING id",
+                Long.class);
+        director = jdbcTemplate.queryForObject(
+                "INSERT INTO director (name, surname, birth_day, about, picture_url) VALUES ('Reactive', 'Director', DATE '1961-12-01', 'bio', 'd.jpg') RETURNING id",
+                Long.class);
+        rated = movie("Reactive rated", 2001, "p.jpg");
+        long second = movie("Reactive second", null, null);
+        long third = movie("Reactive third", 2003, null);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?), (?, ?), (?, ?)",
+                rated, comedy, rated, drama, second, drama);
+        jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?), (?, ?)", rated, actor, third, actor);
+        jdbcTemplate.update("INSERT INTO movie_director (movie_id, director_id) VALUES (?, ?)", rated, director);
+        jdbcTemplate.update("INSERT INTO rating (movie_id, rating, username) VALUES (?, 7, 'r1'), (?, 8, 'r2'), (?, 10, 'r3')",
+                rated, rated, rated);
+        // The rows were written behind the caches' back
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+    }
+
+    @Test
+    void listsMatchTheMvcEndpoints() throws Exception {
+        for (String path : new String[]{"/api/movies", "/api/genres", "/api/actors", "/api/directors"}) {
+            Map<Long, JsonNode> mvc = byId(get(mvcPort, path, "application/json").body());
+            Map<Long, JsonNode> reactive = byId(get(reactiveCatalogServer.getPort(), path, "application/json").body());
+            assertEquals(mvc, reactive, path);
+        }
+    }
+
+    @Test
+    void singleEntitiesMatchTheMvcEndpoints() throws Exception {
+        for (String path : new String[]{"/api/movies/" + rated, "/api/actors/" + actor, "/api/directors/" + director}) {
+            JsonNode mvc = objectMapper.readTree(get(mvcPort, path, "application/json").body());
+            JsonNode reactive = objectMapper.readTree(get(reactiveCatalogServer.getPort(), path, "application/json").body());
+            assertEquals(mvc, reactive, path);
+        }
+        JsonNode movie = objectMapper.readTree(get(reactiveCatalogServer.getPort(), "/api/movies/" + rated, "application/json").body());
+        assertEquals(8.333333333333334, movie.get("averageRating").asDouble(), 1e-9);
+        assertEquals(3, movie.get("totalRatings").asInt());
+        assertEquals(2, movie.get("genres").size());
+    }
+
+    @Test
+    void listsStreamOneDocumentPerLineAndMissingIdsAnswerNotFound() throws Exception {
+        HttpResponse<String> ndjson = get(reactiveCatalogServer.getPort(), "/api/movies", "application/x-ndjson");
+        long movies = jdbcTemplate.queryForObject("SELECT count(*) FROM movie", Long.class);
+        assertEquals(movies, ndjson.body().lines().count());
+        assertTrue(ndjson.headers().firstValue("Content-Type").orElseThrow().startsWith("application/x-ndjson"));
+
+        HttpResponse<String> missing = get(reactiveCatalogServer.getPort(), "/api/movies/-1", "application/json");
+        assertEquals(404, missing.statusCode());
+        assertEquals("Movie not found with id: -1", objectMapper.readTree(missing.body()).get("message").asText());
+    }
+
+    private long movie(String title, Integer year, String poster) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year, poster_url) VALUES (?, 'd', ?, ?) RETURNING id",
+                Long.class, title, year, poster);
+    }
+
+    private HttpResponse<String> get(int port, String path, String accept) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("Accept", accept).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The MVC lists come in table order, the reactive ones by id
+    private Map<Long, JsonNode> byId(String body) throws Exception {
+        Map<Long, JsonNode> items = new TreeMap<>();
+        for (JsonNode item : objectMapper.readTree(body)) {
+            items.put(item.get("id").asLong(), item);
+        }
+        return items;
+    }
+}
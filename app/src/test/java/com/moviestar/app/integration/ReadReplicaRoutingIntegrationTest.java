@@ -0,0 +1,136 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.datasource.ReplicaRouter;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.model.Requests.MovieRequest;
+import com.moviestar.app.repository.MovieRepository;
+import com.moviestar.app.service.MovieService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two independent databases, the second one configured as a read replica, so the
+ * data each query sees tells where it was routed.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = ReadReplicaRoutingIntegrationTest.Initializer.class)
+class ReadReplicaRoutingIntegrationTest {
+
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("replicadb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer extends TestContainersConfig.Initializer {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            super.initialize(context);
+            replica.start();
+            Flyway.configure()
+                    .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                    .load()
+                    .migrate();
+            TestPropertyValues.of(
+                    "app.datasource.replicas.urls=" + replica.getJdbcUrl(),
+                    "app.datasource.replicas.username=" + replica.getUsername(),
+                    "app.datasource.replicas.password=" + replica.getPassword()
+            ).applyTo(context);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndEverythingElseThePrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String primaryDatabase = jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+
+        assertEquals("replicadb", readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class)));
+        assertEquals(primaryDatabase, readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class)));
+        assertNotEquals("replicadb", primaryDatabase);
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromTheReplica() {
+        String title = "Only on the replica " + UUID.randomUUID();
+        try (var connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             var statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO movie (title, description, year) VALUES ('" + title + "', 'd', 2001)");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+
+        List<MovieDTO> fromReplica = movieService.getRandomizedMovies();
+        List<MovieDTO> fromPrimary = movieRepository.findByTitle(title);
+
+        assertTrue(fromReplica.stream().anyMatch(movie -> title.equals(movie.getTitle())));
+        assertTrue(fromPrimary.isEmpty());
+    }
+
+    @Test
+    void cachedReadsRightAfterAWriteSeeTheWrite() {
+        // The replica is a separate database that never receives the primary's writes
+        MovieRequest request = new MovieRequest();
+        request.setTitle("Written to the primary " + UUID.randomUUID());
+        request.setDescription("d");
+        request.setYear(2002);
+        request.setGenreIds(List.of(jdbcTemplate.queryForObject("SELECT MIN(id) FROM genre", Long.class)));
+
+        MovieDTO created = movieService.createMovie(request);
+        MovieDTO read = movieService.getMovieById(created.getId());
+
+        assertEquals(request.getTitle(), read.getTitle());
+        assertEquals(request.getTitle(), movieService.getMoviesByTitle(request.getTitle()).get(0).getTitle());
+        assertNotNull(cacheManager.getCache("movies").get(created.getId()));
+    }
+
+    @Test
+    void replicaWithinTheLagLimitIsInRotation() {
+        replicaRouter.checkLag();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> replicaStats = ((List<Map<String, Object>>) replicaRouter.stats().get("replicas")).get(0);
+        assertEquals(true, replicaStats.get("available"));
+        assertEquals(0L, replicaStats.get("lagMillis"));
+    }
+}
@@ -0,0 +1,193 @@
+package com.moviestar.app.integration;
+
+import com.moviestar.app.config.QueryRecorder;
+import com.moviestar.app.config.QueryRecordingConfig;
+import com.moviestar.app.config.TestContainersConfig;
+import com.moviestar.app.model.Requests.GenreRequest;
+import com.moviestar.app.model.Requests.MovieLinksRequest;
+import com.moviestar.app.repository.GenreRepository;
+import com.moviestar.app.service.ActorService;
+import com.moviestar.app.service.GenreService;
+import com.moviestar.app.service.MovieLinkService;
+import com.moviestar.app.service.SecondLevelCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Movie responses built from a warm second-level cache read genres, actors and directors without
+ * SQL, and links changed outside Hibernate are visible on the next read.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@ContextConfiguration(initializers = TestContainersConfig.Initializer.class)
+@Import(QueryRecordingConfig.class)
+class SecondLevelCacheIntegrationTest {
+
+    private static final List<String> LINKED_TABLES = List.of("genre", "actor", "director");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private MovieLinkService movieLinkService;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    // Seeded once: every insert through the id column default uses up a block of 50 ids in the
+    // container shared with the other integration tests
+    private static long movieId;
+    private static List<Long> actorIds;
+
+    @BeforeEach
+    void setUp() {
+        if (actorIds == null) {
+            seed();
+        }
+        secondLevelCacheService.evictAll();
+    }
+
+    @Test
+    void warmCacheBuildsMovieResponsesWithoutLoadingLinks() throws Exception {
+        List<String> cold = getMovie();
+        List<String> warm = getMovie();
+
+        assertFalse(linkQueries(cold).isEmpty());
+        assertEquals(List.of(), linkQueries(warm));
+        assertTrue(warm.size() < cold.size(), "cold " + cold + ", warm " + warm);
+    }
+
+    @Test
+    void bulkLinkChangesAreVisibleOnTheNextRead() throws Exception {
+        getMovie();
+
+        movieLinkService.link(MovieLinkService.Association.ACTORS, List.of(new MovieLinksRequest.Link(movieId, actorIds.get(1))));
+
+        clearSpringCaches();
+        mockMvc.perform(get("/api/movies/" + movieId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actors[*].id", hasItem(actorIds.get(1).intValue())));
+    }
+
+    @Test
+    void deletedActorsDisappearFromCachedMovies() throws Exception {
+        getMovie();
+
+        actorService.deleteActor(actorIds.get(2));
+
+        clearSpringCaches();
+        mockMvc.perform(get("/api/movies/" + movieId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actors[*].id", hasItem(actorIds.get(0).intValue())))
+                .andExpect(jsonPath("$.actors[*].id", not(hasItem(actorIds.get(2).intValue()))));
+    }
+
+    @Test
+    void genreLookupsComeFromTheQueryCacheUntilGenresChange() throws Exception {
+        record(() -> genreRepository.findAll());
+        record(() -> genreRepository.existsByGenre("Drama"));
+
+        assertEquals(List.of(), record(() -> genreRepository.findAll()));
+        assertEquals(List.of(), record(() -> genreRepository.existsByGenre("Drama")));
+
+        GenreRequest request = new GenreRequest();
+        request.setGenre("Cached Genre " + movieId);
+        genreService.createGenre(request);
+
+        assertFalse(record(() -> genreRepository.findAll()).isEmpty());
+        assertTrue(genreRepository.existsByGenre("Cached Genre " + movieId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statsReportEachRegion() throws Exception {
+        getMovie();
+        getMovie();
+
+        Map<String, Map<String, Object>> regions = (Map<String, Map<String, Object>>) secondLevelCacheService.stats().get("regions");
+        assertTrue(regions.keySet().containsAll(List.of("genre", "actor", "director", "movie.genres", "movie.actors", "movie.directors")));
+        assertTrue((Long) regions.get("movie.actors").get("hits") > 0);
+        assertTrue((Long) regions.get("actor").get("size") > 0);
+    }
+
+    // A movie with a genre, a director and two of three actors; the third is for linking
+    private void seed() {
+        long drama = jdbcTemplate.queryForObject("SELECT id FROM genre WHERE genre = 'Drama'", Long.class);
+        actorIds = List.of(insert("actor"), insert("actor"), insert("actor"));
+        long directorId = insert("director");
+        movieId = jdbcTemplate.queryForObject(
+                "INSERT INTO movie (title, description, year) VALUES ('Cached', 'd', 2000) RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO movie_genre (movie_id, genre_id) VALUES (?, ?)", movieId, drama);
+        jdbcTemplate.update("INSERT INTO movie_actor (movie_id, actor_id) VALUES (?, ?), (?, ?)",
+                movieId, actorIds.get(0), movieId, actorIds.get(2));
+        jdbcTemplate.update("INSERT INTO movie_director (movie_id, director_id) VALUES (?, ?)", movieId, directorId);
+    }
+
+    private List<String> getMovie() throws Exception {
+        clearSpringCaches();
+        return record(() -> mockMvc.perform(get("/api/movies/" + movieId)).andExpect(status().isOk()));
+    }
+
+    private void clearSpringCaches() {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    private long insert(String table) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO " + table + " (name, surname) VALUES ('Cached', 'Person') RETURNING id", Long.class);
+    }
+
+    private static List<String> linkQueries(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> LINKED_TABLES.stream().anyMatch(table -> sql.contains(" " + table + " ") || sql.contains("movie_" + table)))
+                .toList();
+    }
+
+    private static List<String> record(Callable<?> action) throws Exception {
+        QueryRecorder.Recording recording = QueryRecorder.start();
+        try {
+            action.call();
+        } finally {
+            recording.stop();
+        }
+        return recording.statements().stream().map(statement -> statement.sql().toLowerCase(Locale.ROOT)).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.moviestar.app.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter(registry, new SlowRequestLog(Duration.ofHours(1), 8, 200));
+    }
+
+    @Test
+    void recordsStatementsAndDbTimePerRouteTemplate() throws Exception {
+        QueryMetricsListener listener = new QueryMetricsListener(registry, Duration.ofHours(1), 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies/7");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/movies/{id}");
+            execute(listener, "select * from movie where id = ?");
+            execute(listener, "select * from rating where movie_id = ?");
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        DistributionSummary statements = registry.get("db.statements").tag("uri", "/api/movies/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        Timer dbTime = registry.get("db.time").tag("method", "GET").tag("uri", "/api/movies/{id}").timer();
+        assertEquals(1, dbTime.count());
+        assertEquals(0.0, registry.get("db.slow.queries").counter().count());
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotAttributed() throws Exception {
+        QueryMetricsListener listener = new QueryMetricsListener(registry, Duration.ofHours(1), 1.0);
+        execute(listener, "select 1");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(), (req, res) -> { });
+
+        DistributionSummary statements = registry.get("db.statements").tag("uri", "UNKNOWN").summary();
+        assertEquals(1, statements.count());
+        assertEquals(0.0, statements.totalAmount());
+    }
+
+    @Test
+    void slowRequestsKeepTheirStatementsAndCacheLookupsInOrder() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(Duration.ZERO, 8, 2);
+        RequestMetricsFilter capturingFilter = new RequestMetricsFilter(registry, slowRequestLog);
+        QueryMetricsListener listener = new QueryMetricsListener(registry, Duration.ofHours(1), 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            RequestQueryStats.cacheAccessed("movies", 7L, false);
+            execute(listener, "select *\n  from movie where id = ?");
+            execute(listener, "select * from rating where movie_id = ?");
+            RequestQueryStats.cacheAccessed("movies", 7L, true);
+        };
+
+        capturingFilter.doFilter(new MockHttpServletRequest("GET", "/api/movies/7"), response, chain);
+
+        List<SlowRequest> captured = slowRequestLog.recent(10);
+        assertEquals(1, captured.size());
+        SlowRequest slow = captured.get(0);
+        assertEquals("/api/movies/7", slow.path());
+        assertEquals(200, slow.status());
+        assertEquals(2, slow.statements());
+        assertEquals(1, slow.cacheHits());
+        assertEquals(1, slow.cacheMisses());
+        assertEquals(2, slow.steps().size());
+        assertEquals(2, slow.droppedSteps());
+        assertEquals("cache_miss", slow.steps().get(0).type());
+        assertEquals("movies::7", slow.steps().get(0).detail());
+        assertEquals("select * from movie where id = ?", slow.steps().get(1).detail());
+    }
+
+    @Test
+    void countsSlowQueriesEvenWhenNotSampled() {
+        QueryMetricsListener listener = new QueryMetricsListener(registry, Duration.ZERO, 0.0);
+
+        execute(listener, "select pg_sleep(1)");
+        execute(listener, "select pg_sleep(2)");
+
+        assertEquals(2.0, registry.get("db.slow.queries").counter().count());
+    }
+
+    private static void execute(QueryMetricsListener listener, String sql) {
+        ExecutionInfo execution = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(execution, queries);
+        execution.setSuccess(true);
+        listener.afterQuery(execution, queries);
+    }
+}
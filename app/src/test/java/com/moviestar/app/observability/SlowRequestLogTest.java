@@ -0,0 +1,43 @@
+package com.moviestar.app.observability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    @Test
+    void ignoresRequestsUnderTheThreshold() {
+        SlowRequestLog log = new SlowRequestLog(Duration.ofMillis(100), 4, 10);
+
+        log.offer(stats("/fast"), 200, Duration.ofMillis(99).toNanos());
+
+        assertTrue(log.recent(10).isEmpty());
+    }
+
+    @Test
+    void keepsTheNewestRequestsOnceTheRingIsFull() {
+        SlowRequestLog log = new SlowRequestLog(Duration.ZERO, 3, 10);
+        assertEquals(4, log.capacity());
+
+        for (int i = 0; i < 6; i++) {
+            log.offer(stats("/slow/" + i), 200, Duration.ofSeconds(1).toNanos());
+        }
+
+        List<String> paths = log.recent(10).stream().map(SlowRequest::path).toList();
+        assertEquals(List.of("/slow/5", "/slow/4", "/slow/3", "/slow/2"), paths);
+        assertEquals(List.of("/slow/5", "/slow/4"), log.recent(2).stream().map(SlowRequest::path).toList());
+
+        log.clear();
+        assertTrue(log.recent(10).isEmpty());
+    }
+
+    private static RequestQueryStats stats(String path) {
+        RequestQueryStats stats = RequestQueryStats.begin("GET", path, 10);
+        stats.end();
+        return stats;
+    }
+}
@@ -0,0 +1,107 @@
+package com.moviestar.app.observability.jfr;
+
+import com.moviestar.app.exception.EntityNotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private FlightRecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecordingService(Duration.ofMinutes(10), DataSize.ofMegabytes(16), Duration.ofMinutes(5), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.closeRecording();
+    }
+
+    @Test
+    void dumpContainsApplicationEvents() throws Exception {
+        service.start(null);
+
+        MovieResponseEvent event = new MovieResponseEvent();
+        event.movieId = 42;
+        event.startTiming();
+        event.finish();
+
+        List<RecordedEvent> events = recorded("moviestar.MovieResponse");
+        assertEquals(1, events.size());
+        assertEquals(42L, events.get(0).getLong("movieId"));
+        assertEquals(0L, events.get(0).getLong("queryCount"));
+    }
+
+    @Test
+    void cacheMissIsRecordedUntilTheLoadedValueIsStored() throws Exception {
+        service.start(null);
+        CacheLoadRecordingCache cache = new CacheLoadRecordingCache(new ConcurrentMapCache("movies"));
+
+        assertNull(cache.get(7L));
+        cache.put(7L, "movie");
+        assertNotNull(cache.get(7L));
+
+        List<RecordedEvent> events = recorded("moviestar.CacheLoad");
+        assertEquals(1, events.size());
+        assertEquals("movies", events.get(0).getString("cacheName"));
+        assertEquals("7", events.get(0).getString("key"));
+    }
+
+    @Test
+    void missWhoseLoadThrowsIsAbandonedAtTheEndOfTheRequest() throws Exception {
+        service.start(null);
+        CacheLoadRecordingCache cache = new CacheLoadRecordingCache(new ConcurrentMapCache("movies"));
+
+        assertNull(cache.get(7L));
+        CacheLoadRecordingCache.abandonPendingLoads();
+        cache.put(7L, "movie");
+
+        assertTrue(recorded("moviestar.CacheLoad").isEmpty());
+    }
+
+    @Test
+    void durationIsCappedAndSecondStartIsRejected() {
+        Map<String, Object> status = service.start(Duration.ofHours(2));
+
+        assertEquals("RUNNING", status.get("state"));
+        assertEquals(Duration.ofMinutes(5), status.get("duration"));
+        assertThrows(RecordingAlreadyRunningException.class, () -> service.start(null));
+    }
+
+    @Test
+    void stopAndDumpRequireARecording() {
+        assertEquals("NONE", service.status().get("state"));
+        assertThrows(EntityNotFoundException.class, service::dump);
+        assertThrows(EntityNotFoundException.class, service::stop);
+
+        service.start(Duration.ofMinutes(1));
+        assertEquals("STOPPED", service.stop().get("state"));
+        assertEquals("NONE", service.status().get("state"));
+    }
+
+    private List<RecordedEvent> recorded(String eventName) throws Exception {
+        Path file = Files.createTempFile("flight-recording-test", ".jfr");
+        try {
+            Files.write(file, service.dump());
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.moviestar.app.reactive;
+
+import com.moviestar.app.model.Response.GenreResponse;
+import com.moviestar.app.model.Response.MovieResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCatalogRoutesTest {
+
+    @Mock
+    private ReactiveCatalogRepository repository;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(new ReactiveCatalogRoutes(repository).routes()).build();
+    }
+
+    @Test
+    void listsAreWrittenAsOneJsonArray() {
+        when(repository.findGenres()).thenReturn(Flux.just(genre(1L, "Drama"), genre(2L, "Comedy")));
+
+        client.get().uri("/api/genres")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].genre").isEqualTo("Comedy");
+    }
+
+    @Test
+    void listsAreWrittenOneDocumentPerLineWhenNdjsonIsAccepted() {
+        when(repository.findMovies()).thenReturn(Flux.just(movie(1L), movie(2L), movie(3L)));
+
+        List<MovieResponse> movies = client.get().uri("/api/movies")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(MovieResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(1L, 2L, 3L), movies.stream().map(MovieResponse::getId).toList());
+    }
+
+    @Test
+    void missingIdAnswersNotFoundWithErrorResponse() {
+        when(repository.findActor(42L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/actors/42")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Actor not found with id: 42");
+    }
+
+    @Test
+    void nonNumericIdIsRejected() {
+        client.get().uri("/api/directors/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(repository);
+    }
+
+    private static GenreResponse genre(Long id, String name) {
+        return GenreResponse.builder().id(id).genre(name).build();
+    }
+
+    private static MovieResponse movie(Long id) {
+        return MovieResponse.builder().id(id).title("Movie " + id).genres(List.of()).actors(List.of()).directors(List.of()).build();
+    }
+}
@@ -1,9 +1,9 @@
 package com.moviestar.app.repository;
 
-import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-@Configuration
+@TestConfiguration
 @EnableJpaAuditing
 public class TestJpaConfig {
 }
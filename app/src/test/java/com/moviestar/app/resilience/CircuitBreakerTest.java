@@ -0,0 +1,120 @@
+package com.moviestar.app.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = 10_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(50, 4, 2, OPEN_NANOS, now::get);
+
+    @Test
+    void opensOnceEnoughOfTheRecentCallsFail() {
+        callFailed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        callSucceeded();
+        callSucceeded();
+        callSucceeded();
+        callFailed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        callFailed();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.rejections());
+        assertEquals(OPEN_NANOS, breaker.remainingOpenNanos());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        callFailed();
+        for (int i = 0; i < 4; i++) {
+            callSucceeded();
+        }
+        assertEquals(0.0, breaker.failureRate());
+
+        callFailed();
+        assertEquals(0.25, breaker.failureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void aSingleProbeIsLetThroughOnceTheOpenDurationIsOver() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+        assertTrue(probe.isProbe());
+        assertNull(breaker.tryAcquirePermission());
+
+        probe.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertNotNull(breaker.tryAcquirePermission());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void aFailedProbeOpensTheCircuitAgain() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+
+        probe.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquirePermission());
+        assertEquals(2, breaker.openings());
+    }
+
+    @Test
+    void onlyTheProbeDecidesWhetherAHalfOpenCircuitCloses() {
+        CircuitBreaker.Permit early = breaker.tryAcquirePermission();
+        open();
+        now.addAndGet(OPEN_NANOS);
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+
+        early.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertNull(breaker.tryAcquirePermission());
+
+        probe.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void outcomesOfPermitsGivenBeforeTheCircuitClosedAreNotRecorded() {
+        CircuitBreaker.Permit early = breaker.tryAcquirePermission();
+        open();
+        now.addAndGet(OPEN_NANOS);
+        breaker.tryAcquirePermission().onSuccess();
+
+        early.onFailure();
+        early.onFailure();
+
+        assertEquals(0.0, breaker.failureRate());
+        assertEquals(3, breaker.failures());
+    }
+
+    private void callSucceeded() {
+        breaker.tryAcquirePermission().onSuccess();
+    }
+
+    private void callFailed() {
+        breaker.tryAcquirePermission().onFailure();
+    }
+
+    private void open() {
+        callFailed();
+        callFailed();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+}
@@ -0,0 +1,43 @@
+package com.moviestar.app.resilience;
+
+import com.moviestar.app.datasource.ReplicaRouter;
+import com.moviestar.app.datasource.ReplicaRoutingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseCircuitBreakerConfigTest {
+
+    @Test
+    void withReplicasTheBreakerSeesThePhysicalConnections() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        new ApplicationContextRunner()
+                .withPropertyValues("app.datasource.replicas.urls=jdbc:postgresql://replica:5432/moviestar")
+                .withUserConfiguration(ReplicaRoutingConfig.class, DatabaseCircuitBreakerConfig.class)
+                .withBean(ReplicaRouter.class, () -> mock(ReplicaRouter.class))
+                .withBean(DatabaseCircuitBreaker.class, () -> new DatabaseCircuitBreaker(50, 4, 2, Duration.ofMinutes(1)))
+                .withBean("dataSource", DataSource.class, () -> primary)
+                .run(context -> {
+                    DataSource dataSource = context.getBean("dataSource", DataSource.class);
+                    // The first connection taken reads the defaults the lazy proxy hands out
+                    dataSource.getConnection().close();
+                    DatabaseCircuitBreaker breaker = context.getBean(DatabaseCircuitBreaker.class);
+                    Object before = breaker.stats().get("successes");
+
+                    try (Connection connection = dataSource.getConnection()) {
+                        assertEquals(before, breaker.stats().get("successes"));
+                        connection.createStatement();
+                    }
+
+                    assertEquals((long) before + 1, breaker.stats().get("successes"));
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.moviestar.app.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseCircuitBreakerTest {
+
+    private final DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(50, 4, 2, Duration.ZERO);
+
+    @Test
+    void aProbeFailingWithAnErrorLetsTheNextProbeThrough() throws SQLException {
+        breaker.repositoryCallFailed(new DataAccessResourceFailureException("down"));
+        breaker.repositoryCallFailed(new DataAccessResourceFailureException("down"));
+        assertEquals("HALF_OPEN", breaker.stats().get("state"));
+
+        assertThrows(OutOfMemoryError.class, () -> breaker.connect(() -> {
+            throw new OutOfMemoryError("probe");
+        }));
+
+        assertEquals(2L, breaker.stats().get("openings"));
+        assertEquals("probe", breaker.connect(() -> "probe"));
+        assertEquals("CLOSED", breaker.stats().get("state"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.moviestar.app.resilience;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LastKnownGoodFilterTest {
+
+    private static final Instant CAPTURED = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final MutableClock clock = new MutableClock();
+    private final LastKnownGoodStore store = new LastKnownGoodStore(DataSize.ofKilobytes(64), Duration.ofHours(1),
+            Duration.ofSeconds(5), clock);
+    private final DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(50, 4, 2, Duration.ofMinutes(1));
+    private final LastKnownGoodFilter filter = new LastKnownGoodFilter(store, breaker);
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    @Test
+    void catalogReadsAreServedStaleWhileTheCircuitIsOpen() throws Exception {
+        get("/api/genres");
+        clock.now = CAPTURED.plusSeconds(90);
+        openCircuit();
+
+        MockHttpServletResponse stale = get("/api/genres");
+
+        assertEquals(200, stale.getStatus());
+        assertEquals("[{\"id\":1}]", stale.getContentAsString());
+        assertEquals("application/json", stale.getContentType());
+        assertEquals("90", stale.getHeader("Age"));
+        assertEquals(CAPTURED.toString(), stale.getHeader(LastKnownGoodStore.STALE_HEADER));
+        assertEquals(1, rendered.get());
+        assertEquals(1L, store.stats().get("staleServed"));
+    }
+
+    @Test
+    void responsesAreRecapturedOnlyAfterTheRefreshInterval() throws Exception {
+        get("/api/movies/search?title=Heat");
+        clock.now = CAPTURED.plusSeconds(4);
+        assertFalse(store.wantsRefresh("/api/movies/search?title=Heat"));
+        clock.now = CAPTURED.plusSeconds(5);
+        assertTrue(store.wantsRefresh("/api/movies/search?title=Heat"));
+
+        get("/api/movies/search?title=Heat");
+        assertEquals(CAPTURED.plusSeconds(5), store.get("/api/movies/search?title=Heat").storedAt());
+    }
+
+    @Test
+    void otherRequestsAreNeitherKeptNorServedStale() throws Exception {
+        get("/api/movies/5/comments");
+        get("/api/users/me");
+        assertEquals(0L, store.stats().get("entries"));
+
+        openCircuit();
+        MockHttpServletResponse response = get("/api/movies/5");
+        assertEquals(3, rendered.get());
+        assertNull(response.getHeader(LastKnownGoodStore.STALE_HEADER));
+    }
+
+    private void openCircuit() {
+        breaker.repositoryCallFailed(new DataAccessResourceFailureException("down"));
+        breaker.repositoryCallFailed(new DataAccessResourceFailureException("down"));
+        assertTrue(breaker.isOpen());
+    }
+
+    private MockHttpServletResponse get(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri.split("\\?")[0]);
+        if (uri.contains("?")) {
+            request.setQueryString(uri.split("\\?")[1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                rendered.incrementAndGet();
+                response.setContentType("application/json");
+                response.getWriter().write("[{\"id\":1}]");
+            }
+        }));
+        return response;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = CAPTURED;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.moviestar.app.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.observability.AppMetrics;
 import com.moviestar.app.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,6 +38,9 @@ class BannedUserFilterIntegrationTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private AppMetrics appMetrics;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -2,6 +2,7 @@ package com.moviestar.app.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviestar.app.model.UserDTO;
+import com.moviestar.app.observability.AppMetrics;
 import com.moviestar.app.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -39,6 +40,9 @@ public class BannedUserFilterTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private AppMetrics appMetrics;
+
     @Mock
     private HttpServletRequest request;
 
@@ -129,6 +133,7 @@ public class BannedUserFilterTest {
         verify(response).setContentType("application/json");
         verify(objectMapper).writeValue(any(PrintWriter.class), any());
         verify(filterChain, never()).doFilter(request, response);
+        verify(appMetrics).bannedRequestRejected();
     }
 
     @Test
@@ -0,0 +1,109 @@
+package com.moviestar.app.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationCacheTest {
+
+    private JwtAuthenticationCache cache;
+    private AtomicInteger decodeCalls;
+    private AtomicInteger convertCalls;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtAuthenticationCache(100, Duration.ofHours(1));
+        decodeCalls = new AtomicInteger();
+        convertCalls = new AtomicInteger();
+    }
+
+    @Test
+    void decode_RepeatedToken_SkipsDelegate() {
+        Jwt first = cache.decode("token-a", decoder(Instant.now().plusSeconds(300)));
+        Jwt second = cache.decode("token-a", decoder(Instant.now().plusSeconds(300)));
+
+        assertSame(first, second);
+        assertEquals(1, decodeCalls.get());
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    void decode_DifferentTokens_DecodedSeparately() {
+        cache.decode("token-a", decoder(Instant.now().plusSeconds(300)));
+        cache.decode("token-b", decoder(Instant.now().plusSeconds(300)));
+
+        assertEquals(2, decodeCalls.get());
+    }
+
+    @Test
+    void decode_ExpiredToken_IsNotServedFromCache() {
+        cache.decode("token-a", decoder(Instant.now().minusSeconds(1)));
+        cache.decode("token-a", decoder(Instant.now().minusSeconds(1)));
+
+        assertEquals(2, decodeCalls.get());
+    }
+
+    @Test
+    void decode_DelegateFailure_IsNotCached() {
+        Function<String, Jwt> failing = token -> {
+            decodeCalls.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> cache.decode("token-a", failing));
+        assertThrows(IllegalArgumentException.class, () -> cache.decode("token-a", failing));
+        assertEquals(2, decodeCalls.get());
+    }
+
+    @Test
+    void authenticate_CachedToken_ConvertsOnceAndReturnsFreshInstances() {
+        Jwt jwt = cache.decode("token-a", decoder(Instant.now().plusSeconds(300)));
+
+        JwtAuthenticationToken first = cache.authenticate(jwt, converter());
+        JwtAuthenticationToken second = cache.authenticate(jwt, converter());
+
+        assertEquals(1, convertCalls.get());
+        assertNotSame(first, second);
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals("testuser", second.getName());
+    }
+
+    @Test
+    void authenticate_UncachedToken_AlwaysConverts() {
+        Jwt jwt = decoder(Instant.now().plusSeconds(300)).apply("token-a");
+
+        cache.authenticate(jwt, converter());
+        cache.authenticate(jwt, converter());
+
+        assertEquals(2, convertCalls.get());
+    }
+
+    private Function<String, Jwt> decoder(Instant expiresAt) {
+        return token -> {
+            decodeCalls.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .claim("preferred_username", "testuser")
+                    .issuedAt(expiresAt.minusSeconds(600))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+
+    private Function<Jwt, JwtAuthenticationToken> converter() {
+        return jwt -> {
+            convertCalls.incrementAndGet();
+            return new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")), "testuser");
+        };
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -22,6 +23,9 @@ class ActorServiceTest {
     @Mock
     private ActorRepository actorRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ActorService actorService;
 
@@ -129,7 +133,7 @@ class ActorServiceTest {
         actor.setBirthDay(new Date());
         actor.setAbout(about);
         actor.setPictureUrl(pictureUrl);
-        actor.setMovies(new ArrayList<>());
+        actor.setMovies(new LinkedHashSet<>());
         return actor;
     }
 }
\ No newline at end of file
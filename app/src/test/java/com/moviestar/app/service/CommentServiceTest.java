@@ -3,6 +3,7 @@ package com.moviestar.app.service;
 import com.moviestar.app.model.CommentDTO;
 import com.moviestar.app.model.CommentLikeDTO;
 import com.moviestar.app.model.Response.CommentResponse;
+import com.moviestar.app.observability.AppMetrics;
 import com.moviestar.app.repository.CommentLikeRepository;
 import com.moviestar.app.repository.CommentRepository;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,9 @@ class CommentServiceTest {
     @Mock
     private CommentLikeRepository commentLikeRepository;
 
+    @Mock
+    private AppMetrics appMetrics;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -77,6 +81,7 @@ class CommentServiceTest {
         assertEquals(1, response.getLikesCount());
         assertEquals(0, response.getDislikesCount());
         verify(commentLikeRepository).save(any(CommentLikeDTO.class));
+        verify(appMetrics).commentReacted(true);
     }
     
     @Test
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -31,6 +32,9 @@ class DirectorServiceTest {
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DirectorService directorService;
 
@@ -204,7 +208,7 @@ class DirectorServiceTest {
         
         when(directorRepository.findById(directorId)).thenReturn(Optional.of(director));
         
-        director.setMovies(movies);
+        director.setMovies(new LinkedHashSet<>(movies));
         
         when(movieService.convertToResponse(movies.get(0))).thenReturn(movieResponses.get(0));
         when(movieService.convertToResponse(movies.get(1))).thenReturn(movieResponses.get(1));
@@ -231,7 +235,7 @@ class DirectorServiceTest {
         
         when(directorRepository.findById(directorId)).thenReturn(Optional.of(director));
         
-        director.setMovies(Collections.emptyList());
+        director.setMovies(new LinkedHashSet<>());
         
         List<MovieResponse> result = directorService.getDirectorMovies(directorId);
         
@@ -246,7 +250,7 @@ class DirectorServiceTest {
         director.setBirthDay(new Date());
         director.setAbout(about);
         director.setPictureUrl(pictureUrl);
-        director.setMovies(new ArrayList<>());
+        director.setMovies(new LinkedHashSet<>());
         return director;
     }
 
@@ -256,9 +260,9 @@ class DirectorServiceTest {
         movie.setTitle(title);
         movie.setDescription("Description");
         movie.setYear(2020);
-        movie.setGenres(new ArrayList<>());
-        movie.setActors(new ArrayList<>());
-        movie.setDirectors(new ArrayList<>());
+        movie.setGenres(new LinkedHashSet<>());
+        movie.setActors(new LinkedHashSet<>());
+        movie.setDirectors(new LinkedHashSet<>());
         movie.setPosterURL("poster.jpg");
         movie.setBackdropURL("backdrop.jpg");
         return movie;
@@ -1,5 +1,6 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.model.GenreDTO;
 import com.moviestar.app.model.Response.GenreResponse;
 import com.moviestar.app.repository.GenreRepository;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +25,9 @@ class GenreServiceTest {
     @Mock
     private GenreRepository genreRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GenreService genreService;
 
@@ -119,6 +124,7 @@ class GenreServiceTest {
 
         assertDoesNotThrow(() -> genreService.deleteGenre(genreId));
         verify(genreRepository).deleteById(genreId);
+        verify(eventPublisher).publishEvent(MovieAssociationsChangedEvent.allMovies());
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
 import com.moviestar.app.exception.EntityNotFoundException;
 import com.moviestar.app.model.ActorDTO;
 import com.moviestar.app.model.GenreDTO;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -36,6 +38,9 @@ class MovieServiceTest {
     @Mock
     private RatingService ratingService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -94,8 +99,8 @@ class MovieServiceTest {
 
         assertEquals("Test Movie", result.getTitle());
         assertEquals(2, result.getGenres().size());
-        assertEquals("Action", result.getGenres().get(0).getGenre());
-        assertEquals("Thriller", result.getGenres().get(1).getGenre());
+        assertEquals("Action", new ArrayList<>(result.getGenres()).get(0).getGenre());
+        assertEquals("Thriller", new ArrayList<>(result.getGenres()).get(1).getGenre());
         assertEquals(1, result.getActors().size());
     }
 
@@ -148,7 +153,30 @@ class MovieServiceTest {
         assertEquals("Test Movie", result.getTitle());
         assertEquals(1L, result.getId());
         assertEquals(2, result.getGenres().size());
-        assertEquals("Action", result.getGenres().get(0).getGenre());
+        assertEquals("Action", new ArrayList<>(result.getGenres()).get(0).getGenre());
+        verify(eventPublisher).publishEvent(new MovieAssociationsChangedEvent(movieId));
+    }
+
+    @Test
+    void updateMovie_ChangesLinksInPlace() {
+        MovieRequest request = createMovieRequest();
+        request.setGenreIds(Arrays.asList(2L, 3L));
+        MovieDTO existingMovie = createMovieDTO(1L, "Old Title");
+        Set<GenreDTO> managedGenres = existingMovie.getGenres();
+        ActorDTO actor = createTestActor(1L, "John", "Doe");
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(existingMovie));
+        when(genreRepository.findAllById(Arrays.asList(2L, 3L)))
+                .thenReturn(Arrays.asList(new GenreDTO(2L, "Thriller (reloaded)"), new GenreDTO(3L, "Drama")));
+        when(actorRepository.findAllById(Collections.singletonList(1L)))
+                .thenReturn(Collections.singletonList(actor));
+        when(movieRepository.save(any(MovieDTO.class))).thenReturn(existingMovie);
+
+        MovieDTO result = movieService.updateMovie(1L, request);
+
+        assertSame(managedGenres, result.getGenres());
+        assertEquals(List.of("Thriller", "Drama"), result.getGenres().stream().map(GenreDTO::getGenre).toList());
+        assertEquals(Set.of(actor), result.getActors());
     }
 
     @Test
@@ -159,6 +187,7 @@ class MovieServiceTest {
 
         assertDoesNotThrow(() -> movieService.deleteMovie(movieId));
         verify(movieRepository).deleteById(movieId);
+        verify(eventPublisher).publishEvent(new MovieAssociationsChangedEvent(movieId));
     }
 
     @Test
@@ -228,10 +257,10 @@ class MovieServiceTest {
         List<GenreDTO> genres = new ArrayList<>();
         genres.add(genre1);
         genres.add(genre2);
-        movie.setGenres(genres);
+        movie.setGenres(new LinkedHashSet<>(genres));
         
-        movie.setActors(new ArrayList<>());
-        movie.setDirectors(new ArrayList<>());
+        movie.setActors(new LinkedHashSet<>());
+        movie.setDirectors(new LinkedHashSet<>());
         movie.setPosterURL("poster.jpg");
         movie.setBackdropURL("backdrop.jpg");
         return movie;
@@ -256,7 +285,7 @@ class MovieServiceTest {
         actor.setId(id);
         actor.setName(name);
         actor.setSurname(surname);
-        actor.setMovies(new ArrayList<>());
+        actor.setMovies(new LinkedHashSet<>());
         return actor;
     }
 
@@ -1,6 +1,8 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.event.RatingChangedEvent;
 import com.moviestar.app.model.RatingDTO;
+import com.moviestar.app.observability.AppMetrics;
 import com.moviestar.app.repository.MovieRepository;
 import com.moviestar.app.repository.RatingRepository;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,6 +33,12 @@ class RatingServiceImplTest {
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AppMetrics appMetrics;
+
     @InjectMocks
     private RatingServiceImpl ratingService;
 
@@ -45,6 +54,8 @@ class RatingServiceImplTest {
 
         assertEquals("testuser", ratingDTO.getUsername());
         verify(ratingRepository).save(ratingDTO);
+        verify(eventPublisher).publishEvent(new RatingChangedEvent(1L, "testuser"));
+        verify(appMetrics).ratingAdded();
     }
 
     @Test
@@ -114,6 +125,7 @@ class RatingServiceImplTest {
         ratingService.removeRating(movieId, username);
 
         verify(ratingRepository).deleteByUsernameAndMovieId(username, movieId);
+        verify(eventPublisher).publishEvent(new RatingChangedEvent(movieId, username));
     }
 
     @Test
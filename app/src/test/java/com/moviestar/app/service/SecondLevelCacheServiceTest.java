@@ -0,0 +1,91 @@
+package com.moviestar.app.service;
+
+import com.moviestar.app.cache.CacheInvalidationBus;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.cache.CacheManager;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private CacheManager hibernateCacheManager;
+
+    @Mock
+    private CacheInvalidationBus bus;
+
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        secondLevelCacheService = new SecondLevelCacheService(entityManagerFactory, hibernateCacheManager,
+                new StaticListableBeanFactory(Map.of("bus", bus)).getBeanProvider(CacheInvalidationBus.class));
+    }
+
+    @Test
+    void changedMovieLosesItsCachedLinksAndFilmographiesAreDropped() {
+        secondLevelCacheService.onAssociationsChanged(new MovieAssociationsChangedEvent(7L));
+
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.genres", 7L);
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.actors", 7L);
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.directors", 7L);
+        verify(cache).evictCollectionData("com.moviestar.app.model.ActorDTO.movies");
+        verify(cache).evictCollectionData("com.moviestar.app.model.DirectorDTO.movies");
+        verifyNoMoreInteractions(cache);
+        verify(bus).publish("hibernate:movie-links", 7L);
+    }
+
+    @Test
+    void changeToAllMoviesDropsEveryLinkCollection() {
+        secondLevelCacheService.onAssociationsChanged(MovieAssociationsChangedEvent.allMovies());
+
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.genres");
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.actors");
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.directors");
+        verify(cache).evictCollectionData("com.moviestar.app.model.ActorDTO.movies");
+        verify(cache).evictCollectionData("com.moviestar.app.model.DirectorDTO.movies");
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void entityChangedOnAnotherInstanceIsEvictedWithTheQueryCache() {
+        secondLevelCacheService.evict("hibernate:com.moviestar.app.model.GenreDTO", 3L);
+
+        verify(cache).evictEntityData("com.moviestar.app.model.GenreDTO", 3L);
+        verify(cache).evictDefaultQueryRegion();
+        verifyNoMoreInteractions(cache);
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    void linksChangedOnAnotherInstanceAreEvictedWithoutBeingSentOn() {
+        secondLevelCacheService.evict("hibernate:movie-links", 7L);
+
+        verify(cache).evictCollectionData("com.moviestar.app.model.MovieDTO.actors", 7L);
+        verify(cache).evictCollectionData("com.moviestar.app.model.ActorDTO.movies");
+        verifyNoInteractions(bus);
+    }
+}
@@ -1,13 +1,16 @@
 package com.moviestar.app.service;
 
+import com.moviestar.app.model.Response.UserPageResponse;
 import com.moviestar.app.model.Response.UserResponse;
 import com.moviestar.app.model.UserDTO;
 import com.moviestar.app.repository.UserRepository;
+import com.moviestar.app.repository.UserSpecifications;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -31,7 +34,7 @@ class UserServiceTest {
     void getUserByUsername_Exists() {
         String username = "testuser";
         UserDTO user = createUserDTO(1L, username, "test@example.com", UserDTO.UserStatus.ACTIVE);
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(userRepository.findByUsernamePreferExactCase(username)).thenReturn(Optional.of(user));
 
         Optional<UserDTO> result = userService.getUserByUsername(username);
 
@@ -42,7 +45,7 @@ class UserServiceTest {
     @Test
     void getUserByUsername_NotFound() {
         String username = "nonexistentuser";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userRepository.findByUsernamePreferExactCase(username)).thenReturn(Optional.empty());
 
         Optional<UserDTO> result = userService.getUserByUsername(username);
 
@@ -113,36 +116,6 @@ class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
-    @Test
-    void getAllUsers() {
-        List<UserDTO> users = Arrays.asList(
-            createUserDTO(1L, "user1", "user1@example.com", UserDTO.UserStatus.ACTIVE),
-            createUserDTO(2L, "user2", "user2@example.com", UserDTO.UserStatus.BANNED)
-        );
-        when(userRepository.findAll()).thenReturn(users);
-
-        List<UserDTO> result = userService.getAllUsers();
-
-        assertEquals(2, result.size());
-        assertEquals("user1", result.get(0).getUsername());
-        assertEquals("user2", result.get(1).getUsername());
-    }
-
-    @Test
-    void getUsersByStatus() {
-        List<UserDTO> activeUsers = Arrays.asList(
-            createUserDTO(1L, "activeUser1", "active1@example.com", UserDTO.UserStatus.ACTIVE),
-            createUserDTO(2L, "activeUser2", "active2@example.com", UserDTO.UserStatus.ACTIVE)
-        );
-        when(userRepository.findByStatus(UserDTO.UserStatus.ACTIVE)).thenReturn(activeUsers);
-
-        List<UserDTO> result = userService.getUsersByStatus(UserDTO.UserStatus.ACTIVE);
-
-        assertEquals(2, result.size());
-        assertEquals(UserDTO.UserStatus.ACTIVE, result.get(0).getStatus());
-        assertEquals(UserDTO.UserStatus.ACTIVE, result.get(1).getStatus());
-    }
-
     @Test
     void convertToResponse() {
         UserDTO user = createUserDTO(1L, "testuser", "test@example.com", UserDTO.UserStatus.ACTIVE);
@@ -160,7 +133,7 @@ class UserServiceTest {
         String newPicture = "https://example.com/new.jpg";
         
         UserDTO user = createUserDTO(1L, username, "test@example.com", UserDTO.UserStatus.ACTIVE);
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(userRepository.findByUsernamePreferExactCase(username)).thenReturn(Optional.of(user));
         when(userRepository.save(any(UserDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         UserDTO result = userService.updateProfilePicture(username, newPicture);
@@ -173,7 +146,7 @@ class UserServiceTest {
     void updateProfilePicture_UserNotFound() {
         String username = "nonexistent";
         String newPicture = "https://example.com/new.jpg";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userRepository.findByUsernamePreferExactCase(username)).thenReturn(Optional.empty());
         
         assertThrows(RuntimeException.class, () ->
             userService.updateProfilePicture(username, newPicture));
@@ -181,6 +154,55 @@ class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void getUserByUsername_Null() {
+        Optional<UserDTO> result = userService.getUserByUsername(null);
+
+        assertFalse(result.isPresent());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchUsers_ReturnsCursorWhenMoreRowsExist() {
+        List<UserDTO> rows = Arrays.asList(
+            createUserDTO(3L, "user3", "user3@example.com", UserDTO.UserStatus.ACTIVE),
+            createUserDTO(2L, "user2", "user2@example.com", UserDTO.UserStatus.ACTIVE),
+            createUserDTO(1L, "user1", "user1@example.com", UserDTO.UserStatus.ACTIVE)
+        );
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        UserPageResponse page = userService.searchUsers(UserDTO.UserStatus.ACTIVE, "user", true,
+                UserSpecifications.SortField.CREATED_AT, false, null, 2);
+
+        assertEquals(2, page.getUsers().size());
+        assertEquals("user3", page.getUsers().get(0).getUsername());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchUsers_LastPageHasNoCursor() {
+        List<UserDTO> rows = Arrays.asList(
+            createUserDTO(1L, "user1", "user1@example.com", UserDTO.UserStatus.BANNED)
+        );
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        UserPageResponse page = userService.searchUsers(null, null, true,
+                UserSpecifications.SortField.LAST_LOGIN, true, null, 2);
+
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchUsers_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(null, null, true,
+                UserSpecifications.SortField.CREATED_AT, false, "not-a-cursor", 20));
+
+        verifyNoInteractions(userRepository);
+    }
+
     private UserDTO createUserDTO(Long id, String username, String email, UserDTO.UserStatus status) {
         UserDTO user = new UserDTO();
         user.setId(id);
@@ -0,0 +1,169 @@
+package com.moviestar.app.service.catalogimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.model.Response.CatalogImportResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    @Mock
+    private CatalogImportWriter writer;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<List<ImportRow>> chunks;
+
+    private ValidatorFactory validatorFactory;
+    private ExecutorService executor;
+    private CatalogImportService service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+        executor = Executors.newSingleThreadExecutor();
+        service = new CatalogImportService(writer, new ObjectMapper(), validator, cacheManager, eventPublisher,
+                executor, 2, 10, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Test
+    void ndjsonRowsAreValidatedAndWrittenInChunks() throws Exception {
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<ImportRow> rows = invocation.getArgument(0);
+            return new CatalogImportWriter.ChunkResult(rows.size(), List.of());
+        });
+        when(cacheManager.getCache(anyString())).thenReturn(new ConcurrentMapCache("movies"));
+        String upload = """
+                {"title":"One","description":"First","year":2001,"genreIds":[1]}
+                {"title":"Two","description":"Second","year":2002,"genreIds":[1],"actorIds":[3]}
+
+                {"title":"Broken",
+                {"title":"","description":"No title","year":2003,"genreIds":[1]}
+                {"title":"Three","description":"Third","year":1700,"genreIds":[2]}
+                {"title":"Four","description":"Fourth","year":2004,"genreIds":[2],"directorIds":[5]}
+                """;
+
+        CatalogImportResponse job = runToCompletion(ImportFormat.NDJSON, upload);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(6, job.getRowsRead());
+        assertEquals(3, job.getImported());
+        assertEquals(3, job.getFailed());
+        assertEquals(List.of(4L, 5L, 6L), job.getErrors().stream().map(ImportError::line).toList());
+        assertTrue(job.getErrors().get(0).message().startsWith("Invalid JSON"));
+        assertEquals("Title cannot be blank", job.getErrors().get(1).message());
+        assertEquals("Year must be between 1888 and 2200", job.getErrors().get(2).message());
+
+        verify(writer, times(2)).write(chunks.capture());
+        assertEquals(List.of(List.of("One", "Two"), List.of("Four")), chunks.getAllValues().stream()
+                .map(chunk -> chunk.stream().map(row -> row.movie().getTitle()).toList())
+                .toList());
+        verify(eventPublisher).publishEvent(MovieAssociationsChangedEvent.allMovies());
+    }
+
+    @Test
+    void csvQuotedFieldsAndIdListsAreParsed() throws Exception {
+        when(writer.write(anyList())).thenReturn(new CatalogImportWriter.ChunkResult(1, List.of()));
+        when(cacheManager.getCache(anyString())).thenReturn(new ConcurrentMapCache("movies"));
+        String upload = "Title,Year,Description,genreIds,actorIds\r\n"
+                + "\"Heat, Director's Cut\",1995,\"A \"\"cops and robbers\"\" story\nover two lines\",1|2,7| 8\r\n"
+                + "Nameless,not-a-year,Desc,1,\r\n";
+
+        CatalogImportResponse job = runToCompletion(ImportFormat.CSV, upload);
+
+        assertEquals(1, job.getImported());
+        assertEquals(1, job.getErrors().size());
+        assertEquals(4, job.getErrors().get(0).line());
+        assertEquals("Year is not a number: not-a-year", job.getErrors().get(0).message());
+        verify(writer).write(chunks.capture());
+        ImportRow row = chunks.getValue().get(0);
+        assertEquals(2, row.line());
+        assertEquals("Heat, Director's Cut", row.movie().getTitle());
+        assertEquals("A \"cops and robbers\" story\nover two lines", row.movie().getDescription());
+        assertEquals(List.of(1L, 2L), row.movie().getGenreIds());
+        assertEquals(List.of(7L, 8L), row.movie().getActorIds());
+    }
+
+    @Test
+    void failedChunkRejectsItsRowsAndTheImportContinues() throws Exception {
+        when(writer.write(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(new CatalogImportWriter.ChunkResult(1, List.of()));
+        when(cacheManager.getCache(anyString())).thenReturn(new ConcurrentMapCache("movies"));
+        String upload = """
+                {"title":"One","description":"d","year":2001,"genreIds":[1]}
+                {"title":"Two","description":"d","year":2002,"genreIds":[1]}
+                {"title":"Three","description":"d","year":2003,"genreIds":[1]}
+                """;
+
+        CatalogImportResponse job = runToCompletion(ImportFormat.NDJSON, upload);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(1, job.getImported());
+        assertEquals(2, job.getFailed());
+        assertTrue(job.getErrors().get(0).message().startsWith("Chunk rolled back"));
+    }
+
+    @Test
+    void csvWithUnknownColumnFailsTheJob() throws Exception {
+        CatalogImportResponse job = runToCompletion(ImportFormat.CSV, "title,rating\nHeat,9\n");
+
+        assertEquals("FAILED", job.getStatus());
+        assertTrue(job.getMessage().startsWith("Unknown CSV column 'rating'"));
+        verifyNoInteractions(writer, eventPublisher);
+    }
+
+    @Test
+    void formatComesFromTheParameterOrTheContentType() {
+        assertEquals(ImportFormat.CSV, ImportFormat.of("csv", "application/octet-stream"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.of(null, "application/x-ndjson; charset=utf-8"));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.of(null, "application/json"));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.of("xml", null));
+    }
+
+    private CatalogImportResponse runToCompletion(ImportFormat format, String upload) throws Exception {
+        CatalogImportResponse submitted = service.submit(format,
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return service.getJob(submitted.getId());
+    }
+}
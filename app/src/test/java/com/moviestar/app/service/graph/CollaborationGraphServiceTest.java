@@ -0,0 +1,100 @@
+package com.moviestar.app.service.graph;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.exception.EntityNotFoundException;
+import com.moviestar.app.model.Response.CollaborationPathResponse;
+import com.moviestar.app.model.Response.CollaboratorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CollaborationGraphServiceTest {
+
+    @Mock
+    private CollaborationGraphLoader collaborationGraphLoader;
+
+    @InjectMocks
+    private CollaborationGraphService collaborationGraphService;
+
+    @BeforeEach
+    void setUp() {
+        // Chain: actor 1 -(movie 100, 101)- actor 2 -(movie 102)- director 5 -(movie 103)- actor 3; actor 4 is isolated
+        when(collaborationGraphLoader.load()).thenReturn(CollaborationGraph.builder()
+                .add(100L, PersonType.ACTOR, 1L).add(100L, PersonType.ACTOR, 2L)
+                .add(101L, PersonType.ACTOR, 1L).add(101L, PersonType.ACTOR, 2L)
+                .add(102L, PersonType.ACTOR, 2L).add(102L, PersonType.DIRECTOR, 5L)
+                .add(103L, PersonType.DIRECTOR, 5L).add(103L, PersonType.ACTOR, 3L)
+                .add(104L, PersonType.ACTOR, 4L)
+                .build());
+        collaborationGraphService.rebuild();
+    }
+
+    @Test
+    void topCollaborators_OrderedBySharedMovies() {
+        List<CollaboratorResponse> collaborators = collaborationGraphService.topCollaborators(PersonType.ACTOR, 2L, null, 10);
+
+        assertEquals(2, collaborators.size());
+        assertEquals(1L, collaborators.get(0).getId());
+        assertEquals(2, collaborators.get(0).getSharedMovies());
+        assertEquals("director", collaborators.get(1).getType());
+        assertEquals(5L, collaborators.get(1).getId());
+    }
+
+    @Test
+    void topCollaborators_FilteredByTypeAndUnknownPerson() {
+        List<CollaboratorResponse> directors = collaborationGraphService.topCollaborators(PersonType.ACTOR, 2L, PersonType.DIRECTOR, 10);
+
+        assertEquals(1, directors.size());
+        assertEquals(5L, directors.get(0).getId());
+        assertTrue(collaborationGraphService.topCollaborators(PersonType.ACTOR, 99L, null, 10).isEmpty());
+        assertTrue(collaborationGraphService.topCollaborators(PersonType.DIRECTOR, 1L, null, 10).isEmpty());
+    }
+
+    @Test
+    void shortestPath_ReturnsStepsWithLinkingMovies() {
+        CollaborationPathResponse path = collaborationGraphService.shortestPath(PersonType.ACTOR, 1L, PersonType.ACTOR, 3L, 6);
+
+        assertEquals(3, path.getDegrees());
+        assertEquals(List.of(1L, 2L, 5L, 3L), path.getPath().stream().map(s -> s.getId()).toList());
+        assertNull(path.getPath().get(0).getViaMovieId());
+        assertEquals(100L, path.getPath().get(1).getViaMovieId());
+        assertEquals(102L, path.getPath().get(2).getViaMovieId());
+        assertEquals("director", path.getPath().get(2).getType());
+        assertEquals(103L, path.getPath().get(3).getViaMovieId());
+    }
+
+    @Test
+    void shortestPath_TooDeepOrDisconnected_Throws() {
+        assertThrows(EntityNotFoundException.class,
+                () -> collaborationGraphService.shortestPath(PersonType.ACTOR, 1L, PersonType.ACTOR, 3L, 2));
+        assertThrows(EntityNotFoundException.class,
+                () -> collaborationGraphService.shortestPath(PersonType.ACTOR, 1L, PersonType.ACTOR, 4L, 6));
+    }
+
+    @Test
+    void shortestPath_SamePerson_HasZeroDegrees() {
+        assertEquals(0, collaborationGraphService.shortestPath(PersonType.ACTOR, 1L, PersonType.ACTOR, 1L, 6).getDegrees());
+    }
+
+    @Test
+    void rebuildIfRequested_OnlyAfterAssociationChange() {
+        collaborationGraphService.rebuildIfRequested();
+        verify(collaborationGraphLoader, times(1)).load();
+
+        collaborationGraphService.onAssociationsChanged(new MovieAssociationsChangedEvent(100L));
+        collaborationGraphService.onAssociationsChanged(new MovieAssociationsChangedEvent(101L));
+        collaborationGraphService.rebuildIfRequested();
+        collaborationGraphService.rebuildIfRequested();
+
+        verify(collaborationGraphLoader, times(2)).load();
+    }
+}
@@ -0,0 +1,121 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentSimilarityServiceTest {
+
+    private static final int GENRE = 1;
+    private static final int ACTOR = 2;
+    private static final int DIRECTOR = 3;
+
+    @Mock
+    private MovieFeatureLoader movieFeatureLoader;
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    private ContentSimilarityService contentSimilarityService;
+
+    @BeforeEach
+    void setUp() {
+        contentSimilarityService = new ContentSimilarityService(movieFeatureLoader, recommendationService, 16, 4);
+    }
+
+    @Test
+    void similarMovies_BeforeBuild_ReturnsEmpty() {
+        assertTrue(contentSimilarityService.similarMovies(1L, 10).isEmpty());
+    }
+
+    @Test
+    void similarMovies_RanksByEstimatedJaccard() {
+        when(movieFeatureLoader.loadAll()).thenReturn(catalog());
+        contentSimilarityService.rebuild();
+
+        List<ScoredMovieResponse> similar = contentSimilarityService.similarMovies(1L, 10);
+
+        assertEquals(2L, similar.get(0).getMovieId());
+        assertTrue(similar.get(0).getScore() > 0.6);
+        assertTrue(similar.stream().noneMatch(s -> s.getMovieId() == 1L || s.getMovieId() == 3L));
+    }
+
+    @Test
+    void similarMovies_IdenticalFeatureSets_ScoreOne() {
+        when(movieFeatureLoader.loadAll()).thenReturn(MovieFeatures.builder()
+                .add(1L, GENRE, 1).add(1L, ACTOR, 5)
+                .add(2L, GENRE, 1).add(2L, ACTOR, 5)
+                .build());
+        contentSimilarityService.rebuild();
+
+        List<ScoredMovieResponse> similar = contentSimilarityService.similarMovies(1L, 10);
+
+        assertEquals(1, similar.size());
+        assertEquals(1.0, similar.get(0).getScore());
+    }
+
+    @Test
+    void confidence_FadesAsRatingSimilarityGainsIt() {
+        when(recommendationService.confidence(1L)).thenReturn(0.0);
+        when(recommendationService.confidence(2L)).thenReturn(0.75);
+
+        assertEquals(1.0, contentSimilarityService.confidence(1L));
+        assertEquals(0.25, contentSimilarityService.confidence(2L), 1e-9);
+    }
+
+    @Test
+    void refresh_AfterAssociationChange_ReplacesOnlyChangedMovies() {
+        when(movieFeatureLoader.loadAll()).thenReturn(catalog());
+        when(movieFeatureLoader.load(Set.of(3L, 4L))).thenReturn(MovieFeatures.builder()
+                .add(3L, GENRE, 1).add(3L, GENRE, 2).add(3L, ACTOR, 10).add(3L, ACTOR, 11)
+                .add(3L, ACTOR, 12).add(3L, DIRECTOR, 20)
+                .build());
+        contentSimilarityService.rebuild();
+
+        contentSimilarityService.onAssociationsChanged(new MovieAssociationsChangedEvent(3L));
+        contentSimilarityService.onAssociationsChanged(new MovieAssociationsChangedEvent(4L));
+        contentSimilarityService.refresh();
+
+        List<ScoredMovieResponse> similar = contentSimilarityService.similarMovies(1L, 10);
+        assertEquals(3L, similar.get(0).getMovieId());
+        assertEquals(1.0, similar.get(0).getScore());
+        assertTrue(contentSimilarityService.similarMovies(4L, 10).isEmpty());
+        assertEquals(3, contentSimilarityService.stats().get("movies"));
+    }
+
+    @Test
+    void refresh_AllMoviesEvent_TriggersFullRebuild() {
+        when(movieFeatureLoader.loadAll()).thenReturn(catalog());
+        contentSimilarityService.rebuild();
+
+        contentSimilarityService.onAssociationsChanged(MovieAssociationsChangedEvent.allMovies());
+        contentSimilarityService.refresh();
+
+        verify(movieFeatureLoader, times(2)).loadAll();
+        verify(movieFeatureLoader, never()).load(any());
+    }
+
+    private MovieFeatures catalog() {
+        // Movie 2 shares most of movie 1's cast and crew, movies 3 and 4 share nothing with it
+        return MovieFeatures.builder()
+                .add(1L, GENRE, 1).add(1L, GENRE, 2).add(1L, ACTOR, 10).add(1L, ACTOR, 11)
+                .add(1L, ACTOR, 12).add(1L, DIRECTOR, 20)
+                .add(2L, GENRE, 1).add(2L, GENRE, 2).add(2L, ACTOR, 10).add(2L, ACTOR, 11)
+                .add(2L, ACTOR, 13).add(2L, DIRECTOR, 20)
+                .add(3L, GENRE, 3).add(3L, ACTOR, 30).add(3L, DIRECTOR, 40)
+                .add(4L, GENRE, 4).add(4L, ACTOR, 50)
+                .build();
+    }
+}
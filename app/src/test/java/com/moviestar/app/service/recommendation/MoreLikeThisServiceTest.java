@@ -0,0 +1,71 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoreLikeThisServiceTest {
+
+    @Test
+    void moreLikeThis_BlendsSourcesByWeightTimesConfidence() {
+        SimilaritySource ratings = source("ratings", 0.5, List.of(scored(2L, 0.8), scored(3L, 0.4)));
+        SimilaritySource content = source("content", 1.0, List.of(scored(3L, 0.9), scored(4L, 0.5)));
+        MoreLikeThisService service = new MoreLikeThisService(List.of(ratings, content), new MockEnvironment());
+
+        List<ScoredMovieResponse> result = service.moreLikeThis(1L, 10);
+
+        assertEquals(List.of(3L, 4L, 2L), result.stream().map(ScoredMovieResponse::getMovieId).toList());
+        assertEquals((0.5 * 0.4 + 0.9) / 1.5, result.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void moreLikeThis_ZeroWeightSourceIsIgnored() {
+        SimilaritySource ratings = source("ratings", 1.0, List.of(scored(2L, 0.9)));
+        SimilaritySource content = source("content", 1.0, List.of(scored(3L, 0.5)));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.recommendations.more-like-this.weights.ratings", "0");
+        MoreLikeThisService service = new MoreLikeThisService(List.of(ratings, content), environment);
+
+        List<ScoredMovieResponse> result = service.moreLikeThis(1L, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getMovieId());
+        assertEquals(0.5, result.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void moreLikeThis_NoCandidates_ReturnsEmptyAndRespectsLimit() {
+        SimilaritySource empty = source("ratings", 0.0, List.of(scored(2L, 1.0)));
+        assertTrue(new MoreLikeThisService(List.of(empty), new MockEnvironment()).moreLikeThis(1L, 10).isEmpty());
+
+        SimilaritySource content = source("content", 1.0, List.of(scored(2L, 0.9), scored(3L, 0.8), scored(4L, 0.7)));
+        assertEquals(2, new MoreLikeThisService(List.of(content), new MockEnvironment()).moreLikeThis(1L, 2).size());
+    }
+
+    private static ScoredMovieResponse scored(Long movieId, double score) {
+        return ScoredMovieResponse.builder().movieId(movieId).score(score).build();
+    }
+
+    private static SimilaritySource source(String name, double confidence, List<ScoredMovieResponse> similar) {
+        return new SimilaritySource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<ScoredMovieResponse> similarMovies(Long movieId, int limit) {
+                return similar;
+            }
+
+            @Override
+            public double confidence(Long movieId) {
+                return confidence;
+            }
+        };
+    }
+}
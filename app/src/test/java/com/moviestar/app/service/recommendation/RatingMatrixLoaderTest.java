@@ -0,0 +1,63 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.repository.RatingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingMatrixLoaderTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @InjectMocks
+    private RatingMatrixLoader ratingMatrixLoader;
+
+    @Test
+    void reload_ReadsOnlyTheChangedMoviesAndKeepsTheRest() {
+        RatingMatrix current = RatingMatrix.builder(true)
+                .add(1L, "alice", 10).add(2L, "alice", 4)
+                .add(1L, "bob", 8).add(2L, "bob", 6)
+                .build();
+        when(ratingRepository.findRatingsForMovies(List.of(2L)))
+                .thenReturn(List.of(entry(2L, "alice", 7), entry(2L, "carol", 3)));
+
+        RatingMatrix reloaded = ratingMatrixLoader.reload(current, Set.of(2L), true);
+
+        List<String> ratings = new ArrayList<>();
+        reloaded.forEachRating((movieId, username, rating) -> ratings.add(movieId + ":" + username + ":" + rating));
+        assertEquals(Set.of("1:alice:10", "1:bob:8", "2:alice:7", "2:carol:3"), Set.copyOf(ratings));
+        assertEquals(4, reloaded.ratingCount());
+        assertEquals(3, reloaded.userCount());
+        verify(ratingRepository, never()).streamAllRatings();
+    }
+
+    private static RatingRepository.RatingEntry entry(long movieId, String username, int rating) {
+        return new RatingRepository.RatingEntry() {
+            @Override
+            public Long getMovieId() {
+                return movieId;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public int getRating() {
+                return rating;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.moviestar.app.service.recommendation;
+
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.model.Response.ScoredMovieResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private RatingMatrixLoader ratingMatrixLoader;
+
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new RecommendationService(ratingMatrixLoader, 5, 2, "adjusted-cosine", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recommendationService.shutdown();
+    }
+
+    @Test
+    void similarMovies_BeforeBuild_ReturnsEmpty() {
+        assertTrue(recommendationService.similarMovies(1L, 10).isEmpty());
+        assertTrue(recommendationService.recommendFor("alice", 10).isEmpty());
+    }
+
+    @Test
+    void similarMovies_RanksMoviesLikedBySameUsersFirst() {
+        when(ratingMatrixLoader.load(true)).thenReturn(baseRatings().build());
+        recommendationService.rebuild();
+
+        List<ScoredMovieResponse> similar = recommendationService.similarMovies(1L, 10);
+
+        assertFalse(similar.isEmpty());
+        assertEquals(2L, similar.get(0).getMovieId());
+        assertTrue(similar.stream().noneMatch(s -> s.getMovieId() == 1L));
+        for (int i = 1; i < similar.size(); i++) {
+            assertTrue(similar.get(i - 1).getScore() >= similar.get(i).getScore());
+        }
+    }
+
+    @Test
+    void similarMovies_UnknownMovie_ReturnsEmpty() {
+        when(ratingMatrixLoader.load(true)).thenReturn(baseRatings().build());
+        recommendationService.rebuild();
+
+        assertTrue(recommendationService.similarMovies(99L, 10).isEmpty());
+    }
+
+    @Test
+    void recommendFor_ExcludesRatedMoviesAndPrefersNeighboursOfLikedMovies() {
+        when(ratingMatrixLoader.load(true)).thenReturn(baseRatings().build());
+        recommendationService.rebuild();
+
+        List<ScoredMovieResponse> recommendations = recommendationService.recommendFor("dave", 10);
+
+        assertFalse(recommendations.isEmpty());
+        assertEquals(2L, recommendations.get(0).getMovieId());
+        assertTrue(recommendations.stream().noneMatch(r -> r.getMovieId() == 1L || r.getMovieId() == 3L));
+        assertTrue(recommendationService.recommendFor("unknown", 10).isEmpty());
+    }
+
+    @Test
+    void refresh_WithoutRatingEvents_DoesNotReload() {
+        when(ratingMatrixLoader.load(true)).thenReturn(baseRatings().build());
+        recommendationService.rebuild();
+
+        recommendationService.refresh();
+
+        verify(ratingMatrixLoader, times(1)).load(anyBoolean());
+    }
+
+    @Test
+    void refresh_AfterRatingEvent_RecomputesAffectedRowsAndAddsNewMovies() {
+        RatingMatrix base = baseRatings().build();
+        when(ratingMatrixLoader.load(true)).thenReturn(base);
+        when(ratingMatrixLoader.reload(base, Set.of(5L), true)).thenReturn(baseRatings()
+                .add(5L, "alice", 9).add(5L, "bob", 10).add(5L, "carol", 2)
+                .build());
+        recommendationService.rebuild();
+        assertTrue(recommendationService.similarMovies(5L, 10).isEmpty());
+
+        recommendationService.onRatingChanged(new RatingChangedEvent(5L, "carol"));
+        recommendationService.refresh();
+
+        List<ScoredMovieResponse> similar = recommendationService.similarMovies(5L, 10);
+        assertFalse(similar.isEmpty());
+        assertTrue(recommendationService.similarMovies(1L, 10).stream().anyMatch(s -> s.getMovieId() == 5L));
+        assertEquals(0, recommendationService.stats().get("pendingMovies"));
+        verify(ratingMatrixLoader, times(1)).load(anyBoolean());
+    }
+
+    @Test
+    void constructor_UnknownSimilarity_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RecommendationService(ratingMatrixLoader, 5, 2, "pearson", 1));
+    }
+
+    private RatingMatrix.Builder baseRatings() {
+        // Movies 1 and 2 are loved by the same people, movie 3 splits them, movie 4 is the opposite of 1
+        return RatingMatrix.builder(true)
+                .add(1L, "alice", 10).add(2L, "alice", 9).add(3L, "alice", 5).add(4L, "alice", 2)
+                .add(1L, "bob", 9).add(2L, "bob", 10).add(3L, "bob", 4).add(4L, "bob", 1)
+                .add(1L, "carol", 2).add(2L, "carol", 3).add(3L, "carol", 6).add(4L, "carol", 9)
+                .add(1L, "dave", 10).add(3L, "dave", 3).add(4L, "dave", 2);
+    }
+}
@@ -0,0 +1,116 @@
+package com.moviestar.app.snapshot;
+
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotFilterTest {
+
+    private static final Instant BUILT_AT = Instant.parse("2026-01-02T03:04:05Z");
+
+    @Mock
+    private CatalogSnapshotService snapshotService;
+
+    @TempDir
+    Path directory;
+
+    private CatalogSnapshotFilter filter;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.begin(Section.MOVIES);
+            writer.add(1, "{\"id\":1,\"title\":\"Heat\"}".getBytes(StandardCharsets.UTF_8));
+            writer.add(2, "{\"id\":2,\"title\":\"Ronin\"}".getBytes(StandardCharsets.UTF_8));
+            writer.finish(BUILT_AT);
+        }
+        snapshot = CatalogSnapshot.open(file);
+        filter = new CatalogSnapshotFilter(snapshotService);
+    }
+
+    @Test
+    void listsAndEntitiesAreServedFromTheSnapshot() throws Exception {
+        when(snapshotService.current()).thenReturn(snapshot);
+
+        MockHttpServletResponse list = serve("GET", "/api/movies");
+        assertEquals(200, list.getStatus());
+        assertEquals("application/json", list.getContentType());
+        assertEquals("[{\"id\":1,\"title\":\"Heat\"},{\"id\":2,\"title\":\"Ronin\"}]", list.getContentAsString());
+        assertEquals(BUILT_AT.toString(), list.getHeader(CatalogSnapshotFilter.SNAPSHOT_HEADER));
+
+        MockHttpServletResponse movie = serve("GET", "/api/movies/2");
+        assertEquals("{\"id\":2,\"title\":\"Ronin\"}", movie.getContentAsString());
+        assertEquals(movie.getContentAsByteArray().length, movie.getContentLength());
+
+        assertEquals("[]", serve("GET", "/api/genres").getContentAsString());
+    }
+
+    @Test
+    void missingIdsAndOtherRequestsGoOnToTheControllers() throws Exception {
+        when(snapshotService.current()).thenReturn(snapshot);
+
+        for (String path : new String[]{"/api/movies/3", "/api/movies/search", "/api/movies/1/comments", "/api/users/me"}) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("GET", path), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest(), path);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("POST", "/api/movies"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void recordsChangedSinceTheBuildGoOnToTheControllers() throws Exception {
+        when(snapshotService.current()).thenReturn(snapshot);
+        when(snapshotService.isOutdated(snapshot, Section.MOVIES, 2L)).thenReturn(true);
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/movies/2"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals("{\"id\":1,\"title\":\"Heat\"}", serve("GET", "/api/movies/1").getContentAsString());
+    }
+
+    @Test
+    void requestsGoOnToTheControllersUntilASnapshotIsLoaded() throws Exception {
+        when(snapshotService.current()).thenReturn(null);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/movies"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(response.getHeader(CatalogSnapshotFilter.SNAPSHOT_HEADER));
+    }
+
+    private MockHttpServletResponse serve(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(method, path), response, chain);
+        assertNull(chain.getRequest(), path);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRequestURI(path);
+        return request;
+    }
+}
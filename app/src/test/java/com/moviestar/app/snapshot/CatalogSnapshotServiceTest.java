@@ -0,0 +1,74 @@
+package com.moviestar.app.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.event.MovieAssociationsChangedEvent;
+import com.moviestar.app.event.RatingChangedEvent;
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CatalogSnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void changesOutdateTheirPartsUntilALaterSnapshotIsLoaded() throws Exception {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, Instant.now().minusSeconds(60));
+        CatalogSnapshotService service = new CatalogSnapshotService(mock(DataSource.class),
+                mock(PlatformTransactionManager.class), mock(EntityManagerFactory.class), new ObjectMapper(), file,
+                false, 1000);
+        CatalogSnapshot built = service.current();
+        assertFalse(service.isOutdated(built, Section.MOVIES, 1L));
+
+        service.onRatingChanged(new RatingChangedEvent(1L, "alice"));
+
+        assertTrue(service.isOutdated(built, Section.MOVIES, 1L));
+        assertTrue(service.isOutdated(built, Section.MOVIES, null));
+        assertFalse(service.isOutdated(built, Section.MOVIES, 2L));
+        assertFalse(service.isOutdated(built, Section.ACTORS, null));
+
+        service.onAssociationsChanged(new MovieAssociationsChangedEvent(2L));
+        assertTrue(service.isOutdated(built, Section.MOVIES, 2L));
+        assertTrue(service.isOutdated(built, Section.ACTORS, 5L));
+        assertFalse(service.isOutdated(built, Section.GENRES, null));
+
+        Thread.sleep(2);
+        write(file, Instant.now());
+        service.reload();
+
+        CatalogSnapshot rebuilt = service.current();
+        assertNotSame(built, rebuilt);
+        assertFalse(service.isOutdated(rebuilt, Section.MOVIES, 1L));
+        assertFalse(service.isOutdated(rebuilt, Section.MOVIES, null));
+        assertFalse(service.isOutdated(rebuilt, Section.ACTORS, 5L));
+
+        service.sectionChanged(Section.DIRECTORS);
+        assertTrue(service.isOutdated(rebuilt, Section.DIRECTORS, 3L));
+        assertTrue(service.isOutdated(rebuilt, Section.MOVIES, 1L));
+        assertFalse(service.isOutdated(rebuilt, Section.GENRES, null));
+
+        service.onAssociationsChanged(MovieAssociationsChangedEvent.allMovies());
+        assertTrue(service.isOutdated(rebuilt, Section.GENRES, null));
+    }
+
+    private static void write(Path file, Instant builtAt) throws IOException {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.begin(Section.MOVIES);
+            writer.add(1, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            writer.finish(builtAt);
+        }
+    }
+}
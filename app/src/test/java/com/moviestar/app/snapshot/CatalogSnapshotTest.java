@@ -0,0 +1,113 @@
+package com.moviestar.app.snapshot;
+
+import com.moviestar.app.snapshot.CatalogSnapshot.Section;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final Instant BUILT_AT = Instant.parse("2026-01-02T03:04:05.678Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreFoundByIdAndListedAsOneArray() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.begin(Section.ACTORS);
+            writer.add(3, json("{\"id\":3}"));
+            writer.begin(Section.MOVIES);
+            for (long id = 1; id <= 1000; id += 3) {
+                writer.add(id, json("{\"id\":" + id + ",\"title\":\"Movie " + id + "\"}"));
+            }
+            writer.finish(BUILT_AT);
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(BUILT_AT, snapshot.builtAt());
+        assertEquals(334, snapshot.count(Section.MOVIES));
+        assertEquals("{\"id\":700,\"title\":\"Movie 700\"}", text(snapshot.find(Section.MOVIES, 700)));
+        assertEquals("{\"id\":1,\"title\":\"Movie 1\"}", text(snapshot.find(Section.MOVIES, 1)));
+        assertNull(snapshot.find(Section.MOVIES, 2));
+        assertNull(snapshot.find(Section.MOVIES, 1001));
+        assertEquals("[{\"id\":3}]", text(snapshot.list(Section.ACTORS)));
+        assertTrue(text(snapshot.list(Section.MOVIES)).startsWith("[{\"id\":1,\"title\":\"Movie 1\"},{\"id\":4,"));
+        assertTrue(text(snapshot.list(Section.MOVIES)).endsWith("{\"id\":1000,\"title\":\"Movie 1000\"}]"));
+        assertEquals("[]", text(snapshot.list(Section.GENRES)));
+        assertEquals(0, snapshot.count(Section.DIRECTORS));
+        assertNull(snapshot.find(Section.DIRECTORS, 3));
+    }
+
+    @Test
+    void openSnapshotsKeepServingAfterTheFileIsReplaced() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, "{\"title\":\"old\"}");
+        CatalogSnapshot old = CatalogSnapshot.open(file);
+
+        Path replacement = directory.resolve("catalog.snapshot.tmp");
+        write(replacement, "{\"title\":\"new\"}");
+        Files.move(replacement, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals("{\"title\":\"old\"}", text(old.find(Section.GENRES, 1)));
+        assertEquals("{\"title\":\"new\"}", text(CatalogSnapshot.open(file).find(Section.GENRES, 1)));
+    }
+
+    @Test
+    void corruptedFilesAreRejected() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, "{\"genre\":\"Drama\"}");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(json("X")), CatalogSnapshot.HEADER_SIZE + 4 * CatalogSnapshot.SECTION_SIZE + 3);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+        assertTrue(e.getMessage().contains("checksum"));
+
+        Path other = directory.resolve("other");
+        Files.writeString(other, "not a snapshot at all, just some text");
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(other));
+    }
+
+    @Test
+    void idsMustAscendWithinASectionAndSectionsAreWrittenOnce() throws IOException {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("catalog.snapshot"))) {
+            writer.begin(Section.GENRES);
+            writer.add(5, json("{}"));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(5, json("{}")));
+            writer.begin(Section.MOVIES);
+            assertThrows(IllegalStateException.class, () -> writer.begin(Section.GENRES));
+        }
+    }
+
+    private static void write(Path file, String genre) throws IOException {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.begin(Section.GENRES);
+            writer.add(1, json(genre));
+            writer.finish(BUILT_AT);
+        }
+    }
+
+    private static byte[] json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
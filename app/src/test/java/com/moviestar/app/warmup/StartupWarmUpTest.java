@@ -0,0 +1,153 @@
+package com.moviestar.app.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviestar.app.model.MovieDTO;
+import com.moviestar.app.model.Response.MovieResponse;
+import com.moviestar.app.repository.RatingRepository;
+import com.moviestar.app.service.GenreService;
+import com.moviestar.app.service.MovieService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmUpTest {
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private GenreService genreService;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MockEnvironment environment = new MockEnvironment();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void preloadsGenresMoviesAndTheMostRatedMovies() {
+        when(ratingRepository.findMostRatedMovieIds(any())).thenReturn(List.of(3L, 5L));
+        when(movieService.getMovieById(anyLong())).thenAnswer(invocation -> movie(invocation.getArgument(0)));
+        when(movieService.convertToResponse(any())).thenAnswer(invocation ->
+                MovieResponse.builder().id(((MovieDTO) invocation.getArgument(0)).getId()).build());
+
+        StartupWarmUp warmUp = warmUp(Duration.ofSeconds(10), "");
+        warmUp.run(null);
+
+        verify(genreService).getAllGenres();
+        verify(movieService).getAllMovies();
+        verify(movieService).getMovieById(3L);
+        verify(movieService).getMovieById(5L);
+        verify(movieService, times(2)).convertToResponse(any());
+        assertEquals("complete", warmUp.stats().get("state"));
+        assertEquals(4, warmUp.stats().get("preloaded"));
+        assertEquals(0, warmUp.stats().get("failures"));
+    }
+
+    @Test
+    void failuresAreCountedWithoutStoppingTheWarmUp() {
+        when(ratingRepository.findMostRatedMovieIds(any())).thenReturn(List.of());
+        when(genreService.getAllGenres()).thenThrow(new IllegalStateException("database down"));
+
+        StartupWarmUp warmUp = warmUp(Duration.ofSeconds(10), "");
+        warmUp.run(null);
+
+        verify(movieService).getAllMovies();
+        assertEquals("complete", warmUp.stats().get("state"));
+        assertEquals(1, warmUp.stats().get("failures"));
+    }
+
+    @Test
+    void warmUpStopsWhenTheBudgetRunsOut() {
+        when(ratingRepository.findMostRatedMovieIds(any())).thenReturn(List.of());
+        when(genreService.getAllGenres()).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        });
+
+        StartupWarmUp warmUp = warmUp(Duration.ofMillis(200), "");
+        long started = System.nanoTime();
+        warmUp.run(null);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 5_000);
+        assertEquals("budget-exceeded", warmUp.stats().get("state"));
+    }
+
+    @Test
+    void slowMostRatedQueryCountsAgainstTheBudget() {
+        when(ratingRepository.findMostRatedMovieIds(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        });
+
+        StartupWarmUp warmUp = warmUp(Duration.ofMillis(200), "");
+        long started = System.nanoTime();
+        warmUp.run(null);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 5_000);
+        assertEquals("budget-exceeded", warmUp.stats().get("state"));
+        verifyNoInteractions(genreService, movieService);
+    }
+
+    @Test
+    void recordedGetRequestsAreReplayedOverLoopback() throws Exception {
+        when(ratingRepository.findMostRatedMovieIds(any())).thenReturn(List.of());
+        Queue<String> requests = new ConcurrentLinkedQueue<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            environment.setProperty("local.server.port", String.valueOf(server.getAddress().getPort()));
+            Path replayFile = Files.writeString(tempDir.resolve("requests.txt"),
+                    "# sampled from the access log\nGET /api/movies/7\n\n/api/genres\nPOST /api/admin/movies\n");
+
+            StartupWarmUp warmUp = warmUp(Duration.ofSeconds(10), replayFile.toString());
+            warmUp.run(null);
+
+            assertEquals(4, requests.size());
+            assertEquals(2, requests.stream().filter("GET /api/movies/7"::equals).count());
+            assertEquals(2, requests.stream().filter("GET /api/genres"::equals).count());
+            assertEquals(4, warmUp.stats().get("replayed"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private StartupWarmUp warmUp(Duration budget, String replayFile) {
+        return new StartupWarmUp(movieService, genreService, ratingRepository, transactionManager, new ObjectMapper(),
+                environment, budget, 2, 100, replayFile, 2);
+    }
+
+    private static MovieDTO movie(long id) {
+        MovieDTO movie = new MovieDTO();
+        movie.setId(id);
+        return movie;
+    }
+}
@@ -0,0 +1,115 @@
+package com.moviestar.app.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void limitDefaultsToRequestsPerPooledConnection() {
+        assertEquals(30, filter(0, 3, 10).limit());
+        assertEquals(7, filter(7, 3, 10).limit());
+        assertEquals(30.0, registry.get("http.server.requests.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void requestsPastTheLimitAreRefusedAfterTheQueueTimeout() throws Exception {
+        RequestConcurrencyLimitFilter filter = filter(1, 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = holdSlot(filter, release);
+        assertEquals(1.0, registry.get("http.server.requests.concurrency").gauge().value());
+
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/api/genres"), refused, chain);
+
+        assertEquals(503, refused.getStatus());
+        assertEquals("1", refused.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, registry.get("http.server.requests.rejected").counter().count());
+
+        release.countDown();
+        first.join(5_000);
+
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        filter.doFilter(request("/api/genres"), served, new MockFilterChain());
+        assertEquals(200, served.getStatus());
+        assertEquals(0.0, registry.get("http.server.requests.concurrency").gauge().value());
+    }
+
+    @Test
+    void asyncRequestsKeepTheirSlotUntilTheyComplete() throws Exception {
+        RequestConcurrencyLimitFilter filter = filter(1, 1, 10);
+        MockHttpServletRequest export = request("/api/admin/exports/movies");
+        export.setAsyncSupported(true);
+
+        filter.doFilter(export, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(1.0, registry.get("http.server.requests.concurrency").gauge().value());
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        filter.doFilter(request("/api/genres"), refused, new MockFilterChain());
+        assertEquals(503, refused.getStatus());
+
+        export.getAsyncContext().complete();
+
+        assertEquals(0.0, registry.get("http.server.requests.concurrency").gauge().value());
+    }
+
+    @Test
+    void actuatorEndpointsAreNotLimited() throws Exception {
+        RequestConcurrencyLimitFilter filter = filter(1, 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holdSlot(filter, release);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/actuator/health/readiness"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        release.countDown();
+        holder.join(5_000);
+    }
+
+    // Starts a request that stays in the filter chain until released
+    private static Thread holdSlot(RequestConcurrencyLimitFilter filter, CountDownLatch release) throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                filter.doFilter(request("/api/movies"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        return thread;
+    }
+
+    private RequestConcurrencyLimitFilter filter(int maxConcurrentRequests, int requestsPerConnection, int poolSize) {
+        return new RequestConcurrencyLimitFilter(registry, maxConcurrentRequests, requestsPerConnection, poolSize,
+                Duration.ofMillis(50), false);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
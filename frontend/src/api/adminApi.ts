@@ -97,6 +97,25 @@ adminClient.interceptors.response.use(
   }
 );
 
+interface UserPage {
+  users: User[];
+  nextCursor: string | null;
+}
+
+// The user listings are cursor-paginated; follow the cursor until the last page
+const fetchAllUsers = async (path: string): Promise<User[]> => {
+  const users: User[] = [];
+  let cursor: string | null = null;
+  do {
+    const response = await adminClient.get<UserPage>(path, {
+      params: { limit: 200, ...(cursor ? { cursor } : {}) },
+    });
+    users.push(...response.data.users);
+    cursor = response.data.nextCursor;
+  } while (cursor);
+  return users;
+};
+
 const adminApi = {
   getMovies: async (): Promise<Movie[]> => {
     const response = await adminClient.get<Movie[]>('/movies');
@@ -222,20 +241,11 @@ const adminApi = {
   },
   
   // Users
-  getAllUsers: async (): Promise<User[]> => {
-    const response = await adminClient.get<User[]>('/users');
-    return response.data;
-  },
+  getAllUsers: (): Promise<User[]> => fetchAllUsers('/users'),
   
-  getBannedUsers: async (): Promise<User[]> => {
-    const response = await adminClient.get<User[]>('/users/banned');
-    return response.data;
-  },
+  getBannedUsers: (): Promise<User[]> => fetchAllUsers('/users/banned'),
   
-  getActiveUsers: async (): Promise<User[]> => {
-    const response = await adminClient.get<User[]>('/users/active');
-    return response.data;
-  },
+  getActiveUsers: (): Promise<User[]> => fetchAllUsers('/users/active'),
   
   banUser: async (username: string): Promise<User> => {
     const response = await adminClient.post<User>(`/users/${username}/ban`);